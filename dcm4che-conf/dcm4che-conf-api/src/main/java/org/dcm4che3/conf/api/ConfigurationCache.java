@@ -38,13 +38,33 @@
 
 package org.dcm4che3.conf.api;
 
-import java.util.HashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
+ * Thread-safe cache of configuration objects.
+ * <p>
+ * Concurrent lookups of the same missing or stale key invoke {@link #find} only once; the other callers wait for
+ * its result. If {@link #setRefreshAhead refreshAhead} is configured, entries are reloaded asynchronously shortly
+ * before they become stale, while callers are still served with the cached value. Loads pending on invocation of
+ * {@link #remove}, {@link #removeIf} or {@link #clear} do not re-cache their - potentially outdated - result.
+ * If {@link #setMaxSize maxSize} is configured, the least recently accessed entries are evicted first.
+ *
  * @author Gunter Zeilinger <gunterze@gmail.com>
  */
 public abstract class ConfigurationCache<C,T> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigurationCache.class);
+
     private static final class CacheEntry<T> {
         final T value;
         final long fetchTime;
@@ -54,10 +74,17 @@ public abstract class ConfigurationCache<C,T> {
         }
     }
 
-    private final HashMap<String, CacheEntry<T>> cache =
-            new HashMap<String, CacheEntry<T>>();
+    private final ConcurrentHashMap<String, CacheEntry<T>> cache =
+            new ConcurrentHashMap<String, CacheEntry<T>>();
+    private final ConcurrentHashMap<String, CompletableFuture<CacheEntry<T>>> loading =
+            new ConcurrentHashMap<String, CompletableFuture<CacheEntry<T>>>();
+    private final LinkedHashMap<String, Boolean> accessOrder = new LinkedHashMap<String, Boolean>(16, 0.75f, true);
     private final C conf;
-    private long staleTimeout;
+    private volatile long staleTimeout;
+    private volatile long notFoundStaleTimeout = -1L;
+    private volatile long refreshAhead;
+    private volatile int maxSize;
+    private volatile Executor executor;
 
     public ConfigurationCache(C conf) {
         if (conf == null)
@@ -73,25 +100,191 @@ public abstract class ConfigurationCache<C,T> {
         this.staleTimeout = staleTimeout * 1000L;
     }
 
+    public int getNotFoundStaleTimeout() {
+        return notFoundStaleTimeout < 0 ? -1 : (int) (notFoundStaleTimeout / 1000);
+    }
+
+    /**
+     * Set the time in s after which the information that there is no configuration object for a key gets stale.
+     * {@code -1} (= default) applies {@link #getStaleTimeout()}.
+     *
+     * @param notFoundStaleTimeout stale timeout in s or {@code -1}
+     */
+    public void setNotFoundStaleTimeout(int notFoundStaleTimeout) {
+        this.notFoundStaleTimeout = notFoundStaleTimeout < 0 ? -1L : notFoundStaleTimeout * 1000L;
+    }
+
+    public int getRefreshAhead() {
+        return (int) (refreshAhead / 1000);
+    }
+
+    /**
+     * Set the time in s before an entry gets stale, after which a lookup of the entry triggers its asynchronous
+     * reload. {@code 0} (= default) reloads stale entries synchronously only.
+     *
+     * @param refreshAhead time in s before entries get stale
+     */
+    public void setRefreshAhead(int refreshAhead) {
+        this.refreshAhead = refreshAhead * 1000L;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the maximal number of cached entries. {@code 0} (= default) does not limit the number of entries.
+     *
+     * @param maxSize maximal number of cached entries or {@code 0}
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set executor used for asynchronous reload of entries. If not set, {@link ForkJoinPool#commonPool()} is used.
+     *
+     * @param executor executor for asynchronous reload
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     public void clear() {
-        cache.clear();
+        loading.clear();
+        synchronized (accessOrder) {
+            cache.clear();
+            accessOrder.clear();
+        }
     }
 
+    public void remove(String key) {
+        loading.compute(key, (k, future) -> {
+            synchronized (accessOrder) {
+                cache.remove(key);
+                accessOrder.remove(key);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Removes all entries with values matching the predicate. The value of entries for keys without configuration
+     * object is {@code null}.
+     *
+     * @param filter predicate which returns {@code true} for values to be removed
+     */
+    public void removeIf(Predicate<? super T> filter) {
+        loading.clear();
+        synchronized (accessOrder) {
+            cache.values().removeIf(entry -> filter.test(entry.value));
+            accessOrder.keySet().retainAll(cache.keySet());
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
 
     public T get(String key) throws ConfigurationException {
         long now = System.currentTimeMillis();
         CacheEntry<T> entry = cache.get(key);
-        if (entry == null 
-                || (staleTimeout != 0 && now > entry.fetchTime + staleTimeout)) {
+        if (entry == null)
+            return load(key).value;
+
+        long timeout = entry.value == null && notFoundStaleTimeout >= 0 ? notFoundStaleTimeout : staleTimeout;
+        if (timeout != 0) {
+            long age = now - entry.fetchTime;
+            if (age > timeout)
+                return load(key).value;
+            if (refreshAhead != 0 && age > timeout - refreshAhead)
+                refreshAsync(key);
+        }
+        if (maxSize > 0)
+            synchronized (accessOrder) {
+                accessOrder.get(key);
+            }
+        return entry.value;
+    }
+
+    private void refreshAsync(String key) {
+        if (loading.containsKey(key))
+            return;
+        Executor executor = this.executor;
+        (executor != null ? executor : ForkJoinPool.commonPool()).execute(() -> {
+            try {
+                load(key);
+            } catch (Exception e) {
+                LOG.warn("Failed to refresh cached configuration for {}:", key, e);
+            }
+        });
+    }
+
+    private CacheEntry<T> load(String key) throws ConfigurationException {
+        CompletableFuture<CacheEntry<T>> future = new CompletableFuture<CacheEntry<T>>();
+        CompletableFuture<CacheEntry<T>> prev = loading.putIfAbsent(key, future);
+        if (prev != null)
+            return await(prev);
+
+        try {
             T value = null;
             try {
                 value = find(conf, key);
             } catch (ConfigurationNotFoundException e) {
             }
-            entry = new CacheEntry<T>(value, now);
-            cache.put(key, entry);
+            CacheEntry<T> entry = new CacheEntry<T>(value, System.currentTimeMillis());
+            // only cache the result if the load was not detached by remove(), removeIf() or clear() meanwhile
+            loading.computeIfPresent(key, (k, pending) -> {
+                if (pending == future)
+                    synchronized (accessOrder) {
+                        cache.put(key, entry);
+                        accessOrder.put(key, Boolean.TRUE);
+                    }
+                return pending;
+            });
+            evictIfFull();
+            future.complete(entry);
+            return entry;
+        } catch (ConfigurationException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private CacheEntry<T> await(CompletableFuture<CacheEntry<T>> future) throws ConfigurationException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ConfigurationException)
+                throw (ConfigurationException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new ConfigurationException(cause);
+        }
+    }
+
+    private void evictIfFull() {
+        int maxSize = this.maxSize;
+        if (maxSize <= 0)
+            return;
+
+        synchronized (accessOrder) {
+            Iterator<String> eldest = accessOrder.keySet().iterator();
+            while (cache.size() > maxSize && eldest.hasNext()) {
+                cache.remove(eldest.next());
+                eldest.remove();
+            }
         }
-        return entry.value;
     }
 
     protected abstract T find(C conf, String key)
@@ -0,0 +1,193 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.conf.api;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since Oct 2026
+ */
+public class ConfigurationCacheTest {
+
+    private static class TestCache extends ConfigurationCache<Object, String> {
+        final AtomicInteger finds = new AtomicInteger();
+        volatile CountDownLatch block;
+
+        TestCache() {
+            super(new Object());
+        }
+
+        @Override
+        protected String find(Object conf, String key) throws ConfigurationException {
+            finds.incrementAndGet();
+            CountDownLatch block = this.block;
+            if (block != null)
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new ConfigurationException(e);
+                }
+            if (key.startsWith("unknown"))
+                throw new ConfigurationNotFoundException(key);
+            return key + '#' + finds.get();
+        }
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        TestCache cache = new TestCache();
+        cache.block = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                futures.add(executor.submit(() -> cache.get("AET")));
+            Thread.sleep(100);
+            cache.block.countDown();
+            for (Future<String> future : futures)
+                assertEquals("AET#1", future.get());
+            assertEquals(1, cache.finds.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNotFoundStaleTimeout() throws Exception {
+        TestCache cache = new TestCache();
+        cache.setStaleTimeout(60);
+        cache.setNotFoundStaleTimeout(0);
+        assertNull(cache.get("unknown"));
+        assertNull(cache.get("unknown"));
+        assertEquals(1, cache.finds.get());
+        cache.setNotFoundStaleTimeout(-1);
+        assertEquals(-1, cache.getNotFoundStaleTimeout());
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception {
+        TestCache cache = new TestCache();
+        cache.setStaleTimeout(1);
+        cache.setRefreshAhead(1);
+        cache.setExecutor(Runnable::run);
+        assertEquals("AET#1", cache.get("AET"));
+        Thread.sleep(10);
+        assertEquals("AET#1", cache.get("AET"));
+        assertEquals("AET#2", cache.get("AET"));
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        TestCache cache = new TestCache();
+        cache.setMaxSize(2);
+        cache.get("A");
+        Thread.sleep(2);
+        cache.get("B");
+        Thread.sleep(2);
+        cache.get("C");
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.finds.get());
+        cache.get("B");
+        assertEquals(3, cache.finds.get());
+        cache.get("A");
+        assertEquals(4, cache.finds.get());
+    }
+
+    @Test
+    public void testRemoveDuringLoad() throws Exception {
+        TestCache cache = new TestCache();
+        cache.block = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> future = executor.submit(() -> cache.get("AET"));
+            Thread.sleep(100);
+            cache.remove("AET");
+            cache.block.countDown();
+            assertEquals("AET#1", future.get());
+            assertEquals(0, cache.size());
+            assertEquals("AET#2", cache.get("AET"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testClearDuringLoad() throws Exception {
+        TestCache cache = new TestCache();
+        cache.block = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> future = executor.submit(() -> cache.get("AET"));
+            Thread.sleep(100);
+            cache.clear();
+            cache.block.countDown();
+            assertEquals("AET#1", future.get());
+            assertEquals(0, cache.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEvictLeastRecentlyAccessed() throws Exception {
+        TestCache cache = new TestCache();
+        cache.setMaxSize(2);
+        cache.get("A");
+        cache.get("B");
+        cache.get("A");
+        cache.get("C");
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.finds.get());
+        cache.get("A");
+        assertEquals(3, cache.finds.get());
+        cache.get("B");
+        assertEquals(4, cache.finds.get());
+    }
+}
@@ -48,7 +48,10 @@ import org.dcm4che3.conf.json.JsonWriter;
 import org.dcm4che3.net.Connection;
 import org.dcm4che3.net.Device;
 import org.dcm4che3.net.hl7.HL7Application;
+import org.dcm4che3.net.hl7.HL7AttributesMapper;
+import org.dcm4che3.net.hl7.HL7AttributesMapping;
 import org.dcm4che3.net.hl7.HL7DeviceExtension;
+import org.dcm4che3.util.StringUtils;
 
 import javax.json.stream.JsonParser;
 import java.util.ArrayList;
@@ -79,6 +82,9 @@ public class JsonHL7Configuration extends JsonConfigurationExtension {
         if (ext == null)
             return;
 
+        writer.writeNotDef("hl7NioWorkerThreads", ext.getNioWorkerThreads(), 0);
+        writer.writeNotDef("hl7NioMaxMessageLength", ext.getNioMaxMessageLength(),
+                HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH);
         writer.writeStartArray("hl7Application");
         for (HL7Application hl7App : ext.getHL7Applications())
             writeTo(device, hl7App, writer);
@@ -89,13 +95,25 @@ public class JsonHL7Configuration extends JsonConfigurationExtension {
     @Override
     public boolean loadDeviceExtension(Device device, JsonReader reader, ConfigurationDelegate config)
             throws ConfigurationException {
-        if (!reader.getString().equals("hl7Application"))
-            return false;
+        switch (reader.getString()) {
+            case "hl7NioWorkerThreads":
+                hl7ExtensionOf(device).setNioWorkerThreads(reader.intValue());
+                return true;
+            case "hl7NioMaxMessageLength":
+                hl7ExtensionOf(device).setNioMaxMessageLength(reader.intValue());
+                return true;
+            case "hl7Application":
+                loadFrom(hl7ExtensionOf(device), reader, device, config);
+                return true;
+        }
+        return false;
+    }
 
-        HL7DeviceExtension ext = new HL7DeviceExtension();
-        loadFrom(ext, reader, device, config);
-        device.addDeviceExtension(ext);
-        return true;
+    private static HL7DeviceExtension hl7ExtensionOf(Device device) {
+        HL7DeviceExtension ext = device.getDeviceExtension(HL7DeviceExtension.class);
+        if (ext == null)
+            device.addDeviceExtension(ext = new HL7DeviceExtension());
+        return ext;
     }
 
     private void writeTo(Device device, HL7Application hl7App, JsonWriter writer) {
@@ -108,6 +126,7 @@ public class JsonHL7Configuration extends JsonConfigurationExtension {
         writer.writeNotEmpty("hl7AcceptedMessageType", hl7App.getAcceptedMessageTypes());
         writer.writeNotNullOrDef("hl7DefaultCharacterSet", hl7App.getHL7DefaultCharacterSet(), "ASCII");
         writer.writeNotNullOrDef("hl7SendingCharacterSet", hl7App.getHL7SendingCharacterSet(), "ASCII");
+        writer.writeNotEmpty("hl7AttributesMapping", attributesMappingOf(hl7App));
         writer.writeNotNullOrDef("dicomDescription", hl7App.getDescription(), null);
         writer.writeNotEmpty("dicomApplicationCluster", hl7App.getApplicationClusters());
         for (JsonHL7ConfigurationExtension ext : extensions)
@@ -115,6 +134,11 @@ public class JsonHL7Configuration extends JsonConfigurationExtension {
         writer.writeEnd();
     }
 
+    private static String[] attributesMappingOf(HL7Application hl7App) {
+        HL7AttributesMapping ext = hl7App.getHL7ApplicationExtension(HL7AttributesMapping.class);
+        return ext != null ? ext.getMappings() : StringUtils.EMPTY_STRING;
+    }
+
     private void loadFrom(HL7DeviceExtension ext, JsonReader reader, Device device, ConfigurationDelegate config)
             throws ConfigurationException {
         List<Connection> conns = device.listConnections();
@@ -158,6 +182,12 @@ public class JsonHL7Configuration extends JsonConfigurationExtension {
                 case "hl7SendingCharacterSet":
                     hl7App.setHL7SendingCharacterSet(reader.stringValue());
                     break;
+                case "hl7AttributesMapping":
+                    String[] mappings = reader.stringArray();
+                    if (mappings.length > 0)
+                        hl7App.addHL7ApplicationExtension(
+                                new HL7AttributesMapping(HL7AttributesMapper.valueOf(mappings)));
+                    break;
                 case "dicomDescription":
                     hl7App.setDescription(reader.stringValue());
                     break;
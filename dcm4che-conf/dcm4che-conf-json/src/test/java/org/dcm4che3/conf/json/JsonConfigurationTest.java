@@ -61,6 +61,8 @@ import org.dcm4che3.net.audit.AuditLoggerDeviceExtension;
 import org.dcm4che3.net.audit.AuditRecordRepository;
 import org.dcm4che3.net.audit.AuditSuppressCriteria;
 import org.dcm4che3.net.hl7.HL7Application;
+import org.dcm4che3.net.hl7.HL7AttributesMapper;
+import org.dcm4che3.net.hl7.HL7AttributesMapping;
 import org.dcm4che3.net.hl7.HL7DeviceExtension;
 import org.dcm4che3.net.imageio.ImageReaderExtension;
 import org.dcm4che3.net.imageio.ImageWriterExtension;
@@ -86,6 +88,8 @@ import static org.junit.Assert.*;
  */
 public class JsonConfigurationTest {
 
+    static final int HL7_NIO_WORKER_THREADS = 4;
+    static final int HL7_NIO_MAX_MESSAGE_LENGTH = 1048576;
     static final String HL7_DEFAULT_CHARACTER_SET = "8859/1";
     static final String[] HL7_MESSAGE_TYPES = {
             "ADT^A02",
@@ -102,6 +106,11 @@ public class JsonConfigurationTest {
             "MAS1TLN^TALLINN"
     };
 
+    static final String[] HL7_ATTRIBUTES_MAPPING = {
+            "PID-3.1 PatientID",
+            "PID-5 PatientName XPN"
+    };
+
     static final EventID[] AUDIT_LOGGER_EVENT_IDS = {
             AuditMessages.EventID.HealthServicesProvisionEvent,
             AuditMessages.EventID.MedicationEvent,
@@ -480,6 +489,8 @@ public class JsonConfigurationTest {
         device.addConnection(hl7);
 
         HL7DeviceExtension ext = new HL7DeviceExtension();
+        ext.setNioWorkerThreads(HL7_NIO_WORKER_THREADS);
+        ext.setNioMaxMessageLength(HL7_NIO_MAX_MESSAGE_LENGTH);
         device.addDeviceExtension(ext);
         HL7Application hl7App = new HL7Application("*");
         ext.addHL7Application(hl7App);
@@ -487,10 +498,14 @@ public class JsonConfigurationTest {
         hl7App.setHL7DefaultCharacterSet(HL7_DEFAULT_CHARACTER_SET);
         hl7App.setAcceptedMessageTypes(HL7_MESSAGE_TYPES);
         hl7App.setAcceptedSendingApplications(HL7_ACCEPTED_SENDING_APPLICATIONS);
+        hl7App.addHL7ApplicationExtension(
+                new HL7AttributesMapping(HL7AttributesMapper.valueOf(HL7_ATTRIBUTES_MAPPING)));
     }
 
     private void assertHL7DeviceExtension(HL7DeviceExtension ext) {
         assertNotNull(ext);
+        assertEquals(HL7_NIO_WORKER_THREADS, ext.getNioWorkerThreads());
+        assertEquals(HL7_NIO_MAX_MESSAGE_LENGTH, ext.getNioMaxMessageLength());
         Collection<HL7Application> hl7Apps = ext.getHL7Applications();
         assertEquals(1, hl7Apps.size());
         HL7Application hl7App = hl7Apps.iterator().next();
@@ -499,6 +514,9 @@ public class JsonConfigurationTest {
         assertEquals(HL7_DEFAULT_CHARACTER_SET, hl7App.getHL7DefaultCharacterSet());
         assertArrayEquals(HL7_MESSAGE_TYPES, hl7App.getAcceptedMessageTypes());
         assertArrayEquals(HL7_ACCEPTED_SENDING_APPLICATIONS, hl7App.getAcceptedSendingApplications());
+        HL7AttributesMapping mapping = hl7App.getHL7ApplicationExtension(HL7AttributesMapping.class);
+        assertNotNull(mapping);
+        assertArrayEquals(HL7_ATTRIBUTES_MAPPING, mapping.getMappings());
     }
 
 }
\ No newline at end of file
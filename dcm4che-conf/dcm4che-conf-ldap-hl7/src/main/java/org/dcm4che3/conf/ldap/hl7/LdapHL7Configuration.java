@@ -48,11 +48,14 @@ import org.dcm4che3.net.Connection;
 import org.dcm4che3.net.Device;
 import org.dcm4che3.net.hl7.HL7ApplicationInfo;
 import org.dcm4che3.net.hl7.HL7Application;
+import org.dcm4che3.net.hl7.HL7AttributesMapper;
+import org.dcm4che3.net.hl7.HL7AttributesMapping;
 import org.dcm4che3.net.hl7.HL7DeviceExtension;
 import org.dcm4che3.util.StringUtils;
 
 import javax.naming.*;
 import javax.naming.directory.*;
+import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -273,6 +276,49 @@ public class LdapHL7Configuration extends LdapDicomConfigurationExtension
         sb.append(")");
     }
 
+    @Override
+    protected void storeTo(ConfigurationChanges.ModifiedObject ldapObj, Device device, Attributes attrs) {
+        HL7DeviceExtension hl7Ext = device.getDeviceExtension(HL7DeviceExtension.class);
+        if (hl7Ext != null) {
+            LdapUtils.storeNotDef(ldapObj, attrs, "hl7NioWorkerThreads", hl7Ext.getNioWorkerThreads(), 0);
+            LdapUtils.storeNotDef(ldapObj, attrs, "hl7NioMaxMessageLength", hl7Ext.getNioMaxMessageLength(),
+                    HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH);
+        }
+    }
+
+    @Override
+    protected void loadFrom(Device device, Attributes attrs) throws NamingException, CertificateException {
+        int nioWorkerThreads = LdapUtils.intValue(attrs.get("hl7NioWorkerThreads"), 0);
+        if (nioWorkerThreads > 0)
+            hl7ExtensionOf(device).setNioWorkerThreads(nioWorkerThreads);
+        int nioMaxMessageLength = LdapUtils.intValue(attrs.get("hl7NioMaxMessageLength"),
+                HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH);
+        if (nioMaxMessageLength != HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH)
+            hl7ExtensionOf(device).setNioMaxMessageLength(nioMaxMessageLength);
+    }
+
+    private static HL7DeviceExtension hl7ExtensionOf(Device device) {
+        HL7DeviceExtension hl7Ext = device.getDeviceExtension(HL7DeviceExtension.class);
+        if (hl7Ext == null)
+            device.addDeviceExtension(hl7Ext = new HL7DeviceExtension());
+        return hl7Ext;
+    }
+
+    @Override
+    protected void storeDiffs(ConfigurationChanges.ModifiedObject ldapObj, Device prev, Device device,
+            List<ModificationItem> mods) {
+        HL7DeviceExtension prevHL7Ext = prev.getDeviceExtension(HL7DeviceExtension.class);
+        HL7DeviceExtension hl7Ext = device.getDeviceExtension(HL7DeviceExtension.class);
+        LdapUtils.storeDiff(ldapObj, mods, "hl7NioWorkerThreads",
+                prevHL7Ext != null ? prevHL7Ext.getNioWorkerThreads() : 0,
+                hl7Ext != null ? hl7Ext.getNioWorkerThreads() : 0,
+                0);
+        LdapUtils.storeDiff(ldapObj, mods, "hl7NioMaxMessageLength",
+                prevHL7Ext != null ? prevHL7Ext.getNioMaxMessageLength() : HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH,
+                hl7Ext != null ? hl7Ext.getNioMaxMessageLength() : HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH,
+                HL7DeviceExtension.DEFAULT_NIO_MAX_MESSAGE_LENGTH);
+    }
+
     @Override
     protected void storeChilds(ConfigurationChanges diffs, String deviceDN, Device device) throws NamingException {
         HL7DeviceExtension hl7Ext = device.getDeviceExtension(HL7DeviceExtension.class);
@@ -311,6 +357,7 @@ public class LdapHL7Configuration extends LdapDicomConfigurationExtension
                 hl7App.getHL7DefaultCharacterSet(), "ASCII");
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "hl7SendingCharacterSet",
                 hl7App.getHL7SendingCharacterSet(), "ASCII");
+        LdapUtils.storeNotEmpty(ldapObj, attrs, "hl7AttributesMapping", attributesMappingOf(hl7App));
         LdapUtils.storeConnRefs(ldapObj, attrs, hl7App.getConnections(), deviceDN);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dicomDescription", hl7App.getDescription(), null);
         LdapUtils.storeNotEmpty(ldapObj, attrs, "dicomApplicationCluster", hl7App.getApplicationClusters());
@@ -329,8 +376,7 @@ public class LdapHL7Configuration extends LdapDicomConfigurationExtension
             if (!ne.hasMore())
                 return;
 
-            HL7DeviceExtension hl7Ext = new HL7DeviceExtension();
-            device.addDeviceExtension(hl7Ext);
+            HL7DeviceExtension hl7Ext = hl7ExtensionOf(device);
             do {
                 hl7Ext.addHL7Application(
                         loadHL7Application(ne.next(), deviceDN, device));
@@ -358,6 +404,9 @@ public class LdapHL7Configuration extends LdapDicomConfigurationExtension
         hl7app.setAcceptedMessageTypes(LdapUtils.stringArray(attrs.get("hl7AcceptedMessageType")));
         hl7app.setHL7DefaultCharacterSet(LdapUtils.stringValue(attrs.get("hl7DefaultCharacterSet"), "ASCII"));
         hl7app.setHL7SendingCharacterSet(LdapUtils.stringValue(attrs.get("hl7SendingCharacterSet"), "ASCII"));
+        String[] mappings = LdapUtils.stringArray(attrs.get("hl7AttributesMapping"));
+        if (mappings.length > 0)
+            hl7app.addHL7ApplicationExtension(new HL7AttributesMapping(HL7AttributesMapper.valueOf(mappings)));
         hl7app.setDescription(LdapUtils.stringValue(attrs.get("dicomDescription"), null));
         hl7app.setApplicationClusters(LdapUtils.stringArray(attrs.get("dicomApplicationCluster")));
         hl7app.setInstalled(LdapUtils.booleanValue(attrs.get("dicomInstalled"), null));
@@ -423,6 +472,9 @@ public class LdapHL7Configuration extends LdapDicomConfigurationExtension
         LdapUtils.storeDiffObject(ldapObj, mods, "hl7SendingCharacterSet",
                 a.getHL7SendingCharacterSet(),
                 b.getHL7SendingCharacterSet(), "ASCII");
+        LdapUtils.storeDiff(ldapObj, mods, "hl7AttributesMapping",
+                attributesMappingOf(a),
+                attributesMappingOf(b));
         LdapUtils.storeDiff(ldapObj, mods, "dicomNetworkConnectionReference",
                 a.getConnections(),
                 b.getConnections(),
@@ -441,6 +493,11 @@ public class LdapHL7Configuration extends LdapDicomConfigurationExtension
         return mods;
     }
 
+    private static String[] attributesMappingOf(HL7Application hl7App) {
+        HL7AttributesMapping ext = hl7App.getHL7ApplicationExtension(HL7AttributesMapping.class);
+        return ext != null ? ext.getMappings() : StringUtils.EMPTY_STRING;
+    }
+
     @Override
     protected void register(Device device, List<String> dns) throws ConfigurationException {
         HL7DeviceExtension hl7Ext = device.getDeviceExtension(HL7DeviceExtension.class);
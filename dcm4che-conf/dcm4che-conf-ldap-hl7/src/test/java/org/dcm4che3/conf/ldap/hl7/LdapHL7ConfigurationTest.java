@@ -44,6 +44,8 @@ import org.dcm4che3.net.Connection;
 import org.dcm4che3.net.Connection.Protocol;
 import org.dcm4che3.net.Device;
 import org.dcm4che3.net.hl7.HL7Application;
+import org.dcm4che3.net.hl7.HL7AttributesMapper;
+import org.dcm4che3.net.hl7.HL7AttributesMapping;
 import org.dcm4che3.net.hl7.HL7DeviceExtension;
 import org.junit.After;
 import org.junit.Before;
@@ -99,12 +101,17 @@ public class LdapHL7ConfigurationTest {
         assertEquals(2575, app.getConnections().get(0).getPort());
         assertEquals("TEST2^DCM4CHE", app.getAcceptedSendingApplications()[0]);
         assertEquals(7, app.getAcceptedMessageTypes().length);
+        assertEquals(2, app.getHL7ApplicationExtension(HL7AttributesMapping.class).getMappings().length);
+        assertEquals(4, app.getDevice().getDeviceExtension(HL7DeviceExtension.class).getNioWorkerThreads());
+        assertEquals(1048576, app.getDevice().getDeviceExtension(HL7DeviceExtension.class).getNioMaxMessageLength());
         config.removeDevice("Test-Device-1", null);
     }
 
     private static Device createDevice(String name, String appName) throws Exception {
         Device device = new Device(name);
         HL7DeviceExtension hl7Ext = new HL7DeviceExtension();
+        hl7Ext.setNioWorkerThreads(4);
+        hl7Ext.setNioMaxMessageLength(1048576);
         device.addDeviceExtension(hl7Ext);
         Connection conn = createConn("host.dcm4che.org", 2575);
         device.addConnection(conn);
@@ -133,6 +140,8 @@ public class LdapHL7ConfigurationTest {
                 "ADT^A08",
                 "ADT^A40",
                 "ORM^O01");
+        app.addHL7ApplicationExtension(new HL7AttributesMapping(
+                HL7AttributesMapper.valueOf(new String[]{ "PID-3.1 PatientID", "PID-5 PatientName" })));
         return app;
     }
 }
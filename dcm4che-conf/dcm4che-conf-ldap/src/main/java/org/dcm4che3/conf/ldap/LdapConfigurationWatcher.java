@@ -0,0 +1,272 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.conf.ldap;
+
+import org.dcm4che3.conf.api.ConfigurationCache;
+import org.dcm4che3.conf.api.ConfigurationException;
+import org.dcm4che3.net.Device;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.naming.InvalidNameException;
+import javax.naming.NamingException;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.InvalidAttributeValueException;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.LdapName;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Detects modifications of device configurations in the LDAP directory by periodically polling for entries with
+ * a {@code modifyTimestamp} or {@code createTimestamp} not older than the last poll, and for removed devices, and
+ * notifies registered listeners about the names of modified devices.
+ * <p>
+ * Listeners are typically used to invalidate entries of {@link ConfigurationCache}s, so changes become effective
+ * without waiting for the stale timeout of the cache. The first poll is performed relative to the clock of the
+ * local host.
+ *
+ * @since Oct 2026
+ */
+public class LdapConfigurationWatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LdapConfigurationWatcher.class);
+    private static final String[] TIMESTAMP_ATTRS = { "modifyTimestamp", "createTimestamp" };
+    private static final DateTimeFormatter GENERALIZED_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    public interface DeviceChangeListener {
+        void onDeviceChanged(String deviceName);
+    }
+
+    private final LdapDicomConfiguration conf;
+    private final List<DeviceChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private String since;
+    private Instant sinceTime;
+    private Set<String> reportedAtSince = new HashSet<>();
+    private Set<String> deviceNames;
+    private ScheduledFuture<?> polling;
+
+    public LdapConfigurationWatcher(LdapDicomConfiguration conf) {
+        this.conf = conf;
+    }
+
+    public void addListener(DeviceChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean removeListener(DeviceChangeListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener which removes entries of modified devices and entries for keys without configuration
+     * object from the specified cache.
+     *
+     * @param cache    configuration cache
+     * @param deviceOf returns the device of a cached configuration object
+     * @return registered listener
+     */
+    public <T> DeviceChangeListener invalidate(ConfigurationCache<?, T> cache, Function<? super T, Device> deviceOf) {
+        DeviceChangeListener listener = deviceName ->
+                cache.removeIf(value -> value == null || deviceName.equals(deviceOf.apply(value).getDeviceName()));
+        addListener(listener);
+        return listener;
+    }
+
+    public synchronized void start(ScheduledExecutorService executor, long interval, TimeUnit unit) {
+        stop();
+        polling = executor.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (Exception e) {
+                LOG.warn("Failed to poll for modified device configurations:", e);
+            }
+        }, 0, interval, unit);
+    }
+
+    public synchronized void stop() {
+        if (polling != null) {
+            polling.cancel(false);
+            polling = null;
+        }
+    }
+
+    /**
+     * Polls for modified device configurations and notifies the listeners.
+     */
+    public synchronized void poll() throws ConfigurationException {
+        if (!conf.configurationExists())
+            return;
+
+        String devicesDN = conf.getDevicesDN();
+        Set<String> names = new HashSet<>(Arrays.asList(conf.listDeviceNames()));
+        if (since == null) {
+            sinceTime = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            since = generalizedTime(sinceTime);
+            deviceNames = names;
+            return;
+        }
+        Set<String> changed = new HashSet<>();
+        try {
+            LdapName devicesName = new LdapName(devicesDN);
+            List<SearchResult> results = conf.searchSubtree(devicesDN,
+                    "(|(modifyTimestamp>=" + since + ")(createTimestamp>=" + since + "))", TIMESTAMP_ATTRS);
+            String maxTimestamp = since;
+            Instant maxTime = sinceTime;
+            Set<String> atMaxTimestamp = new HashSet<>();
+            for (SearchResult sr : results) {
+                String dn = sr.getNameInNamespace();
+                Attributes attrs = sr.getAttributes();
+                String timestamp = LdapUtils.stringValue(attrs.get("modifyTimestamp"), null);
+                String createTimestamp = LdapUtils.stringValue(attrs.get("createTimestamp"), null);
+                Instant time = parseGeneralizedTime(timestamp);
+                if (createTimestamp != null) {
+                    Instant createTime = parseGeneralizedTime(createTimestamp);
+                    if (time == null || createTime.isAfter(time)) {
+                        timestamp = createTimestamp;
+                        time = createTime;
+                    }
+                }
+                if (time == null)
+                    continue;
+                if (!time.isAfter(sinceTime) && reportedAtSince.contains(dn))
+                    continue;
+                String deviceName = deviceNameOf(new LdapName(dn), devicesName);
+                if (deviceName != null)
+                    changed.add(deviceName);
+                int cmp = time.compareTo(maxTime);
+                if (cmp > 0) {
+                    maxTimestamp = timestamp;
+                    maxTime = time;
+                    atMaxTimestamp.clear();
+                }
+                if (cmp >= 0)
+                    atMaxTimestamp.add(dn);
+            }
+            if (maxTime.equals(sinceTime)) {
+                reportedAtSince.addAll(atMaxTimestamp);
+            } else {
+                since = maxTimestamp;
+                sinceTime = maxTime;
+                reportedAtSince = atMaxTimestamp;
+            }
+        } catch (NamingException e) {
+            throw new ConfigurationException(e);
+        }
+        for (String name : deviceNames)
+            if (!names.contains(name))
+                changed.add(name);
+        deviceNames = names;
+        for (String deviceName : changed) {
+            LOG.info("Detected modification of configuration of Device: {}", deviceName);
+            for (DeviceChangeListener listener : listeners)
+                listener.onDeviceChanged(deviceName);
+        }
+    }
+
+    private static String deviceNameOf(LdapName dn, LdapName devicesName) throws InvalidNameException {
+        return dn.size() > devicesName.size() && dn.startsWith(devicesName)
+                ? dn.getRdn(devicesName.size()).getValue().toString()
+                : null;
+    }
+
+    private static String generalizedTime(Instant time) {
+        return GENERALIZED_TIME.format(time);
+    }
+
+    /**
+     * Parses a value of LDAP syntax Generalized Time ({@code YYYYmmddHH[MM[SS]][(.|,)fraction](Z|(+|-)HH[MM])}),
+     * so values with different precision, e.g. {@code 20261019120005Z} and {@code 20261019120005.1Z}, can be
+     * compared.
+     *
+     * @param s Generalized Time value or {@code null}
+     * @return parsed time or {@code null}, if {@code s} is {@code null}
+     * @throws NamingException if {@code s} is not a valid Generalized Time
+     */
+    static Instant parseGeneralizedTime(String s) throws NamingException {
+        if (s == null)
+            return null;
+        try {
+            int pos = 10;
+            LocalDateTime time = LocalDateTime.of(
+                    Integer.parseInt(s.substring(0, 4)),
+                    Integer.parseInt(s.substring(4, 6)),
+                    Integer.parseInt(s.substring(6, 8)),
+                    Integer.parseInt(s.substring(8, 10)),
+                    0);
+            long fractionUnit = ChronoUnit.HOURS.getDuration().toNanos();
+            if (pos + 2 <= s.length() && Character.isDigit(s.charAt(pos))) {
+                time = time.plusMinutes(Integer.parseInt(s.substring(pos, pos += 2)));
+                fractionUnit = ChronoUnit.MINUTES.getDuration().toNanos();
+                if (pos + 2 <= s.length() && Character.isDigit(s.charAt(pos))) {
+                    time = time.plusSeconds(Integer.parseInt(s.substring(pos, pos += 2)));
+                    fractionUnit = ChronoUnit.SECONDS.getDuration().toNanos();
+                }
+            }
+            if (s.charAt(pos) == '.' || s.charAt(pos) == ',') {
+                int end = ++pos;
+                while (Character.isDigit(s.charAt(end)))
+                    end++;
+                BigDecimal fraction = new BigDecimal("0." + s.substring(pos, end));
+                time = time.plusNanos(fraction.multiply(BigDecimal.valueOf(fractionUnit)).longValue());
+                pos = end;
+            }
+            ZoneOffset offset = s.charAt(pos) == 'Z' && pos + 1 == s.length()
+                    ? ZoneOffset.UTC
+                    : ZoneOffset.of(s.substring(pos));
+            return time.toInstant(offset);
+        } catch (RuntimeException e) {
+            throw new InvalidAttributeValueException("Invalid Generalized Time: " + s);
+        }
+    }
+}
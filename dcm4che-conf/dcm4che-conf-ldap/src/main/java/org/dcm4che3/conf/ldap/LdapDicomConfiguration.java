@@ -84,6 +84,8 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
     private String pkiUser = PKI_USER;
     private String userCertificate = USER_CERTIFICATE_BINARY;
     private boolean extended = true;
+    private boolean bulkLoading;
+    private int searchPageSize = 500;
 
     private final List<LdapDicomConfigurationExtension> extensions = new ArrayList<>();
 
@@ -94,6 +96,11 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
      */
     private ThreadLocal<Map<String,Device>> currentlyLoadedDevicesLocal = new ThreadLocal<>();
 
+    /**
+     * Subtrees of devices, which are currently loaded in bulk by this thread. See loadDevice.
+     */
+    private ThreadLocal<List<LdapSubtree>> currentlyLoadedSubtreesLocal = ThreadLocal.withInitial(ArrayList::new);
+
     static final String[] AE_ATTRS = {
             "dicomDeviceName",
             "dicomAETitle",
@@ -153,6 +160,31 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
         this.extended = extended;
     }
 
+    public final boolean isBulkLoading() {
+        return bulkLoading;
+    }
+
+    /**
+     * Specify if devices are loaded by one paged subtree search, instead of separate searches for each child
+     * object. Requires that the LDAP server supports the Simple Paged Results Control (RFC 2696) or returns all
+     * entries of a device subtree without exceeding its size limit.
+     *
+     * @param bulkLoading {@code true} to load devices by one paged subtree search
+     */
+    public final void setBulkLoading(boolean bulkLoading) {
+        this.bulkLoading = bulkLoading;
+    }
+
+    public final int getSearchPageSize() {
+        return searchPageSize;
+    }
+
+    public final void setSearchPageSize(int searchPageSize) {
+        if (searchPageSize <= 0)
+            throw new IllegalArgumentException("searchPageSize: " + searchPageSize);
+        this.searchPageSize = searchPageSize;
+    }
+
     public final void setConfigurationCN(String configurationCN) {
         this.configurationCN = configurationCN;
     }
@@ -1331,7 +1363,11 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
             return deviceCache.get(deviceDN);
                 
         
+        List<LdapSubtree> subtrees = currentlyLoadedSubtreesLocal.get();
+        LdapSubtree subtree = null;
         try {
+            if (bulkLoading && subtreeOf(deviceDN) == null)
+                subtrees.add(subtree = new LdapSubtree(deviceDN, searchSubtree(deviceDN, "(objectclass=*)", null)));
             Attributes attrs = getAttributes(deviceDN);
             Device device = new Device(LdapUtils.stringValue(attrs.get("dicomDeviceName"), null));
 
@@ -1348,6 +1384,8 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
         } catch (CertificateException e) {
             throw new ConfigurationException(e);
         } finally {
+            if (subtree != null)
+                subtrees.remove(subtree);
 
             // if this loadDevice call initialized the cache, then clean it up
             if (doCleanUpCache) currentlyLoadedDevicesLocal.remove();
@@ -1356,11 +1394,36 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
     }
 
     public Attributes getAttributes(String name) throws NamingException {
-        return ctx.getAttributes(name);
+        LdapSubtree subtree = subtreeOf(name);
+        return subtree != null ? subtree.getAttributes(name, null) : ctx.getAttributes(name);
     }
 
     public Attributes getAttributes(String name, String[] attrIDs) throws NamingException {
-        return ctx.getAttributes(name, attrIDs);
+        LdapSubtree subtree = subtreeOf(name);
+        return subtree != null ? subtree.getAttributes(name, attrIDs) : ctx.getAttributes(name, attrIDs);
+    }
+
+    private LdapSubtree subtreeOf(String dn) {
+        for (LdapSubtree subtree : currentlyLoadedSubtreesLocal.get())
+            if (subtree.contains(dn))
+                return subtree;
+        return null;
+    }
+
+    /**
+     * Returns all entries of the subtree with the specified base DN matching the filter, fetched by a paged
+     * subtree search. {@code attrs == null} returns all user attributes.
+     */
+    synchronized List<SearchResult> searchSubtree(String dn, String filter, String[] attrs)
+            throws NamingException {
+        SearchControls ctls = searchControlSubtreeScope(0, attrs, false);
+        List<SearchResult> results = ctx.searchPaged(dn, filter, ctls, searchPageSize);
+        LOG.debug("Fetched {} entries of subtree {}", results.size(), dn);
+        return results;
+    }
+
+    String getDevicesDN() {
+        return devicesDN;
     }
 
     private void loadChilds(Device device, String deviceDN)
@@ -1512,6 +1575,12 @@ public final class LdapDicomConfiguration implements DicomConfiguration {
 
     public NamingEnumeration<SearchResult> search(String dn, String filter,
             String... attrs) throws NamingException {
+        LdapSubtree subtree = subtreeOf(dn);
+        if (subtree != null) {
+            NamingEnumeration<SearchResult> ne = subtree.search(dn, filter, attrs);
+            if (ne != null)
+                return ne;
+        }
         SearchControls ctls = new SearchControls();
         ctls.setSearchScope(SearchControls.ONELEVEL_SCOPE);
         ctls.setReturningObjFlag(false);
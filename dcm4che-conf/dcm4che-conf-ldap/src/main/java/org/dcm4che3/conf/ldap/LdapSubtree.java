@@ -0,0 +1,276 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.conf.ldap;
+
+import javax.naming.InvalidNameException;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.LdapName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * In-memory snapshot of the entries of a LDAP subtree, fetched by one subtree search, which serves
+ * {@code getAttributes} and one-level searches for entries of the subtree without further LDAP requests.
+ *
+ * @since Oct 2026
+ */
+final class LdapSubtree {
+
+    private static final List<SearchResult> NO_CHILDS = Collections.emptyList();
+
+    /**
+     * Attributes with EQUALITY caseIgnoreMatch in the DICOM schema, in lower case, for which equality assertions
+     * are evaluated in memory.
+     */
+    private static final Set<String> CASE_IGNORE_ATTRS = new HashSet<>(Arrays.asList(
+            "objectclass",
+            "dicomdevicename",
+            "dicomdescription",
+            "dicommanufacturer",
+            "dicommanufacturermodelname",
+            "dicomsoftwareversion",
+            "dicomapplicationcluster",
+            "dicomhostname",
+            "dicomtransferrole",
+            "dicomstationname",
+            "dicomdeviceserialnumber",
+            "dicominstitutionname",
+            "dicominstitutionaddress",
+            "dicominstitutiondepartmentname"));
+
+    private final LdapName baseDN;
+    private final Map<LdapName, SearchResult> entries = new HashMap<>();
+    private final Map<LdapName, List<SearchResult>> childs = new HashMap<>();
+
+    LdapSubtree(String baseDN, Collection<SearchResult> results) throws InvalidNameException {
+        this.baseDN = new LdapName(baseDN);
+        for (SearchResult sr : results) {
+            LdapName dn = new LdapName(sr.getNameInNamespace());
+            entries.put(dn, sr);
+            if (!dn.equals(this.baseDN))
+                childs.computeIfAbsent((LdapName) dn.getPrefix(dn.size() - 1), k -> new ArrayList<>()).add(sr);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean contains(String dn) {
+        try {
+            return new LdapName(dn).startsWith(baseDN);
+        } catch (InvalidNameException e) {
+            return false;
+        }
+    }
+
+    Attributes getAttributes(String dn, String[] attrIDs) throws NamingException {
+        SearchResult sr = entries.get(new LdapName(dn));
+        if (sr == null)
+            throw new NameNotFoundException(dn);
+        return select(sr.getAttributes(), attrIDs);
+    }
+
+    /**
+     * Returns the child entries of the specified entry which match the filter, or {@code null} if the filter
+     * is not supported by the in-memory evaluation.
+     */
+    NamingEnumeration<SearchResult> search(String dn, String filter, String[] attrIDs) throws NamingException {
+        Predicate<Attributes> predicate = parseFilter(filter);
+        if (predicate == null)
+            return null;
+        List<SearchResult> matches = new ArrayList<>();
+        for (SearchResult sr : childs.getOrDefault(new LdapName(dn), NO_CHILDS)) {
+            Attributes attrs = sr.getAttributes();
+            if (predicate.test(attrs)) {
+                LdapName name = new LdapName(sr.getNameInNamespace());
+                SearchResult match = new SearchResult(name.getRdn(name.size() - 1).toString(), null,
+                        select(attrs, attrIDs), true);
+                match.setNameInNamespace(sr.getNameInNamespace());
+                matches.add(match);
+            }
+        }
+        return new ListEnumeration(matches);
+    }
+
+    private static Attributes select(Attributes attrs, String[] attrIDs) {
+        if (attrIDs == null)
+            return (Attributes) attrs.clone();
+        BasicAttributes selected = new BasicAttributes(true);
+        for (String attrID : attrIDs) {
+            Attribute attr = attrs.get(attrID);
+            if (attr != null)
+                selected.put((Attribute) attr.clone());
+        }
+        return selected;
+    }
+
+    /**
+     * Parses a LDAP search filter consisting of equality and presence assertions combined by {@code &}, {@code |}
+     * and {@code !}. Values are compared case-insensitive, as by the {@code caseIgnoreMatch} rule of the LDAP server.
+     * Returns {@code null} for other filters and for equality assertions on attributes with other matching rules,
+     * which have to be evaluated by the LDAP server.
+     */
+    static Predicate<Attributes> parseFilter(String filter) {
+        int[] pos = { 0 };
+        Predicate<Attributes> predicate = parseFilter(filter, pos);
+        return predicate != null && pos[0] == filter.length() ? predicate : null;
+    }
+
+    private static Predicate<Attributes> parseFilter(String s, int[] pos) {
+        if (pos[0] >= s.length() || s.charAt(pos[0]) != '(')
+            return null;
+        pos[0]++;
+        if (pos[0] >= s.length())
+            return null;
+        Predicate<Attributes> predicate;
+        char c = s.charAt(pos[0]);
+        switch (c) {
+            case '&':
+            case '|':
+                pos[0]++;
+                List<Predicate<Attributes>> list = new ArrayList<>();
+                while (pos[0] < s.length() && s.charAt(pos[0]) == '(') {
+                    Predicate<Attributes> p = parseFilter(s, pos);
+                    if (p == null)
+                        return null;
+                    list.add(p);
+                }
+                predicate = c == '&'
+                        ? attrs -> list.stream().allMatch(p -> p.test(attrs))
+                        : attrs -> list.stream().anyMatch(p -> p.test(attrs));
+                break;
+            case '!':
+                pos[0]++;
+                Predicate<Attributes> p = parseFilter(s, pos);
+                if (p == null)
+                    return null;
+                predicate = p.negate();
+                break;
+            default:
+                int end = s.indexOf(')', pos[0]);
+                if (end < 0)
+                    return null;
+                predicate = parseItem(s.substring(pos[0], end));
+                if (predicate == null)
+                    return null;
+                pos[0] = end;
+        }
+        if (pos[0] >= s.length() || s.charAt(pos[0]) != ')')
+            return null;
+        pos[0]++;
+        return predicate;
+    }
+
+    private static Predicate<Attributes> parseItem(String item) {
+        int eq = item.indexOf('=');
+        if (eq <= 0 || item.indexOf('\\') >= 0 || "~<>:".indexOf(item.charAt(eq - 1)) >= 0)
+            return null;
+        String attrID = item.substring(0, eq);
+        String value = item.substring(eq + 1);
+        if (value.equals("*"))
+            return attrs -> attrs.get(attrID) != null;
+        if (value.indexOf('*') >= 0 || !CASE_IGNORE_ATTRS.contains(attrID.toLowerCase(Locale.ROOT)))
+            return null;
+        return attrs -> hasValue(attrs.get(attrID), value);
+    }
+
+    private static boolean hasValue(Attribute attr, String value) {
+        if (attr == null)
+            return false;
+        try {
+            for (int i = 0, n = attr.size(); i < n; i++) {
+                Object v = attr.get(i);
+                if (v instanceof String && value.equalsIgnoreCase((String) v))
+                    return true;
+            }
+        } catch (NamingException e) {
+            return false;
+        }
+        return false;
+    }
+
+    private static final class ListEnumeration implements NamingEnumeration<SearchResult> {
+        private final Iterator<SearchResult> iter;
+
+        ListEnumeration(List<SearchResult> list) {
+            this.iter = list.iterator();
+        }
+
+        @Override
+        public SearchResult next() {
+            return iter.next();
+        }
+
+        @Override
+        public boolean hasMore() {
+            return iter.hasNext();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return iter.hasNext();
+        }
+
+        @Override
+        public SearchResult nextElement() {
+            return iter.next();
+        }
+    }
+}
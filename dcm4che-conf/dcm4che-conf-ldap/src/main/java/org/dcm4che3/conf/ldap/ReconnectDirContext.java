@@ -5,8 +5,16 @@ import org.slf4j.LoggerFactory;
 
 import javax.naming.*;
 import javax.naming.directory.*;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.InitialLdapContext;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+import javax.naming.ldap.PagedResultsResponseControl;
 import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -27,13 +35,13 @@ class ReconnectDirContext implements Closeable {
 
     public ReconnectDirContext(Hashtable<?,?> env) throws NamingException {
         this.env = (Hashtable) env.clone();
-        this.ctx = new InitialDirContext(env);
+        this.ctx = new InitialLdapContext(env, null);
     }
 
     private void reconnect() throws NamingException {
         LOG.info("Connection to {} broken - reconnect", env.get(Context.PROVIDER_URL));
         close();
-        ctx = new InitialDirContext(env);
+        ctx = new InitialLdapContext(env, null);
     }
 
     @Override
@@ -115,4 +123,56 @@ class ReconnectDirContext implements Closeable {
             ctx.modifyAttributes(name, mod_op, attrs);
         }
     }
+
+    public List<SearchResult> searchPaged(String name, String filter, SearchControls cons, int pageSize)
+            throws NamingException {
+        try {
+            return searchPaged0(name, filter, cons, pageSize);
+        } catch (CommunicationException | NotContextException e) {
+            reconnect();
+            return searchPaged0(name, filter, cons, pageSize);
+        }
+    }
+
+    private List<SearchResult> searchPaged0(String name, String filter, SearchControls cons, int pageSize)
+            throws NamingException {
+        List<SearchResult> results = new ArrayList<>();
+        LdapContext pagedCtx = ((LdapContext) ctx).newInstance(
+                new Control[]{ pagedResultsControl(pageSize, null, Control.NONCRITICAL) });
+        try {
+            byte[] cookie;
+            do {
+                NamingEnumeration<SearchResult> ne = pagedCtx.search(name, filter, cons);
+                try {
+                    while (ne.hasMore())
+                        results.add(ne.next());
+                } finally {
+                    LdapUtils.safeClose(ne);
+                }
+                cookie = null;
+                Control[] controls = pagedCtx.getResponseControls();
+                if (controls != null)
+                    for (Control control : controls)
+                        if (control instanceof PagedResultsResponseControl)
+                            cookie = ((PagedResultsResponseControl) control).getCookie();
+                if (cookie != null && cookie.length > 0)
+                    pagedCtx.setRequestControls(
+                            new Control[]{ pagedResultsControl(pageSize, cookie, Control.CRITICAL) });
+            } while (cookie != null && cookie.length > 0);
+        } finally {
+            pagedCtx.close();
+        }
+        return results;
+    }
+
+    private static PagedResultsControl pagedResultsControl(int pageSize, byte[] cookie, boolean criticality)
+            throws NamingException {
+        try {
+            return new PagedResultsControl(pageSize, cookie, criticality);
+        } catch (IOException e) {
+            NamingException ne = new NamingException(e.getMessage());
+            ne.setRootCause(e);
+            throw ne;
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.conf.ldap;
+
+import org.dcm4che3.conf.api.ConfigurationNotFoundException;
+import org.dcm4che3.net.Device;
+import org.junit.Test;
+
+import javax.naming.NamingException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since Oct 2026
+ */
+public class LdapConfigurationWatcherTest {
+
+    private static final String DEVICE_NAME = "Test-Watcher-Device";
+
+    @Test
+    public void testParseGeneralizedTime() throws Exception {
+        Instant seconds = LdapConfigurationWatcher.parseGeneralizedTime("20261019120005Z");
+        assertEquals(Instant.parse("2026-10-19T12:00:05Z"), seconds);
+        assertEquals(Instant.parse("2026-10-19T12:00:05.100Z"),
+                LdapConfigurationWatcher.parseGeneralizedTime("20261019120005.1Z"));
+        assertEquals(Instant.parse("2026-10-19T12:00:05.123456Z"),
+                LdapConfigurationWatcher.parseGeneralizedTime("20261019120005,123456Z"));
+        assertEquals(Instant.parse("2026-10-19T12:30:00Z"),
+                LdapConfigurationWatcher.parseGeneralizedTime("202610191230Z"));
+        assertEquals(Instant.parse("2026-10-19T12:30:00Z"),
+                LdapConfigurationWatcher.parseGeneralizedTime("2026101912.5Z"));
+        assertEquals(Instant.parse("2026-10-19T10:00:05Z"),
+                LdapConfigurationWatcher.parseGeneralizedTime("20261019120005+0200"));
+        assertNull(LdapConfigurationWatcher.parseGeneralizedTime(null));
+        // String comparison orders "20261019120005Z" after "20261019120005.1Z"
+        assertTrue(seconds.isBefore(LdapConfigurationWatcher.parseGeneralizedTime("20261019120005.1Z")));
+    }
+
+    @Test(expected = NamingException.class)
+    public void testParseInvalidGeneralizedTime() throws Exception {
+        LdapConfigurationWatcher.parseGeneralizedTime("20261019120005");
+    }
+
+    @Test
+    public void testPoll() throws Exception {
+        LdapDicomConfiguration config = new LdapDicomConfiguration();
+        try {
+            try {
+                config.removeDevice(DEVICE_NAME, null);
+            } catch (ConfigurationNotFoundException e) {}
+            List<String> changed = Collections.synchronizedList(new ArrayList<>());
+            LdapConfigurationWatcher watcher = new LdapConfigurationWatcher(config);
+            watcher.addListener(changed::add);
+            watcher.poll();
+            assertTrue(changed.isEmpty());
+            // let the creation timestamp differ from the time of the first poll
+            Thread.sleep(1100);
+            Device device = new Device(DEVICE_NAME);
+            config.persist(device, null);
+            watcher.poll();
+            assertEquals(Collections.singletonList(DEVICE_NAME), changed);
+            changed.clear();
+            watcher.poll();
+            assertTrue(changed.isEmpty());
+            Thread.sleep(1100);
+            device.setDescription("modified");
+            config.merge(device, null);
+            watcher.poll();
+            assertEquals(Collections.singletonList(DEVICE_NAME), changed);
+            changed.clear();
+            config.removeDevice(DEVICE_NAME, null);
+            watcher.poll();
+            assertEquals(Collections.singletonList(DEVICE_NAME), changed);
+        } finally {
+            config.close();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.conf.ldap;
+
+import org.junit.Test;
+
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.BasicAttribute;
+import javax.naming.directory.BasicAttributes;
+import javax.naming.directory.SearchResult;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since Oct 2026
+ */
+public class LdapSubtreeTest {
+
+    private static final String DEVICE_DN = "dicomDeviceName=TEST,cn=Devices,cn=DICOM Configuration,dc=example,dc=com";
+    private static final String AE1_DN = "dicomAETitle=AE1," + DEVICE_DN;
+    private static final String AE2_DN = "dicomAETitle=AE2," + DEVICE_DN;
+    private static final String TC_DN = "cn=CT Image Storage SCP,dicomAETitle=AE1," + DEVICE_DN;
+
+    @Test
+    public void testParseFilter() {
+        Attributes ae = entry(AE1_DN, "dicomNetworkAE", "dicomAETitle", "AE1").getAttributes();
+        assertTrue(LdapSubtree.parseFilter("(objectclass=*)").test(ae));
+        assertTrue(LdapSubtree.parseFilter("(objectclass=DICOMNETWORKAE)").test(ae));
+        assertFalse(LdapSubtree.parseFilter("(objectclass=dicomDevice)").test(ae));
+        assertTrue(LdapSubtree.parseFilter("(|(objectclass=dicomDevice)(objectclass=dicomNetworkAE))").test(ae));
+        assertTrue(LdapSubtree.parseFilter("(!(objectclass=dicomDevice))").test(ae));
+        assertTrue(LdapSubtree.parseFilter("(dicomAETitle=*)").test(ae));
+        assertNull(LdapSubtree.parseFilter("(dicomAETitle=AE*)"));
+        assertNull(LdapSubtree.parseFilter("(dicomAETitle>=AE1)"));
+        // dicomAETitle has EQUALITY caseExactIA5Match
+        assertNull(LdapSubtree.parseFilter("(&(objectclass=dicomNetworkAE)(dicomAETitle=AE1))"));
+    }
+
+    @Test
+    public void testParseFilterIgnoresCase() {
+        Attributes tc = entry(TC_DN, "dicomTransferCapability", "dicomTransferRole", "SCP").getAttributes();
+        assertTrue(LdapSubtree.parseFilter("(dicomTransferRole=SCP)").test(tc));
+        assertTrue(LdapSubtree.parseFilter("(DICOMTRANSFERROLE=scp)").test(tc));
+        assertFalse(LdapSubtree.parseFilter("(dicomTransferRole=SCU)").test(tc));
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+        LdapSubtree subtree = new LdapSubtree(DEVICE_DN, Arrays.asList(
+                entry(DEVICE_DN, "dicomDevice", "dicomDeviceName", "TEST"),
+                entry(AE1_DN, "dicomNetworkAE", "dicomAETitle", "AE1"),
+                entry(AE2_DN, "dicomNetworkAE", "dicomAETitle", "AE2"),
+                entry(TC_DN, "dicomTransferCapability", "cn", "CT Image Storage SCP")));
+        assertTrue(subtree.contains(AE1_DN));
+        assertFalse(subtree.contains("cn=Devices,cn=DICOM Configuration,dc=example,dc=com"));
+        assertEquals("AE1", subtree.getAttributes(AE1_DN, null).get("dicomAETitle").get());
+
+        NamingEnumeration<SearchResult> ne = subtree.search(DEVICE_DN, "(objectclass=dicomNetworkAE)", null);
+        int count = 0;
+        while (ne.hasMore()) {
+            SearchResult sr = ne.next();
+            assertTrue(sr.getNameInNamespace().endsWith(DEVICE_DN));
+            assertTrue(sr.getName().startsWith("dicomAETitle="));
+            count++;
+        }
+        assertEquals(2, count);
+        ne = subtree.search(AE1_DN, "(objectclass=dicomTransferCapability)", new String[]{ "objectclass" });
+        assertTrue(ne.hasMore());
+        assertNull(ne.next().getAttributes().get("cn"));
+        assertFalse(ne.hasMore());
+        assertFalse(subtree.search(AE2_DN, "(objectclass=*)", null).hasMore());
+        assertNull(subtree.search(DEVICE_DN, "(dicomAETitle=AE*)", null));
+    }
+
+    @Test(expected = NameNotFoundException.class)
+    public void testGetAttributesOfMissingEntry() throws Exception {
+        LdapSubtree subtree = new LdapSubtree(DEVICE_DN, Arrays.asList(
+                entry(DEVICE_DN, "dicomDevice", "dicomDeviceName", "TEST")));
+        subtree.getAttributes(AE1_DN, null);
+    }
+
+    private static SearchResult entry(String dn, String objectclass, String attrID, String value) {
+        Attributes attrs = new BasicAttributes(true);
+        attrs.put(new BasicAttribute("objectclass", objectclass));
+        attrs.put(new BasicAttribute(attrID, value));
+        SearchResult sr = new SearchResult(dn, null, attrs, true);
+        sr.setNameInNamespace(dn);
+        return sr;
+    }
+}
@@ -137,6 +137,10 @@ public class Attributes implements Serializable {
         Arrays.fill(tags, 0);
         Arrays.fill(vrs, null);
         Arrays.fill(values, null);
+        containsSpecificCharacterSet = false;
+        cs = null;
+        containsTimezoneOffsetFromUTC = false;
+        tz = null;
     }
 
     private void init(int initialCapacity) {
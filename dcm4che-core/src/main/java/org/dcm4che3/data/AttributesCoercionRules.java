@@ -0,0 +1,611 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.data;
+
+import org.dcm4che3.util.TagUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Declarative attribute coercion rules, compiled to a chain of {@link AttributesCoercion}s which modify the
+ * {@link Attributes} in place, as light-weight alternative to {@link org.dcm4che3.io.XSLTAttributesCoercion} for
+ * coercions only touching a few attributes.
+ * <p>
+ * Rules are specified one per line, optionally preceded by conditions, all of which must be fulfilled:
+ * <pre>
+ * # comment
+ * [if &lt;condition&gt; [and &lt;condition&gt;]... then] &lt;action&gt;
+ *
+ * condition:
+ *   calling|called = &lt;AE Title&gt;        calling/called AE Title of the association
+ *   &lt;tag&gt; = &lt;value&gt;                    one of the values of the attribute equals &lt;value&gt;
+ *   &lt;tag&gt; != &lt;value&gt;                   none of the values of the attribute equals &lt;value&gt;
+ *   &lt;tag&gt; ~ &lt;regex&gt;                    one of the values of the attribute matches &lt;regex&gt;
+ *   &lt;tag&gt; present|absent               the attribute has a value or not
+ *
+ * action:
+ *   set &lt;tag&gt; &lt;value&gt;...               set the attribute to the specified values
+ *   copy &lt;tag&gt; &lt;tag&gt;                   copy the value of the first to the second attribute
+ *   remove &lt;tag&gt;                       remove the attribute
+ *   nullify &lt;tag&gt;                      set the attribute to zero length
+ *   map &lt;tag&gt; &lt;from&gt; &lt;to&gt; [&lt;from&gt; &lt;to&gt;]... replace matching values
+ *   replace &lt;tag&gt; &lt;regex&gt; &lt;replacement&gt; replace all matches of &lt;regex&gt; in the values
+ * </pre>
+ * Tags are specified by keyword or by hex value, attributes of nested Data Sets by a path of tags separated by
+ * '.', which refers the first item of each sequence. Values containing spaces are enclosed in double quotes.
+ * <p>
+ * Conditions on AE Titles are evaluated once by {@link #toCoercion}, so the coercion of each received object only
+ * tests conditions on its attributes. Instances are immutable and may be shared between threads.
+ *
+ * @since Oct 2026
+ */
+public class AttributesCoercionRules {
+
+    private final List<Rule> rules;
+
+    private AttributesCoercionRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static AttributesCoercionRules valueOf(String rules) {
+        try {
+            return parse(new StringReader(rules));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public static AttributesCoercionRules load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    public static AttributesCoercionRules parse(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        List<Rule> rules = new ArrayList<>();
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            try {
+                List<String> tokens = tokenize(line);
+                if (!tokens.isEmpty())
+                    rules.add(parseRule(tokens));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("line " + lineNo + ": " + e.getMessage(), e);
+            }
+        }
+        return new AttributesCoercionRules(Collections.unmodifiableList(rules));
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Returns the chain of coercions for objects received from {@code callingAET} by {@code calledAET}. Rules
+     * with conditions on AE Titles not fulfilled are not included.
+     *
+     * @param callingAET calling AE Title of the association
+     * @param calledAET called AE Title of the association
+     * @param next coercion applied after the rules or {@code null}
+     * @return chain of coercions or {@code next}, if no rule applies
+     */
+    public AttributesCoercion toCoercion(String callingAET, String calledAET, AttributesCoercion next) {
+        AttributesCoercion coercion = next;
+        for (int i = rules.size(); --i >= 0;) {
+            Rule rule = rules.get(i);
+            if (rule.matchesAETs(callingAET, calledAET))
+                coercion = new RuleAttributesCoercion(rule, coercion);
+        }
+        return coercion;
+    }
+
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        int len = line.length();
+        int i = 0;
+        while (i < len) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#') {
+                break;
+            } else if (c == '"') {
+                sb.setLength(0);
+                while (++i < len && (c = line.charAt(i)) != '"') {
+                    if (c == '\\' && i + 1 < len && line.charAt(i + 1) == '"')
+                        c = line.charAt(++i);
+                    sb.append(c);
+                }
+                if (i++ == len)
+                    throw new IllegalArgumentException("unterminated quoted value");
+                tokens.add(sb.toString());
+            } else {
+                int start = i;
+                while (++i < len && !Character.isWhitespace(line.charAt(i)));
+                tokens.add(line.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    private static Rule parseRule(List<String> tokens) {
+        List<String> callingAETs = new ArrayList<>();
+        List<String> calledAETs = new ArrayList<>();
+        List<Condition> conditions = new ArrayList<>();
+        int i = 0;
+        if (tokens.get(0).equals("if")) {
+            do {
+                i = parseCondition(tokens, i + 1, callingAETs, calledAETs, conditions);
+            } while (token(tokens, i).equals("and"));
+            if (!token(tokens, i++).equals("then"))
+                throw new IllegalArgumentException("expected 'then' or 'and' instead of '" + tokens.get(i - 1) + "'");
+        }
+        return new Rule(
+                callingAETs.toArray(new String[0]),
+                calledAETs.toArray(new String[0]),
+                conditions.toArray(new Condition[0]),
+                parseAction(tokens.subList(i, tokens.size())));
+    }
+
+    private static String token(List<String> tokens, int i) {
+        if (i >= tokens.size())
+            throw new IllegalArgumentException("unexpected end of rule");
+        return tokens.get(i);
+    }
+
+    private static int parseCondition(List<String> tokens, int i, List<String> callingAETs, List<String> calledAETs,
+            List<Condition> conditions) {
+        String key = token(tokens, i++);
+        String op = token(tokens, i++);
+        switch (op) {
+            case "present":
+                conditions.add(new Present(TagPath.valueOf(key), true));
+                return i;
+            case "absent":
+                conditions.add(new Present(TagPath.valueOf(key), false));
+                return i;
+        }
+        String value = token(tokens, i++);
+        if (key.equals("calling") || key.equals("called")) {
+            if (!op.equals("="))
+                throw new IllegalArgumentException("unsupported operator for AE Title: " + op);
+            (key.equals("calling") ? callingAETs : calledAETs).add(value);
+            return i;
+        }
+        TagPath path = TagPath.valueOf(key);
+        switch (op) {
+            case "=":
+                conditions.add(new Equals(path, value, true));
+                break;
+            case "!=":
+                conditions.add(new Equals(path, value, false));
+                break;
+            case "~":
+                conditions.add(new Matches(path, Pattern.compile(value)));
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported operator: " + op);
+        }
+        return i;
+    }
+
+    private static Action parseAction(List<String> tokens) {
+        String name = token(tokens, 0);
+        TagPath path = TagPath.valueOf(token(tokens, 1));
+        List<String> args = tokens.subList(2, tokens.size());
+        switch (name) {
+            case "set":
+                if (args.isEmpty())
+                    throw new IllegalArgumentException("missing value");
+                if (path.vr == VR.SQ)
+                    throw new IllegalArgumentException("cannot set sequence: " + tokens.get(1));
+                return new SetValue(path, args.toArray(new String[0]));
+            case "copy":
+                checkArgs(args, 1);
+                return new Copy(path, TagPath.valueOf(args.get(0)));
+            case "remove":
+                checkArgs(args, 0);
+                return new Remove(path);
+            case "nullify":
+                checkArgs(args, 0);
+                return new Nullify(path);
+            case "map":
+                if (args.isEmpty() || (args.size() & 1) != 0)
+                    throw new IllegalArgumentException("expected pairs of values");
+                Map<String, String> map = new HashMap<>();
+                for (int i = 0; i < args.size(); i += 2)
+                    map.put(args.get(i), args.get(i + 1));
+                return new MapValues(path, map);
+            case "replace":
+                checkArgs(args, 2);
+                return new Replace(path, Pattern.compile(args.get(0)), args.get(1));
+            default:
+                throw new IllegalArgumentException("unsupported action: " + name);
+        }
+    }
+
+    private static void checkArgs(List<String> args, int expected) {
+        if (args.size() != expected)
+            throw new IllegalArgumentException("expected " + expected + " arguments instead of " + args);
+    }
+
+    private static final class Rule {
+        final String[] callingAETs;
+        final String[] calledAETs;
+        final Condition[] conditions;
+        final Action action;
+
+        Rule(String[] callingAETs, String[] calledAETs, Condition[] conditions, Action action) {
+            this.callingAETs = callingAETs;
+            this.calledAETs = calledAETs;
+            this.conditions = conditions;
+            this.action = action;
+        }
+
+        boolean matchesAETs(String callingAET, String calledAET) {
+            return matches(callingAETs, callingAET) && matches(calledAETs, calledAET);
+        }
+
+        private static boolean matches(String[] aets, String aet) {
+            for (String s : aets)
+                if (!s.equals(aet))
+                    return false;
+            return true;
+        }
+
+        boolean test(Attributes attrs) {
+            for (Condition condition : conditions)
+                if (!condition.test(attrs))
+                    return false;
+            return true;
+        }
+    }
+
+    private static final class RuleAttributesCoercion implements AttributesCoercion {
+        private final Rule rule;
+        private final AttributesCoercion next;
+
+        RuleAttributesCoercion(Rule rule, AttributesCoercion next) {
+            this.rule = rule;
+            this.next = next;
+        }
+
+        @Override
+        public String remapUID(String uid) {
+            return next != null ? next.remapUID(uid) : uid;
+        }
+
+        @Override
+        public void coerce(Attributes attrs, Attributes modified) throws Exception {
+            if (rule.test(attrs))
+                rule.action.apply(attrs, modified);
+            if (next != null)
+                next.coerce(attrs, modified);
+        }
+    }
+
+    private static final class TagPath {
+        final int[] sequenceTags;
+        final int tag;
+        final VR vr;
+
+        TagPath(int[] tags) {
+            this.sequenceTags = Arrays.copyOf(tags, tags.length - 1);
+            this.tag = tags[tags.length - 1];
+            this.vr = ElementDictionary.vrOf(tag, null);
+        }
+
+        static TagPath valueOf(String s) {
+            return new TagPath(TagUtils.parseTagPath(s));
+        }
+
+        int topLevelTag() {
+            return sequenceTags.length > 0 ? sequenceTags[0] : tag;
+        }
+
+        Attributes item(Attributes attrs) {
+            for (int sequenceTag : sequenceTags)
+                if ((attrs = attrs.getNestedDataset(sequenceTag)) == null)
+                    break;
+            return attrs;
+        }
+
+        Attributes ensureItem(Attributes attrs) {
+            for (int sequenceTag : sequenceTags) {
+                Sequence seq = attrs.ensureSequence(sequenceTag, 1);
+                if (seq.isEmpty())
+                    seq.add(new Attributes());
+                attrs = seq.get(0);
+            }
+            return attrs;
+        }
+
+        String[] strings(Attributes attrs) {
+            Attributes item = item(attrs);
+            return item != null ? item.getStrings(tag) : null;
+        }
+
+        /**
+         * Backups the original value of the top level attribute before its first modification, as
+         * {@link Attributes#update(Attributes.UpdatePolicy, Attributes, Attributes)} does.
+         */
+        void backup(Attributes attrs, Attributes modified) {
+            int topLevelTag = topLevelTag();
+            if (modified != null && attrs.containsValue(topLevelTag) && !modified.contains(topLevelTag))
+                modified.addSelected(attrs, topLevelTag);
+        }
+    }
+
+    private interface Condition {
+        boolean test(Attributes attrs);
+    }
+
+    private static final class Present implements Condition {
+        private final TagPath path;
+        private final boolean present;
+
+        Present(TagPath path, boolean present) {
+            this.path = path;
+            this.present = present;
+        }
+
+        @Override
+        public boolean test(Attributes attrs) {
+            Attributes item = path.item(attrs);
+            return (item != null && item.containsValue(path.tag)) == present;
+        }
+    }
+
+    private static final class Equals implements Condition {
+        private final TagPath path;
+        private final String value;
+        private final boolean equals;
+
+        Equals(TagPath path, String value, boolean equals) {
+            this.path = path;
+            this.value = value;
+            this.equals = equals;
+        }
+
+        @Override
+        public boolean test(Attributes attrs) {
+            String[] ss = path.strings(attrs);
+            if (ss != null)
+                for (String s : ss)
+                    if (value.equals(s))
+                        return equals;
+            return !equals;
+        }
+    }
+
+    private static final class Matches implements Condition {
+        private final TagPath path;
+        private final Pattern pattern;
+
+        Matches(TagPath path, Pattern pattern) {
+            this.path = path;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean test(Attributes attrs) {
+            String[] ss = path.strings(attrs);
+            if (ss != null)
+                for (String s : ss)
+                    if (s != null && pattern.matcher(s).matches())
+                        return true;
+            return false;
+        }
+    }
+
+    private interface Action {
+        void apply(Attributes attrs, Attributes modified);
+    }
+
+    private static final class SetValue implements Action {
+        private final TagPath path;
+        private final String[] values;
+
+        SetValue(TagPath path, String[] values) {
+            this.path = path;
+            this.values = values;
+        }
+
+        @Override
+        public void apply(Attributes attrs, Attributes modified) {
+            Attributes item = path.item(attrs);
+            if (item != null && Arrays.equals(values, item.getStrings(path.tag)))
+                return;
+            path.backup(attrs, modified);
+            path.ensureItem(attrs).setString(path.tag, path.vr, values);
+        }
+    }
+
+    private static final class Copy implements Action {
+        private final TagPath src;
+        private final TagPath dest;
+
+        Copy(TagPath src, TagPath dest) {
+            this.src = src;
+            this.dest = dest;
+        }
+
+        @Override
+        public void apply(Attributes attrs, Attributes modified) {
+            Attributes srcItem = src.item(attrs);
+            if (srcItem == null || !srcItem.contains(src.tag))
+                return;
+            dest.backup(attrs, modified);
+            Attributes destItem = dest.ensureItem(attrs);
+            VR.Holder vr = new VR.Holder();
+            Object value = srcItem.getValue(src.tag, vr);
+            if (value instanceof Sequence) {
+                Sequence srcSeq = (Sequence) value;
+                Sequence destSeq = destItem.newSequence(dest.tag, srcSeq.size());
+                for (Attributes srcSeqItem : srcSeq)
+                    destSeq.add(new Attributes(srcSeqItem));
+            } else if (vr.vr == dest.vr || !vr.vr.isStringType() || !dest.vr.isStringType()) {
+                destItem.setValue(dest.tag, vr.vr,
+                        value instanceof byte[] ? ((byte[]) value).clone() : value);
+            } else {
+                destItem.setString(dest.tag, dest.vr, srcItem.getStrings(src.tag));
+            }
+        }
+    }
+
+    private static final class Remove implements Action {
+        private final TagPath path;
+
+        Remove(TagPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public void apply(Attributes attrs, Attributes modified) {
+            Attributes item = path.item(attrs);
+            if (item == null || !item.contains(path.tag))
+                return;
+            path.backup(attrs, modified);
+            item.remove(path.tag);
+        }
+    }
+
+    private static final class Nullify implements Action {
+        private final TagPath path;
+
+        Nullify(TagPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public void apply(Attributes attrs, Attributes modified) {
+            Attributes item = path.item(attrs);
+            if (item == null || !item.containsValue(path.tag))
+                return;
+            path.backup(attrs, modified);
+            VR.Holder vr = new VR.Holder();
+            item.getValue(path.tag, vr);
+            item.setNull(path.tag, vr.vr);
+        }
+    }
+
+    private abstract static class ReplaceValues implements Action {
+        final TagPath path;
+
+        ReplaceValues(TagPath path) {
+            this.path = path;
+        }
+
+        @Override
+        public void apply(Attributes attrs, Attributes modified) {
+            Attributes item = path.item(attrs);
+            String[] ss = item != null ? item.getStrings(path.tag) : null;
+            if (ss == null || ss.length == 0)
+                return;
+            String[] replaced = null;
+            for (int i = 0; i < ss.length; i++) {
+                String s = ss[i] != null ? replace(ss[i]) : null;
+                if (s != null && !s.equals(ss[i])) {
+                    if (replaced == null)
+                        replaced = ss.clone();
+                    replaced[i] = s;
+                }
+            }
+            if (replaced != null) {
+                path.backup(attrs, modified);
+                VR.Holder vr = new VR.Holder();
+                item.getValue(path.tag, vr);
+                item.setString(path.tag, vr.vr, replaced);
+            }
+        }
+
+        abstract String replace(String s);
+    }
+
+    private static final class MapValues extends ReplaceValues {
+        private final Map<String, String> map;
+
+        MapValues(TagPath path, Map<String, String> map) {
+            super(path);
+            this.map = map;
+        }
+
+        @Override
+        String replace(String s) {
+            return map.get(s);
+        }
+    }
+
+    private static final class Replace extends ReplaceValues {
+        private final Pattern pattern;
+        private final String replacement;
+
+        Replace(TagPath path, Pattern pattern, String replacement) {
+            super(path);
+            this.pattern = pattern;
+            this.replacement = replacement;
+        }
+
+        @Override
+        String replace(String s) {
+            Matcher matcher = pattern.matcher(s);
+            return matcher.find() ? matcher.replaceAll(replacement) : s;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import static org.dcm4che3.io.AttributesEncoder.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.VR;
+
+/**
+ * Decodes {@link Attributes} encoded by {@link AttributesEncoder}.
+ *
+ * <p> Repeated string values are decoded into one shared {@code byte[]} instance, which must not
+ * be modified.
+ *
+ * @since Oct 2026
+ */
+public class AttributesDecoder implements Closeable {
+
+    private final InputStream in;
+    private final byte[] buf = new byte[8192];
+    private int pos;
+    private int limit;
+    private boolean headerRead;
+    private final ArrayList<byte[]> internTable = new ArrayList<>();
+
+    public AttributesDecoder(InputStream in) {
+        if (in == null)
+            throw new NullPointerException("in");
+        this.in = in;
+    }
+
+    /**
+     * Decodes the first data set from the specified byte array.
+     *
+     * @param b encoded data set
+     * @return decoded data set
+     * @throws IOException if {@code b} does not contain a valid encoded data set
+     */
+    public static Attributes decode(byte[] b) throws IOException {
+        return new AttributesDecoder(new ByteArrayInputStream(b)).read();
+    }
+
+    /**
+     * Reads the next data set from the stream.
+     *
+     * @return decoded data set or {@code null}, if the end of the stream is reached
+     * @throws IOException if an I/O error occurs or the stream does not contain a valid encoding
+     */
+    public Attributes read() throws IOException {
+        if (!headerRead) {
+            if (!ensure(1))
+                return null;
+            if (readInt() != MAGIC)
+                throw new DicomStreamException("Invalid magic");
+            int version = readByte();
+            if (version != VERSION)
+                throw new DicomStreamException("Unsupported version: " + version);
+            headerRead = true;
+        }
+        if (!ensure(1))
+            return null;
+        boolean bigEndian = (readByte() & BIG_ENDIAN) != 0;
+        int size = readSize();
+        Attributes attrs = new Attributes(bigEndian, size);
+        readDataset(attrs, size);
+        return attrs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readDataset(Attributes attrs, int size) throws IOException {
+        int tag = 0;
+        for (int i = 0; i < size; i++) {
+            int delta = readVarInt();
+            tag += (delta >>> 1) ^ -(delta & 1);
+            int b = readByte();
+            int kind = b >>> 6;
+            int vrIndex = b & 0x3f;
+            if (vrIndex >= VRS.length)
+                throw new DicomStreamException("Invalid VR index: " + vrIndex);
+            VR vr = VRS[vrIndex];
+            switch (kind) {
+                case KIND_NULL:
+                    attrs.setNull(tag, vr);
+                    break;
+                case KIND_VALUE:
+                    if (vr == VR.SQ)
+                        readSequence(attrs, tag);
+                    else
+                        attrs.setBytes(tag, vr, vr.isStringType() ? readInterned() : readBytes());
+                    break;
+                case KIND_BULKDATA:
+                    attrs.setValue(tag, vr, readBulkData());
+                    break;
+                case KIND_FRAGMENTS:
+                    readFragments(attrs, tag, vr);
+                    break;
+            }
+        }
+    }
+
+    private void readSequence(Attributes attrs, int tag) throws IOException {
+        int n = readSize();
+        Sequence seq = attrs.newSequence(tag, n);
+        while (n-- > 0) {
+            int size = readSize();
+            Attributes item = new Attributes(attrs.bigEndian(), size);
+            seq.add(item);
+            readDataset(item, size);
+        }
+    }
+
+    private void readFragments(Attributes attrs, int tag, VR vr) throws IOException {
+        int n = readSize();
+        Fragments frags = attrs.newFragments(tag, vr, n);
+        while (n-- > 0) {
+            int type = readByte();
+            switch (type) {
+                case FRAGMENT_NULL:
+                    frags.add(null);
+                    break;
+                case FRAGMENT_BYTES:
+                    frags.add(readBytes());
+                    break;
+                case FRAGMENT_BULKDATA:
+                    frags.add(readBulkData());
+                    break;
+                default:
+                    throw new DicomStreamException("Invalid fragment type: " + type);
+            }
+        }
+    }
+
+    private BulkData readBulkData() throws IOException {
+        boolean bigEndian = (readByte() & BIG_ENDIAN) != 0;
+        String uuid = readString();
+        String uri = readString();
+        return new BulkData(uuid, uri, bigEndian);
+    }
+
+    private String readString() throws IOException {
+        int len = readVarInt();
+        return len == 0 ? null : new String(readRaw(len - 1), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readInterned() throws IOException {
+        int h = readVarInt();
+        if ((h & 1) != 0) {
+            int index = h >>> 1;
+            if (index >= internTable.size())
+                throw new DicomStreamException("Invalid string reference: " + index);
+            return internTable.get(index);
+        }
+        byte[] b = readRaw(h >>> 1);
+        if (b.length <= MAX_INTERN_LENGTH && internTable.size() < MAX_INTERN_SIZE)
+            internTable.add(b);
+        return b;
+    }
+
+    private byte[] readBytes() throws IOException {
+        return readRaw(readVarInt());
+    }
+
+    private byte[] readRaw(int len) throws IOException {
+        if (len < 0)
+            throw new DicomStreamException("Invalid length: " + len);
+        byte[] b = new byte[len];
+        int n = Math.min(len, limit - pos);
+        System.arraycopy(buf, pos, b, 0, n);
+        pos += n;
+        while (n < len) {
+            int read = in.read(b, n, len - n);
+            if (read < 0)
+                throw new EOFException();
+            n += read;
+        }
+        return b;
+    }
+
+    private int readSize() throws IOException {
+        int size = readVarInt();
+        if (size < 0)
+            throw new DicomStreamException("Invalid size: " + size);
+        return size;
+    }
+
+    private boolean ensure(int n) throws IOException {
+        if (limit - pos >= n)
+            return true;
+        System.arraycopy(buf, pos, buf, 0, limit - pos);
+        limit -= pos;
+        pos = 0;
+        while (limit < n) {
+            int read = in.read(buf, limit, buf.length - limit);
+            if (read < 0)
+                return false;
+            limit += read;
+        }
+        return true;
+    }
+
+    private int readByte() throws IOException {
+        if (pos == limit && !ensure(1))
+            throw new EOFException();
+        return buf[pos++] & 0xff;
+    }
+
+    private int readInt() throws IOException {
+        if (!ensure(4))
+            throw new EOFException();
+        return (buf[pos++] & 0xff) << 24 | (buf[pos++] & 0xff) << 16
+                | (buf[pos++] & 0xff) << 8 | (buf[pos++] & 0xff);
+    }
+
+    private int readVarInt() throws IOException {
+        int i = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            i |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0)
+                return i;
+        }
+        throw new DicomStreamException("Invalid variable-length integer");
+    }
+}
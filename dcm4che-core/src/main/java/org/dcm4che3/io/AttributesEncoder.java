@@ -0,0 +1,311 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.SpecificCharacterSet;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.data.Value;
+
+/**
+ * Encodes {@link Attributes} in a compact binary format, e.g. for caching or transferring
+ * instance metadata between nodes, decoded by {@link AttributesDecoder}.
+ *
+ * <p> Each data element is encoded as variable-length delta of its tag to the tag of the
+ * previous element, one byte for its VR and kind of value, and its value. String values are
+ * encoded in the Specific Character Set of the data set; short string values - like Private
+ * Creator IDs, Code Values or SOP Class UIDs - are written only once per stream and referenced
+ * by their index on repetition. Binary values are written as they are, in the byte order of the
+ * data set. Bulk data is encoded by its URI.
+ *
+ * <p> Multiple data sets can be written to one stream, sharing the table of repeated string
+ * values.
+ *
+ * @since Oct 2026
+ */
+public class AttributesEncoder implements Closeable, Flushable {
+
+    static final int MAGIC = 0x44434d42; // DCMB
+    static final int VERSION = 1;
+    static final int MAX_INTERN_LENGTH = 64;
+    static final int MAX_INTERN_SIZE = 65536;
+    static final int KIND_NULL = 0;
+    static final int KIND_VALUE = 1;
+    static final int KIND_BULKDATA = 2;
+    static final int KIND_FRAGMENTS = 3;
+    static final int FRAGMENT_NULL = 0;
+    static final int FRAGMENT_BYTES = 1;
+    static final int FRAGMENT_BULKDATA = 2;
+    static final int BIG_ENDIAN = 1;
+
+    /** Fixed VR order of the encoding, independent of the declaration order of {@link VR}. */
+    static final VR[] VRS = {
+            VR.AE, VR.AS, VR.AT, VR.CS, VR.DA, VR.DS, VR.DT, VR.FD, VR.FL, VR.IS,
+            VR.LO, VR.LT, VR.OB, VR.OD, VR.OF, VR.OL, VR.OV, VR.OW, VR.PN, VR.SH,
+            VR.SL, VR.SQ, VR.SS, VR.ST, VR.SV, VR.TM, VR.UC, VR.UI, VR.UL, VR.UN,
+            VR.UR, VR.US, VR.UT, VR.UV };
+    private static final byte[] VR_INDEX = new byte[VR.values().length];
+    static {
+        for (int i = 0; i < VRS.length; i++)
+            VR_INDEX[VRS[i].ordinal()] = (byte) i;
+    }
+
+    private final OutputStream out;
+    private final byte[] buf = new byte[8192];
+    private int pos;
+    private boolean headerWritten;
+    private final HashMap<String, Integer> internTable = new HashMap<>();
+
+    public AttributesEncoder(OutputStream out) {
+        if (out == null)
+            throw new NullPointerException("out");
+        this.out = out;
+    }
+
+    /**
+     * Encodes the specified data set into a new byte array.
+     *
+     * @param attrs data set to encode
+     * @return encoded data set
+     */
+    public static byte[] encode(Attributes attrs) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(4096);
+        try (AttributesEncoder encoder = new AttributesEncoder(bout)) {
+            encoder.write(attrs);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return bout.toByteArray();
+    }
+
+    /**
+     * Writes the specified data set. May be invoked multiple times to write several data sets
+     * to the stream.
+     *
+     * @param attrs data set to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(Attributes attrs) throws IOException {
+        if (!headerWritten) {
+            writeInt(MAGIC);
+            writeByte(VERSION);
+            headerWritten = true;
+        }
+        writeByte(attrs.bigEndian() ? BIG_ENDIAN : 0);
+        writeDataset(attrs);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeDataset(Attributes attrs) throws IOException {
+        final SpecificCharacterSet cs = attrs.getSpecificCharacterSet();
+        writeVarInt(attrs.size());
+        try {
+            attrs.accept(new Attributes.Visitor() {
+                int prevTag;
+
+                @Override
+                public boolean visit(Attributes attrs, int tag, VR vr, Object value)
+                        throws Exception {
+                    int delta = tag - prevTag;
+                    writeVarInt((delta << 1) ^ (delta >> 31));
+                    prevTag = tag;
+                    writeValue(vr, value, cs);
+                    return true;
+                }
+            }, false);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void writeValue(VR vr, Object value, SpecificCharacterSet cs) throws IOException {
+        int vrIndex = VR_INDEX[vr.ordinal()];
+        if (value instanceof Value) {
+            if (value instanceof Sequence) {
+                Sequence seq = (Sequence) value;
+                writeByte(KIND_VALUE << 6 | vrIndex);
+                writeVarInt(seq.size());
+                for (Attributes item : seq)
+                    writeDataset(item);
+            } else if (value instanceof Fragments) {
+                Fragments frags = (Fragments) value;
+                writeByte(KIND_FRAGMENTS << 6 | vrIndex);
+                writeVarInt(frags.size());
+                for (Object frag : frags)
+                    writeFragment(frag);
+            } else if (value instanceof BulkData) {
+                writeByte(KIND_BULKDATA << 6 | vrIndex);
+                writeBulkData((BulkData) value);
+            } else {
+                writeByte(KIND_NULL << 6 | vrIndex);
+            }
+            return;
+        }
+        byte[] b = value instanceof byte[] ? (byte[]) value : vr.toBytes(value, cs);
+        if (b.length == 0) {
+            writeByte(KIND_NULL << 6 | vrIndex);
+            return;
+        }
+        writeByte(KIND_VALUE << 6 | vrIndex);
+        if (vr.isStringType())
+            writeInterned(b);
+        else
+            writeBytes(b);
+    }
+
+    private void writeFragment(Object frag) throws IOException {
+        if (frag instanceof BulkData) {
+            writeByte(FRAGMENT_BULKDATA);
+            writeBulkData((BulkData) frag);
+        } else if (frag instanceof byte[] && ((byte[]) frag).length > 0) {
+            writeByte(FRAGMENT_BYTES);
+            writeBytes((byte[]) frag);
+        } else {
+            writeByte(FRAGMENT_NULL);
+        }
+    }
+
+    private void writeBulkData(BulkData bulkData) throws IOException {
+        writeByte(bulkData.bigEndian() ? BIG_ENDIAN : 0);
+        writeString(bulkData.getUUID());
+        writeString(bulkData.getURI());
+    }
+
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(b.length + 1);
+        writeRaw(b);
+    }
+
+    private void writeInterned(byte[] b) throws IOException {
+        if (b.length > MAX_INTERN_LENGTH) {
+            writeVarInt(b.length << 1);
+            writeRaw(b);
+            return;
+        }
+        String key = new String(b, StandardCharsets.ISO_8859_1);
+        Integer index = internTable.get(key);
+        if (index != null) {
+            writeVarInt(index << 1 | 1);
+            return;
+        }
+        if (internTable.size() < MAX_INTERN_SIZE)
+            internTable.put(key, internTable.size());
+        writeVarInt(b.length << 1);
+        writeRaw(b);
+    }
+
+    private void writeBytes(byte[] b) throws IOException {
+        writeVarInt(b.length);
+        writeRaw(b);
+    }
+
+    private void writeRaw(byte[] b) throws IOException {
+        if (b.length > buf.length - pos) {
+            flushBuffer();
+            if (b.length > buf.length) {
+                out.write(b);
+                return;
+            }
+        }
+        System.arraycopy(b, 0, buf, pos, b.length);
+        pos += b.length;
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (pos == buf.length)
+            flushBuffer();
+        buf[pos++] = (byte) b;
+    }
+
+    private void writeInt(int i) throws IOException {
+        writeByte(i >>> 24);
+        writeByte(i >>> 16);
+        writeByte(i >>> 8);
+        writeByte(i);
+    }
+
+    private void writeVarInt(int i) throws IOException {
+        if (buf.length - pos < 5)
+            flushBuffer();
+        while ((i & ~0x7f) != 0) {
+            buf[pos++] = (byte) (i | 0x80);
+            i >>>= 7;
+        }
+        buf[pos++] = (byte) i;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Walks a directory tree and parses the File Meta Information and the data set - by default up to the Pixel Data -
+ * of all files concurrently. Each parsed file is passed to a {@link Callback}, which also receives files and
+ * directories which could not be read, so one corrupt file does not abort the scan of a whole archive.
+ * <p>
+ * Files are read through read buffers which are reused across files, and the number of parsed and failed files,
+ * the number of read bytes and the elapsed time of the current or last scan are available as throughput metrics,
+ * also while the scan is in progress.
+ *
+ * @since Oct 2026
+ */
+public class DicomFileScanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DicomFileScanner.class);
+
+    private static final int FILES_PER_TASK = 64;
+
+    @FunctionalInterface
+    public interface Callback {
+        /**
+         * Called for each parsed file. May be called concurrently by multiple threads.
+         *
+         * @param file    DICOM file
+         * @param fmi     File Meta Information or {@code null}, if the file has no File Meta Information
+         * @param dsPos   position of the data set in the file
+         * @param dataset data set up to the stop predicate
+         */
+        void dicomFile(Path file, Attributes fmi, long dsPos, Attributes dataset) throws Exception;
+
+        /**
+         * Called for each file, which could not be parsed, for each directory, which could not be read and if
+         * {@link #dicomFile} failed. May be called concurrently by multiple threads.
+         */
+        default void failed(Path path, Exception e) {
+            LOG.info("Failed to scan {}: {}", path, e.getMessage());
+        }
+    }
+
+    private final ConcurrentLinkedQueue<byte[]> bufferPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scannedFiles = new AtomicInteger();
+    private final AtomicInteger failedFiles = new AtomicInteger();
+    private final AtomicLong readBytes = new AtomicLong();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int bufferSize = 0x4000;
+    private IncludeBulkData includeBulkData = IncludeBulkData.NO;
+    private Predicate<DicomInputStream> stopPredicate = dis -> dis.tag() == Tag.PixelData;
+    private Predicate<Path> fileFilter = file -> true;
+    private volatile long startTime;
+    private volatile long endTime;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets the size of the read buffers. By default, 16 KiB.
+     */
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize <= 0)
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        this.bufferSize = bufferSize;
+        bufferPool.clear();
+    }
+
+    public IncludeBulkData getIncludeBulkData() {
+        return includeBulkData;
+    }
+
+    /**
+     * Sets if bulk data values are included in the parsed data sets. By default, {@link IncludeBulkData#NO}.
+     */
+    public void setIncludeBulkData(IncludeBulkData includeBulkData) {
+        if (includeBulkData == null)
+            throw new NullPointerException();
+        this.includeBulkData = includeBulkData;
+    }
+
+    /**
+     * Sets the predicate on the {@link DicomInputStream} positioned at an element header, at which parsing of the
+     * data set stops. By default, parsing stops at the Pixel Data.
+     */
+    public void setStopPredicate(Predicate<DicomInputStream> stopPredicate) {
+        if (stopPredicate == null)
+            throw new NullPointerException();
+        this.stopPredicate = stopPredicate;
+    }
+
+    /**
+     * Sets the predicate, which files have to match to be parsed. By default, all files are parsed.
+     */
+    public void setFileFilter(Predicate<Path> fileFilter) {
+        if (fileFilter == null)
+            throw new NullPointerException();
+        this.fileFilter = fileFilter;
+    }
+
+    /**
+     * Returns the number of files parsed by the current or last scan.
+     */
+    public int getScannedFiles() {
+        return scannedFiles.get();
+    }
+
+    /**
+     * Returns the number of files which failed to be parsed or processed by the current or last scan.
+     */
+    public int getFailedFiles() {
+        return failedFiles.get();
+    }
+
+    /**
+     * Returns the number of bytes read from parsed files by the current or last scan.
+     */
+    public long getReadBytes() {
+        return readBytes.get();
+    }
+
+    /**
+     * Returns the elapsed time of the current or last scan in ms.
+     */
+    public long getScanTime() {
+        long start = startTime;
+        if (start == 0L)
+            return 0L;
+        long end = endTime;
+        return TimeUnit.NANOSECONDS.toMillis((end != 0L ? end : System.nanoTime()) - start);
+    }
+
+    /**
+     * Returns the number of parsed files per second of the current or last scan.
+     */
+    public float getFilesPerSecond() {
+        long scanTime = getScanTime();
+        return scanTime > 0 ? scannedFiles.get() * 1000f / scanTime : 0f;
+    }
+
+    /**
+     * Parses all files in the directory tree, using {@link #getParallelism()} threads.
+     *
+     * @param path directory or file
+     * @param callback receives parsed files and errors
+     * @return number of parsed files
+     * @throws IOException if {@code path} does not exist
+     */
+    public int scan(Path path, Callback callback) throws IOException {
+        if (!Files.exists(path))
+            throw new NoSuchFileException(path.toString());
+        scannedFiles.set(0);
+        failedFiles.set(0);
+        readBytes.set(0L);
+        endTime = 0L;
+        startTime = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ScanDirectory(path, callback));
+        } finally {
+            pool.shutdown();
+            endTime = System.nanoTime();
+        }
+        LOG.info("Scanned {} files ({} failed, {} bytes read) in {} ms - {} files/s",
+                scannedFiles, failedFiles, readBytes, getScanTime(), getFilesPerSecond());
+        return scannedFiles.get();
+    }
+
+    /**
+     * Parses the file and passes the result or the error to the callback. May be called concurrently.
+     *
+     * @return {@code true} if the file was parsed and processed by the callback
+     */
+    public boolean scanFile(Path file, Callback callback) {
+        Attributes fmi;
+        Attributes dataset;
+        long dsPos;
+        try (DicomInputStream dis = new DicomInputStream(
+                new PooledBufferedInputStream(Files.newInputStream(file), bufferPool, bufferSize))) {
+            dis.setURI(file.toUri().toString());
+            dis.setIncludeBulkData(includeBulkData);
+            fmi = dis.readFileMetaInformation();
+            dsPos = dis.getPosition();
+            dataset = dis.readDataset(-1, stopPredicate);
+            readBytes.addAndGet(dis.getPosition());
+        } catch (Exception e) {
+            failedFiles.incrementAndGet();
+            callback.failed(file, e);
+            return false;
+        }
+        try {
+            callback.dicomFile(file, fmi, dsPos, dataset);
+        } catch (Exception e) {
+            failedFiles.incrementAndGet();
+            callback.failed(file, e);
+            return false;
+        }
+        scannedFiles.incrementAndGet();
+        return true;
+    }
+
+    private static final class PooledBufferedInputStream extends BufferedInputStream {
+        private final ConcurrentLinkedQueue<byte[]> pool;
+
+        PooledBufferedInputStream(InputStream in, ConcurrentLinkedQueue<byte[]> pool, int size) {
+            super(in, 1);
+            byte[] b = pool.poll();
+            this.buf = b != null && b.length == size ? b : new byte[size];
+            this.pool = pool;
+        }
+
+        @Override
+        public void close() throws IOException {
+            byte[] b = buf;
+            super.close();
+            if (b != null)
+                pool.offer(b);
+        }
+    }
+
+    private final class ScanDirectory extends RecursiveAction {
+        private final Path dir;
+        private final Callback callback;
+
+        ScanDirectory(Path dir, Callback callback) {
+            this.dir = dir;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            if (!Files.isDirectory(dir)) {
+                if (fileFilter.test(dir))
+                    scanFile(dir, callback);
+                return;
+            }
+            List<RecursiveAction> tasks = new ArrayList<>();
+            List<Path> files = new ArrayList<>(FILES_PER_TASK);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    if (Files.isDirectory(entry)) {
+                        tasks.add(new ScanDirectory(entry, callback));
+                    } else if (fileFilter.test(entry)) {
+                        files.add(entry);
+                        if (files.size() == FILES_PER_TASK) {
+                            tasks.add(new ScanFiles(files, callback));
+                            files = new ArrayList<>(FILES_PER_TASK);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                callback.failed(dir, e);
+            } catch (DirectoryIteratorException e) {
+                callback.failed(dir, e.getCause());
+            }
+            if (!files.isEmpty())
+                tasks.add(new ScanFiles(files, callback));
+            invokeAll(tasks);
+        }
+    }
+
+    private final class ScanFiles extends RecursiveAction {
+        private final List<Path> files;
+        private final Callback callback;
+
+        ScanFiles(List<Path> files, Callback callback) {
+            this.files = files;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            for (Path file : files)
+                scanFile(file, callback);
+        }
+    }
+}
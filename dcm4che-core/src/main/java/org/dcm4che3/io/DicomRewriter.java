@@ -0,0 +1,426 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.data.Value;
+import org.dcm4che3.util.IntHashMap;
+import org.dcm4che3.util.TagUtils;
+
+/**
+ * Streams a data set element by element from a {@link DicomInputStream} to a
+ * {@link DicomOutputStream}, without materializing the whole data set in
+ * memory. Elements may be dropped by an element filter, modified by
+ * registered {@link ElementTransform}s or replaced by merged attributes.
+ * <p>
+ * Sequences and items are encoded with undefined length - except empty
+ * sequences and items, which are encoded as specified by the
+ * {@link DicomEncodingOptions} of the output stream - so modified values never
+ * require to patch lengths of enclosing items. Values longer
+ * than {@link #getMaxBufferedValueLength()} are copied through a fixed size
+ * buffer and only passed to transforms registered for their tag. Only
+ * Specific Character Set, Timezone Offset From UTC and Private Creator
+ * elements are kept as context for subsequent elements of the same (nested)
+ * data set, so memory consumption is independent of the size of the object.
+ *
+ * @since Oct 2026
+ */
+public class DicomRewriter implements DicomInputHandler {
+
+    @FunctionalInterface
+    public interface ElementTransform {
+        /**
+         * Modifies or removes the value of the element with the specified tag,
+         * just read from {@code dis} into {@code attrs}. Other elements of
+         * {@code attrs} shall not be modified.
+         */
+        void transform(DicomInputStream dis, Attributes attrs, int tag)
+                throws IOException;
+    }
+
+    private static final int COPY_BUFFER_SIZE = 0x10000;
+
+    private final DicomOutputStream out;
+    private final List<ElementTransform> transforms = new ArrayList<>();
+    private final IntHashMap<ElementTransform> tagTransforms = new IntHashMap<>();
+    private final VR.Holder vrHolder = new VR.Holder();
+    private Predicate<DicomInputStream> elementFilter = dis -> true;
+    private int maxBufferedValueLength = COPY_BUFFER_SIZE;
+    private Attributes merge;
+    private int[] mergeTags = {};
+    private int mergeIndex;
+    private int discard;
+    private int materialize;
+    private int pendingSequenceTag;
+    private boolean pendingSequenceHeader;
+    private boolean pendingItemHeader;
+    private byte[] buffer;
+
+    public DicomRewriter(DicomOutputStream out) {
+        this.out = out;
+    }
+
+    public final Predicate<DicomInputStream> getElementFilter() {
+        return elementFilter;
+    }
+
+    /**
+     * Sets the filter applied on the header of each element; elements - and
+     * sequences including all their items - not accepted by the filter are
+     * skipped and not written.
+     */
+    public final void setElementFilter(Predicate<DicomInputStream> elementFilter) {
+        if (elementFilter == null)
+            throw new NullPointerException("elementFilter");
+        this.elementFilter = elementFilter;
+    }
+
+    public final int getMaxBufferedValueLength() {
+        return maxBufferedValueLength;
+    }
+
+    public final void setMaxBufferedValueLength(int maxBufferedValueLength) {
+        if (maxBufferedValueLength < 0)
+            throw new IllegalArgumentException(
+                    "maxBufferedValueLength: " + maxBufferedValueLength);
+        this.maxBufferedValueLength = maxBufferedValueLength;
+    }
+
+    /**
+     * Adds a transform invoked for each element with a value not longer than
+     * {@link #getMaxBufferedValueLength()}, excluding sequences and
+     * encapsulated pixel data.
+     */
+    public void addTransform(ElementTransform transform) {
+        transforms.add(transform);
+    }
+
+    /**
+     * Adds a transform invoked for elements with the specified tag in any
+     * nesting level. Such elements are always read completely into memory -
+     * including sequences and encapsulated pixel data - before the transform
+     * is invoked.
+     */
+    public void addTransform(int tag, ElementTransform transform) {
+        tagTransforms.put(tag, transform);
+    }
+
+    public final Attributes getMergeAttributes() {
+        return merge;
+    }
+
+    /**
+     * Sets attributes which are inserted into the top level data set, or
+     * replace elements with the same tag.
+     */
+    public final void setMergeAttributes(Attributes merge) {
+        this.merge = merge;
+        if (merge == null) {
+            mergeTags = new int[0];
+            return;
+        }
+        int[] tags = merge.tags();
+        for (int i = 0; i < tags.length; i++)
+            tags[i] ^= 0x80000000;
+        Arrays.sort(tags);
+        for (int i = 0; i < tags.length; i++)
+            tags[i] ^= 0x80000000;
+        mergeTags = tags;
+    }
+
+    /**
+     * Reads the data set from {@code dis} and writes the rewritten data set
+     * to the output stream. A File Meta Information has to be written by the
+     * caller before.
+     */
+    public void rewrite(DicomInputStream dis) throws IOException {
+        dis.readFileMetaInformation();
+        dis.setDicomInputHandler(this);
+        try {
+            dis.readDataset();
+        } finally {
+            dis.setDicomInputHandler(dis);
+        }
+    }
+
+    @Override
+    public void startDataset(DicomInputStream dis) throws IOException {
+        mergeIndex = 0;
+        discard = 0;
+        materialize = 0;
+        pendingSequenceHeader = false;
+        pendingItemHeader = false;
+    }
+
+    @Override
+    public void endDataset(DicomInputStream dis) throws IOException {
+        writeMergedBefore(-1);
+    }
+
+    @Override
+    public void readValue(DicomInputStream dis, Attributes attrs) throws IOException {
+        if (materialize > 0) {
+            dis.readValue(dis, attrs);
+            return;
+        }
+        int tag = dis.tag();
+        if (discard > 0 || TagUtils.isGroupLength(tag) || !elementFilter.test(dis)) {
+            skipValue(dis, attrs, tag);
+            return;
+        }
+        if (dis.level() == 0 && mergeIndex < mergeTags.length) {
+            writeMergedBefore(tag);
+            if (mergeIndex < mergeTags.length && mergeTags[mergeIndex] == tag) {
+                skipValue(dis, attrs, tag);
+                writeMerged(mergeTags[mergeIndex++]);
+                return;
+            }
+        }
+        VR vr = dis.vr();
+        int len = dis.length();
+        ElementTransform tagTransform = tagTransforms.get(tag);
+        if (tagTransform == null) {
+            if (vr == VR.SQ) {
+                writeSequence(dis, attrs, tag);
+            } else if (len == -1) {
+                writePendingHeader();
+                out.writeHeader(tag, vr, -1);
+                dis.readValue(dis, attrs);
+                attrs.remove(tag);
+                out.writeHeader(Tag.SequenceDelimitationItem, null, 0);
+            } else if (len > maxBufferedValueLength) {
+                writePendingHeader();
+                out.writeHeader(tag, vr, len);
+                copy(dis, vr, len);
+            } else {
+                dis.readValue(dis, attrs);
+                for (ElementTransform transform : transforms)
+                    transform.transform(dis, attrs, tag);
+                writeAndRemove(attrs, tag);
+            }
+            return;
+        }
+        materialize++;
+        try {
+            dis.readValue(dis, attrs);
+        } finally {
+            materialize--;
+        }
+        tagTransform.transform(dis, attrs, tag);
+        if (!(attrs.getValue(tag) instanceof Value))
+            for (ElementTransform transform : transforms)
+                transform.transform(dis, attrs, tag);
+        writeAndRemove(attrs, tag);
+    }
+
+    @Override
+    public void readValue(DicomInputStream dis, Sequence seq) throws IOException {
+        if (materialize > 0) {
+            dis.readValue(dis, seq);
+            return;
+        }
+        if (discard == 0) {
+            writePendingHeader();
+            pendingItemHeader = true;
+        }
+        dis.readValue(dis, seq);
+        seq.remove(seq.size() - 1);
+        if (discard == 0) {
+            if (pendingItemHeader) {
+                pendingItemHeader = false;
+                if (out.getEncodingOptions().undefEmptyItemLength) {
+                    out.writeHeader(Tag.Item, null, -1);
+                    out.writeHeader(Tag.ItemDelimitationItem, null, 0);
+                } else {
+                    out.writeHeader(Tag.Item, null, 0);
+                }
+            } else {
+                out.writeHeader(Tag.ItemDelimitationItem, null, 0);
+            }
+        }
+    }
+
+    @Override
+    public void readValue(DicomInputStream dis, Fragments frags) throws IOException {
+        if (materialize > 0) {
+            dis.readValue(dis, frags);
+            return;
+        }
+        int len = dis.length();
+        if (discard > 0) {
+            dis.skipFully(len);
+            return;
+        }
+        out.writeHeader(Tag.Item, null, len);
+        copy(dis, frags.vr(), len);
+    }
+
+    private void writeSequence(DicomInputStream dis, Attributes attrs, int tag)
+            throws IOException {
+        writePendingHeader();
+        pendingSequenceTag = tag;
+        pendingSequenceHeader = true;
+        dis.readValue(dis, attrs);
+        attrs.remove(tag);
+        if (pendingSequenceHeader) {
+            pendingSequenceHeader = false;
+            if (out.getEncodingOptions().undefEmptySequenceLength) {
+                out.writeHeader(tag, VR.SQ, -1);
+                out.writeHeader(Tag.SequenceDelimitationItem, null, 0);
+            } else {
+                out.writeHeader(tag, VR.SQ, 0);
+            }
+        } else {
+            out.writeHeader(Tag.SequenceDelimitationItem, null, 0);
+        }
+    }
+
+    /**
+     * Writes the header of the enclosing sequence or item, deferred until its first element is written, so empty
+     * sequences and items can be encoded as specified by the encoding options.
+     */
+    private void writePendingHeader() throws IOException {
+        if (pendingSequenceHeader) {
+            pendingSequenceHeader = false;
+            out.writeHeader(pendingSequenceTag, VR.SQ, -1);
+        }
+        if (pendingItemHeader) {
+            pendingItemHeader = false;
+            out.writeHeader(Tag.Item, null, -1);
+        }
+    }
+
+    private void skipValue(DicomInputStream dis, Attributes attrs, int tag)
+            throws IOException {
+        int len = dis.length();
+        if (len != -1) {
+            dis.skipFully(len);
+            return;
+        }
+        discard++;
+        try {
+            dis.readValue(dis, attrs);
+        } finally {
+            discard--;
+        }
+        attrs.remove(tag);
+    }
+
+    private void writeMergedBefore(int tag) throws IOException {
+        while (mergeIndex < mergeTags.length
+                && Integer.compareUnsigned(mergeTags[mergeIndex], tag) < 0)
+            writeMerged(mergeTags[mergeIndex++]);
+    }
+
+    private void writeMerged(int tag) throws IOException {
+        writePendingHeader();
+        Object value = merge.getValue(tag, vrHolder);
+        out.writeAttribute(tag, vrHolder.vr,
+                toOutputEndian(merge.bigEndian(), tag, vrHolder.vr, value),
+                merge.getSpecificCharacterSet());
+    }
+
+    private void writeAndRemove(Attributes attrs, int tag) throws IOException {
+        Object value = attrs.getValue(tag, vrHolder);
+        if (value != null) {
+            writePendingHeader();
+            out.writeAttribute(tag, vrHolder.vr,
+                    toOutputEndian(attrs.bigEndian(), tag, vrHolder.vr, value),
+                    attrs.getSpecificCharacterSet());
+        }
+        if (!isContext(tag))
+            attrs.remove(tag);
+    }
+
+    private static boolean isContext(int tag) {
+        return tag == Tag.SpecificCharacterSet
+                || tag == Tag.TimezoneOffsetFromUTC
+                || TagUtils.isPrivateCreator(tag);
+    }
+
+    private Object toOutputEndian(boolean bigEndian, int tag, VR vr, Object value) {
+        boolean outBigEndian = out.isBigEndian();
+        if (bigEndian == outBigEndian)
+            return value;
+        if (value instanceof byte[])
+            return vr.toggleEndian((byte[]) value, true);
+        if (value instanceof Sequence) {
+            Sequence seq = (Sequence) value;
+            Sequence dest = new Attributes(outBigEndian, 1).newSequence(tag, seq.size());
+            for (Attributes item : seq)
+                dest.add(new Attributes(item, outBigEndian));
+            return dest;
+        }
+        if (value instanceof Fragments) {
+            Fragments frags = (Fragments) value;
+            Fragments dest = new Fragments(frags.vr(), outBigEndian, frags.size());
+            for (Object frag : frags)
+                dest.add(frag instanceof byte[]
+                        ? frags.vr().toggleEndian((byte[]) frag, true)
+                        : frag);
+            return dest;
+        }
+        return value;
+    }
+
+    private void copy(DicomInputStream dis, VR vr, int len) throws IOException {
+        boolean toggleEndian = dis.bigEndian() != out.isBigEndian();
+        byte[] b = buffer;
+        if (b == null)
+            buffer = b = new byte[COPY_BUFFER_SIZE];
+        while (len > 0) {
+            int n = Math.min(len, b.length);
+            dis.readFully(b, 0, n);
+            if (toggleEndian)
+                vr.toggleEndian(b, false);
+            out.write(b, 0, n);
+            len -= n;
+        }
+    }
+}
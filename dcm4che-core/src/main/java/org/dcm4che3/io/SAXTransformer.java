@@ -38,6 +38,8 @@
 
 package org.dcm4che3.io;
 
+import java.io.OutputStream;
+
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
@@ -99,6 +101,17 @@ public abstract class SAXTransformer {
         return getSAXWriter(factory.newTransformerHandler(), result, setup);
     }
 
+    /**
+     * Returns a {@link SAXWriter} serializing directly to {@code out} by an {@link UTF8XMLWriter}, bypassing the
+     * JAXP identity transformer used by {@link #getSAXWriter(Result)}.
+     *
+     * @param out output stream the UTF-8 encoded XML is written to
+     * @return SAX writer serializing to {@code out}
+     */
+    public static SAXWriter getUTF8SAXWriter(OutputStream out) {
+        return new SAXWriter(new UTF8XMLWriter(out));
+    }
+
     private static SAXWriter getSAXWriter(TransformerHandler th, Result result,
             SetupTransformer setup) {
         th.setResult(result);
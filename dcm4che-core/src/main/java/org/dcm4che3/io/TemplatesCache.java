@@ -38,7 +38,12 @@
 
 package org.dcm4che3.io;
 
-import java.util.HashMap;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerConfigurationException;
@@ -46,13 +51,22 @@ import javax.xml.transform.stream.StreamSource;
 
 
 /**
+ * Thread-safe cache of compiled XSL stylesheets.
+ * <p>
+ * Concurrent first requests for the same URI compile the stylesheet only once. Stylesheets loaded from the file
+ * system are recompiled on next access after the modification time of the file changed, checked at most once per
+ * {@link #setCheckInterval check interval}, so changed stylesheets are picked up without restart.
  * @author Gunter Zeilinger <gunterze@gmail.com>
  */
 public class TemplatesCache {
 
     private static TemplatesCache defaultCache;
 
-    private final HashMap<String, Templates> map = new HashMap<String, Templates>();
+    private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder compilations = new LongAdder();
+    private final LongAdder compileTimeNanos = new LongAdder();
+    private volatile long checkIntervalMillis = 5000L;
 
     public static synchronized TemplatesCache getDefault() {
         if (defaultCache == null) {
@@ -68,14 +82,137 @@ public class TemplatesCache {
         defaultCache = cache;
     }
 
+    public long getCheckInterval(TimeUnit unit) {
+        return unit.convert(checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets the minimal interval between checks of the modification time of cached stylesheet files.
+     * {@code 0} checks on every access, a negative value disables the check.
+     *
+     * @param interval minimal interval between checks of the modification time
+     * @param unit time unit of {@code interval}
+     */
+    public void setCheckInterval(long interval, TimeUnit unit) {
+        this.checkIntervalMillis = interval < 0 ? -1 : unit.toMillis(interval);
+    }
+
     public void clear() {
         map.clear();
     }
 
+    public void remove(String uri) {
+        map.remove(uri);
+    }
+
     public Templates get(String uri) throws TransformerConfigurationException {
-        Templates tpl = map.get(uri);
-        if (tpl == null)
-            map.put(uri, tpl = SAXTransformer.newTemplates(new StreamSource(uri)));
-        return tpl;
+        Entry entry = map.get(uri);
+        if (entry != null && !entry.isModified(checkIntervalMillis)) {
+            hits.increment();
+            return entry.templates;
+        }
+        try {
+            return map.compute(uri, (key, prev) -> {
+                if (prev == null || prev == entry)
+                    return compile(key);
+                // compiled concurrently by another thread
+                hits.increment();
+                return prev;
+            }).templates;
+        } catch (CompileException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Compiles the stylesheets with the specified URIs in advance, e.g. on startup, so the first message
+     * processed does not wait for the compilation.
+     *
+     * @param uris URIs of stylesheets
+     * @throws TransformerConfigurationException if the compilation of a stylesheet fails
+     */
+    public void precompile(String... uris) throws TransformerConfigurationException {
+        for (String uri : uris)
+            get(uri);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getCompilations() {
+        return compilations.sum();
+    }
+
+    public long getCompileTime(TimeUnit unit) {
+        return unit.convert(compileTimeNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    private Entry compile(String uri) {
+        File file = toFile(uri);
+        long lastModified = file != null ? file.lastModified() : 0L;
+        long start = System.nanoTime();
+        Templates templates;
+        try {
+            templates = SAXTransformer.newTemplates(new StreamSource(uri));
+        } catch (TransformerConfigurationException e) {
+            throw new CompileException(e);
+        }
+        compileTimeNanos.add(System.nanoTime() - start);
+        compilations.increment();
+        return new Entry(templates, file, lastModified);
+    }
+
+    private static File toFile(String uri) {
+        try {
+            if (uri.startsWith("file:"))
+                return Paths.get(new URI(uri)).toFile();
+            if (uri.indexOf(':') < 2) {
+                File file = new File(uri);
+                if (file.isFile())
+                    return file;
+            }
+        } catch (Exception ignore) {
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        final Templates templates;
+        final File file;
+        final long lastModified;
+        volatile long lastChecked;
+
+        Entry(Templates templates, File file, long lastModified) {
+            this.templates = templates;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.lastChecked = System.currentTimeMillis();
+        }
+
+        boolean isModified(long checkIntervalMillis) {
+            if (file == null || checkIntervalMillis < 0)
+                return false;
+            long now = System.currentTimeMillis();
+            if (now - lastChecked < checkIntervalMillis)
+                return false;
+            lastChecked = now;
+            return file.lastModified() != lastModified;
+        }
+    }
+
+    private static final class CompileException extends RuntimeException {
+        CompileException(TransformerConfigurationException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized TransformerConfigurationException getCause() {
+            return (TransformerConfigurationException) super.getCause();
+        }
     }
 }
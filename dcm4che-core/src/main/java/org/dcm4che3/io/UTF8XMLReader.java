@@ -0,0 +1,553 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Lightweight XML parser for UTF-8 (or US-ASCII) encoded documents, as
+ * produced by {@link UTF8XMLWriter} or {@link SAXWriter}, reporting SAX
+ * events to a {@link ContentHandler} like a non-namespace aware JAXP
+ * {@link javax.xml.parsers.SAXParser}, but without its per-event overhead.
+ * Element and attribute names are cached and the character buffer is
+ * reused, so parsing of large documents generates little garbage.
+ * <p>
+ * Documents with other encodings or with a Document Type Declaration are
+ * rejected with a {@link SAXException}; use {@link SAXReader} to parse
+ * such documents.
+ *
+ * @since Oct 2026
+ */
+public class UTF8XMLReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int NAME_CACHE_SIZE = 256;
+
+    private final InputStream in;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long offset;
+    private char[] cbuf = new char[BUFFER_SIZE];
+    private int clen;
+    private boolean reportChunks;
+    private byte[] nbuf = new byte[64];
+    private final String[] names = new String[NAME_CACHE_SIZE];
+    private final AttributesImpl atts = new AttributesImpl();
+    private String[] elements = new String[16];
+    private int depth;
+    private ContentHandler ch;
+
+    public UTF8XMLReader(InputStream in) {
+        this.in = in;
+    }
+
+    public void parse(ContentHandler ch) throws IOException, SAXException {
+        this.ch = ch;
+        boolean rootParsed = false;
+        ch.startDocument();
+        skipBOM();
+        if (lookingAt("<?xml") && isWhitespace(peek(5))) {
+            pos += 5;
+            parseXMLDeclaration();
+        }
+        int b;
+        while ((b = read()) >= 0) {
+            if (b != '<') {
+                pos--;
+                if (depth > 0)
+                    parseCharacters();
+                else
+                    skipWhitespaceOutsideRoot();
+                continue;
+            }
+            if ((b = read()) < 0)
+                throw error("Unexpected end of document");
+            switch (b) {
+                case '?':
+                    parseProcessingInstruction();
+                    break;
+                case '!':
+                    if (lookingAt("--")) {
+                        pos += 2;
+                        skipComment();
+                    } else if (depth > 0 && lookingAt("[CDATA[")) {
+                        pos += 7;
+                        parseCDATA();
+                    } else if (lookingAt("DOCTYPE")) {
+                        throw error("Document Type Declaration not supported");
+                    } else {
+                        throw error("Invalid markup");
+                    }
+                    break;
+                case '/':
+                    parseEndTag();
+                    break;
+                default:
+                    if (rootParsed && depth == 0)
+                        throw error("Markup after root element");
+                    pos--;
+                    parseStartTag();
+                    rootParsed = true;
+            }
+        }
+        if (depth > 0)
+            throw error("Unexpected end of document - missing </"
+                    + elements[depth - 1] + ">");
+        if (!rootParsed)
+            throw error("Missing root element");
+        ch.endDocument();
+    }
+
+    private void skipBOM() throws IOException {
+        if (lookingAt("\u00ef\u00bb\u00bf"))
+            pos += 3;
+    }
+
+    private void parseXMLDeclaration() throws IOException, SAXException {
+        String decl = readUntil("?>");
+        int index = decl.indexOf("encoding");
+        if (index < 0)
+            return;
+        index = decl.indexOf('=', index);
+        int start = index + 1;
+        while (start < decl.length() && isWhitespace(decl.charAt(start)))
+            start++;
+        int end = start < decl.length()
+                ? decl.indexOf(decl.charAt(start), start + 1)
+                : -1;
+        if (index < 0 || end < 0)
+            throw error("Invalid XML declaration");
+        String encoding = decl.substring(start + 1, end);
+        if (!encoding.equalsIgnoreCase("UTF-8")
+                && !encoding.equalsIgnoreCase("UTF8")
+                && !encoding.equalsIgnoreCase("US-ASCII")
+                && !encoding.equalsIgnoreCase("ASCII"))
+            throw error("Unsupported encoding: " + encoding);
+    }
+
+    private void parseProcessingInstruction() throws IOException, SAXException {
+        String target = readName();
+        if (target.equalsIgnoreCase("xml"))
+            throw error("XML declaration not at start of document");
+        skipWhitespace();
+        ch.processingInstruction(target, readUntil("?>"));
+    }
+
+    private void skipComment() throws IOException, SAXException {
+        int dashes = 0;
+        int b;
+        while ((b = read()) >= 0) {
+            if (b == '>' && dashes >= 2)
+                return;
+            dashes = b == '-' ? dashes + 1 : 0;
+        }
+        throw error("Unterminated comment");
+    }
+
+    private void parseStartTag() throws IOException, SAXException {
+        String name = readName();
+        AttributesImpl atts = this.atts;
+        atts.clear();
+        boolean empty = false;
+        for (;;) {
+            skipWhitespace();
+            int b = read();
+            if (b == '>')
+                break;
+            if (b == '/') {
+                if (read() != '>')
+                    throw error("Expected '>'");
+                empty = true;
+                break;
+            }
+            if (b < 0)
+                throw error("Unexpected end of document in start tag");
+            pos--;
+            String attName = readName();
+            skipWhitespace();
+            if (read() != '=')
+                throw error("Expected '=' after attribute name " + attName);
+            skipWhitespace();
+            int quote = read();
+            if (quote != '"' && quote != '\'')
+                throw error("Expected quoted value of attribute " + attName);
+            atts.addAttribute("", "", attName, "CDATA", readAttributeValue(quote));
+        }
+        ch.startElement("", "", name, atts);
+        if (empty) {
+            ch.endElement("", "", name);
+        } else {
+            if (depth == elements.length) {
+                String[] tmp = new String[depth << 1];
+                System.arraycopy(elements, 0, tmp, 0, depth);
+                elements = tmp;
+            }
+            elements[depth++] = name;
+        }
+    }
+
+    private void parseEndTag() throws IOException, SAXException {
+        String name = readName();
+        skipWhitespace();
+        if (read() != '>')
+            throw error("Expected '>'");
+        if (depth == 0 || !name.equals(elements[--depth]))
+            throw error("Unexpected end tag </" + name + ">");
+        ch.endElement("", "", name);
+    }
+
+    private String readAttributeValue(int quote) throws IOException, SAXException {
+        clen = 0;
+        reportChunks = false;
+        int b;
+        while ((b = read()) != quote) {
+            switch (b) {
+                case -1:
+                    throw error("Unexpected end of document in attribute value");
+                case '<':
+                    throw error("'<' in attribute value");
+                case '&':
+                    appendCodePoint(readReference());
+                    break;
+                case '\r':
+                    if (peek(0) == '\n')
+                        pos++;
+                case '\n':
+                case '\t':
+                    appendChar(' ');
+                    break;
+                default:
+                    if (b < 0x80)
+                        appendChar((char) b);
+                    else
+                        appendCodePoint(decode(b));
+            }
+        }
+        return new String(cbuf, 0, clen);
+    }
+
+    private void parseCharacters() throws IOException, SAXException {
+        clen = 0;
+        reportChunks = true;
+        int b;
+        while ((b = read()) >= 0) {
+            switch (b) {
+                case '<':
+                    pos--;
+                    flushCharacters();
+                    return;
+                case '&':
+                    appendCodePoint(readReference());
+                    break;
+                case '\r':
+                    if (peek(0) == '\n')
+                        pos++;
+                    appendChar('\n');
+                    break;
+                default:
+                    if (b < 0x80)
+                        appendChar((char) b);
+                    else
+                        appendCodePoint(decode(b));
+            }
+        }
+        flushCharacters();
+    }
+
+    private void parseCDATA() throws IOException, SAXException {
+        clen = 0;
+        reportChunks = true;
+        int brackets = 0;
+        int b;
+        while ((b = read()) >= 0) {
+            if (b == ']') {
+                brackets++;
+                continue;
+            }
+            if (b == '>' && brackets >= 2) {
+                while (brackets-- > 2)
+                    appendChar(']');
+                flushCharacters();
+                return;
+            }
+            for (; brackets > 0; brackets--)
+                appendChar(']');
+            if (b == '\r') {
+                if (peek(0) == '\n')
+                    pos++;
+                appendChar('\n');
+            } else if (b < 0x80)
+                appendChar((char) b);
+            else
+                appendCodePoint(decode(b));
+        }
+        throw error("Unterminated CDATA section");
+    }
+
+    private void skipWhitespaceOutsideRoot() throws IOException, SAXException {
+        int b;
+        while ((b = read()) >= 0) {
+            if (b == '<') {
+                pos--;
+                return;
+            }
+            if (!isWhitespace(b))
+                throw error("Content is not allowed outside of root element");
+        }
+    }
+
+    private int readReference() throws IOException, SAXException {
+        int b = read();
+        if (b == '#') {
+            int radix = 10;
+            if ((b = read()) == 'x') {
+                radix = 16;
+                b = read();
+            }
+            int cp = 0;
+            do {
+                int digit = Character.digit(b, radix);
+                if (digit < 0 || (cp = cp * radix + digit) > Character.MAX_CODE_POINT)
+                    throw error("Invalid character reference");
+            } while ((b = read()) != ';');
+            return cp;
+        }
+        if (b < 0)
+            throw error("Unexpected end of document in reference");
+        pos--;
+        String name = readName();
+        if (read() != ';')
+            throw error("Expected ';' after entity reference &" + name);
+        switch (name) {
+            case "lt":
+                return '<';
+            case "gt":
+                return '>';
+            case "amp":
+                return '&';
+            case "quot":
+                return '"';
+            case "apos":
+                return '\'';
+        }
+        throw error("Undeclared entity &" + name + ";");
+    }
+
+    private String readName() throws IOException, SAXException {
+        int n = 0;
+        int hash = 0;
+        int b;
+        while ((b = read()) >= 0 && !isNameDelimiter(b)) {
+            if (n == nbuf.length) {
+                byte[] tmp = new byte[n << 1];
+                System.arraycopy(nbuf, 0, tmp, 0, n);
+                nbuf = tmp;
+            }
+            nbuf[n++] = (byte) b;
+            hash = 31 * hash + b;
+        }
+        if (b >= 0)
+            pos--;
+        if (n == 0)
+            throw error("Expected name");
+        int index = hash & (NAME_CACHE_SIZE - 1);
+        String name = names[index];
+        if (name == null || !matches(name, nbuf, n))
+            names[index] = name = new String(nbuf, 0, n, StandardCharsets.UTF_8);
+        return name;
+    }
+
+    private static boolean matches(String name, byte[] b, int n) {
+        if (name.length() != n)
+            return false;
+        for (int i = 0; i < n; i++)
+            if (name.charAt(i) != b[i])
+                return false;
+        return true;
+    }
+
+    private static boolean isNameDelimiter(int b) {
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+            case '/':
+            case '>':
+            case '=':
+            case '?':
+            case ';':
+            case '<':
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private void skipWhitespace() throws IOException {
+        int b;
+        while (isWhitespace(b = read()));
+        if (b >= 0)
+            pos--;
+    }
+
+    private String readUntil(String end) throws IOException, SAXException {
+        clen = 0;
+        reportChunks = false;
+        int b;
+        while ((b = read()) >= 0) {
+            if (b == end.charAt(0) && lookingAt(end.substring(1))) {
+                pos += end.length() - 1;
+                return new String(cbuf, 0, clen);
+            }
+            if (b < 0x80)
+                appendChar((char) b);
+            else
+                appendCodePoint(decode(b));
+        }
+        throw error("Expected '" + end + "'");
+    }
+
+    private int decode(int b) throws IOException, SAXException {
+        int n;
+        int cp;
+        if (b >= 0xc2 && b <= 0xdf) {
+            n = 1;
+            cp = b & 0x1f;
+        } else if (b >= 0xe0 && b <= 0xef) {
+            n = 2;
+            cp = b & 0x0f;
+        } else if (b >= 0xf0 && b <= 0xf4) {
+            n = 3;
+            cp = b & 0x07;
+        } else {
+            throw error("Invalid UTF-8 byte: " + Integer.toHexString(b));
+        }
+        while (n-- > 0) {
+            if (((b = read()) & 0xc0) != 0x80)
+                throw error("Invalid UTF-8 sequence");
+            cp = (cp << 6) | (b & 0x3f);
+        }
+        return cp;
+    }
+
+    private void appendChar(char c) throws SAXException {
+        if (clen == cbuf.length)
+            growOrFlush();
+        cbuf[clen++] = c;
+    }
+
+    private void appendCodePoint(int cp) throws SAXException {
+        if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            appendChar((char) cp);
+        } else {
+            appendChar(Character.highSurrogate(cp));
+            appendChar(Character.lowSurrogate(cp));
+        }
+    }
+
+    /**
+     * Reports buffered character data of an element as chunk, but keeps
+     * attribute values, PI data and surrogate pairs together.
+     */
+    private void growOrFlush() throws SAXException {
+        if (reportChunks && !Character.isHighSurrogate(cbuf[clen - 1])) {
+            flushCharacters();
+        } else {
+            char[] tmp = new char[cbuf.length << 1];
+            System.arraycopy(cbuf, 0, tmp, 0, clen);
+            cbuf = tmp;
+        }
+    }
+
+    private void flushCharacters() throws SAXException {
+        if (clen > 0) {
+            ch.characters(cbuf, 0, clen);
+            clen = 0;
+        }
+    }
+
+    private boolean lookingAt(String s) throws IOException {
+        for (int i = 0, n = s.length(); i < n; i++)
+            if (peek(i) != s.charAt(i))
+                return false;
+        return true;
+    }
+
+    private int peek(int ahead) throws IOException {
+        if (pos + ahead >= limit && !fill(ahead + 1))
+            return -1;
+        return buf[pos + ahead] & 0xff;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill(1))
+            return -1;
+        return buf[pos++] & 0xff;
+    }
+
+    private boolean fill(int min) throws IOException {
+        int remaining = limit - pos;
+        System.arraycopy(buf, pos, buf, 0, remaining);
+        offset += pos;
+        pos = 0;
+        limit = remaining;
+        while (limit < min) {
+            int read = in.read(buf, limit, buf.length - limit);
+            if (read < 0)
+                return false;
+            limit += read;
+        }
+        return true;
+    }
+
+    private SAXException error(String message) {
+        return new SAXException(message + " at offset " + (offset + pos));
+    }
+}
@@ -0,0 +1,359 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+
+/**
+ * {@link ContentHandler} serializing SAX events directly as UTF-8 encoded
+ * XML into an {@link OutputStream}, without the overhead of an identity
+ * {@link javax.xml.transform.sax.TransformerHandler}. Character escaping
+ * follows the JDK XML serializer, so the output of a {@link SAXWriter}
+ * is byte-identical to the output produced via
+ * {@link SAXTransformer#getSAXWriter(javax.xml.transform.Result)}.
+ *
+ * @since Oct 2026
+ */
+public class UTF8XMLWriter implements ContentHandler {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_CHAR_LEN = 12;
+
+    private final OutputStream out;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int pos;
+    private String xmlVersion = "1.0";
+    private boolean xml11;
+    private boolean startTagOpen;
+    private String[] defaultNamespaces = new String[16];
+    private int depth;
+    private String[] prefixMappings = new String[4];
+    private int numPrefixMappings;
+
+    public UTF8XMLWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public final String getXMLVersion() {
+        return xmlVersion;
+    }
+
+    public final void setXMLVersion(String xmlVersion) {
+        if (!"1.0".equals(xmlVersion) && !"1.1".equals(xmlVersion))
+            throw new IllegalArgumentException("xmlVersion: " + xmlVersion);
+        this.xmlVersion = xmlVersion;
+        this.xml11 = "1.1".equals(xmlVersion);
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        depth = 0;
+        defaultNamespaces[0] = "";
+        numPrefixMappings = 0;
+        startTagOpen = false;
+        writeASCII("<?xml version=\"");
+        writeASCII(xmlVersion);
+        writeASCII("\" encoding=\"UTF-8\"?>");
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        closeStartTag();
+        try {
+            flushBuffer();
+            out.flush();
+        } catch (IOException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri)
+            throws SAXException {
+        if (numPrefixMappings == prefixMappings.length)
+            prefixMappings = grow(prefixMappings);
+        prefixMappings[numPrefixMappings++] = prefix;
+        prefixMappings[numPrefixMappings++] = uri;
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName,
+            Attributes atts) throws SAXException {
+        closeStartTag();
+        String name = qName.isEmpty() ? localName : qName;
+        String defaultNamespace = defaultNamespaces[depth];
+        write('<');
+        writeASCII(name);
+        for (int i = 0; i < numPrefixMappings; i += 2) {
+            String prefix = prefixMappings[i];
+            String nsURI = prefixMappings[i+1];
+            if (prefix.isEmpty()) {
+                defaultNamespace = nsURI;
+                writeASCII(" xmlns=\"");
+            } else {
+                writeASCII(" xmlns:");
+                writeASCII(prefix);
+                writeASCII("=\"");
+            }
+            writeEscaped(nsURI, true);
+            write('"');
+        }
+        numPrefixMappings = 0;
+        if (uri != null && name.indexOf(':') < 0
+                && !uri.equals(defaultNamespace)) {
+            defaultNamespace = uri;
+            writeASCII(" xmlns=\"");
+            writeEscaped(uri, true);
+            write('"');
+        }
+        for (int i = 0, n = atts.getLength(); i < n; i++) {
+            String attName = atts.getQName(i);
+            write(' ');
+            writeASCII(attName.isEmpty() ? atts.getLocalName(i) : attName);
+            writeASCII("=\"");
+            writeEscaped(atts.getValue(i), true);
+            write('"');
+        }
+        if (++depth == defaultNamespaces.length)
+            defaultNamespaces = grow(defaultNamespaces);
+        defaultNamespaces[depth] = defaultNamespace;
+        startTagOpen = true;
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName)
+            throws SAXException {
+        depth--;
+        if (startTagOpen) {
+            writeASCII("/>");
+            startTagOpen = false;
+        } else {
+            writeASCII("</");
+            writeASCII(qName.isEmpty() ? localName : qName);
+            write('>');
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length)
+            throws SAXException {
+        if (length == 0)
+            return;
+        closeStartTag();
+        writeEscaped(ch, start, start + length, false);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length)
+            throws SAXException {
+        characters(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data)
+            throws SAXException {
+        closeStartTag();
+        writeASCII("<?");
+        writeASCII(target);
+        if (data != null && !data.isEmpty()) {
+            write(' ');
+            writeASCII(data);
+        }
+        writeASCII("?>");
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+    }
+
+    private static String[] grow(String[] a) {
+        String[] tmp = new String[a.length << 1];
+        System.arraycopy(a, 0, tmp, 0, a.length);
+        return tmp;
+    }
+
+    private void closeStartTag() throws SAXException {
+        if (startTagOpen) {
+            write('>');
+            startTagOpen = false;
+        }
+    }
+
+    private void write(char c) throws SAXException {
+        if (pos == buf.length)
+            flushBuffer0();
+        buf[pos++] = (byte) c;
+    }
+
+    /**
+     * Writes names and markup without escaping; non-ASCII characters are
+     * still UTF-8 encoded.
+     */
+    private void writeASCII(String s) throws SAXException {
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                writeEscaped(s.substring(i), false);
+                return;
+            }
+            write(c);
+        }
+    }
+
+    private void writeEscaped(String s, boolean attr) throws SAXException {
+        writeEscaped(s.toCharArray(), 0, s.length(), attr);
+    }
+
+    private void writeEscaped(char[] ch, int off, int end, boolean attr)
+            throws SAXException {
+        byte[] buf = this.buf;
+        int pos = this.pos;
+        int limit = buf.length - MAX_CHAR_LEN;
+        while (off < end) {
+            if (pos > limit) {
+                this.pos = pos;
+                flushBuffer0();
+                pos = 0;
+            }
+            char c = ch[off++];
+            if (c < 0x80) {
+                if (c >= 0x20 && c < 0x7f) {
+                    switch (c) {
+                        case '<':
+                            pos = writeASCII(buf, pos, "&lt;");
+                            break;
+                        case '>':
+                            pos = writeASCII(buf, pos, "&gt;");
+                            break;
+                        case '&':
+                            pos = writeASCII(buf, pos, "&amp;");
+                            break;
+                        case '"':
+                            if (attr) {
+                                pos = writeASCII(buf, pos, "&quot;");
+                                break;
+                            }
+                        default:
+                            buf[pos++] = (byte) c;
+                    }
+                } else if (!attr && (c == '\t' || c == '\n')) {
+                    buf[pos++] = (byte) c;
+                } else if (c == 0x7f && attr) {
+                    buf[pos++] = (byte) c;
+                } else {
+                    pos = writeCharRef(buf, pos, c);
+                }
+            } else if (c < 0x800) {
+                if (!attr && c < 0xa0) {
+                    pos = writeCharRef(buf, pos, c);
+                } else {
+                    buf[pos++] = (byte) (0xc0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3f));
+                }
+            } else if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || off == end
+                        || !Character.isLowSurrogate(ch[off])) {
+                    this.pos = pos;
+                    throw new SAXException(
+                            "Invalid UTF-16 surrogate: " + Integer.toHexString(c));
+                }
+                pos = writeCharRef(buf, pos, Character.toCodePoint(c, ch[off++]));
+            } else if (xml11 && !attr && c == 0x2028) {
+                pos = writeCharRef(buf, pos, c);
+            } else {
+                buf[pos++] = (byte) (0xe0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        this.pos = pos;
+    }
+
+    private static int writeASCII(byte[] buf, int pos, String s) {
+        for (int i = 0, n = s.length(); i < n; i++)
+            buf[pos++] = (byte) s.charAt(i);
+        return pos;
+    }
+
+    private static int writeCharRef(byte[] buf, int pos, int cp) {
+        buf[pos++] = '&';
+        buf[pos++] = '#';
+        int start = pos;
+        do {
+            buf[pos++] = (byte) ('0' + cp % 10);
+            cp /= 10;
+        } while (cp != 0);
+        for (int i = start, j = pos - 1; i < j; i++, j--) {
+            byte tmp = buf[i];
+            buf[i] = buf[j];
+            buf[j] = tmp;
+        }
+        buf[pos++] = ';';
+        return pos;
+    }
+
+    private void flushBuffer0() throws SAXException {
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
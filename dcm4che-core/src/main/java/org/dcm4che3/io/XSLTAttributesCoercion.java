@@ -44,6 +44,7 @@ import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.AttributesCoercion;
 
 import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -52,6 +53,7 @@ import javax.xml.transform.Templates;
 public class XSLTAttributesCoercion implements AttributesCoercion {
 
     private final Templates templates;
+    private final String templatesURI;
     private boolean includeNameSpaceDeclaration;
     private boolean includeKeyword;
     private SAXTransformer.SetupTransformer setupTransformer;
@@ -59,6 +61,21 @@ public class XSLTAttributesCoercion implements AttributesCoercion {
 
     public XSLTAttributesCoercion(Templates templates, AttributesCoercion next) {
         this.templates = templates;
+        this.templatesURI = null;
+        this.next = next;
+    }
+
+    /**
+     * Creates a coercion applying the stylesheet with the specified URI, fetched from
+     * {@link TemplatesCache#getDefault()} on each invocation, so modifications of the stylesheet take effect
+     * without creating a new instance.
+     *
+     * @param templatesURI URI of the stylesheet
+     * @param next next coercion to apply or {@code null}
+     */
+    public XSLTAttributesCoercion(String templatesURI, AttributesCoercion next) {
+        this.templates = null;
+        this.templatesURI = templatesURI;
         this.next = next;
     }
 
@@ -111,7 +128,7 @@ public class XSLTAttributesCoercion implements AttributesCoercion {
         Attributes newAttrs;
         try {
             newAttrs = SAXTransformer.transform(
-                    attrs, templates, includeNameSpaceDeclaration, includeKeyword, setupTransformer);
+                    attrs, templates(), includeNameSpaceDeclaration, includeKeyword, setupTransformer);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -124,4 +141,8 @@ public class XSLTAttributesCoercion implements AttributesCoercion {
             next.coerce(attrs, modified);
     }
 
+    private Templates templates() throws TransformerConfigurationException {
+        return templates != null ? templates : TemplatesCache.getDefault().get(templatesURI);
+    }
+
 }
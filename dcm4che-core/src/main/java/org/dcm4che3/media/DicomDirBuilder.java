@@ -0,0 +1,316 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomEncodingOptions;
+import org.dcm4che3.io.DicomFileScanner;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.dcm4che3.io.DicomOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds a new DICOMDIR for a large number of DICOM files. The headers of the files are parsed concurrently
+ * - up to the Pixel Data - by a parallel directory walker, the Patient, Study, Series and Instance hierarchy is
+ * collected in memory, and the DICOMDIR is written by one sequential pass with precalculated record offsets.
+ * <p>
+ * In contrast to {@link DicomDirWriter}, the DICOMDIR cannot be updated incrementally; records are sorted by
+ * Patient ID, Study, Series and SOP Instance UID. Files with the SOP Instance UID of an already added file are
+ * ignored.
+ *
+ * @since Oct 2026
+ */
+public class DicomDirBuilder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DicomDirBuilder.class);
+
+    private static final DicomEncodingOptions ENCODING_OPTIONS =
+            new DicomEncodingOptions(false, false, false, false, false);
+
+    private final File file;
+    private final RecordFactory recFact;
+    private final ConcurrentSkipListMap<String, Node> patients = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Node> rootInstances = new ConcurrentSkipListMap<>();
+    private final Set<String> iuids = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger added = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private static final class Node {
+        final Attributes rec;
+        final ConcurrentSkipListMap<String, Node> children = new ConcurrentSkipListMap<>();
+
+        Node(Attributes rec) {
+            this.rec = rec;
+        }
+    }
+
+    public DicomDirBuilder(File file, RecordFactory recFact) {
+        this.file = file;
+        this.recFact = recFact;
+        // RecordFactory loads its default configuration lazily on first use, without synchronization;
+        // trigger it here, before createRecord is invoked concurrently by add().
+        recFact.getRecordKeys(RecordType.PATIENT);
+    }
+
+    public final File getFile() {
+        return file;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the number of files referenced by Directory Records.
+     */
+    public int getAddedFiles() {
+        return added.get();
+    }
+
+    /**
+     * Returns the number of files, which could not be parsed, had no SOP Instance UID or were already added.
+     */
+    public int getSkippedFiles() {
+        return skipped.get();
+    }
+
+    /**
+     * Adds Directory Records for all DICOM files in the directory tree, parsing multiple files concurrently.
+     *
+     * @param dir directory or file
+     * @return number of added files
+     */
+    public int scan(File dir) throws IOException {
+        int before = added.get();
+        DicomFileScanner scanner = new DicomFileScanner();
+        scanner.setParallelism(parallelism);
+        scanner.setFileFilter(f -> !isDicomDir(f.toFile()));
+        try {
+            scanner.scan(dir.toPath(), new DicomFileScanner.Callback() {
+                @Override
+                public void dicomFile(Path f, Attributes fmi, long dsPos, Attributes dataset) {
+                    add(f.toFile(), fmi, dataset);
+                }
+
+                @Override
+                public void failed(Path f, Exception e) {
+                    if (Files.isDirectory(f))
+                        throw new UncheckedIOException(e instanceof IOException
+                                ? (IOException) e
+                                : new IOException(e));
+                    LOG.info("Failed to parse {}: {}", f, e.getMessage());
+                    skipped.incrementAndGet();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return added.get() - before;
+    }
+
+    /**
+     * Adds Directory Records for the DICOM file. May be called concurrently.
+     *
+     * @param f DICOM file
+     * @return {@code true} if the file was added, {@code false} if it was skipped
+     */
+    public boolean add(File f) {
+        if (isDicomDir(f))
+            return false;
+
+        Attributes fmi;
+        Attributes dataset;
+        try (DicomInputStream din = new DicomInputStream(f)) {
+            din.setIncludeBulkData(IncludeBulkData.NO);
+            fmi = din.readFileMetaInformation();
+            dataset = din.readDatasetUntilPixelData();
+        } catch (IOException e) {
+            LOG.info("Failed to parse {}: {}", f, e.getMessage());
+            skipped.incrementAndGet();
+            return false;
+        }
+        return add(f, fmi, dataset);
+    }
+
+    private boolean isDicomDir(File f) {
+        return f.getAbsoluteFile().equals(file.getAbsoluteFile());
+    }
+
+    private boolean add(File f, Attributes fmi, Attributes dataset) {
+        if (fmi == null)
+            fmi = dataset.createFileMetaInformation(UID.ImplicitVRLittleEndian);
+        String iuid = fmi.getString(Tag.MediaStorageSOPInstanceUID, null);
+        if (iuid == null) {
+            LOG.info("Skip {} without SOP Instance UID", f);
+            skipped.incrementAndGet();
+            return false;
+        }
+        String[] fileIDs = DicomDirWriter.toFileIDs(file, f);
+        if (!iuids.add(iuid)) {
+            LOG.info("Skip {} with already added SOP Instance UID {}", f, iuid);
+            skipped.incrementAndGet();
+            return false;
+        }
+        String pid = dataset.getString(Tag.PatientID, null);
+        String styuid = dataset.getString(Tag.StudyInstanceUID, null);
+        String seruid = dataset.getString(Tag.SeriesInstanceUID, null);
+        ConcurrentSkipListMap<String, Node> instances;
+        if (styuid != null && seruid != null) {
+            if (pid == null)
+                dataset.setString(Tag.PatientID, VR.LO, pid = styuid);
+            Node patient = child(patients, pid, RecordType.PATIENT, dataset);
+            Node study = child(patient.children, styuid, RecordType.STUDY, dataset);
+            Node series = child(study.children, seruid, RecordType.SERIES, dataset);
+            instances = series.children;
+        } else {
+            instances = rootInstances;
+        }
+        instances.put(iuid, new Node(recFact.createRecord(dataset, fmi, fileIDs)));
+        added.incrementAndGet();
+        return true;
+    }
+
+    private Node child(ConcurrentSkipListMap<String, Node> children, String key, RecordType type,
+            Attributes dataset) {
+        Node node = children.get(key);
+        if (node == null) {
+            Node newNode = new Node(recFact.createRecord(type, null, dataset, null, null));
+            node = children.putIfAbsent(key, newNode);
+            if (node == null)
+                node = newNode;
+        }
+        return node;
+    }
+
+    /**
+     * Writes the DICOMDIR with Directory Records for all added files. Overwrites an existing file.
+     *
+     * @param iuid    File-set UID
+     * @param id      File-set ID
+     * @param descFile File-set Descriptor File or {@code null}
+     * @param charset Specific Character Set of File-set Descriptor File or {@code null}
+     * @return number of written Directory Records
+     */
+    public int write(String iuid, String id, File descFile, String charset) throws IOException {
+        Attributes fmi = Attributes.createFileMetaInformation(iuid,
+                UID.MediaStorageDirectoryStorage, UID.ExplicitVRLittleEndian);
+        Attributes fsInfo = DicomDirWriter.createFileSetInformation(file, id, descFile, charset);
+        fsInfo.remove(Tag.DirectoryRecordSequence);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        writeHeader(new DicomOutputStream(header, UID.ExplicitVRLittleEndian), fmi, fsInfo, 0);
+
+        List<Attributes> recs = new ArrayList<>();
+        int[] pos = { header.size() };
+        List<Node> roots = new ArrayList<>(patients.values());
+        roots.addAll(rootInstances.values());
+        int first = layout(roots, recs, pos);
+        int seqLen = pos[0] - header.size();
+        if (!recs.isEmpty()) {
+            fsInfo.setInt(Tag.OffsetOfTheFirstDirectoryRecordOfTheRootDirectoryEntity, VR.UL, first);
+            fsInfo.setInt(Tag.OffsetOfTheLastDirectoryRecordOfTheRootDirectoryEntity, VR.UL,
+                    (int) roots.get(roots.size() - 1).rec.getItemPosition());
+        }
+        try (DicomOutputStream out = new DicomOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 65536), UID.ExplicitVRLittleEndian)) {
+            writeHeader(out, fmi, fsInfo, seqLen);
+            for (Attributes rec : recs)
+                rec.writeItemTo(out);
+        }
+        LOG.info("M-WRITE {} with {} Directory Records", file, recs.size());
+        return recs.size();
+    }
+
+    private static void writeHeader(DicomOutputStream out, Attributes fmi, Attributes fsInfo, int seqLen)
+            throws IOException {
+        out.setEncodingOptions(ENCODING_OPTIONS);
+        out.writeDataset(fmi, fsInfo);
+        out.writeHeader(Tag.DirectoryRecordSequence, VR.SQ, seqLen);
+    }
+
+    private static int layout(Collection<Node> nodes, List<Attributes> recs, int[] pos) {
+        int first = 0;
+        Attributes prev = null;
+        for (Node node : nodes) {
+            Attributes rec = node.rec;
+            int offset = pos[0];
+            rec.setItemPosition(offset);
+            rec.setInt(Tag.OffsetOfTheNextDirectoryRecord, VR.UL, 0);
+            rec.setInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, VR.UL, 0);
+            recs.add(rec);
+            pos[0] += 8 + rec.calcLength(ENCODING_OPTIONS, true);
+            if (prev != null)
+                prev.setInt(Tag.OffsetOfTheNextDirectoryRecord, VR.UL, offset);
+            else
+                first = offset;
+            rec.setInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, VR.UL,
+                    layout(node.children.values(), recs, pos));
+            prev = rec;
+        }
+        return first;
+    }
+}
@@ -0,0 +1,219 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-ahead journal of a {@link DicomDirWriter} in group commit mode. The journal describes the last committed
+ * state of the DICOMDIR by its length and by the values of all headers modified by the last commit. It is replaced
+ * atomically before the headers in the DICOMDIR are updated, so after a crash {@link #recover} restores the last
+ * committed state by re-applying the header values and truncating records appended by uncommitted changes.
+ *
+ * @since Oct 2026
+ */
+class DicomDirJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DicomDirJournal.class);
+    private static final int MAGIC = 0x44444a31;
+
+    private final Path path;
+    private final Path tmpPath;
+    private final List<Patch> patches = new ArrayList<>();
+    private long length;
+
+    static final class Patch {
+        final long pos;
+        final byte[] data;
+
+        Patch(long pos, byte[] data) {
+            this.pos = pos;
+            this.data = data;
+        }
+    }
+
+    DicomDirJournal(File dicomdir) {
+        this.path = journalFile(dicomdir).toPath();
+        this.tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    static File journalFile(File dicomdir) {
+        return new File(dicomdir.getPath() + ".journal");
+    }
+
+    long length() {
+        return length;
+    }
+
+    void setLength(long length) {
+        this.length = length;
+    }
+
+    void add(long pos, byte[] data) {
+        patches.add(new Patch(pos, data));
+    }
+
+    void write() throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        DataOutputStream dout = new DataOutputStream(bout);
+        dout.writeInt(MAGIC);
+        dout.writeLong(length);
+        dout.writeInt(patches.size());
+        for (Patch patch : patches) {
+            dout.writeLong(patch.pos);
+            dout.writeInt(patch.data.length);
+            dout.write(patch.data);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bout.toByteArray());
+        dout.writeInt((int) crc.getValue());
+        try (FileChannel ch = FileChannel.open(tmpPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(bout.toByteArray());
+            while (buf.hasRemaining())
+                ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    void apply(FileChannel ch) throws IOException {
+        for (Patch patch : patches) {
+            ByteBuffer buf = ByteBuffer.wrap(patch.data);
+            long pos = patch.pos;
+            while (buf.hasRemaining())
+                pos += ch.write(buf, pos);
+        }
+        if (ch.size() > length)
+            ch.truncate(length);
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(tmpPath);
+    }
+
+    private boolean read() throws IOException {
+        byte[] b = Files.readAllBytes(path);
+        if (b.length < 20)
+            return false;
+
+        CRC32 crc = new CRC32();
+        crc.update(b, 0, b.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(b, b.length - 4, 4).getInt())
+            return false;
+
+        DataInputStream din = new DataInputStream(new ByteArrayInputStream(b, 0, b.length - 4));
+        if (din.readInt() != MAGIC)
+            return false;
+
+        length = din.readLong();
+        for (int i = din.readInt(); i > 0; i--) {
+            long pos = din.readLong();
+            byte[] data = new byte[din.readInt()];
+            din.readFully(data);
+            add(pos, data);
+        }
+        return true;
+    }
+
+    /**
+     * Restores the last committed state of the DICOMDIR described by a journal left by a not closed
+     * {@link DicomDirWriter} in group commit mode, and deletes the journal.
+     *
+     * @param dicomdir DICOMDIR file
+     * @return {@code true} if a journal was found and applied
+     */
+    static boolean recover(File dicomdir) throws IOException {
+        DicomDirJournal journal = new DicomDirJournal(dicomdir);
+        if (!Files.exists(journal.path)) {
+            Files.deleteIfExists(journal.tmpPath);
+            return false;
+        }
+        if (!journal.read()) {
+            LOG.warn("Ignore corrupted journal {}", journal.path);
+            journal.delete();
+            return false;
+        }
+        LOG.info("Recover {} from journal {}", dicomdir, journal.path);
+        try (RandomAccessFile raf = new RandomAccessFile(dicomdir, "rw")) {
+            journal.apply(raf.getChannel());
+            raf.getChannel().force(true);
+        }
+        journal.delete();
+        return true;
+    }
+
+    /**
+     * Restores the last committed state of the DICOMDIR described by the journal of an open
+     * {@link DicomDirWriter} after a failed commit. The journal is kept.
+     *
+     * @param dicomdir DICOMDIR file
+     * @param ch       channel of the opened DICOMDIR
+     * @return length of the DICOMDIR in the restored state
+     * @throws IOException if the journal is missing or corrupted, or restoring the DICOMDIR failed
+     */
+    static long restore(File dicomdir, FileChannel ch) throws IOException {
+        DicomDirJournal journal = new DicomDirJournal(dicomdir);
+        if (!Files.exists(journal.path) || !journal.read())
+            throw new IOException("Missing or corrupted journal " + journal.path);
+        LOG.info("Restore {} from journal {}", dicomdir, journal.path);
+        journal.apply(ch);
+        ch.force(true);
+        return journal.length;
+    }
+}
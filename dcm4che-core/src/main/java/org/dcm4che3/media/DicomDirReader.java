@@ -38,17 +38,22 @@
 
 package org.dcm4che3.media;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.VR;
 import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.FileChannelInputStream;
 import org.dcm4che3.io.RAFInputStreamAdapter;
-import org.dcm4che3.util.IntHashMap;
 import org.dcm4che3.util.SafeClose;
 import org.dcm4che3.util.StringUtils;
 
@@ -57,12 +62,23 @@ import org.dcm4che3.util.StringUtils;
  */
 public class DicomDirReader implements Closeable {
 
+    public static final long DEFAULT_MAX_CACHE_SIZE = 32 * 1024 * 1024;
+
     protected final File file;
     protected final RandomAccessFile raf;
     protected final DicomInputStream in;
     protected final Attributes fmi;
     protected final Attributes fsInfo;
-    protected final IntHashMap<Attributes> cache = new IntHashMap<Attributes>();
+    /**
+     * Cache of Directory Records. Replaced the former {@code IntHashMap<Attributes>} in Oct 2026, which breaks
+     * source and binary compatibility of subclasses accessing the cache directly.
+     */
+    protected final RecordCache cache = new RecordCache(DEFAULT_MAX_CACHE_SIZE);
+    private final Object channelLock = new Object();
+    private volatile FileChannel channel;
+    private boolean closed;
+    private boolean indexed;
+    private RecordIndex index;
 
     public DicomDirReader(File file) throws IOException {
         this(file, "r");
@@ -77,6 +93,7 @@ public class DicomDirReader implements Closeable {
             this.fsInfo = in.readDataset(-1, o -> o.tag() == Tag.DirectoryRecordSequence);
             if (in.tag() != Tag.DirectoryRecordSequence)
                 throw new IOException("Missing Directory Record Sequence");
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
         } catch (IOException e) {
             SafeClose.close(raf);
             throw e;
@@ -96,6 +113,10 @@ public class DicomDirReader implements Closeable {
     }
 
     public void close() throws IOException {
+        synchronized (channelLock) {
+            closed = true;
+            SafeClose.close(channel);
+        }
         raf.close();
     }
 
@@ -170,6 +191,70 @@ public class DicomDirReader implements Closeable {
         cache.clear();
     }
 
+    public long getMaxCacheSize() {
+        return cache.getMaxWeight();
+    }
+
+    /**
+     * Sets the maximal sum of the encoded lengths of cached Directory Records. Least recently used records are
+     * evicted from the cache if the limit is exceeded. Records modified by {@link DicomDirWriter}, which are not
+     * yet committed, are kept in the cache and do not count against the limit.
+     *
+     * @param maxCacheSize maximal sum of the encoded lengths of cached records in bytes or {@code 0} for no limit
+     */
+    public void setMaxCacheSize(long maxCacheSize) {
+        cache.setMaxWeight(maxCacheSize);
+    }
+
+    public synchronized boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Enables or disables the use of an in-memory index of Directory Records by Patient ID, Study, Series and
+     * Referenced SOP Instance UID in File. If enabled, the index is built on the first search for Directory Records
+     * by one of these keys, and is used by subsequent searches for a single value of such key without wildcards.
+     * Searches with {@code matchNoValue = true} and searches for next records always scan the Directory Records.
+     *
+     * @param indexed {@code true} to enable the index
+     */
+    public synchronized void setIndexed(boolean indexed) {
+        this.indexed = indexed;
+        if (!indexed)
+            index = null;
+    }
+
+    protected synchronized void clearIndex() {
+        index = null;
+    }
+
+    protected synchronized void addToIndex(int parentOffset, Attributes rec) {
+        if (index != null)
+            index.add(parentOffset, rec);
+    }
+
+    private synchronized int[] findInIndex(int parentOffset, Attributes keys, boolean matchNoValue)
+            throws IOException {
+        if (!indexed || keys == null || matchNoValue)
+            return null;
+
+        if (index == null) {
+            RecordIndex newIndex = new RecordIndex();
+            addToIndex(newIndex, RecordIndex.ROOT, getOffsetOfFirstRootDirectoryRecord());
+            index = newIndex;
+        }
+        return index.find(parentOffset, keys);
+    }
+
+    private void addToIndex(RecordIndex index, int parentOffset, int offset) throws IOException {
+        while (offset != 0) {
+            Attributes rec = readRecord(offset, false);
+            index.add(parentOffset, rec);
+            addToIndex(index, offset, rec.getInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, 0));
+            offset = rec.getInt(Tag.OffsetOfTheNextDirectoryRecord, 0);
+        }
+    }
+
     public Attributes readFirstRootDirectoryRecord() throws IOException {
         return readRecord(getOffsetOfFirstRootDirectoryRecord());
     }
@@ -209,6 +294,10 @@ public class DicomDirReader implements Closeable {
     public Attributes findRootDirectoryRecord(Attributes keys, boolean ignorePrivate,
             boolean ignoreCaseOfPN, boolean matchNoValue)
             throws IOException {
+        int[] offsets = findInIndex(RecordIndex.ROOT, keys, matchNoValue);
+        if (offsets != null)
+            return findRecordInUse(offsets, ignorePrivate, keys, ignoreCaseOfPN, matchNoValue);
+
         return findRecordInUse(getOffsetOfFirstRootDirectoryRecord(), ignorePrivate,
                 keys, ignoreCaseOfPN, matchNoValue);
     }
@@ -238,6 +327,10 @@ public class DicomDirReader implements Closeable {
     public Attributes findLowerDirectoryRecord(Attributes rec, boolean ignorePrivate,
             Attributes keys, boolean ignoreCaseOfPN, boolean matchNoValue)
             throws IOException {
+        int[] offsets = findInIndex((int) rec.getItemPosition(), keys, matchNoValue);
+        if (offsets != null)
+            return findRecordInUse(offsets, ignorePrivate, keys, ignoreCaseOfPN, matchNoValue);
+
         return findRecordInUse(
                 rec.getInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, 0), ignorePrivate,
                 keys, ignoreCaseOfPN, matchNoValue);
@@ -392,21 +485,61 @@ public class DicomDirReader implements Closeable {
         return null;
     }
 
-    private synchronized Attributes readRecord(int offset) throws IOException {
+    private Attributes findRecordInUse(int[] offsets, boolean ignorePrivate, Attributes keys,
+            boolean ignoreCaseOfPN, boolean matchNoValue)
+            throws IOException {
+        for (int offset : offsets) {
+            Attributes item = readRecord(offset);
+            if (inUse(item) && !(ignorePrivate && isPrivate(item))
+                    && item.matches(keys, ignoreCaseOfPN, matchNoValue))
+                return item;
+        }
+        return null;
+    }
+
+    private Attributes readRecord(int offset) throws IOException {
+        return readRecord(offset, true);
+    }
+
+    private Attributes readRecord(int offset, boolean cacheRecord) throws IOException {
         if (offset == 0)
             return null;
 
         Attributes item = cache.get(offset);
         if (item == null) {
             long off = offset & 0xffffffffL;
-            raf.seek(off);
-            in.setPosition(off);
-            item = in.readItem();
-            cache.put(offset, item);
+            for (;;) {
+                FileChannel ch = channel;
+                try {
+                    DicomInputStream din = new DicomInputStream(
+                            new BufferedInputStream(new FileChannelInputStream(ch, off)),
+                            in.getTransferSyntax());
+                    din.setPosition(off);
+                    item = din.readItem();
+                    if (cacheRecord)
+                        item = cache.putIfAbsent(offset, item, (int) (din.getPosition() - off));
+                    return item;
+                } catch (ClosedByInterruptException e) {
+                    reopenChannel(ch, e);
+                    throw e;
+                } catch (ClosedChannelException e) {
+                    // closed by the interrupt of a concurrent reader
+                    reopenChannel(ch, e);
+                }
+            }
         }
         return item;
     }
 
+    private void reopenChannel(FileChannel ch, ClosedChannelException e) throws IOException {
+        synchronized (channelLock) {
+            if (closed)
+                throw e;
+            if (channel == ch)
+                channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        }
+    }
+
     public static boolean inUse(Attributes rec) {
         return rec.getInt(Tag.RecordInUseFlag, 0) != 0;
     }
@@ -38,9 +38,13 @@
 
 package org.dcm4che3.media;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -90,6 +94,19 @@ public class DicomDirWriter extends DicomDirReader {
             new IdentityHashMap<Attributes,Attributes>();
     private final ArrayList<Attributes> dirtyRecords =
             new ArrayList<Attributes>();
+    private ArrayList<Integer> pinnedRecords = new ArrayList<Integer>();
+    private DicomDirJournal journal;
+    private ByteArrayOutputStream pending;
+    private DicomOutputStream pendingOut;
+    private int pendingPos;
+    private int pendingRecords;
+    private long modCount;
+    private long committedModCount;
+    private boolean committing;
+    private IOException commitFailure;
+    private long commits;
+    private long committedRecords;
+    private long totalCommitTime;
 
     private DicomDirWriter(File file) throws IOException {
         super(file, "rw");
@@ -119,15 +136,94 @@ public class DicomDirWriter extends DicomDirReader {
 
     public void setEncodingOptions(DicomEncodingOptions encOpts) {
         out.setEncodingOptions(encOpts);
+        if (pendingOut != null)
+            pendingOut.setEncodingOptions(encOpts);
     }
 
+    /**
+     * Opens the DICOMDIR for update. If a journal of a {@code DicomDirWriter} in group commit mode, which was not
+     * closed, is found, the last committed state of the DICOMDIR is restored before.
+     *
+     * @param file DICOMDIR file
+     * @return writer for the DICOMDIR
+     */
     public static DicomDirWriter open(File file) throws IOException {
         if (!file.isFile())
             throw new FileNotFoundException();
 
+        DicomDirJournal.recover(file);
         return new DicomDirWriter(file);
     }
 
+    public synchronized boolean isGroupCommit() {
+        return journal != null;
+    }
+
+    /**
+     * Enables or disables the group commit mode. In group commit mode, added Directory Records are buffered in
+     * memory and {@link #commit()} appends all records added by concurrent threads since the previous commit with
+     * one write, while records added meanwhile are collected for the next commit. Each commit is made durable by
+     * forcing the DICOMDIR to the storage device, after the new values of all modified headers are written to a
+     * write-ahead journal next to the DICOMDIR, which is used by {@link #open(File)} to restore the last committed
+     * state after a crash. The journal is deleted on {@link #close()} or on disabling the group commit mode.
+     *
+     * @param groupCommit {@code true} to enable the group commit mode
+     * @throws IllegalStateException if there are uncommitted changes
+     */
+    public synchronized void setGroupCommit(boolean groupCommit) throws IOException {
+        if (groupCommit == isGroupCommit())
+            return;
+
+        if (!dirtyRecords.isEmpty() || rollbackLen != -1 || modCount != committedModCount)
+            throw new IllegalStateException("uncommitted changes");
+
+        if (groupCommit) {
+            pending = new ByteArrayOutputStream();
+            pendingOut = new DicomOutputStream(pending, getTransferSyntaxUID());
+            pendingOut.setEncodingOptions(getEncodingOptions());
+            pendingPos = nextRecordPos;
+            pendingRecords = 0;
+            DicomDirJournal newJournal = new DicomDirJournal(file);
+            updateDirInfoHeader();
+            checkpoint(newJournal);
+            newJournal.write();
+            journal = newJournal;
+        } else {
+            journal.delete();
+            journal = null;
+            pending = null;
+            pendingOut = null;
+        }
+    }
+
+    /**
+     * Returns the number of group commits.
+     */
+    public synchronized long getCommits() {
+        return commits;
+    }
+
+    /**
+     * Returns the number of Directory Records appended by group commits.
+     */
+    public synchronized long getCommittedRecords() {
+        return committedRecords;
+    }
+
+    /**
+     * Returns the average number of Directory Records appended by one group commit.
+     */
+    public synchronized double getAverageCommitSize() {
+        return commits > 0 ? (double) committedRecords / commits : 0;
+    }
+
+    /**
+     * Returns the average duration of the I/O of one group commit in ms.
+     */
+    public synchronized long getAverageCommitLatency() {
+        return commits > 0 ? totalCommitTime / commits / 1000000L : 0L;
+    }
+
     public static void createEmptyDirectory(File file, String iuid,
             String id, File descFile, String charset) throws IOException {
         Attributes fmi = Attributes.createFileMetaInformation(iuid,
@@ -147,7 +243,7 @@ public class DicomDirWriter extends DicomDirReader {
         }
     }
 
-    private static Attributes createFileSetInformation(File file, String id,
+    static Attributes createFileSetInformation(File file, String id,
             File descFile, String charset) {
         Attributes fsInfo = new Attributes(7);
         fsInfo.setString(Tag.FileSetID, VR.CS, id);
@@ -180,6 +276,7 @@ public class DicomDirWriter extends DicomDirReader {
             addRecord(Tag.OffsetOfTheNextDirectoryRecord, lastRootRecord, rec);
         }
         setOffsetOfLastRootDirectoryRecord((int) rec.getItemPosition());
+        addToIndex(RecordIndex.ROOT, rec);
         return rec;
     }
 
@@ -196,6 +293,7 @@ public class DicomDirWriter extends DicomDirReader {
                     parentRec, rec);
 
         lastChildRecords.put(parentRec, rec);
+        addToIndex((int) parentRec.getItemPosition(), rec);
         return rec;
     }
  
@@ -232,10 +330,15 @@ public class DicomDirWriter extends DicomDirReader {
     }
 
     public synchronized void rollback() throws IOException {
+        if (journal != null) {
+            rollbackGroupCommit();
+            return;
+        }
         if (dirtyRecords.isEmpty())
             return;
 
         clearCache();
+        clearIndex();
         dirtyRecords.clear();
         if (rollbackLen != -1) {
             restoreDirInfo();
@@ -251,12 +354,170 @@ public class DicomDirWriter extends DicomDirReader {
         }
     }
 
-    public void clearCache() {
+    private void rollbackGroupCommit() throws IOException {
+        waitForCommit(Long.MAX_VALUE);
+        if (commitFailure != null) {
+            recoverCommitFailure();
+            return;
+        }
+        if (modCount == committedModCount)
+            return;
+
+        dirtyRecords.clear();
+        pending.reset();
+        pendingRecords = 0;
+        nextRecordPos = pendingPos;
+        restoreDirInfo();
+        modCount = committedModCount;
+        clearCache();
+        clearIndex();
+    }
+
+    /**
+     * Restores the state of the DICOMDIR described by the journal after a failed group commit and discards all
+     * uncommitted changes.
+     */
+    private void recoverCommitFailure() throws IOException {
+        long length = DicomDirJournal.restore(file, raf.getChannel());
+        raf.seek(firstRecordPos - dirInfoHeader.length);
+        raf.readFully(dirInfoHeader);
+        restoreDirInfo();
+        nextRecordPos = pendingPos = (int) (getEncodingOptions().undefSequenceLength ? length - 8 : length);
+        dirtyRecords.clear();
+        pending.reset();
+        pendingRecords = 0;
+        modCount = committedModCount;
+        commitFailure = null;
+        clearCache();
+        clearIndex();
+    }
+
+    /**
+     * Clears the cache of Directory Records.
+     *
+     * @throws IllegalStateException if there are uncommitted changes in group commit mode
+     */
+    public synchronized void clearCache() {
+        if (journal != null && (modCount != committedModCount || committing))
+            throw new IllegalStateException("uncommitted changes");
         lastChildRecords.clear();
+        pinnedRecords.clear();
         super.clearCache();
     }
 
-    public synchronized void commit() throws IOException {
+    public void commit() throws IOException {
+        GroupCommit groupCommit;
+        synchronized (this) {
+            if (journal == null) {
+                commitInPlace();
+                return;
+            }
+            long target = modCount;
+            awaitCommit(target);
+            if (committedModCount >= target)
+                return;
+
+            groupCommit = prepareGroupCommit();
+            committing = true;
+        }
+        IOException failure = null;
+        try {
+            groupCommit.write();
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException ? (IOException) e : new IOException(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                committing = false;
+                if (failure == null) {
+                    committedModCount = groupCommit.modCount;
+                    commits++;
+                    committedRecords += groupCommit.records;
+                    totalCommitTime += groupCommit.time;
+                    unpin(groupCommit.pinnedRecords);
+                } else {
+                    commitFailure = failure;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    private void awaitCommit(long target) throws IOException {
+        waitForCommit(target);
+        checkCommitFailure();
+    }
+
+    private void waitForCommit(long target) throws InterruptedIOException {
+        try {
+            while (committing && committedModCount < target)
+                wait();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private GroupCommit prepareGroupCommit() throws IOException {
+        GroupCommit groupCommit = new GroupCommit();
+        groupCommit.modCount = modCount;
+        groupCommit.records = pendingRecords;
+        groupCommit.appendPos = pendingPos;
+        groupCommit.append = pending.toByteArray();
+        pending.reset();
+        pendingRecords = 0;
+        pendingPos = nextRecordPos;
+        groupCommit.pinnedRecords = pinnedRecords;
+        pinnedRecords = new ArrayList<Integer>();
+        groupCommit.journal = new DicomDirJournal(file);
+        for (Attributes rec : dirtyRecords)
+            groupCommit.journal.add(rec.getItemPosition() + 8, dirRecordHeader(rec).clone());
+        dirtyRecords.clear();
+        updateDirInfoHeader();
+        checkpoint(groupCommit.journal);
+        return groupCommit;
+    }
+
+    private void checkpoint(DicomDirJournal journal) throws IOException {
+        journal.add(firstRecordPos - dirInfoHeader.length, dirInfoHeader.clone());
+        if (getEncodingOptions().undefSequenceLength) {
+            ByteArrayOutputStream bout = new ByteArrayOutputStream(8);
+            new DicomOutputStream(bout, getTransferSyntaxUID())
+                    .writeHeader(Tag.SequenceDelimitationItem, null, 0);
+            journal.add(nextRecordPos, bout.toByteArray());
+            journal.setLength(nextRecordPos + 8);
+        } else {
+            journal.setLength(nextRecordPos);
+        }
+    }
+
+    private final class GroupCommit {
+        long modCount;
+        int records;
+        int appendPos;
+        byte[] append;
+        DicomDirJournal journal;
+        ArrayList<Integer> pinnedRecords;
+        long time;
+
+        void write() throws IOException {
+            long start = System.nanoTime();
+            FileChannel ch = raf.getChannel();
+            if (append.length > 0) {
+                ByteBuffer buf = ByteBuffer.wrap(append);
+                long pos = appendPos;
+                while (buf.hasRemaining())
+                    pos += ch.write(buf, pos);
+                ch.force(false);
+            }
+            journal.write();
+            journal.apply(ch);
+            ch.force(false);
+            time = System.nanoTime() - start;
+            LOG.debug("M-UPDATE {}: committed {} Records", file, records);
+        }
+    }
+
+    private synchronized void commitInPlace() throws IOException {
         if (dirtyRecords.isEmpty())
             return;
 
@@ -267,6 +528,8 @@ public class DicomDirWriter extends DicomDirReader {
             writeDirRecordHeader(rec);
 
         dirtyRecords.clear();
+        unpin(pinnedRecords);
+        pinnedRecords.clear();
 
         if (rollbackLen != -1 && getEncodingOptions().undefSequenceLength)
             writeSequenceDelimitationItem();
@@ -276,17 +539,38 @@ public class DicomDirWriter extends DicomDirReader {
         rollbackLen = -1;
     }
 
+    /**
+     * Commits pending changes - or rolls them back, if a previous group commit failed - and closes the DICOMDIR.
+     * The DICOMDIR is closed even if the commit or rollback fails, in which case the journal is kept, so the last
+     * committed state is restored by the next {@link #open(File)}.
+     */
     @Override
     public void close() throws IOException {
-        commit();
-        super.close();
+        try {
+            boolean failed;
+            synchronized (this) {
+                failed = commitFailure != null;
+            }
+            if (failed)
+                rollback();
+            else
+                commit();
+            synchronized (this) {
+                if (journal != null) {
+                    journal.delete();
+                    journal = null;
+                }
+            }
+        } finally {
+            super.close();
+        }
     }
 
     public String[] toFileIDs(File f) {
         return toFileIDs(file, f);
     }
 
-    private static String[] toFileIDs(File dfile, File f) {
+    static String[] toFileIDs(File dfile, File f) {
         String dfilepath = dfile.getAbsolutePath();
         int dend = dfilepath.lastIndexOf(File.separatorChar) + 1;
         String dpath = dfilepath.substring(0, dend);
@@ -324,6 +608,11 @@ public class DicomDirWriter extends DicomDirReader {
     }
 
     private void writeDirRecordHeader(Attributes rec) throws IOException {
+        raf.seek(rec.getItemPosition() + 8);
+        raf.write(dirRecordHeader(rec));
+    }
+
+    private byte[] dirRecordHeader(Attributes rec) {
         ByteUtils.intToBytesLE(
                 rec.getInt(Tag.OffsetOfTheNextDirectoryRecord, 0),
                 dirRecordHeader, 8);
@@ -333,8 +622,7 @@ public class DicomDirWriter extends DicomDirReader {
         ByteUtils.intToBytesLE(
                 rec.getInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, 0),
                 dirRecordHeader, 30);
-        raf.seek(rec.getItemPosition() + 8);
-        raf.write(dirRecordHeader);
+        return dirRecordHeader;
     }
 
     private void writeSequenceDelimitationItem() throws IOException {
@@ -354,18 +642,27 @@ public class DicomDirWriter extends DicomDirReader {
             LOG.info("M-UPDATE {}: add {} Record", file,
                     rec.getString(Tag.DirectoryRecordType, null));
         LOG.debug("Directory Record:\n{}", rec);
+        checkCommitFailure();
         rec.setItemPosition(offset);
-        if (rollbackLen == -1) {
-            rollbackLen = offset;
-            writeFileSetConsistencyFlag(KNOWN_INCONSISTENCIES);
-        }
-        raf.seek(offset);
         rec.setInt(Tag.OffsetOfTheNextDirectoryRecord, VR.UL, 0);
         rec.setInt(Tag.RecordInUseFlag, VR.US, IN_USE);
         rec.setInt(Tag.OffsetOfReferencedLowerLevelDirectoryEntity, VR.UL, 0);
-        rec.writeItemTo(out);
-        nextRecordPos = (int) raf.getFilePointer();
-        cache.put(offset, rec);
+        if (journal != null) {
+            rec.writeItemTo(pendingOut);
+            nextRecordPos = pendingPos + pending.size();
+            pendingRecords++;
+            modCount++;
+            pin(rec, nextRecordPos - offset);
+        } else {
+            if (rollbackLen == -1) {
+                rollbackLen = offset;
+                writeFileSetConsistencyFlag(KNOWN_INCONSISTENCIES);
+            }
+            raf.seek(offset);
+            rec.writeItemTo(out);
+            nextRecordPos = (int) raf.getFilePointer();
+            cache.put(offset, rec, nextRecordPos - offset);
+        }
     }
 
     private void writeFileSetConsistencyFlag(int flag) throws IOException {
@@ -382,10 +679,33 @@ public class DicomDirWriter extends DicomDirReader {
         }
     };
 
+    private void checkCommitFailure() throws IOException {
+        if (commitFailure != null)
+            throw commitFailure;
+    }
+
     private void markAsDirty(Attributes rec) {
+        if (journal != null)
+            modCount++;
         int index = Collections.binarySearch(dirtyRecords, rec, offsetComparator);
-        if (index < 0)
+        if (index < 0) {
             dirtyRecords.add(-(index + 1), rec);
+            pin(rec, -1);
+        }
+    }
+
+    /**
+     * Keeps records, which are not yet written to the file, in the cache until the next commit.
+     */
+    private void pin(Attributes rec, int length) {
+        int offset = (int) rec.getItemPosition();
+        cache.pin(offset, rec, length);
+        pinnedRecords.add(offset);
+    }
+
+    private void unpin(ArrayList<Integer> offsets) {
+        for (Integer offset : offsets)
+            cache.unpin(offset);
     }
 
     public synchronized int purge() throws IOException {
@@ -0,0 +1,235 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dcm4che3.data.Attributes;
+
+/**
+ * Cache of Directory Records by offset, bounded by the sum of the encoded lengths of the cached records. Records
+ * are evicted in approximated least recently used order by the CLOCK algorithm. Lookups do not block each other
+ * or insertions. Pinned records - e.g. modified records which are not yet written - are not evicted and do not
+ * count against the limit.
+ *
+ * @since Oct 2026
+ */
+public class RecordCache {
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<Entry> clock = new ArrayDeque<>();
+    private long weight;
+    private volatile long maxWeight;
+
+    private static final class Entry {
+        final int offset;
+        final Attributes rec;
+        final int weight;
+        volatile boolean referenced;
+        int pins;
+        boolean inClock;
+        boolean dead;
+
+        Entry(int offset, Attributes rec, int weight) {
+            this.offset = offset;
+            this.rec = rec;
+            this.weight = weight;
+        }
+    }
+
+    public RecordCache(long maxWeight) {
+        setMaxWeight(maxWeight);
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Sets the maximal sum of the encoded lengths of cached records, which are not pinned.
+     *
+     * @param maxWeight maximal sum of the encoded lengths of cached records in bytes or {@code 0} for no limit
+     */
+    public synchronized void setMaxWeight(long maxWeight) {
+        if (maxWeight < 0)
+            throw new IllegalArgumentException("maxWeight: " + maxWeight);
+        long prevMaxWeight = this.maxWeight;
+        this.maxWeight = maxWeight;
+        if (maxWeight == 0) {
+            // unbounded: no eviction, so no need to track the access order
+            for (Entry entry : clock)
+                entry.inClock = false;
+            clock.clear();
+        } else if (prevMaxWeight == 0) {
+            for (Entry entry : entries.values())
+                if (entry.pins == 0) {
+                    entry.inClock = true;
+                    clock.add(entry);
+                }
+        }
+        evict();
+    }
+
+    /**
+     * Returns the sum of the encoded lengths of cached records, which are not pinned.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Attributes get(int offset) {
+        Entry entry = entries.get(offset);
+        if (entry == null)
+            return null;
+
+        if (!entry.referenced)
+            entry.referenced = true;
+        return entry.rec;
+    }
+
+    public synchronized Attributes put(int offset, Attributes rec, int length) {
+        Entry entry = new Entry(offset, rec, length);
+        Entry prev = entries.put(offset, entry);
+        if (prev != null) {
+            prev.dead = true;
+            entry.pins = prev.pins;
+            if (prev.pins == 0)
+                weight -= prev.weight;
+        }
+        if (entry.pins == 0)
+            release(entry);
+        return prev != null ? prev.rec : null;
+    }
+
+    /**
+     * Caches the record, if no record is cached at the offset.
+     *
+     * @return the cached record at the offset
+     */
+    public synchronized Attributes putIfAbsent(int offset, Attributes rec, int length) {
+        Entry prev = entries.get(offset);
+        if (prev != null)
+            return prev.rec;
+
+        put(offset, rec, length);
+        return rec;
+    }
+
+    /**
+     * Caches the record, replacing another record instance cached at the offset, and excludes it from eviction
+     * until {@link #unpin} is invoked as often as this method.
+     *
+     * @param offset offset of the record
+     * @param rec the record
+     * @param length encoded length of the record or {@code -1}, if unknown. If unknown, the record is removed
+     *               from the cache on the last {@link #unpin}, unless the length of the replaced record is known.
+     */
+    public synchronized void pin(int offset, Attributes rec, int length) {
+        Entry entry = entries.get(offset);
+        if (entry == null || entry.rec != rec) {
+            Entry prev = entry;
+            entry = new Entry(offset, rec, length < 0 && prev != null ? prev.weight : length);
+            entries.put(offset, entry);
+            if (prev != null) {
+                prev.dead = true;
+                entry.pins = prev.pins;
+                if (prev.pins == 0)
+                    weight -= prev.weight;
+            }
+        } else if (entry.pins == 0) {
+            weight -= entry.weight;
+        }
+        entry.pins++;
+    }
+
+    public synchronized void unpin(int offset) {
+        Entry entry = entries.get(offset);
+        if (entry == null || entry.pins == 0 || --entry.pins > 0)
+            return;
+
+        if (entry.weight < 0) {
+            entries.remove(offset);
+            entry.dead = true;
+        } else
+            release(entry);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        clock.clear();
+        weight = 0;
+    }
+
+    private void release(Entry entry) {
+        weight += entry.weight;
+        if (maxWeight != 0 && !entry.inClock) {
+            entry.inClock = true;
+            clock.add(entry);
+        }
+        evict();
+    }
+
+    private void evict() {
+        if (maxWeight == 0)
+            return;
+
+        Entry entry;
+        while (weight > maxWeight && (entry = clock.poll()) != null) {
+            if (entry.dead)
+                continue; // replaced or removed
+
+            if (entry.pins > 0) {
+                entry.inClock = false;
+            } else if (entry.referenced) {
+                entry.referenced = false;
+                clock.add(entry);
+            } else {
+                entries.remove(entry.offset);
+                weight -= entry.weight;
+                entry.inClock = false;
+                entry.dead = true;
+            }
+        }
+    }
+}
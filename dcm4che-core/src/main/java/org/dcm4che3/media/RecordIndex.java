@@ -0,0 +1,113 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import java.util.HashMap;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.util.IntHashMap;
+import org.dcm4che3.util.StringUtils;
+
+/**
+ * Maps values of unique keys - Patient ID, Study, Series and Referenced SOP Instance UID in File - of Directory
+ * Records to the offsets of the records, separately for the lower level entity of each record. Offsets are kept in
+ * the order of the records in the referenced Directory Entity.
+ *
+ * @since Oct 2026
+ */
+class RecordIndex {
+
+    static final int ROOT = 0;
+
+    private static final int[] UNIQUE_KEYS = {
+            Tag.ReferencedSOPInstanceUIDInFile,
+            Tag.SeriesInstanceUID,
+            Tag.StudyInstanceUID,
+            Tag.PatientID
+    };
+
+    private final IntHashMap<HashMap<String, int[]>> entities = new IntHashMap<>();
+
+    void add(int parentOffset, Attributes rec) {
+        for (int tag : UNIQUE_KEYS) {
+            String[] values = rec.getStrings(tag);
+            if (values != null)
+                for (String value : values)
+                    if (value != null)
+                        add(parentOffset, value, (int) rec.getItemPosition());
+        }
+    }
+
+    private void add(int parentOffset, String value, int offset) {
+        HashMap<String, int[]> entity = entities.get(parentOffset);
+        if (entity == null)
+            entities.put(parentOffset, entity = new HashMap<>());
+        int[] offsets = entity.get(value);
+        if (offsets == null) {
+            entity.put(value, new int[]{ offset });
+        } else if (offsets[offsets.length - 1] != offset) {
+            int[] tmp = new int[offsets.length + 1];
+            System.arraycopy(offsets, 0, tmp, 0, offsets.length);
+            tmp[offsets.length] = offset;
+            entity.put(value, tmp);
+        }
+    }
+
+    /**
+     * Returns the offsets of records of the specified Directory Entity which may match the keys, or {@code null}
+     * if the keys do not contain a single value of a unique key without wildcards, so the records of the entity
+     * have to be scanned.
+     */
+    int[] find(int parentOffset, Attributes keys) {
+        for (int tag : UNIQUE_KEYS) {
+            String[] values = keys.getStrings(tag);
+            if (values == null || values.length == 0 || values[0] == null || values[0].isEmpty())
+                continue;
+
+            if (values.length > 1 || StringUtils.containsWildCard(values[0]))
+                return null;
+
+            HashMap<String, int[]> entity = entities.get(parentOffset);
+            int[] offsets = entity != null ? entity.get(values[0]) : null;
+            return offsets != null ? offsets : new int[0];
+        }
+        return null;
+    }
+}
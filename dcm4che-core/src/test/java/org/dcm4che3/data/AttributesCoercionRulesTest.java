@@ -0,0 +1,132 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class AttributesCoercionRulesTest {
+
+    private static final String RULES =
+            "# site specific fixes\n"
+            + "if calling = MOD1 then set InstitutionName \"General Hospital\"\n"
+            + "if SOPClassUID = 1.2.840.10008.5.1.4.1.1.2 and PatientID ~ 0+[1-9][0-9]* then "
+            + "replace PatientID ^0+ \"\"\n"
+            + "copy AccessionNumber StudyID\n"
+            + "remove OtherPatientIDs\n"
+            + "nullify PatientBirthDate\n"
+            + "map Modality MRI MR CTX CT\n"
+            + "if IssuerOfPatientID absent then set IssuerOfPatientIDQualifiersSequence.UniversalEntityID 1.2.3\n";
+
+    private static Attributes dataset() {
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+        attrs.setString(Tag.PatientID, VR.LO, "000123");
+        attrs.setString(Tag.AccessionNumber, VR.SH, "A42");
+        attrs.setString(Tag.OtherPatientIDs, VR.LO, "X1");
+        attrs.setString(Tag.PatientBirthDate, VR.DA, "19700101");
+        attrs.setString(Tag.Modality, VR.CS, "CTX");
+        return attrs;
+    }
+
+    @Test
+    public void testCoerce() throws Exception {
+        AttributesCoercionRules rules = AttributesCoercionRules.valueOf(RULES);
+        assertEquals(7, rules.size());
+        Attributes attrs = dataset();
+        Attributes modified = new Attributes();
+        rules.toCoercion("MOD1", "STORESCP", null).coerce(attrs, modified);
+        assertEquals("General Hospital", attrs.getString(Tag.InstitutionName));
+        assertEquals("123", attrs.getString(Tag.PatientID));
+        assertEquals("A42", attrs.getString(Tag.StudyID));
+        assertFalse(attrs.contains(Tag.OtherPatientIDs));
+        assertTrue(attrs.contains(Tag.PatientBirthDate));
+        assertNull(attrs.getString(Tag.PatientBirthDate));
+        assertEquals("CT", attrs.getString(Tag.Modality));
+        assertEquals("1.2.3", attrs.getNestedDataset(Tag.IssuerOfPatientIDQualifiersSequence)
+                .getString(Tag.UniversalEntityID));
+        assertEquals("000123", modified.getString(Tag.PatientID));
+        assertEquals("X1", modified.getString(Tag.OtherPatientIDs));
+        assertEquals("19700101", modified.getString(Tag.PatientBirthDate));
+        assertEquals("CTX", modified.getString(Tag.Modality));
+        assertFalse(modified.contains(Tag.InstitutionName));
+    }
+
+    @Test
+    public void testCallingAETCondition() throws Exception {
+        AttributesCoercionRules rules = AttributesCoercionRules.valueOf(RULES);
+        Attributes attrs = dataset();
+        rules.toCoercion("MOD2", "STORESCP", null).coerce(attrs, null);
+        assertFalse(attrs.contains(Tag.InstitutionName));
+        assertEquals("123", attrs.getString(Tag.PatientID));
+    }
+
+    @Test
+    public void testComposeWithNext() throws Exception {
+        AttributesCoercion next = new RemapUIDsAttributesCoercion(
+                Collections.singletonMap("1.2.3", "4.5.6"), null);
+        AttributesCoercion coercion = AttributesCoercionRules.valueOf("if calling = MOD1 then remove PatientID")
+                .toCoercion("MOD2", null, next);
+        assertSame(next, coercion);
+        assertEquals("4.5.6", coercion.remapUID("1.2.3"));
+    }
+
+    @Test
+    public void testTokenize() {
+        assertArrayEquals(new String[]{ "set", "PatientName", "Doe^John", "a \"b\"" },
+                AttributesCoercionRules.tokenize(" set PatientName Doe^John \"a \\\"b\\\"\" # comment")
+                        .toArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidAction() {
+        AttributesCoercionRules.valueOf("rename PatientID OtherPatientIDs");
+    }
+}
@@ -0,0 +1,164 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class AttributesEncoderTest {
+
+    private static final String[] FILES = {
+            "DICOMDIR", "MR2_UNC", "NM-MONO2-16-13x-heart", "NM1_JPLY", "OT-PAL-8-face",
+            "Tag-0040-A170-VR-CS.dcm", "US-PAL-8-10x-echo", "US-RGB-8-epicard", "YBR_FULL-RLE.dcm",
+            "cplx_p02.dcm", "ovly_p01.dcm", "report_dfl", "test16signed.dcm"
+    };
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (String name : FILES) {
+            Attributes attrs = readFrom(name, IncludeBulkData.YES);
+            Attributes decoded = AttributesDecoder.decode(AttributesEncoder.encode(attrs));
+            assertArrayEquals(name, toDicom(attrs), toDicom(decoded));
+        }
+    }
+
+    @Test
+    public void testRoundTripBulkDataURI() throws Exception {
+        for (String name : FILES) {
+            Attributes attrs = readFrom(name, IncludeBulkData.URI);
+            Attributes decoded = AttributesDecoder.decode(AttributesEncoder.encode(attrs));
+            assertEquals(name, attrs, decoded);
+            Object pixelData = attrs.getValue(Tag.PixelData);
+            if (pixelData instanceof Fragments)
+                assertEquals(name, pixelData, decoded.getValue(Tag.PixelData));
+        }
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() throws Exception {
+        for (String name : FILES) {
+            Attributes attrs = readFrom(name, IncludeBulkData.URI);
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            try (ObjectOutputStream oout = new ObjectOutputStream(bout)) {
+                oout.writeObject(attrs);
+            }
+            byte[] encoded = AttributesEncoder.encode(attrs);
+            assertTrue(name + ": " + encoded.length + " >= " + bout.size(),
+                    encoded.length < bout.size());
+        }
+    }
+
+    @Test
+    public void testMultipleDatasets() throws Exception {
+        Attributes[] datasets = new Attributes[3];
+        for (int i = 0; i < datasets.length; i++) {
+            Attributes attrs = new Attributes(i == 1, 8);
+            attrs.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+            attrs.setString(Tag.SOPClassUID, VR.UI, UID.CTImageStorage);
+            attrs.setString(Tag.SOPInstanceUID, VR.UI, "1.2.3." + i);
+            attrs.setString(Tag.PatientName, VR.PN, "Müller^Hans");
+            attrs.setString("PRIVATE CREATOR", 0x00090010, VR.LO, "value" + i);
+            attrs.setInt(Tag.Rows, VR.US, 512);
+            attrs.setDouble(Tag.PixelSpacing, VR.DS, 0.5, 0.5);
+            attrs.setNull(Tag.StudyDate, VR.DA);
+            attrs.newSequence(Tag.ReferencedSeriesSequence, 1)
+                    .add(new Attributes(attrs.bigEndian(), 0));
+            attrs.setNull(Tag.OtherPatientIDsSequence, VR.SQ);
+            attrs.setValue(Tag.OverlayData, VR.OW, new BulkData(null, "file:/overlay", i == 1));
+            datasets[i] = attrs;
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (AttributesEncoder encoder = new AttributesEncoder(bout)) {
+            for (Attributes attrs : datasets)
+                encoder.write(attrs);
+        }
+        byte[] first = AttributesEncoder.encode(datasets[0]);
+        assertTrue(bout.size() < 3 * first.length);
+        try (AttributesDecoder decoder = new AttributesDecoder(
+                new ByteArrayInputStream(bout.toByteArray()))) {
+            for (Attributes attrs : datasets) {
+                Attributes decoded = decoder.read();
+                assertEquals(attrs, decoded);
+                assertEquals(attrs.bigEndian(), decoded.bigEndian());
+                assertEquals("Müller^Hans", decoded.getString(Tag.PatientName));
+                assertEquals(attrs.getString("PRIVATE CREATOR", 0x00090010),
+                        decoded.getString("PRIVATE CREATOR", 0x00090010));
+            }
+            assertNull(decoder.read());
+        }
+    }
+
+    @Test(expected = DicomStreamException.class)
+    public void testInvalidMagic() throws IOException {
+        AttributesDecoder.decode(new byte[] { 'D', 'I', 'C', 'M', 1, 0, 0 });
+    }
+
+    private static Attributes readFrom(String name, IncludeBulkData includeBulkData)
+            throws IOException {
+        try (DicomInputStream in = new DicomInputStream(new File("target/test-data/" + name))) {
+            in.setIncludeBulkData(includeBulkData);
+            return in.readDataset();
+        }
+    }
+
+    private static byte[] toDicom(Attributes attrs) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream out = new DicomOutputStream(bout, UID.ExplicitVRLittleEndian)) {
+            out.writeDataset(null, attrs);
+        }
+        return bout.toByteArray();
+    }
+}
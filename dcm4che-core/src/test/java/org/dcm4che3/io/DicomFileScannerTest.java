@@ -0,0 +1,146 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class DicomFileScannerTest {
+
+    private static final String[] FILES = {
+            "MR2_UNC", "NM1_JPLY", "OT-PAL-8-face", "US-PAL-8-10x-echo", "US-RGB-8-epicard", "report_dfl",
+            "YBR_422.dcm", "no_preamble_dicm_in_data"
+    };
+
+    private static Path createTree() throws IOException {
+        Path dir = new File("target/test-out/dicomfilescanner").toPath();
+        for (int i = 0; i < FILES.length; i++) {
+            Path subdir = dir.resolve("D" + (i % 3));
+            Files.createDirectories(subdir);
+            Files.copy(new File("target/test-data/" + FILES[i]).toPath(), subdir.resolve(FILES[i]),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.write(dir.resolve("D0").resolve("empty"), new byte[0]);
+        return dir;
+    }
+
+    private static Attributes readDatasetUntilPixelData(Path file) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(file.toFile())) {
+            dis.setIncludeBulkData(DicomInputStream.IncludeBulkData.NO);
+            return dis.readDatasetUntilPixelData();
+        }
+    }
+
+    @Test
+    public void testScan() throws Exception {
+        Path dir = createTree();
+        Map<Path, Attributes> datasets = new ConcurrentHashMap<>();
+        Map<Path, Exception> failed = new ConcurrentHashMap<>();
+        DicomFileScanner scanner = new DicomFileScanner();
+        scanner.setParallelism(3);
+        scanner.setBufferSize(256);
+        int scanned = scanner.scan(dir, new DicomFileScanner.Callback() {
+            @Override
+            public void dicomFile(Path file, Attributes fmi, long dsPos, Attributes dataset) {
+                assertNull(datasets.put(file, dataset));
+            }
+
+            @Override
+            public void failed(Path path, Exception e) {
+                failed.put(path, e);
+            }
+        });
+        assertEquals(FILES.length, scanned);
+        assertEquals(FILES.length, scanner.getScannedFiles());
+        assertEquals(1, scanner.getFailedFiles());
+        assertTrue(failed.containsKey(dir.resolve("D0").resolve("empty")));
+        assertTrue(scanner.getReadBytes() > 0);
+        for (Map.Entry<Path, Attributes> entry : datasets.entrySet()) {
+            assertEquals(entry.getKey().toString(),
+                    readDatasetUntilPixelData(entry.getKey()), entry.getValue());
+            assertFalse(entry.getValue().contains(Tag.PixelData));
+        }
+    }
+
+    @Test
+    public void testStopPredicateAndFileFilter() throws Exception {
+        Path dir = createTree();
+        DicomFileScanner scanner = new DicomFileScanner();
+        scanner.setStopPredicate(dis -> Integer.compareUnsigned(dis.tag(), Tag.PatientName) > 0);
+        scanner.setFileFilter(file -> !file.getFileName().toString().equals("empty"));
+        int scanned = scanner.scan(dir, (file, fmi, dsPos, dataset) -> {
+            assertEquals(fmi == null, dsPos == 0);
+            assertFalse(dataset.contains(Tag.StudyInstanceUID));
+        });
+        assertEquals(FILES.length, scanned);
+        assertEquals(0, scanner.getFailedFiles());
+    }
+
+    @Test
+    public void testCallbackFailure() throws Exception {
+        Path dir = createTree();
+        DicomFileScanner scanner = new DicomFileScanner();
+        int scanned = scanner.scan(dir.resolve("D1"), (file, fmi, dsPos, dataset) -> {
+            throw new IllegalStateException();
+        });
+        assertEquals(0, scanned);
+        assertEquals(3, scanner.getFailedFiles());
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    public void testScanMissing() throws Exception {
+        new DicomFileScanner().scan(new File("target/test-out/missing").toPath(),
+                (file, fmi, dsPos, dataset) -> {});
+    }
+}
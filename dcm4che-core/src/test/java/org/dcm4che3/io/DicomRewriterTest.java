@@ -0,0 +1,213 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.util.TagUtils;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class DicomRewriterTest {
+
+    private static final String[] FILES = {
+            "DICOMDIR", "MR2_UNC", "NM-MONO2-16-13x-heart", "NM1_JPLY", "OT-PAL-8-face",
+            "US-PAL-8-10x-echo", "US-RGB-8-epicard", "YBR_FULL-RLE.dcm",
+            "cplx_p02.dcm", "ovly_p01.dcm", "report_dfl", "test16signed.dcm"
+    };
+
+    @Test
+    public void testRewriteUnchanged() throws Exception {
+        for (String name : FILES) {
+            String tsuid = transferSyntaxOf(name);
+            byte[] b = rewrite(name, tsuid);
+            assertArrayEquals(name, toDicom(readFrom(name)), toDicom(parse(b, tsuid)));
+        }
+    }
+
+    @Test
+    public void testRewriteStreamedValuesToBigEndian() throws Exception {
+        for (String name : new String[]{ "MR2_UNC", "NM-MONO2-16-13x-heart", "US-RGB-8-epicard" }) {
+            byte[] b = rewrite(name, UID.ExplicitVRBigEndian,
+                    w -> w.setMaxBufferedValueLength(64));
+            assertArrayEquals(name, toDicom(readFrom(name)),
+                    toDicom(parse(b, UID.ExplicitVRBigEndian)));
+        }
+    }
+
+    @Test
+    public void testFilterTransformAndMerge() throws Exception {
+        String name = "DICOMDIR";
+        Attributes merge = new Attributes();
+        merge.setString(Tag.FileSetID, VR.CS, "REWRITTEN");
+        merge.setString(Tag.PatientIdentityRemoved, VR.CS, "YES");
+        merge.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 100");
+        byte[] b = rewrite(name, transferSyntaxOf(name), w -> {
+            w.setElementFilter(dis -> dis.tag() != Tag.OffsetOfTheNextDirectoryRecord);
+            w.addTransform((dis, attrs, tag) -> {
+                if (tag == Tag.PatientName)
+                    attrs.setString(tag, VR.PN, "Doe^John");
+                else if (tag == Tag.RecordInUseFlag)
+                    attrs.remove(tag);
+            });
+            w.setMergeAttributes(merge);
+        });
+        Attributes expected = readFrom(name);
+        expected.addAll(merge);
+        for (Attributes rec : expected.getSequence(Tag.DirectoryRecordSequence)) {
+            rec.remove(Tag.OffsetOfTheNextDirectoryRecord);
+            rec.remove(Tag.RecordInUseFlag);
+            if (rec.contains(Tag.PatientName))
+                rec.setString(Tag.PatientName, VR.PN, "Doe^John");
+        }
+        assertArrayEquals(toDicom(expected), toDicom(parse(b, transferSyntaxOf(name))));
+    }
+
+    @Test
+    public void testSequenceTransform() throws Exception {
+        String name = "DICOMDIR";
+        byte[] b = rewrite(name, UID.ExplicitVRBigEndian, w ->
+            w.addTransform(Tag.DirectoryRecordSequence, (dis, attrs, tag) -> {
+                Sequence seq = attrs.getSequence(tag);
+                while (seq.size() > 3)
+                    seq.remove(seq.size() - 1);
+            }));
+        Attributes expected = readFrom(name);
+        Sequence seq = expected.getSequence(Tag.DirectoryRecordSequence);
+        while (seq.size() > 3)
+            seq.remove(seq.size() - 1);
+        assertArrayEquals(toDicom(expected), toDicom(parse(b, UID.ExplicitVRBigEndian)));
+    }
+
+    @Test
+    public void testDropPrivateSequences() throws Exception {
+        String name = "cplx_p02.dcm";
+        byte[] b = rewrite(name, transferSyntaxOf(name), w ->
+                w.setElementFilter(dis -> !TagUtils.isPrivateGroup(dis.tag())));
+        Attributes expected = readFrom(name);
+        expected.removePrivateAttributes();
+        assertArrayEquals(toDicom(expected), toDicom(parse(b, transferSyntaxOf(name))));
+    }
+
+    @Test
+    public void testEmptySequencesAndItems() throws Exception {
+        Attributes attrs = new Attributes();
+        attrs.newSequence(Tag.ReferencedStudySequence, 0);
+        Sequence seq = attrs.newSequence(Tag.ReferencedSeriesSequence, 2);
+        seq.add(new Attributes());
+        Attributes item = new Attributes();
+        item.newSequence(Tag.ReferencedSOPSequence, 1).add(new Attributes());
+        seq.add(item);
+        attrs.setString(Tag.PatientID, VR.LO, "P1");
+        for (DicomEncodingOptions encOpts : new DicomEncodingOptions[]{
+                new DicomEncodingOptions(false, true, false, true, false),
+                new DicomEncodingOptions(false, true, true, true, false),
+                new DicomEncodingOptions(false, true, false, true, true),
+                new DicomEncodingOptions(false, true, true, true, true) }) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (DicomOutputStream dos = new DicomOutputStream(expected, UID.ExplicitVRLittleEndian)) {
+                dos.setEncodingOptions(encOpts);
+                dos.writeDataset(null, attrs);
+            }
+            ByteArrayOutputStream bout = new ByteArrayOutputStream();
+            try (DicomInputStream dis = new DicomInputStream(
+                        new ByteArrayInputStream(toDicom(attrs)), UID.ExplicitVRLittleEndian);
+                 DicomOutputStream dos = new DicomOutputStream(bout, UID.ExplicitVRLittleEndian)) {
+                dos.setEncodingOptions(encOpts);
+                dis.setDicomInputHandler(new DicomRewriter(dos));
+                dis.readDataset();
+            }
+            assertArrayEquals(expected.toByteArray(), bout.toByteArray());
+        }
+    }
+
+    private interface Setup {
+        void setup(DicomRewriter rewriter);
+    }
+
+    private static byte[] rewrite(String name, String tsuid, Setup... setups) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomInputStream dis = new DicomInputStream(new File("target/test-data/" + name));
+             DicomOutputStream dos = new DicomOutputStream(bout, tsuid)) {
+            DicomRewriter rewriter = new DicomRewriter(dos);
+            for (Setup setup : setups)
+                setup.setup(rewriter);
+            rewriter.rewrite(dis);
+        }
+        return bout.toByteArray();
+    }
+
+    private static String transferSyntaxOf(String name) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new File("target/test-data/" + name))) {
+            return dis.getTransferSyntax();
+        }
+    }
+
+    private static Attributes readFrom(String name) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new File("target/test-data/" + name))) {
+            return dis.readDataset();
+        }
+    }
+
+    private static Attributes parse(byte[] b, String tsuid) throws IOException {
+        try (DicomInputStream dis = new DicomInputStream(new ByteArrayInputStream(b), tsuid)) {
+            return dis.readDataset();
+        }
+    }
+
+    private static byte[] toDicom(Attributes attrs) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(null, attrs);
+        }
+        return bout.toByteArray();
+    }
+}
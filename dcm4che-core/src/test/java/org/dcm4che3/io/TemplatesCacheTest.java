@@ -0,0 +1,135 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.Templates;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class TemplatesCacheTest {
+
+    private File xsl;
+
+    @Before
+    public void setUp() throws IOException {
+        xsl = File.createTempFile("coerce", ".xsl");
+        writeStylesheet("A");
+    }
+
+    @After
+    public void tearDown() {
+        xsl.delete();
+    }
+
+    private void writeStylesheet(String patientName) throws IOException {
+        String s = "<xsl:stylesheet xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\" version=\"1.0\">"
+                + "<xsl:template match=\"/\"><NativeDicomModel>"
+                + "<DicomAttribute tag=\"00100010\" vr=\"PN\"><PersonName number=\"1\"><Alphabetic>"
+                + "<FamilyName>" + patientName + "</FamilyName>"
+                + "</Alphabetic></PersonName></DicomAttribute>"
+                + "</NativeDicomModel></xsl:template></xsl:stylesheet>";
+        Files.write(xsl.toPath(), s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCompileOnce() throws Exception {
+        TemplatesCache cache = new TemplatesCache();
+        String uri = xsl.toURI().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Templates>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++)
+                tasks.add(() -> cache.get(uri));
+            List<Future<Templates>> results = executor.invokeAll(tasks);
+            Templates first = results.get(0).get();
+            for (Future<Templates> result : results)
+                assertSame(first, result.get());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, cache.getCompilations());
+        assertEquals(31, cache.getHits());
+    }
+
+    @Test
+    public void testRecompileModified() throws Exception {
+        TemplatesCache cache = new TemplatesCache();
+        cache.setCheckInterval(0, TimeUnit.MILLISECONDS);
+        String uri = xsl.toURI().toString();
+        Templates tpls = cache.get(uri);
+        assertEquals("A", coerce(uri, cache));
+        assertSame(tpls, cache.get(uri));
+        writeStylesheet("B");
+        xsl.setLastModified(xsl.lastModified() + 2000);
+        assertNotSame(tpls, cache.get(uri));
+        assertEquals("B", coerce(uri, cache));
+        assertEquals(2, cache.getCompilations());
+    }
+
+    private static String coerce(String uri, TemplatesCache cache) throws Exception {
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.PatientName, VR.PN, "X");
+        new XSLTAttributesCoercion(cache.get(uri), null).coerce(attrs, null);
+        return attrs.getString(Tag.PatientName);
+    }
+}
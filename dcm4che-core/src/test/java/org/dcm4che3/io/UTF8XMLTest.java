@@ -0,0 +1,211 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * @since Oct 2026
+ */
+public class UTF8XMLTest {
+
+    private static final String[] FILES = {
+            "DICOMDIR", "MR2_UNC", "NM-MONO2-16-13x-heart", "NM1_JPLY", "OT-PAL-8-face",
+            "Tag-0040-A170-VR-CS.dcm", "US-PAL-8-10x-echo", "US-RGB-8-epicard", "YBR_FULL-RLE.dcm",
+            "cplx_p02.dcm", "ovly_p01.dcm", "report_dfl", "test16signed.dcm"
+    };
+
+    @Test
+    public void testWriteEqualsTransformerOutput() throws Exception {
+        for (String name : FILES) {
+            Attributes attrs = readFrom(name);
+            for (boolean ns : new boolean[] { false, true })
+                assertArrayEquals(name, writeByTransformer(attrs, ns, "1.0"),
+                        writeByUTF8XMLWriter(attrs, ns, "1.0"));
+        }
+    }
+
+    @Test
+    public void testEscaping() throws Exception {
+        Attributes attrs = createEscapingDataset();
+        for (String xmlVersion : new String[] { "1.0", "1.1" })
+            for (boolean ns : new boolean[] { false, true })
+                assertArrayEquals(xmlVersion, writeByTransformer(attrs, ns, xmlVersion),
+                        writeByUTF8XMLWriter(attrs, ns, xmlVersion));
+    }
+
+    @Test
+    public void testParseEqualsSAXParser() throws Exception {
+        for (String name : FILES) {
+            byte[] xml = writeByUTF8XMLWriter(readFrom(name), true, "1.0");
+            assertEquals(name, parseBySAXParser(xml), parseByUTF8XMLReader(xml));
+        }
+    }
+
+    @Test
+    public void testParseMarkup() throws Exception {
+        String xml = "﻿<?xml version='1.0' encoding='utf-8'?>\r\n"
+                + "<!-- comment -->\n"
+                + "<NativeDicomModel>\n"
+                + "  <?pi data?>\n"
+                + "  <DicomAttribute tag = '00100010' vr='PN'>"
+                + "<PersonName number=\"1\"><Alphabetic>"
+                + "<FamilyName><![CDATA[<Doe>]]]]></FamilyName>"
+                + "<GivenName>J&#x101;n&#246;&amp;</GivenName>"
+                + "</Alphabetic></PersonName></DicomAttribute>\n"
+                + "  <DicomAttribute tag='00104000' vr='LT'>"
+                + "<Value number='1'>a\r\nb\rc&#13;</Value></DicomAttribute>\n"
+                + "</NativeDicomModel>\n";
+        byte[] b = xml.getBytes(StandardCharsets.UTF_8);
+        Attributes attrs = parseByUTF8XMLReader(b);
+        assertEquals("<Doe>]]^Jānö&", attrs.getString(Tag.PatientName));
+        assertEquals("a\nb\nc\r", attrs.getString(Tag.PatientComments));
+        assertEquals(parseBySAXParser(b), attrs);
+    }
+
+    @Test
+    public void testParseRejectsInvalidDocuments() throws Exception {
+        String[] invalid = {
+                "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><NativeDicomModel/>",
+                "<!DOCTYPE NativeDicomModel [<!ENTITY e SYSTEM \"file:/etc/passwd\">]>"
+                        + "<NativeDicomModel>&e;</NativeDicomModel>",
+                "<NativeDicomModel>&e;</NativeDicomModel>",
+                "<NativeDicomModel><a></NativeDicomModel>",
+                "<NativeDicomModel>",
+                "<NativeDicomModel/><NativeDicomModel/>",
+                "text<NativeDicomModel/>",
+                "",
+        };
+        for (String xml : invalid) {
+            try {
+                parseByUTF8XMLReader(xml.getBytes(StandardCharsets.UTF_8));
+                fail("Expected SAXException for " + xml);
+            } catch (SAXException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testSAXTransformerGetUTF8SAXWriter() throws Exception {
+        Attributes attrs = createEscapingDataset();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SAXWriter w = SAXTransformer.getUTF8SAXWriter(out);
+        w.write(attrs);
+        assertArrayEquals(writeByTransformer(attrs, false, "1.0"), out.toByteArray());
+    }
+
+    private static Attributes createEscapingDataset() {
+        Attributes attrs = new Attributes();
+        attrs.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 192");
+        attrs.setString(Tag.PatientName, VR.PN, "Müller^Hans=王^小");
+        attrs.setString(Tag.PatientComments, VR.LT,
+                "\t<a\u0085 \u007f\u0080 & b> \"q\" 'x' \r\n\ttab \u0001 😀 ]]>");
+        attrs.setString(Tag.ImageType, VR.CS, "A", "", "C");
+        attrs.setNull(Tag.StudyDate, VR.DA);
+        attrs.setBytes(0x00091002, VR.OB, new byte[] { 1, 2, 3, 4 });
+        attrs.newSequence(Tag.ReferencedSeriesSequence, 1).add(new Attributes());
+        attrs.setValue(Tag.OverlayData, VR.OW, new BulkData(null,
+                "file:/a?b&c=\"d\"<>\n\t\r\u0085 \u0080ü😀'\u0001", false));
+        return attrs;
+    }
+
+    private static Attributes readFrom(String name) throws Exception {
+        try (DicomInputStream in = new DicomInputStream(new File("target/test-data/" + name))) {
+            in.setIncludeBulkData(IncludeBulkData.URI);
+            return in.readDataset();
+        }
+    }
+
+    private static byte[] writeByTransformer(Attributes attrs, boolean ns, String xmlVersion)
+            throws Exception {
+        SAXTransformerFactory tf = (SAXTransformerFactory) TransformerFactory.newInstance();
+        TransformerHandler th = tf.newTransformerHandler();
+        th.getTransformer().setOutputProperty(OutputKeys.VERSION, xmlVersion);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        th.setResult(new StreamResult(out));
+        SAXWriter w = new SAXWriter(th);
+        w.setIncludeNamespaceDeclaration(ns);
+        w.write(attrs);
+        return out.toByteArray();
+    }
+
+    private static byte[] writeByUTF8XMLWriter(Attributes attrs, boolean ns, String xmlVersion)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UTF8XMLWriter xmlWriter = new UTF8XMLWriter(out);
+        xmlWriter.setXMLVersion(xmlVersion);
+        SAXWriter w = new SAXWriter(xmlWriter);
+        w.setIncludeNamespaceDeclaration(ns);
+        w.write(attrs);
+        return out.toByteArray();
+    }
+
+    private static Attributes parseBySAXParser(byte[] xml) throws Exception {
+        Attributes attrs = new Attributes();
+        SAXParserFactory.newInstance().newSAXParser()
+                .parse(new ByteArrayInputStream(xml), new ContentHandlerAdapter(attrs));
+        return attrs;
+    }
+
+    private static Attributes parseByUTF8XMLReader(byte[] xml) throws Exception {
+        Attributes attrs = new Attributes();
+        new UTF8XMLReader(new ByteArrayInputStream(xml)).parse(new ContentHandlerAdapter(attrs));
+        return attrs;
+    }
+}
@@ -0,0 +1,136 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class DicomDirBuilderTest {
+
+    private static final String[] FILES = {
+            "MR2_UNC", "NM1_JPLY", "OT-PAL-8-face", "US-PAL-8-10x-echo", "US-RGB-8-epicard"
+    };
+
+    @Test
+    public void testBuild() throws Exception {
+        File dir = new File("target/test-out/dicomdirbuilder");
+        File filesDir = new File(dir, "FILES");
+        filesDir.mkdirs();
+        for (int i = 0; i < FILES.length; i++) {
+            File subdir = new File(filesDir, "D" + (i % 2));
+            subdir.mkdirs();
+            Files.copy(new File("target/test-data/" + FILES[i]).toPath(), new File(subdir, "F" + i).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        File file = new File(dir, "DICOMDIR");
+        DicomDirBuilder builder = new DicomDirBuilder(file, new RecordFactory());
+        builder.setParallelism(2);
+        int added = builder.scan(filesDir);
+        assertEquals(FILES.length, added + builder.getSkippedFiles());
+        assertTrue(added > 0);
+        assertEquals(0, builder.scan(filesDir));
+        builder.write("1.2.3.4", "TEST", null, null);
+
+        DicomDirReader r = new DicomDirReader(file);
+        try {
+            assertEquals("1.2.3.4", r.getFileSetUID());
+            assertEquals(added, countInstances(r, r.findFirstRootDirectoryRecordInUse(false)));
+            Attributes lastRoot = r.readLastRootDirectoryRecord();
+            assertNull(r.readNextDirectoryRecord(lastRoot));
+        } finally {
+            r.close();
+        }
+    }
+
+    @Test
+    public void testSkipDuplicateInOtherSeries() throws Exception {
+        File dir = new File("target/test-out/dicomdirbuilder-dup");
+        dir.mkdirs();
+        File f1 = new File(dir, "F1");
+        File f2 = new File(dir, "F2");
+        Attributes fmi;
+        Attributes dataset;
+        try (DicomInputStream din = new DicomInputStream(new File("target/test-data/US-RGB-8-epicard"))) {
+            fmi = din.readFileMetaInformation();
+            dataset = din.readDataset();
+        }
+        if (fmi == null)
+            fmi = dataset.createFileMetaInformation(UID.ExplicitVRLittleEndian);
+        try (DicomOutputStream out = new DicomOutputStream(f1)) {
+            out.writeDataset(fmi, dataset);
+        }
+        dataset.setString(Tag.SeriesInstanceUID, VR.UI, "1.2.3.4.5");
+        try (DicomOutputStream out = new DicomOutputStream(f2)) {
+            out.writeDataset(fmi, dataset);
+        }
+        DicomDirBuilder builder = new DicomDirBuilder(new File(dir, "DICOMDIR"), new RecordFactory());
+        assertTrue(builder.add(f1));
+        assertFalse(builder.add(f2));
+        assertEquals(1, builder.getAddedFiles());
+        assertEquals(1, builder.getSkippedFiles());
+    }
+
+    private int countInstances(DicomDirReader r, Attributes rec) throws IOException {
+        int count = 0;
+        while (rec != null) {
+            if (rec.containsValue(Tag.ReferencedFileID)) {
+                assertTrue(r.toFile(rec.getStrings(Tag.ReferencedFileID)).isFile());
+                count++;
+            }
+            count += countInstances(r, r.findLowerDirectoryRecordInUse(rec, false));
+            rec = r.findNextDirectoryRecordInUse(rec, false);
+        }
+        return count;
+    }
+}
@@ -4,8 +4,15 @@ import static org.junit.Assert.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
 import org.dcm4che3.media.DicomDirReader;
 import org.junit.Test;
 
@@ -42,6 +49,54 @@ public class DicomDirReaderTest {
         }
     }
 
+    @Test
+    public void testReadAllWithBoundedCache() throws Exception {
+        DicomDirReader r = new DicomDirReader(toFile("DICOMDIR"));
+        try {
+            r.setMaxCacheSize(1024);
+            assertEquals(44, readNext(r, r.readFirstRootDirectoryRecord()));
+            assertTrue(r.cache.getWeight() <= 1024);
+            assertTrue(r.cache.size() < 44);
+        } finally {
+            r.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentReadAll() throws Exception {
+        final DicomDirReader r = new DicomDirReader(toFile("DICOMDIR"));
+        try {
+            r.setMaxCacheSize(4096);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<Integer>> counts = new ArrayList<>();
+            for (int i = 0; i < 16; i++)
+                counts.add(executor.submit(() -> readNext(r, r.readFirstRootDirectoryRecord())));
+            for (Future<Integer> count : counts)
+                assertEquals(44, count.get().intValue());
+            executor.shutdown();
+        } finally {
+            r.close();
+        }
+    }
+
+    @Test
+    public void testReadAfterInterrupt() throws Exception {
+        DicomDirReader r = new DicomDirReader(toFile("DICOMDIR"));
+        try {
+            Thread.currentThread().interrupt();
+            try {
+                r.readFirstRootDirectoryRecord();
+                fail("ClosedByInterruptException expected");
+            } catch (ClosedByInterruptException expected) {
+            } finally {
+                Thread.interrupted();
+            }
+            assertEquals(44, readNext(r, r.readFirstRootDirectoryRecord()));
+        } finally {
+            r.close();
+        }
+    }
+
     private int readNext(DicomDirReader r, Attributes rec) throws IOException {
         int count = 0;
         while (rec != null) {
@@ -50,4 +105,43 @@ public class DicomDirReaderTest {
         }
         return count;
     }
+
+    @Test
+    public void testIndexedFind() throws Exception {
+        DicomDirReader r = new DicomDirReader(toFile("DICOMDIR"));
+        DicomDirReader indexed = new DicomDirReader(toFile("DICOMDIR"));
+        indexed.setIndexed(true);
+        try {
+            int count = 0;
+            for (Attributes pat = r.findPatientRecord(); pat != null; pat = r.findNextPatientRecord(pat)) {
+                Attributes pat2 = indexed.findPatientRecord(pat.getString(Tag.PatientID));
+                assertEquals(r.findPatientRecord(pat.getString(Tag.PatientID)).getItemPosition(),
+                        pat2.getItemPosition());
+                for (Attributes study = r.findStudyRecord(pat); study != null;
+                        study = r.findNextStudyRecord(study)) {
+                    Attributes study2 = indexed.findStudyRecord(pat2, study.getString(Tag.StudyInstanceUID));
+                    assertEquals(study.getItemPosition(), study2.getItemPosition());
+                    for (Attributes series = r.findSeriesRecord(study); series != null;
+                            series = r.findNextSeriesRecord(series)) {
+                        Attributes series2 = indexed.findSeriesRecord(study2,
+                                series.getString(Tag.SeriesInstanceUID));
+                        assertEquals(series.getItemPosition(), series2.getItemPosition());
+                        for (Attributes inst = r.findLowerInstanceRecord(series, true); inst != null;
+                                inst = r.findNextInstanceRecord(inst, true)) {
+                            String iuid = inst.getString(Tag.ReferencedSOPInstanceUIDInFile);
+                            assertEquals(inst.getItemPosition(),
+                                    indexed.findLowerInstanceRecord(series2, true, iuid).getItemPosition());
+                            assertNull(indexed.findLowerInstanceRecord(study2, true, iuid));
+                            count++;
+                        }
+                    }
+                }
+            }
+            assertTrue(count > 0);
+            assertNull(indexed.findPatientRecord("NO_SUCH_PATIENT_ID"));
+        } finally {
+            r.close();
+            indexed.close();
+        }
+    }
 }
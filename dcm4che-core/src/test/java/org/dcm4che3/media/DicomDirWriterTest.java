@@ -0,0 +1,275 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class DicomDirWriterTest {
+
+    private final File dir = new File("target/test-out/dicomdir");
+    private final File file = new File(dir, "DICOMDIR");
+
+    @Before
+    public void setUp() throws IOException {
+        dir.mkdirs();
+        for (File f : dir.listFiles())
+            f.delete();
+        DicomDirWriter.createEmptyDirectory(file, "1.2.3", "TEST", null, null);
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        final DicomDirWriter w = DicomDirWriter.open(file);
+        w.setGroupCommit(true);
+        assertTrue(DicomDirJournal.journalFile(file).exists());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < 8; p++) {
+            final int pat = p;
+            futures.add(executor.submit(() -> {
+                addStudies(w, pat, 10);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures)
+            future.get();
+        executor.shutdown();
+        assertTrue(w.getCommits() > 0);
+        assertEquals(8 * 11, w.getCommittedRecords());
+        w.close();
+        assertFalse(DicomDirJournal.journalFile(file).exists());
+
+        DicomDirReader r = new DicomDirReader(file);
+        try {
+            assertEquals(0, r.getFileSetConsistencyFlag());
+            for (int p = 0; p < 8; p++) {
+                Attributes patRec = r.findPatientRecord("P" + p);
+                assertNotNull(patRec);
+                for (int s = 0; s < 10; s++)
+                    assertNotNull(r.findStudyRecord(patRec, "1.2." + p + "." + s));
+            }
+        } finally {
+            r.close();
+        }
+    }
+
+    @Test
+    public void testRollbackGroupCommit() throws Exception {
+        DicomDirWriter w = DicomDirWriter.open(file);
+        w.setGroupCommit(true);
+        addStudies(w, 0, 2);
+        Attributes patRec = w.findPatientRecord("P0");
+        w.addLowerDirectoryRecord(patRec, studyRec("1.2.0.9"));
+        w.rollback();
+        assertNull(w.findStudyRecord(w.findPatientRecord("P0"), "1.2.0.9"));
+        assertNotNull(w.findStudyRecord(w.findPatientRecord("P0"), "1.2.0.1"));
+        w.close();
+    }
+
+    @Test
+    public void testRollbackFailedGroupCommit() throws Exception {
+        DicomDirWriter w = DicomDirWriter.open(file);
+        w.setGroupCommit(true);
+        addStudies(w, 0, 2);
+        File blockJournal = new File(dir, "DICOMDIR.journal.tmp");
+        assertTrue(blockJournal.mkdir());
+        Attributes patRec = w.findPatientRecord("P0");
+        w.addLowerDirectoryRecord(patRec, studyRec("1.2.0.9"));
+        try {
+            w.commit();
+            fail("IOException expected");
+        } catch (IOException expected) {
+        }
+        try {
+            w.addLowerDirectoryRecord(patRec, studyRec("1.2.0.8"));
+            fail("IOException expected");
+        } catch (IOException expected) {
+        }
+        assertTrue(blockJournal.delete());
+        w.rollback();
+        patRec = w.findPatientRecord("P0");
+        assertNull(w.findStudyRecord(patRec, "1.2.0.9"));
+        assertNotNull(w.findStudyRecord(patRec, "1.2.0.1"));
+        w.addLowerDirectoryRecord(patRec, studyRec("1.2.0.5"));
+        w.commit();
+        w.close();
+        assertStudies(0, 2);
+        DicomDirReader r = new DicomDirReader(file);
+        try {
+            patRec = r.findPatientRecord("P0");
+            assertNotNull(r.findStudyRecord(patRec, "1.2.0.5"));
+            assertNull(r.findStudyRecord(patRec, "1.2.0.9"));
+        } finally {
+            r.close();
+        }
+    }
+
+    @Test
+    public void testCloseAfterFailedGroupCommit() throws Exception {
+        DicomDirWriter w = DicomDirWriter.open(file);
+        w.setGroupCommit(true);
+        addStudies(w, 0, 2);
+        File blockJournal = new File(dir, "DICOMDIR.journal.tmp");
+        assertTrue(blockJournal.mkdir());
+        w.addLowerDirectoryRecord(w.findPatientRecord("P0"), studyRec("1.2.0.9"));
+        try {
+            w.commit();
+            fail("IOException expected");
+        } catch (IOException expected) {
+        }
+        assertTrue(blockJournal.delete());
+        w.close();
+        assertFalse(DicomDirJournal.journalFile(file).exists());
+        assertStudies(0, 2);
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        DicomDirWriter w = DicomDirWriter.open(file);
+        w.setGroupCommit(true);
+        addStudies(w, 0, 3);
+        File crashed = new File(dir, "CRASHED");
+        File journal = DicomDirJournal.journalFile(file);
+        Files.copy(file.toPath(), crashed.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        Files.copy(journal.toPath(), DicomDirJournal.journalFile(crashed).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        w.close();
+
+        long length = crashed.length();
+        try (RandomAccessFile raf = new RandomAccessFile(crashed, "rw")) {
+            raf.seek(length);
+            raf.write(new byte[100]);
+        }
+        DicomDirWriter w2 = DicomDirWriter.open(crashed);
+        try {
+            assertFalse(DicomDirJournal.journalFile(crashed).exists());
+            assertEquals(length, crashed.length());
+            Attributes patRec = w2.findPatientRecord("P0");
+            assertNotNull(w2.findStudyRecord(patRec, "1.2.0.2"));
+        } finally {
+            w2.close();
+        }
+    }
+
+    @Test
+    public void testBoundedCache() throws Exception {
+        DicomDirWriter w = DicomDirWriter.open(file);
+        w.setMaxCacheSize(256);
+        addStudiesWithoutCommit(w, 0, 20);
+        w.commit();
+        assertTrue(w.cache.getWeight() <= 256);
+        w.close();
+        assertStudies(0, 20);
+    }
+
+    @Test
+    public void testGroupCommitWithBoundedCache() throws Exception {
+        DicomDirWriter w = DicomDirWriter.open(file);
+        w.setGroupCommit(true);
+        w.setMaxCacheSize(256);
+        addStudiesWithoutCommit(w, 0, 20);
+        Attributes patRec = w.findPatientRecord("P0");
+        for (int s = 0; s < 20; s++)
+            assertNotNull(w.findStudyRecord(patRec, "1.2.0." + s));
+        w.commit();
+        assertTrue(w.cache.getWeight() <= 256);
+        w.close();
+        assertStudies(0, 20);
+    }
+
+    private void assertStudies(int pat, int studies) throws IOException {
+        DicomDirReader r = new DicomDirReader(file);
+        try {
+            Attributes patRec = r.findPatientRecord("P" + pat);
+            assertNotNull(patRec);
+            for (int s = 0; s < studies; s++)
+                assertNotNull(r.findStudyRecord(patRec, "1.2." + pat + "." + s));
+        } finally {
+            r.close();
+        }
+    }
+
+    private static void addStudiesWithoutCommit(DicomDirWriter w, int pat, int studies) throws IOException {
+        Attributes patRec = new Attributes();
+        patRec.setString(Tag.DirectoryRecordType, VR.CS, "PATIENT");
+        patRec.setString(Tag.PatientID, VR.LO, "P" + pat);
+        patRec = w.addRootDirectoryRecord(patRec);
+        for (int s = 0; s < studies; s++)
+            w.addLowerDirectoryRecord(patRec, studyRec("1.2." + pat + "." + s));
+    }
+
+    private static void addStudies(DicomDirWriter w, int pat, int studies) throws IOException {
+        Attributes patRec = new Attributes();
+        patRec.setString(Tag.DirectoryRecordType, VR.CS, "PATIENT");
+        patRec.setString(Tag.PatientID, VR.LO, "P" + pat);
+        patRec = w.addRootDirectoryRecord(patRec);
+        w.commit();
+        for (int s = 0; s < studies; s++) {
+            w.addLowerDirectoryRecord(patRec, studyRec("1.2." + pat + "." + s));
+            w.commit();
+        }
+    }
+
+    private static Attributes studyRec(String suid) {
+        Attributes studyRec = new Attributes();
+        studyRec.setString(Tag.DirectoryRecordType, VR.CS, "STUDY");
+        studyRec.setString(Tag.StudyInstanceUID, VR.UI, suid);
+        return studyRec;
+    }
+}
@@ -0,0 +1,88 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.media;
+
+import static org.junit.Assert.*;
+
+import org.dcm4che3.data.Attributes;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class RecordCacheTest {
+
+    @Test
+    public void testBoundAfterUnbounded() {
+        RecordCache cache = new RecordCache(0);
+        for (int i = 1; i <= 100; i++)
+            cache.put(i * 100, new Attributes(), 100);
+        assertEquals(100, cache.size());
+        assertEquals(10000, cache.getWeight());
+        cache.setMaxWeight(1000);
+        assertEquals(10, cache.size());
+        assertEquals(1000, cache.getWeight());
+    }
+
+    @Test
+    public void testPinnedRecordsAreNotEvicted() {
+        RecordCache cache = new RecordCache(200);
+        Attributes pinned = new Attributes();
+        cache.put(100, new Attributes(), 100);
+        cache.pin(100, pinned, -1);
+        for (int i = 2; i <= 10; i++)
+            cache.put(i * 100, new Attributes(), 100);
+        assertSame(pinned, cache.get(100));
+        assertEquals(200, cache.getWeight());
+        cache.unpin(100);
+        assertEquals(200, cache.getWeight());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testUnpinRecordOfUnknownLength() {
+        RecordCache cache = new RecordCache(1000);
+        Attributes rec = new Attributes();
+        cache.pin(100, rec, -1);
+        assertSame(rec, cache.get(100));
+        assertEquals(0, cache.getWeight());
+        cache.unpin(100);
+        assertNull(cache.get(100));
+    }
+}
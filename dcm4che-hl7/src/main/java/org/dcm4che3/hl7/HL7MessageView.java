@@ -0,0 +1,350 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.hl7;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a HL7 v2 message, which indexes the positions of segments and fields in one pass over the
+ * encoded message and decodes only the fields actually accessed. Compared to {@link HL7Message#parse}, which
+ * decodes all segments and splits them into {@code String} fields, it is considerably cheaper for callers only
+ * accessing a few fields of large messages, like routers evaluating MSH and PID fields.
+ * <p>
+ * Fields are addressed by segment index and by field number as in the HL7 standard, so {@code MSH-1} is the field
+ * separator and {@code MSH-2} the encoding characters. Returned values are not unescaped.
+ * <p>
+ * The view operates directly on the passed byte array, if the character set of the message cannot encode
+ * delimiter characters as part of multi-byte sequences, like ASCII, ISO 8859 and UTF-8. Otherwise the message is
+ * decoded as a whole on construction.
+ *
+ * @since Oct 2026
+ */
+public class HL7MessageView {
+
+    private final byte[] bytes;
+    private final char[] chars;
+    private final String charsetName;
+    private final Charset charset;
+    private final char fieldSeparator;
+    private final String encodingCharacters;
+    private int[] fieldPos = new int[64];
+    private int[] segments = new int[16];
+    private int segmentCount;
+
+    private HL7MessageView(byte[] data, int length, String defCharset) {
+        HL7Segment msh = HL7Segment.parseMSH(data, length);
+        this.fieldSeparator = msh.getFieldSeparator();
+        this.encodingCharacters = msh.getEncodingCharacters();
+        this.charsetName = HL7Charset.toCharsetName(msh.getField(17, defCharset));
+        if (isDelimiterSafe(charsetName)) {
+            this.charset = Charset.forName(charsetName);
+            this.bytes = data;
+            this.chars = null;
+            index(length);
+        } else {
+            this.charset = null;
+            this.bytes = null;
+            this.chars = decode(data, length, charsetName).toCharArray();
+            index(chars.length);
+        }
+    }
+
+    public static HL7MessageView of(byte[] data, String defCharset) {
+        return new HL7MessageView(data, data.length, defCharset);
+    }
+
+    public static HL7MessageView of(byte[] data, int length, String defCharset) {
+        return new HL7MessageView(data, length, defCharset);
+    }
+
+    private static boolean isDelimiterSafe(String charsetName) {
+        switch (charsetName) {
+            case "US-ASCII":
+            case "UTF-8":
+            case "TIS-620":
+                return true;
+        }
+        return charsetName.startsWith("ISO-8859-");
+    }
+
+    private static String decode(byte[] data, int length, String charsetName) {
+        try {
+            return new String(data, 0, length, charsetName);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalArgumentException("charsetName: " + charsetName);
+        }
+    }
+
+    private int at(int i) {
+        return bytes != null ? bytes[i] & 0xff : chars[i];
+    }
+
+    private void index(int length) {
+        int fieldCount = 0;
+        int segStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int c = i < length ? at(i) : '\r';
+            if (c == '\r' || c == '\n') {
+                if (segStart >= 0) {
+                    addFieldPos(fieldCount++, i + 1);
+                    segStart = -1;
+                }
+            } else if (segStart < 0) {
+                segStart = i;
+                if (segmentCount + 1 >= segments.length)
+                    segments = Arrays.copyOf(segments, segments.length << 1);
+                segments[segmentCount++] = fieldCount;
+                addFieldPos(fieldCount++, i);
+            } else if (c == fieldSeparator) {
+                addFieldPos(fieldCount++, i + 1);
+            }
+        }
+        segments[segmentCount] = fieldCount;
+    }
+
+    private void addFieldPos(int index, int pos) {
+        if (index >= fieldPos.length)
+            fieldPos = Arrays.copyOf(fieldPos, fieldPos.length << 1);
+        fieldPos[index] = pos;
+    }
+
+    public String getCharsetName() {
+        return charsetName;
+    }
+
+    public char getFieldSeparator() {
+        return fieldSeparator;
+    }
+
+    public String getEncodingCharacters() {
+        return encodingCharacters;
+    }
+
+    public int segmentCount() {
+        return segmentCount;
+    }
+
+    public String segmentName(int segment) {
+        return decode(fieldStart(segment, 0), fieldEnd(segment, 0));
+    }
+
+    /**
+     * Returns the index of the first segment with the specified name, starting at segment {@code fromIndex}.
+     *
+     * @param name segment name, e.g. {@code PID}
+     * @param fromIndex index of the first segment to consider
+     * @return index of the segment or {@code -1}, if there is no such segment
+     */
+    public int indexOf(String name, int fromIndex) {
+        for (int segment = fromIndex; segment < segmentCount; segment++)
+            if (nameEquals(segment, name))
+                return segment;
+        return -1;
+    }
+
+    public int indexOf(String name) {
+        return indexOf(name, 0);
+    }
+
+    private boolean nameEquals(int segment, String name) {
+        int start = fieldStart(segment, 0);
+        int len = fieldEnd(segment, 0) - start;
+        if (len != name.length())
+            return false;
+        for (int i = 0; i < len; i++)
+            if (at(start + i) != name.charAt(i))
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the number of the last field of the segment, {@code 0} if the segment only contains its name.
+     *
+     * @param segment segment index
+     * @return number of the last field of the segment
+     */
+    public int fieldCount(int segment) {
+        int n = segments[segment + 1] - segments[segment] - 2;
+        return isMSH(segment) ? n + 1 : n;
+    }
+
+    private boolean isMSH(int segment) {
+        return segment == 0;
+    }
+
+    private int fieldIndex(int segment, int field) {
+        int index = isMSH(segment) ? field - 1 : field;
+        return index >= 0 && index < segments[segment + 1] - segments[segment] - 1 ? segments[segment] + index : -1;
+    }
+
+    private int fieldStart(int segment, int field) {
+        return fieldPos[segments[segment] + field];
+    }
+
+    private int fieldEnd(int segment, int field) {
+        return fieldPos[segments[segment] + field + 1] - 1;
+    }
+
+    /**
+     * Returns the value of the field or {@code null}, if the field is absent or empty.
+     *
+     * @param segment segment index
+     * @param field field number as in the HL7 standard
+     * @return value of the field or {@code null}
+     */
+    public String getField(int segment, int field) {
+        if (field == 1 && isMSH(segment))
+            return String.valueOf(fieldSeparator);
+        int index = fieldIndex(segment, field);
+        if (index < 0)
+            return null;
+        int start = fieldPos[index];
+        int end = fieldPos[index + 1] - 1;
+        return start < end ? decode(start, end) : null;
+    }
+
+    /**
+     * Returns the specified (sub)component of the specified repetition of a field or {@code null}, if it is
+     * absent or empty.
+     *
+     * @param segment segment index
+     * @param field field number as in the HL7 standard
+     * @param repetition repetition index, starting with 0
+     * @param component component number, starting with 1, or 0 for the whole repetition
+     * @param subcomponent subcomponent number, starting with 1, or 0 for the whole component
+     * @return value of the (sub)component or {@code null}
+     */
+    public String get(int segment, int field, int repetition, int component, int subcomponent) {
+        if (field <= 2 && isMSH(segment))
+            return repetition == 0 && component <= 1 && subcomponent <= 1 ? getField(segment, field) : null;
+        int index = fieldIndex(segment, field);
+        if (index < 0)
+            return null;
+        int start = fieldPos[index];
+        int end = fieldPos[index + 1] - 1;
+        long range = range(start, end, encodingCharacters.charAt(1), repetition + 1);
+        if (component > 0) {
+            range = range((int) (range >>> 32), (int) range, encodingCharacters.charAt(0), component);
+            if (subcomponent > 0)
+                range = range((int) (range >>> 32), (int) range, encodingCharacters.charAt(3), subcomponent);
+        }
+        start = (int) (range >>> 32);
+        end = (int) range;
+        return start < end ? decode(start, end) : null;
+    }
+
+    /**
+     * Returns the value specified by a HL7 field reference, like {@code PID-3}, {@code PID-3.1} or
+     * {@code PID-3.4.1}, of the first repetition of the field in the first segment with the specified name.
+     *
+     * @param ref field reference
+     * @return value of the referenced (sub)component or {@code null}
+     */
+    public String get(String ref) {
+        int dash = ref.indexOf('-');
+        if (dash <= 0)
+            throw new IllegalArgumentException(ref);
+        int segment = indexOf(ref.substring(0, dash));
+        if (segment < 0)
+            return null;
+        int[] numbers = new int[3];
+        int n = 0;
+        int start = dash + 1;
+        try {
+            for (int dot; n < 3 && start <= ref.length(); start = dot + 1) {
+                dot = ref.indexOf('.', start);
+                if (dot < 0)
+                    dot = ref.length();
+                numbers[n++] = Integer.parseInt(ref.substring(start, dot));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(ref);
+        }
+        if (start <= ref.length())
+            throw new IllegalArgumentException(ref);
+        return get(segment, numbers[0], 0, numbers[1], numbers[2]);
+    }
+
+    /** Returns the range of the n-th part, delimited by {@code delim}, as start in the upper and end in the lower
+     * 32 bits. */
+    private long range(int start, int end, char delim, int n) {
+        int partStart = start;
+        while (--n > 0) {
+            while (partStart < end && at(partStart) != delim)
+                partStart++;
+            if (partStart++ >= end)
+                return (long) end << 32 | end;
+        }
+        int partEnd = partStart;
+        while (partEnd < end && at(partEnd) != delim)
+            partEnd++;
+        return (long) partStart << 32 | partEnd;
+    }
+
+    private String decode(int start, int end) {
+        if (chars != null)
+            return new String(chars, start, end - start);
+        return new String(bytes, start, end - start, charset);
+    }
+
+    /**
+     * Decodes the specified segment to a {@link HL7Segment}.
+     *
+     * @param segment segment index
+     * @return decoded segment
+     */
+    public HL7Segment getSegment(int segment) {
+        return new HL7Segment(decode(fieldStart(segment, 0), fieldPos[segments[segment + 1] - 1] - 1),
+                fieldSeparator, encodingCharacters);
+    }
+
+    /**
+     * Decodes all segments to a {@link HL7Message}, as {@link HL7Message#parse} does.
+     *
+     * @return decoded message
+     */
+    public HL7Message toHL7Message() {
+        HL7Message msg = new HL7Message(segmentCount);
+        for (int segment = 0; segment < segmentCount; segment++)
+            msg.add(getSegment(segment));
+        return msg;
+    }
+}
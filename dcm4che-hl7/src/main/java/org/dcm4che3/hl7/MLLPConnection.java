@@ -42,6 +42,7 @@ import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -107,6 +108,33 @@ public class MLLPConnection implements Closeable {
         return b;
     }
 
+    /**
+     * Checks if the connection can be reused for sending a further message. The connection is considered as broken,
+     * if it was closed by the peer or if there is unexpected input from the peer. Blocks for at most 1 ms.
+     *
+     * @return {@code true} if the connection can be reused, otherwise {@code false}
+     */
+    public boolean isAlive() {
+        if (sock.isClosed() || sock.isInputShutdown() || sock.isOutputShutdown())
+            return false;
+        try {
+            if (mllpIn.available() > 0)
+                return false;
+            int soTimeout = sock.getSoTimeout();
+            sock.setSoTimeout(1);
+            try {
+                sock.getInputStream().read();
+                return false;
+            } catch (SocketTimeoutException e) {
+                return true;
+            } finally {
+                sock.setSoTimeout(soTimeout);
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     private void writeACK() throws IOException {
         LOG.debug("{} << <ACK>", sock);
         mllpOut.write(ACK);
@@ -0,0 +1,161 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.hl7;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental decoder of MLLP frames from {@link ByteBuffer}s, as read from non-blocking channels, which may
+ * contain any fraction of a frame or several frames.
+ *
+ * @since Oct 2026
+ */
+public class MLLPFrameDecoder {
+
+    private static final byte SOM = 0x0b; // Start of Message
+    private static final byte EOM1 = 0x1c; // End of Message Byte 1
+    private static final byte EOM2 = 0x0d; // End of Message Byte 2
+
+    private enum State { SOM, DATA, EOM2 }
+
+    private final int maxMessageLength;
+    private State state = State.SOM;
+    private byte[] buf = new byte[1024];
+    private int count;
+
+    public MLLPFrameDecoder() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public MLLPFrameDecoder(int maxMessageLength) {
+        this.maxMessageLength = maxMessageLength;
+    }
+
+    /**
+     * Consumes bytes of {@code src} until a complete frame was decoded or {@code src} has no remaining bytes.
+     *
+     * @param src buffer containing received bytes
+     * @return content of the decoded frame or {@code null}, if more bytes are needed to complete the frame
+     * @throws IOException if the received bytes violate the MLLP framing or the message exceeds the maximal length
+     */
+    public byte[] decode(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            byte b = src.get();
+            switch (state) {
+                case SOM:
+                    if (b != SOM)
+                        throw new IOException("Missing Start Block character");
+                    state = State.DATA;
+                    break;
+                case DATA:
+                    if (b == EOM1) {
+                        state = State.EOM2;
+                    } else {
+                        append(b);
+                        count += copyData(src);
+                    }
+                    break;
+                case EOM2:
+                    if (b != EOM2)
+                        throw new IOException("1CH followed by "
+                                + Integer.toHexString(b & 0xff) + "H instead by 0DH");
+                    byte[] msg = Arrays.copyOf(buf, count);
+                    count = 0;
+                    state = State.SOM;
+                    return msg;
+            }
+        }
+        return null;
+    }
+
+    private void append(byte b) throws IOException {
+        ensureCapacity(count + 1);
+        buf[count++] = b;
+    }
+
+    /** Copies bytes up to the next End of Message byte in one step. */
+    private int copyData(ByteBuffer src) throws IOException {
+        int n = 0;
+        int pos = src.position();
+        int limit = src.limit();
+        if (src.hasArray()) {
+            byte[] a = src.array();
+            int off = src.arrayOffset();
+            while (pos + n < limit && a[off + pos + n] != EOM1)
+                n++;
+            ensureCapacity(count + n);
+            System.arraycopy(a, off + pos, buf, count, n);
+        } else {
+            while (pos + n < limit && src.get(pos + n) != EOM1)
+                n++;
+            ensureCapacity(count + n);
+            src.duplicate().get(buf, count, n);
+        }
+        src.position(pos + n);
+        return n;
+    }
+
+    private void ensureCapacity(int minCapacity) throws IOException {
+        if (minCapacity > maxMessageLength)
+            throw new IOException("Message exceeds maximal length: " + maxMessageLength);
+        if (minCapacity > buf.length)
+            buf = Arrays.copyOf(buf, Math.max(minCapacity, (int) Math.min(buf.length * 2L, Integer.MAX_VALUE - 8)));
+    }
+
+    /**
+     * Returns the MLLP frame of the specified message.
+     *
+     * @param b buffer containing the message
+     * @param off offset of the message in {@code b}
+     * @param len length of the message
+     * @return MLLP frame of the message
+     */
+    public static ByteBuffer encode(byte[] b, int off, int len) {
+        ByteBuffer frame = ByteBuffer.allocate(len + 3);
+        frame.put(SOM).put(b, off, len).put(EOM1).put(EOM2);
+        frame.flip();
+        return frame;
+    }
+
+    public static ByteBuffer encode(byte[] b) {
+        return encode(b, 0, b.length);
+    }
+}
@@ -0,0 +1,185 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.hl7;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class HL7MessageViewTest {
+
+    private static final String MSH =
+            "MSH|^~\\&|SENDER|FACILITY|RECEIVER|FACILITY|20261019120000||ADT^A08|MSG1|P|2.5";
+
+    private static byte[] msg(String charset, String... segments) {
+        StringBuilder sb = new StringBuilder();
+        for (String seg : segments)
+            sb.append(seg).append('\r');
+        return sb.toString().getBytes(Charset.forName(charset));
+    }
+
+    @Test
+    public void testEmptyTrailingFields() {
+        byte[] data = msg("US-ASCII", MSH + "|||||", "PID|||4711||Doe^John||||", "PV1|", "ZZZ");
+        HL7MessageView view = assertSameAsParse(data, "ASCII");
+        assertEquals(17, view.fieldCount(0));
+        assertEquals(9, view.fieldCount(1));
+        assertEquals(1, view.fieldCount(2));
+        assertEquals(0, view.fieldCount(3));
+        assertNull(view.getField(1, 9));
+        assertNull(view.getField(1, 10));
+        assertNull(view.getField(3, 1));
+    }
+
+    @Test
+    public void testMSH1AndMSH2() {
+        byte[] data = msg("US-ASCII", MSH);
+        HL7MessageView view = assertSameAsParse(data, "ASCII");
+        assertEquals("|", view.getField(0, 1));
+        assertEquals("^~\\&", view.getField(0, 2));
+        assertEquals("|", view.get(0, 1, 0, 1, 0));
+        assertEquals("^~\\&", view.get(0, 2, 0, 0, 0));
+        assertNull(view.get(0, 2, 0, 2, 0));
+        assertNull(view.get(0, 2, 1, 0, 0));
+        assertEquals("SENDER", view.getField(0, 3));
+        assertEquals("ADT^A08", view.get("MSH-9"));
+        assertEquals("A08", view.get("MSH-9.2"));
+        assertEquals("2.5", view.get("MSH-12"));
+    }
+
+    @Test
+    public void testRepetitionsAndComponents() {
+        byte[] data = msg("US-ASCII", MSH,
+                "PID|||4711^^^HOSP&1.2.3&ISO~0815^^^OTHER||Doe^John~Roe^Richard^^^Dr||~19700101");
+        HL7MessageView view = assertSameAsParse(data, "ASCII");
+        assertEquals("4711", view.get(1, 3, 0, 1, 0));
+        assertEquals("1.2.3", view.get(1, 3, 0, 4, 2));
+        assertEquals("0815", view.get(1, 3, 1, 1, 0));
+        assertEquals("OTHER", view.get(1, 3, 1, 4, 0));
+        assertNull(view.get(1, 3, 2, 0, 0));
+        assertEquals("Roe^Richard^^^Dr", view.get(1, 5, 1, 0, 0));
+        assertEquals("Dr", view.get(1, 5, 1, 5, 0));
+        assertNull(view.get(1, 5, 1, 3, 0));
+        assertNull(view.get(1, 7, 0, 0, 0));
+        assertEquals("19700101", view.get(1, 7, 1, 0, 0));
+        assertEquals("HOSP&1.2.3&ISO", view.get("PID-3.4"));
+        assertEquals("ISO", view.get("PID-3.4.3"));
+    }
+
+    @Test
+    public void testNonDefaultDelimiters() {
+        byte[] data = msg("US-ASCII",
+                "MSH#:!@$#SENDER#FACILITY#RECEIVER#FACILITY#20261019120000##ADT:A08#MSG1#P#2.5",
+                "PID###4711:::HOSP$1.2.3$ISO!0815##Doe:John|Jr!Roe:Richard#^~\\&");
+        HL7MessageView view = assertSameAsParse(data, "ASCII");
+        assertEquals('#', view.getFieldSeparator());
+        assertEquals(":!@$", view.getEncodingCharacters());
+        assertEquals("#", view.getField(0, 1));
+        assertEquals("A08", view.get("MSH-9.2"));
+        assertEquals("1.2.3", view.get(1, 3, 0, 4, 2));
+        assertEquals("0815", view.get(1, 3, 1, 0, 0));
+        assertEquals("John|Jr", view.get(1, 5, 0, 2, 0));
+        assertEquals("^~\\&", view.getField(1, 6));
+    }
+
+    @Test
+    public void testEscapesNotDecoded() {
+        byte[] data = msg("US-ASCII", MSH, "OBR||||^CT \\T\\ MR\\F\\X\\S\\Y\\R\\Z\\E\\");
+        HL7MessageView view = assertSameAsParse(data, "ASCII");
+        assertEquals("CT \\T\\ MR\\F\\X\\S\\Y\\R\\Z\\E\\", view.get("OBR-4.2"));
+    }
+
+    @Test
+    public void testCharacterSets() {
+        assertSameAsParse(msg("ISO-8859-1", MSH + "||||||8859/1", "PID|||4711||Müller^Jürgen"), "ASCII");
+        assertSameAsParse(msg("UTF-8", MSH, "PID|||4711||Müller^Jürgen"), "UNICODE UTF-8");
+        // GB18030 encodes 亅 and 乛 with '|' and '^' as second byte
+        HL7MessageView view = assertSameAsParse(
+                msg("GB18030", MSH + "||||||GB 18030-2000", "PID|||4711||亅^乛|"), "ASCII");
+        assertEquals("亅", view.get("PID-5.1"));
+        assertEquals("乛", view.get("PID-5.2"));
+    }
+
+    /**
+     * Asserts that each field, repetition, component and subcomponent accessed by {@link HL7MessageView} equals the
+     * value obtained by {@link HL7Message#parse}.
+     */
+    private static HL7MessageView assertSameAsParse(byte[] data, String defCharset) {
+        HL7Message msg = HL7Message.parse(data, defCharset);
+        HL7MessageView view = HL7MessageView.of(data, defCharset);
+        assertEquals(msg.size(), view.segmentCount());
+        assertEquals(msg.toString(), view.toHL7Message().toString());
+        for (int segment = 0; segment < msg.size(); segment++) {
+            HL7Segment seg = msg.get(segment);
+            boolean msh = segment == 0;
+            assertEquals(seg.getField(0, null), view.segmentName(segment));
+            assertEquals(segment, view.indexOf(seg.getField(0, null), segment));
+            assertEquals(seg.toString(), view.getSegment(segment).toString());
+            assertEquals(msh ? seg.size() : seg.size() - 1, view.fieldCount(segment));
+            for (int field = msh ? 3 : 1; field <= view.fieldCount(segment) + 1; field++) {
+                String value = seg.getField(msh ? field - 1 : field, null);
+                assertEquals(value, view.getField(segment, field));
+                String[] reps = HL7Segment.split(value != null ? value : "", seg.getRepetitionSeparator());
+                for (int rep = 0; rep <= reps.length; rep++) {
+                    String[] comps = HL7Segment.split(rep < reps.length ? reps[rep] : "",
+                            seg.getComponentSeparator());
+                    assertEquals(nullIfEmpty(rep < reps.length ? reps[rep] : ""), view.get(segment, field, rep, 0, 0));
+                    for (int comp = 0; comp <= comps.length; comp++) {
+                        String[] subs = HL7Segment.split(comp < comps.length ? comps[comp] : "",
+                                seg.getSubcomponentSeparator());
+                        assertEquals(nullIfEmpty(comp < comps.length ? comps[comp] : ""),
+                                view.get(segment, field, rep, comp + 1, 0));
+                        for (int sub = 0; sub <= subs.length; sub++)
+                            assertEquals(nullIfEmpty(sub < subs.length ? subs[sub] : ""),
+                                    view.get(segment, field, rep, comp + 1, sub + 1));
+                    }
+                }
+            }
+        }
+        return view;
+    }
+
+    private static String nullIfEmpty(String s) {
+        return s.isEmpty() ? null : s;
+    }
+}
@@ -0,0 +1,176 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.hl7;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class MLLPFrameDecoderTest {
+
+    private static final byte[] MSG1 = ("MSH|^~\\&|SENDER|FACILITY|RECEIVER|FACILITY|20261019120000||ADT^A08|MSG1|P|2.5\r"
+            + "PID|||4711||Doe^John\r").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MSG2 = ("MSH|^~\\&|SENDER|FACILITY|RECEIVER|FACILITY|20261019120001||ADT^A08|MSG2|P|2.5\r")
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ACK = { 0x06 };
+    private static final byte[] NAK = { 0x15 };
+
+    private static byte[] frames(byte[]... msgs) {
+        int length = 0;
+        for (byte[] msg : msgs)
+            length += msg.length + 3;
+        ByteBuffer bb = ByteBuffer.allocate(length);
+        for (byte[] msg : msgs)
+            bb.put(MLLPFrameDecoder.encode(msg));
+        return bb.array();
+    }
+
+    @Test
+    public void testEncode() {
+        ByteBuffer frame = MLLPFrameDecoder.encode(ACK);
+        assertEquals(4, frame.remaining());
+        assertEquals(0x0b, frame.get(0));
+        assertEquals(0x06, frame.get(1));
+        assertEquals(0x1c, frame.get(2));
+        assertEquals(0x0d, frame.get(3));
+    }
+
+    @Test
+    public void testSeveralFramesInOneBuffer() throws IOException {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder();
+        ByteBuffer src = ByteBuffer.wrap(frames(MSG1, ACK, MSG2));
+        assertArrayEquals(MSG1, decoder.decode(src));
+        assertArrayEquals(ACK, decoder.decode(src));
+        assertArrayEquals(MSG2, decoder.decode(src));
+        assertNull(decoder.decode(src));
+        assertFalse(src.hasRemaining());
+    }
+
+    @Test
+    public void testFramesSplitAtEachPosition() throws IOException {
+        byte[] data = frames(MSG1, MSG2);
+        for (int split = 0; split <= data.length; split++) {
+            assertSplitFrames(data, split, false);
+            assertSplitFrames(data, split, true);
+        }
+    }
+
+    private static void assertSplitFrames(byte[] data, int split, boolean direct) throws IOException {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder();
+        byte[][] decoded = new byte[2][];
+        int n = 0;
+        for (ByteBuffer src : new ByteBuffer[]{ buffer(data, 0, split, direct),
+                buffer(data, split, data.length - split, direct) }) {
+            byte[] b;
+            while ((b = decoder.decode(src)) != null)
+                decoded[n++] = b;
+        }
+        assertEquals("split at " + split, 2, n);
+        assertArrayEquals("split at " + split, MSG1, decoded[0]);
+        assertArrayEquals("split at " + split, MSG2, decoded[1]);
+    }
+
+    private static ByteBuffer buffer(byte[] data, int off, int len, boolean direct) {
+        if (!direct)
+            return ByteBuffer.wrap(data, off, len).slice();
+        ByteBuffer bb = ByteBuffer.allocateDirect(len);
+        bb.put(data, off, len).flip();
+        return bb;
+    }
+
+    @Test
+    public void testFrameByteByByte() throws IOException {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder();
+        byte[] data = frames(MSG1);
+        for (int i = 0; i < data.length - 1; i++)
+            assertNull(decoder.decode(ByteBuffer.wrap(data, i, 1)));
+        assertArrayEquals(MSG1, decoder.decode(ByteBuffer.wrap(data, data.length - 1, 1)));
+    }
+
+    @Test
+    public void testMLLP2Acknowledgements() throws IOException {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(MSG1.length);
+        ByteBuffer src = ByteBuffer.wrap(frames(ACK, MSG1, NAK));
+        assertArrayEquals(ACK, decoder.decode(src));
+        assertArrayEquals(MSG1, decoder.decode(src));
+        assertArrayEquals(NAK, decoder.decode(src));
+    }
+
+    @Test
+    public void testOversizedFrame() throws IOException {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(MSG1.length - 1);
+        try {
+            decoder.decode(ByteBuffer.wrap(frames(MSG1)));
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Message exceeds maximal length"));
+        }
+    }
+
+    @Test
+    public void testOversizedSplitFrame() throws IOException {
+        MLLPFrameDecoder decoder = new MLLPFrameDecoder(MSG1.length - 1);
+        byte[] data = frames(MSG1);
+        assertNull(decoder.decode(ByteBuffer.wrap(data, 0, MSG1.length)));
+        try {
+            decoder.decode(ByteBuffer.wrap(data, MSG1.length, data.length - MSG1.length));
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Message exceeds maximal length"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testMissingStartBlock() throws IOException {
+        new MLLPFrameDecoder().decode(ByteBuffer.wrap(MSG1));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidEndBlock() throws IOException {
+        byte[] data = frames(MSG1);
+        data[data.length - 1] = 0x0a;
+        new MLLPFrameDecoder().decode(ByteBuffer.wrap(data));
+    }
+}
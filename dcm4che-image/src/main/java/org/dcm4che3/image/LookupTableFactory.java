@@ -38,11 +38,6 @@
 
 package org.dcm4che3.image;
 
-import java.awt.image.ComponentSampleModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.DataBufferByte;
-import java.awt.image.DataBufferShort;
-import java.awt.image.DataBufferUShort;
 import java.awt.image.Raster;
 
 import org.dcm4che3.data.Tag;
@@ -291,11 +286,37 @@ public class LookupTableFactory {
         if (modalityLUT != null || voiLUT != null || windowWidth != 0)
             return false;
 
-        int[] min_max = calcMinMax(raster);
-        if (min_max[0] == min_max[1])
-        	return false;
-        windowCenter = (min_max[0] + min_max[1] + 1) / 2 * rescaleSlope + rescaleIntercept;
-        windowWidth = Math.abs((min_max[1] + 1 - min_max[0]) * rescaleSlope);
+        return autoWindowing(img, PixelStatistics.of(storedValue, raster), 0, 100, addAutoWindow);
+    }
+
+    /**
+     * Sets Window Center/Width to the range between the specified percentiles of the stored pixel values, if
+     * neither a Modality LUT, a VOI LUT nor Window Center/Width was set. Using percentiles, like 0.5 and 99.5,
+     * instead of the minimal and maximal pixel value, prevents few outliers from compressing the contrast of the
+     * whole image.
+     *
+     * @param img image attributes, to which the calculated Window Center/Width is added, if {@code addAutoWindow}
+     * @param stats statistics of the stored pixel values, e.g. cached with the decoded frame
+     * @param lowerPercent percentile mapped to the lower bound of the window, 0 for the minimal pixel value
+     * @param upperPercent percentile mapped to the upper bound of the window, 100 for the maximal pixel value
+     * @param addAutoWindow {@code true} if the calculated Window Center/Width shall be added to {@code img}
+     * @return {@code true} if Window Center/Width was set
+     */
+    public boolean autoWindowing(Attributes img, PixelStatistics stats, double lowerPercent, double upperPercent,
+            boolean addAutoWindow) {
+        if (modalityLUT != null || voiLUT != null || windowWidth != 0)
+            return false;
+
+        int min = stats.percentile(lowerPercent);
+        int max = stats.percentile(upperPercent);
+        if (min == max) {
+            min = stats.getMin();
+            max = stats.getMax();
+            if (min == max)
+                return false;
+        }
+        windowCenter = (min + max + 1) / 2 * rescaleSlope + rescaleIntercept;
+        windowWidth = Math.abs((max + 1 - min) * rescaleSlope);
         if (addAutoWindow) {
             img.setFloat(Tag.WindowCenter, VR.DS, windowCenter);
             img.setFloat(Tag.WindowWidth, VR.DS, windowWidth);
@@ -303,55 +324,4 @@ public class LookupTableFactory {
         return true;
     }
 
-    private int[] calcMinMax(Raster raster) {
-        ComponentSampleModel sm = (ComponentSampleModel) raster.getSampleModel();
-        DataBuffer dataBuffer = raster.getDataBuffer();
-        switch (dataBuffer.getDataType()) {
-            case DataBuffer.TYPE_BYTE:
-                return calcMinMax(storedValue, sm,
-                        ((DataBufferByte) dataBuffer).getData());
-            case DataBuffer.TYPE_USHORT:
-                return calcMinMax(storedValue, sm,
-                        ((DataBufferUShort) dataBuffer).getData());
-            case DataBuffer.TYPE_SHORT:
-                return calcMinMax(storedValue, sm,
-                        ((DataBufferShort) dataBuffer).getData());
-            default:
-                throw new UnsupportedOperationException(
-                        "DataBuffer: "+ dataBuffer.getClass() + " not supported");
-        }
-    }
-
-    private int[] calcMinMax(StoredValue storedValue, ComponentSampleModel sm,
-            byte[] data) {
-        int min = Integer.MAX_VALUE;
-        int max = Integer.MIN_VALUE;
-        int w = sm.getWidth();
-        int h = sm.getHeight();
-        int stride = sm.getScanlineStride();
-        for (int y = 0; y < h; y++)
-            for (int i = y * stride, end = i + w; i < end;) {
-                int val = storedValue.valueOf(data[i++]);
-                if (val < min) min = val;
-                if (val > max) max = val;
-            }
-        return new int[] { min, max };
-    }
-
-    private int[] calcMinMax(StoredValue storedValue, ComponentSampleModel sm,
-            short[] data) {
-        int min = Integer.MAX_VALUE;
-        int max = Integer.MIN_VALUE;
-        int w = sm.getWidth();
-        int h = sm.getHeight();
-        int stride = sm.getScanlineStride();
-        for (int y = 0; y < h; y++)
-            for (int i = y * stride, end = i + w; i < end;) {
-                int val = storedValue.valueOf(data[i++]);
-                if (val < min) min = val;
-                if (val > max) max = val;
-            }
-        return new int[] { min, max };
-    }
-
 }
@@ -0,0 +1,228 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.image;
+
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum, maximum and histogram of the stored pixel values of one frame.
+ * <p>
+ * Calculated in one pass over the raster, which is split in bands of rows processed in parallel for large frames.
+ * Instances are immutable, so they can be cached with the decoded frame and shared between threads.
+ *
+ * @since Oct 2026
+ */
+public class PixelStatistics {
+
+    private static final int PARALLEL_THRESHOLD = 0x40000;
+    private static final int MIN_ROWS_PER_BAND = 64;
+    private static final int MIN_VALUE = -0x8000;
+    private static final int MAX_VALUE = 0xffff;
+
+    private final int offset;
+    private final int[] histogram;
+    private final long count;
+    private final int min;
+    private final int max;
+
+    private PixelStatistics(int offset, int[] histogram) {
+        this.offset = offset;
+        this.histogram = histogram;
+        long count = 0;
+        int min = -1;
+        int max = -1;
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] != 0) {
+                count += histogram[i];
+                if (min < 0) min = i;
+                max = i;
+            }
+        }
+        this.count = count;
+        this.min = min + offset;
+        this.max = max + offset;
+    }
+
+    public static PixelStatistics of(StoredValue storedValue, Raster raster) {
+        ComponentSampleModel sm = (ComponentSampleModel) raster.getSampleModel();
+        DataBuffer dataBuffer = raster.getDataBuffer();
+        int offset = Math.max(storedValue.minValue(), MIN_VALUE);
+        int length = Math.min(storedValue.maxValue(), MAX_VALUE) - offset + 1;
+        switch (dataBuffer.getDataType()) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] bdata = ((DataBufferByte) dataBuffer).getData();
+                return calc(sm, offset, length,
+                        (hist, i, end) -> {
+                            while (i < end)
+                                hist[index(storedValue.valueOf(bdata[i++]), offset, length)]++;
+                        });
+            case DataBuffer.TYPE_USHORT:
+                short[] usdata = ((DataBufferUShort) dataBuffer).getData();
+                return calc(sm, offset, length,
+                        (hist, i, end) -> {
+                            while (i < end)
+                                hist[index(storedValue.valueOf(usdata[i++]), offset, length)]++;
+                        });
+            case DataBuffer.TYPE_SHORT:
+                short[] sdata = ((DataBufferShort) dataBuffer).getData();
+                return calc(sm, offset, length,
+                        (hist, i, end) -> {
+                            while (i < end)
+                                hist[index(storedValue.valueOf(sdata[i++]), offset, length)]++;
+                        });
+            default:
+                throw new UnsupportedOperationException(
+                        "DataBuffer: "+ dataBuffer.getClass() + " not supported");
+        }
+    }
+
+    private static int index(int val, int offset, int length) {
+        int i = val - offset;
+        return i < 0 ? 0 : i < length ? i : length - 1;
+    }
+
+    private static PixelStatistics calc(ComponentSampleModel sm, int offset, int length, RowScanner scanner) {
+        int w = sm.getWidth();
+        int h = sm.getHeight();
+        int stride = sm.getScanlineStride();
+        int off = sm.getBandOffsets()[0];
+        int bands = (long) w * h < PARALLEL_THRESHOLD
+                ? 1
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), h / MIN_ROWS_PER_BAND));
+        if (bands == 1) {
+            int[] hist = new int[length];
+            scanRows(scanner, hist, 0, h, w, stride, off);
+            return new PixelStatistics(offset, hist);
+        }
+        int rowsPerBand = (h + bands - 1) / bands;
+        int[] hist = IntStream.range(0, bands).parallel()
+                .mapToObj(band -> {
+                    int[] bandHist = new int[length];
+                    scanRows(scanner, bandHist, band * rowsPerBand, Math.min(h, (band + 1) * rowsPerBand), w,
+                            stride, off);
+                    return bandHist;
+                })
+                .reduce(PixelStatistics::merge)
+                .get();
+        return new PixelStatistics(offset, hist);
+    }
+
+    private static void scanRows(RowScanner scanner, int[] hist, int y, int endY, int w, int stride, int off) {
+        for (; y < endY; y++) {
+            int i = off + y * stride;
+            scanner.scan(hist, i, i + w);
+        }
+    }
+
+    private static int[] merge(int[] hist1, int[] hist2) {
+        for (int i = 0; i < hist1.length; i++)
+            hist1[i] += hist2[i];
+        return hist1;
+    }
+
+    /**
+     * Returns the minimal stored pixel value.
+     *
+     * @return minimal stored pixel value
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the maximal stored pixel value.
+     *
+     * @return maximal stored pixel value
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the number of pixels.
+     *
+     * @return number of pixels
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of pixels with the specified stored pixel value.
+     *
+     * @param value stored pixel value
+     * @return number of pixels with the specified stored pixel value
+     */
+    public int getFrequency(int value) {
+        int i = value - offset;
+        return i >= 0 && i < histogram.length ? histogram[i] : 0;
+    }
+
+    /**
+     * Returns the lowest stored pixel value, so that at least {@code percent} percent of all pixels are less than
+     * or equal to it. {@code 0} returns the minimal, {@code 100} the maximal stored pixel value.
+     *
+     * @param percent percentage in the range 0 to 100
+     * @return stored pixel value of the specified percentile
+     */
+    public int percentile(double percent) {
+        if (percent < 0 || percent > 100)
+            throw new IllegalArgumentException("percent: " + percent);
+        if (percent == 0)
+            return min;
+        long limit = (long) Math.ceil(count * percent / 100);
+        long sum = 0;
+        for (int i = min - offset, end = max - offset; i < end; i++) {
+            if ((sum += histogram[i]) >= limit)
+                return i + offset;
+        }
+        return max;
+    }
+
+    @FunctionalInterface
+    private interface RowScanner {
+        void scan(int[] hist, int index, int end);
+    }
+}
@@ -41,14 +41,20 @@
 
 package org.dcm4che3.opencv;
 
+import java.awt.Rectangle;
 import java.awt.Transparency;
 import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
 import java.awt.image.IndexColorModel;
 import java.awt.image.PixelInterleavedSampleModel;
 import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
@@ -62,13 +68,17 @@ import javax.imageio.ImageTypeSpecifier;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.spi.ImageReaderSpi;
 import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
 
 import org.dcm4che3.image.PhotometricInterpretation;
 import org.dcm4che3.imageio.codec.ImageDescriptor;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfDouble;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
 import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.weasis.opencv.data.ImageCV;
@@ -248,12 +258,63 @@ public class NativeImageReader extends ImageReader implements Closeable {
 
     @Override
     public BufferedImage read(int imageIndex, ImageReadParam param) throws IOException {
-        PlanarImage img = getNativeImage(param);
-        BufferedImage bufferedImage = ImageConversion.toBufferedImage(img);
-        if (img != null) {
+        PlanarImage img = applySourceRegion(getNativeImage(param), param);
+        if (img == null) {
+            return null;
+        }
+        try {
+            BufferedImage destination = param != null ? param.getDestination() : null;
+            if (destination != null && copyToDestination(img.toMat(), destination)) {
+                return destination;
+            }
+            return ImageConversion.toBufferedImage(img);
+        } finally {
             img.release();
         }
-        return bufferedImage;
+    }
+
+    /**
+     * Copies the decoded pixels directly into the raster of {@code destination}, avoiding the allocation of an
+     * intermediate {@link BufferedImage}. Only pixel interleaved rasters with a single bank, matching dimensions and a
+     * sample layout identical to the OpenCV layout (gray, or BGR) are supported. The native decoder always allocates
+     * the decoded {@code Mat} itself and cannot write into the Java heap array of a {@link DataBuffer}, so this single
+     * copy remains.
+     *
+     * @return {@code false} if the layout of {@code destination} does not match the decoded image
+     */
+    private static boolean copyToDestination(Mat mat, BufferedImage destination) {
+        int width = mat.width();
+        int height = mat.height();
+        int channels = mat.channels();
+        WritableRaster raster = destination.getRaster();
+        if (!mat.isContinuous() || raster.getWidth() != width || raster.getHeight() != height
+            || raster.getNumBands() != channels
+            || raster.getMinX() != 0 || raster.getMinY() != 0 || raster.getParent() != null
+            || !(raster.getSampleModel() instanceof PixelInterleavedSampleModel)) {
+            return false;
+        }
+        PixelInterleavedSampleModel sm = (PixelInterleavedSampleModel) raster.getSampleModel();
+        int[] bandOffsets = sm.getBandOffsets();
+        if (sm.getPixelStride() != channels || sm.getScanlineStride() != width * channels
+            || !(channels == 1 && bandOffsets[0] == 0
+                || channels == 3 && bandOffsets[0] == 2 && bandOffsets[1] == 1 && bandOffsets[2] == 0)) {
+            return false;
+        }
+        DataBuffer db = raster.getDataBuffer();
+        if (db.getNumBanks() != 1 || db.getOffset() != 0 || db.getSize() != width * height * channels) {
+            return false;
+        }
+        int depth = CvType.depth(mat.type());
+        if (db instanceof DataBufferByte && (depth == CvType.CV_8U || depth == CvType.CV_8S)) {
+            mat.get(0, 0, ((DataBufferByte) db).getData());
+        } else if (db instanceof DataBufferUShort && depth == CvType.CV_16U) {
+            mat.get(0, 0, ((DataBufferUShort) db).getData());
+        } else if (db instanceof DataBufferShort && depth == CvType.CV_16S) {
+            mat.get(0, 0, ((DataBufferShort) db).getData());
+        } else {
+            return false;
+        }
+        return true;
     }
 
     private PlanarImage getNativeImage(ImageReadParam param) throws IOException {
@@ -279,19 +340,73 @@ public class NativeImageReader extends ImageReader implements Closeable {
                 closeMat(lengths);
             }
         } else if (seg instanceof MemoryStreamSegment) {
+            ByteBuffer data = ((MemoryStreamSegment) seg).getCache();
             Mat buf = null;
-            try {
-                ByteBuffer b = ((MemoryStreamSegment) seg).getCache();
-                buf = new Mat(1, b.limit(), CvType.CV_8UC1);
-                buf.put(0, 0, b.array());
-                return ImageCV.toImageCV(Imgcodecs.dicomJpgMatRead(buf, dcmFlags, Imgcodecs.IMREAD_UNCHANGED));
-            } finally {
-                closeMat(buf);
+            // keeps a wrapped direct buffer reachable until the native decoder is done with it
+            synchronized (data) {
+                try {
+                    buf = toMat(data);
+                    return ImageCV.toImageCV(Imgcodecs.dicomJpgMatRead(buf, dcmFlags, Imgcodecs.IMREAD_UNCHANGED));
+                } finally {
+                    closeMat(buf);
+                }
             }
         }
         return null;
     }
 
+    /**
+     * Returns a single row {@code Mat} with the remaining bytes of {@code b}. Direct buffers - e.g. memory-mapped
+     * pixel data - are wrapped without copying; the caller has to keep {@code b} reachable as long as the returned
+     * {@code Mat} is used. Heap buffers are copied straight from their backing array without an intermediate
+     * {@code byte[]}.
+     */
+    private static Mat toMat(ByteBuffer b) {
+        int length = b.remaining();
+        if (b.isDirect()) {
+            return new Mat(1, length, CvType.CV_8UC1, b.slice());
+        }
+        Mat buf = new Mat(1, length, CvType.CV_8UC1);
+        if (b.hasArray()) {
+            buf.put(0, 0, b.array(), b.arrayOffset() + b.position(), length);
+        } else {
+            byte[] data = new byte[length];
+            b.duplicate().get(data);
+            buf.put(0, 0, data);
+        }
+        return buf;
+    }
+
+    /**
+     * Crops and subsamples the decoded image according to the source region and subsampling of {@code param}. The
+     * codec always decodes the full frame, so this only reduces the size of the image converted to a
+     * {@link BufferedImage}.
+     */
+    private static PlanarImage applySourceRegion(PlanarImage img, ImageReadParam param) {
+        if (img == null || param == null) {
+            return img;
+        }
+        int width = img.width();
+        int height = img.height();
+        int xPeriod = param.getSourceXSubsampling();
+        int yPeriod = param.getSourceYSubsampling();
+        Rectangle region = getSourceRegion(param, width, height);
+        if (xPeriod == 1 && yPeriod == 1 && region.width == width && region.height == height) {
+            return img;
+        }
+        Mat roi = img.toMat().submat(new Rect(region.x, region.y, region.width, region.height));
+        ImageCV dst = new ImageCV();
+        try {
+            Imgproc.resize(roi, dst,
+                new Size((region.width + xPeriod - 1) / xPeriod, (region.height + yPeriod - 1) / yPeriod), 0, 0,
+                Imgproc.INTER_NEAREST);
+        } finally {
+            closeMat(roi);
+            img.release();
+        }
+        return dst;
+    }
+
     private boolean ybr2rgb(PhotometricInterpretation pmi) {
         // Preserve YBR for JPEG Lossless (1.2.840.10008.1.2.4.57, 1.2.840.10008.1.2.4.70)
         if (params.getJpegMarker() == 0xffc3) {
@@ -316,6 +431,24 @@ public class NativeImageReader extends ImageReader implements Closeable {
         }
     }
 
+    /**
+     * Writes the bytes of the encoded {@code Mat} to {@code stream} in chunks of 64 KiB, instead of allocating a
+     * {@code byte[]} of the size of the whole encoded frame.
+     */
+    static void writeMat(Mat buf, ImageOutputStream stream) throws IOException {
+        Mat row = buf.reshape(1, 1);
+        try {
+            int length = row.cols();
+            byte[] chunk = new byte[Math.min(length, 0x10000)];
+            for (int off = 0; off < length; off += chunk.length) {
+                int n = row.get(0, off, chunk);
+                stream.write(chunk, 0, Math.min(n, length - off));
+            }
+        } finally {
+            row.release();
+        }
+    }
+
     public static SOFSegment getSOFSegment(ImageInputStream iis) throws IOException {
         iis.mark();
         try {
@@ -140,9 +140,7 @@ class NativeJ2kImageWriter extends ImageWriter {
                 }
             }
 
-            byte[] bSrcData = new byte[buf.width() * buf.height() * (int) buf.elemSize()];
-            buf.get(0, 0, bSrcData);
-            stream.write(bSrcData);
+            NativeImageReader.writeMat(buf, stream);
         } catch (Throwable t) {
             throw new IIOException("Native JPEG2000 encoding error", t);
         } finally {
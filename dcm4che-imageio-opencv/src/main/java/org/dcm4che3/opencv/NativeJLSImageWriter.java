@@ -165,9 +165,7 @@ class NativeJLSImageWriter extends ImageWriter {
                     mat.release();
                 }
             }
-            byte[] bSrcData = new byte[buf.width() * buf.height() * (int) buf.elemSize()];
-            buf.get(0, 0, bSrcData);
-            stream.write(bSrcData);
+            NativeImageReader.writeMat(buf, stream);
         } catch (Throwable t) {
             throw new IIOException("Native JPEG-LS encoding error", t);
         } finally {
@@ -167,9 +167,7 @@ class NativeJPEGImageWriter extends ImageWriter {
                 }
             }
 
-            byte[] bSrcData = new byte[buf.width() * buf.height() * (int) buf.elemSize()];
-            buf.get(0, 0, bSrcData);
-            stream.write(bSrcData);
+            NativeImageReader.writeMat(buf, stream);
         } catch (Throwable t) {
             throw new IIOException("Native JPEG encoding error", t);
         } finally {
@@ -41,35 +41,26 @@
 
 package org.dcm4che3.opencv;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.RandomAccessFile;
-import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 
 import javax.imageio.ImageReadParam;
-import javax.imageio.stream.FileCacheImageInputStream;
-import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
-import javax.imageio.stream.MemoryCacheImageInputStream;
 
 import org.dcm4che3.data.BulkData;
 import org.dcm4che3.imageio.codec.BytesWithImageImageDescriptor;
 import org.dcm4che3.imageio.codec.ImageDescriptor;
+import org.dcm4che3.imageio.stream.PathImageInputStream;
 import org.dcm4che3.imageio.stream.SegmentedInputImageStream;
 import org.opencv.osgi.OpenCVNativeLoader;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * @author Nicolas Roduit
  * @since Mar 2018
  */
 public abstract class StreamSegment {
-    private static final Logger LOGGER = LoggerFactory.getLogger(StreamSegment.class);
-
     static {
         // Load the native OpenCV library
         OpenCVNativeLoader loader = new OpenCVNativeLoader();
@@ -96,8 +87,6 @@ public abstract class StreamSegment {
             return new FileStreamSegment((ExtendSegmentedInputImageStream) iis);
         } else if (iis instanceof SegmentedInputImageStream) {
             return getFileStreamSegment((SegmentedInputImageStream) iis);
-        } else if (iis instanceof FileCacheImageInputStream) {
-            throw new IllegalArgumentException("No adaptor implemented yet for FileCacheImageInputStream");
         } else if (iis instanceof BytesWithImageImageDescriptor) {
             BytesWithImageImageDescriptor stream = (BytesWithImageImageDescriptor) iis;
             return new MemoryStreamSegment(stream.getBytes(), stream.getImageDescriptor());
@@ -114,47 +103,44 @@ public abstract class StreamSegment {
         ;
     }
 
-    private static StreamSegment getFileStreamSegment(SegmentedInputImageStream iis) {
-        try {
-
-                ImageInputStream fstream = iis.getStream();
-                Field fRaf = null;
-                if (fstream instanceof FileImageInputStream) {
-                    fRaf = FileImageInputStream.class.getDeclaredField("raf");
-                } else if (fstream instanceof FileCacheImageInputStream) {
-                    fRaf = FileCacheImageInputStream.class.getDeclaredField("cache");
-                }
+    /**
+     * Returns a {@link FileStreamSegment} referring the fragments of the frame in the file, if the underlying stream
+     * is a {@link PathImageInputStream}. Otherwise the fragments of the frame are read into a
+     * {@link MemoryStreamSegment}.
+     */
+    private static StreamSegment getFileStreamSegment(SegmentedInputImageStream iis) throws IOException {
+        ImageInputStream fstream = iis.getStream();
+        if (fstream instanceof PathImageInputStream) {
+            long[][] seg = getSegments(iis);
+            if (seg != null) {
+                /*
+                 * PS 3.5.8.2 Though a fragment may not contain encoded data from more than one frame, the
+                 * encoded data from one frame may span multiple fragments. See note in Section 8.2.
+                 */
+                return new FileStreamSegment(((PathImageInputStream) fstream).getFile(), seg[0], seg[1],
+                    iis.getImageDescriptor());
+            }
+        }
+        return new MemoryStreamSegment(readFully(iis), iis.getImageDescriptor());
+    }
 
-                if (fRaf != null) {
-                    fRaf.setAccessible(true);
-                    long[][] seg = getSegments(iis);
-                    if (seg != null) {
-                        RandomAccessFile raf = (RandomAccessFile) fRaf.get(fstream);
-                        /*
-                         * PS 3.5.8.2 Though a fragment may not contain encoded data from more than one frame, the
-                         * encoded data from one frame may span multiple fragments. See note in Section 8.2.
-                         */
-                        return new FileStreamSegment(raf, seg[0], seg[1], iis.getImageDescriptor());
-                    }
-                }
-                if (fstream instanceof MemoryCacheImageInputStream) {
-                    MemoryCacheImageInputStream mstream = (MemoryCacheImageInputStream) fstream;
-                    byte[] b = MemoryStreamSegment.getByte(MemoryStreamSegment.getByteArrayInputStream(mstream));
-                    if (b != null) {
-                        long[][] seg = getSegments(iis);
-                        if (seg != null) {
-                            int offset = (int) seg[0][0];
-                            return new MemoryStreamSegment(
-                                ByteBuffer.wrap(Arrays.copyOfRange(b, offset, offset + (int) seg[1][0])),
-                                iis.getImageDescriptor());
-                        }
-                    }
+    private static ByteBuffer readFully(ImageInputStream iis) throws IOException {
+        iis.seek(0);
+        long length = iis.length();
+        byte[] b = new byte[length > 0 && length < Integer.MAX_VALUE - 8 ? (int) length : 8192];
+        int off = 0;
+        int read;
+        while ((read = iis.read(b, off, b.length - off)) > 0) {
+            if ((off += read) == b.length) {
+                int next = iis.read();
+                if (next < 0) {
+                    break;
                 }
-                LOGGER.error("Cannot read SegmentedInputImageStream with {} ", fstream.getClass());
-        } catch (Exception e) {
-            LOGGER.error("Building FileStreamSegment from SegmentedInputImageStream", e);
+                b = Arrays.copyOf(b, b.length << 1);
+                b[off++] = (byte) next;
+            }
         }
-        return null;
+        return ByteBuffer.wrap(b, 0, off);
     }
 
     private static long[][] getSegments(SegmentedInputImageStream iis) throws IOException {
@@ -200,19 +186,4 @@ public abstract class StreamSegment {
     public long[] getSegLength() {
         return segLength;
     }
-
-    public static byte[] getByte(ByteArrayInputStream inputStream) {
-        if (inputStream != null) {
-            try {
-                Field fid = ByteArrayInputStream.class.getDeclaredField("buf");
-                if (fid != null) {
-                    fid.setAccessible(true);
-                    return (byte[]) fid.get(inputStream);
-                }
-            } catch (Exception e) {
-                LOGGER.error("Cannot get bytes from inputstream", e);
-            }
-        }
-        return null;
-    }
 }
\ No newline at end of file
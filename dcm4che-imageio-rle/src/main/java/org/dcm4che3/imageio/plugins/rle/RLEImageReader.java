@@ -50,6 +50,8 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
@@ -79,18 +81,17 @@ public class RLEImageReader extends ImageReader {
     private static final String MISMATCH_NUM_RLE_SEGMENTS =
             "Number of RLE Segments does not match image type: ";
 
+    /**
+     * Minimal number of bytes per RLE Segment for decoding the Segments of a frame concurrently.
+     */
+    private static final int PARALLEL_DECODE_MIN_SEGMENT_LENGTH = 0x10000;
+
     private final int[] header = new int[16];
 
-    private final byte[] buf = new byte[8192];
+    private byte[] rle = {};
 
     private long headerPos;
 
-    private long bufOff;
-
-    private int bufPos;
-
-    private int bufLen;
-
     private ImageInputStream iis;
 
     private int width;
@@ -241,142 +242,96 @@ public class RLEImageReader extends ImageReader {
     }
 
     private void read(byte[][] bands) throws IOException {
-        readRLEHeader(bands.length);
-        for (int i = 0; i < bands.length; i++)
-            unrle(i+1, bands[i]);
+        int rleLength = readRLE(bands.length);
+        forEachSegment(bands.length, bands[0].length,
+                seg -> unrle(rleLength, seg + 1, bands[seg]));
     }
 
     private void read(short[] data) throws IOException {
-        readRLEHeader(2);
-        Arrays.fill(data, (short) 0);
-        unrle(1, data);
-        unrle(2, data);
+        int rleLength = readRLE(2);
+        byte[][] bytes = { new byte[data.length], new byte[data.length] };
+        forEachSegment(2, data.length,
+                seg -> unrle(rleLength, seg + 1, bytes[seg]));
+        byte[] msb = bytes[0];
+        byte[] lsb = bytes[1];
+        for (int i = 0; i < data.length; i++)
+            data[i] = (short) (((msb[i] & 0xff) << 8) | (lsb[i] & 0xff));
     }
 
-    private void seekSegment(int seg) throws IOException {
-        long streamPos = headerPos + (header[seg] & 0xffffffffL);
-        int bufPos = (int) (streamPos - bufOff);
-        if (bufPos >= 0 && bufPos <= bufLen)
-            this.bufPos = bufPos;
-        else {
-            iis.seek(streamPos);
-            this.bufPos = bufLen; // force fillBuffer on nextByte()
-        }
+    /**
+     * Decodes the RLE Segments concurrently, if there is more than one Segment and the Segments are large enough to
+     * outweigh the cost of scheduling them to different threads. Each Segment is decoded into its own target array,
+     * so no synchronization is required between the segment decoders.
+     */
+    private static void forEachSegment(int numSegments, int segmentLength, IntConsumer decoder) {
+        IntStream segments = IntStream.range(0, numSegments);
+        if (numSegments > 1 && segmentLength >= PARALLEL_DECODE_MIN_SEGMENT_LENGTH)
+            segments = segments.parallel();
+        segments.forEach(decoder);
     }
 
-
-    private void readRLEHeader(int numSegments) throws IOException {
-        fillBuffer();
-        if (bufLen < 64)
+    /**
+     * Reads the whole RLE encoded frame into {@link #rle} and parses its RLE Header.
+     *
+     * @return length of the RLE encoded frame
+     */
+    private int readRLE(int numSegments) throws IOException {
+        iis.seek(headerPos);
+        if (rle.length == 0)
+            rle = new byte[8192];
+        int len = 0;
+        int n;
+        while ((n = iis.read(rle, len, rle.length - len)) > 0) {
+            len += n;
+            if (len == rle.length) {
+                if ((n = iis.read()) < 0)
+                    break;
+                rle = Arrays.copyOf(rle, len << 1);
+                rle[len++] = (byte) n;
+            }
+        }
+        if (len < 64)
             throw new EOFException();
         for (int i = 0, off = 0; i < header.length; i++, off += 4)
-            header[i] = ByteUtils.bytesToIntLE(buf, off);
-        bufPos = 64;
+            header[i] = ByteUtils.bytesToIntLE(rle, off);
         if (header[0] != numSegments)
             throw new IOException(MISMATCH_NUM_RLE_SEGMENTS + header[0]);
+        return len;
     }
 
-    private void unrle(int seg, byte[] data) throws IOException {
-        seekSegment(seg);
+    private void unrle(int rleLength, int seg, byte[] data) {
+        byte[] rle = this.rle;
+        int rlePos = header[seg] >= 0 ? header[seg] : rleLength;
         int pos = 0;
-        try {
-            int n;
-            int end;
-            byte val;
-            while (pos < data.length) {
-                n = nextByte();
-                if (n >= 0) {
-                    read(data, pos, ++n);
-                    pos += n;
-                } else if (n != -128) {
-                    end = pos + 1 - n;
-                    val = nextByte();
-                    while (pos < end)
-                        data[pos++] = val;
-                }
-            }
-        } catch (EOFException e) {
-            LOG.info("RLE Segment #{} too short, set missing {} bytes to 0",
-                    seg, data.length - pos);
-        } catch (IndexOutOfBoundsException e) {
-            LOG.info("RLE Segment #{} too long, truncate surplus bytes", seg);
-        }
-    }
-
-    private void read(byte[] data, int pos, int len) throws IOException {
-        int remaining = len;
         int n;
-        while (remaining > 0) {
-            n = bufLen - bufPos;
-            if (n <= 0) {
-                fillBuffer();
-                n = bufLen - bufPos;
+        int len;
+        while (pos < data.length) {
+            if (rlePos >= rleLength) {
+                LOG.info("RLE Segment #{} too short, set missing {} bytes to 0",
+                        seg, data.length - pos);
+                Arrays.fill(data, pos, data.length, (byte) 0);
+                return;
             }
-            if ((remaining -= n) < 0)
-                n += remaining;
-            System.arraycopy(buf, bufPos, data, pos, n);
-            bufPos += n;
-            pos += n;
-        }
-    }
-
-    private void unrle(int seg, short[] data) throws IOException {
-        seekSegment(seg);
-        int pos = 0;
-        try {
-            int shift = seg == 1 ? 8 : 0;
-            int n;
-            int end;
-            int val;
-            while (pos < data.length) {
-                n = nextByte();
-                if (n >= 0) {
-                    read(data, pos, ++n, shift);
-                    pos += n;
-                } else if (n != -128) {
-                    end = pos + 1 - n;
-                    val = (nextByte() & 0xff) << shift;
-                    while (pos < end)
-                        data[pos++] |= val;
+            n = rle[rlePos++];
+            if (n >= 0) {
+                len = Math.min(n + 1, rleLength - rlePos);
+                if (len > data.length - pos) {
+                    LOG.info("RLE Segment #{} too long, truncate surplus bytes", seg);
+                    len = data.length - pos;
                 }
+                System.arraycopy(rle, rlePos, data, pos, len);
+                rlePos += len;
+                pos += len;
+            } else if (n != -128 && rlePos < rleLength) {
+                len = 1 - n;
+                if (len > data.length - pos) {
+                    LOG.info("RLE Segment #{} too long, truncate surplus bytes", seg);
+                    len = data.length - pos;
+                }
+                Arrays.fill(data, pos, pos + len, rle[rlePos++]);
+                pos += len;
             }
-        } catch (EOFException e) {
-            LOG.info("RLE Segment #{} too short, set missing {} bytes to 0",
-                    seg, data.length - pos);
-        } catch (IndexOutOfBoundsException e) {
-            LOG.info("RLE Segment #{} to long, truncate surplus bytes", seg);
-        }
-    }
-
-    private void read(short[] data, int pos, int len, int shift) throws IOException {
-        int remaining = len;
-        int n;
-        while (remaining > 0) {
-            n = bufLen - bufPos;
-            if (n <= 0) {
-                fillBuffer();
-                n = bufLen - bufPos;
-            }
-            if ((remaining -= n) < 0)
-                n += remaining;
-            while (n-- > 0)
-                data[pos++] |= (buf[bufPos++] & 0xff) << shift;
         }
     }
 
-    private void fillBuffer() throws IOException {
-        bufOff = iis.getStreamPosition();
-        bufPos = 0;
-        bufLen = iis.read(buf);
-        if (bufLen <= 0)
-            throw new EOFException();
-    }
-
-    private byte nextByte() throws IOException {
-        if (bufPos >= bufLen)
-            fillBuffer();
-
-        return buf[bufPos++];
-    }
-
 }
@@ -0,0 +1,279 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.imageio.plugins.rle;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferShort;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.dcm4che3.util.ByteUtils;
+
+/**
+ * Encodes images with 8 or 16 bits per sample by the RLE compression scheme specified in
+ * DICOM PS3.5 Annex G. Each byte of each sample is encoded in a separate RLE Segment, ordered
+ * from the most to the least significant byte of the first sample to the last sample. Segments
+ * of large frames are encoded concurrently.
+ *
+ * @since Oct 2026
+ */
+public class RLEImageWriter extends ImageWriter {
+
+    private static final String UNSUPPORTED_DATA_TYPE =
+            "Unsupported Data Type of image: ";
+    private static final String TOO_MANY_RLE_SEGMENTS =
+            "Number of RLE Segments exceeds 15: ";
+
+    /**
+     * Minimal number of bytes per RLE Segment for encoding the Segments of a frame concurrently.
+     */
+    private static final int PARALLEL_ENCODE_MIN_SEGMENT_LENGTH = 0x10000;
+
+    protected RLEImageWriter(ImageWriterSpi originatingProvider) {
+        super(originatingProvider);
+    }
+
+    @Override
+    public IIOMetadata getDefaultStreamMetadata(ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public IIOMetadata getDefaultImageMetadata(ImageTypeSpecifier imageType, ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public IIOMetadata convertStreamMetadata(IIOMetadata inData, ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public IIOMetadata convertImageMetadata(IIOMetadata inData, ImageTypeSpecifier imageType,
+            ImageWriteParam param) {
+        return null;
+    }
+
+    @Override
+    public boolean canWriteRasters() {
+        return true;
+    }
+
+    @Override
+    public void write(IIOMetadata streamMetadata, IIOImage image, ImageWriteParam param)
+            throws IOException {
+        ImageOutputStream ios = (ImageOutputStream) output;
+        if (ios == null)
+            throw new IllegalStateException("output not set");
+
+        Raster raster = image.hasRaster() ? image.getRaster() : toRaster(image.getRenderedImage());
+        int bytesPerSample = bytesPerSample(raster.getSampleModel().getDataType());
+        int numSegments = raster.getNumBands() * bytesPerSample;
+        if (numSegments > 15)
+            throw new IllegalArgumentException(TOO_MANY_RLE_SEGMENTS + numSegments);
+
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        IntStream segments = IntStream.range(0, numSegments);
+        if (numSegments > 1 && width * height >= PARALLEL_ENCODE_MIN_SEGMENT_LENGTH)
+            segments = segments.parallel();
+        RLEEncoder[] encoded = segments
+                .mapToObj(seg -> encodeSegment(raster, seg / bytesPerSample,
+                        (bytesPerSample - 1 - seg % bytesPerSample) << 3))
+                .toArray(RLEEncoder[]::new);
+
+        byte[] header = new byte[64];
+        ByteUtils.intToBytesLE(numSegments, header, 0);
+        for (int seg = 0, off = 64; seg < numSegments; seg++) {
+            ByteUtils.intToBytesLE(off, header, (seg + 1) << 2);
+            off += encoded[seg].length();
+        }
+        ios.write(header);
+        for (RLEEncoder encoder : encoded)
+            encoder.writeTo(ios);
+    }
+
+    private static Raster toRaster(RenderedImage image) {
+        return image instanceof BufferedImage
+                ? ((BufferedImage) image).getRaster()
+                : image.getData();
+    }
+
+    private static int bytesPerSample(int dataType) {
+        switch (dataType) {
+            case DataBuffer.TYPE_BYTE:
+                return 1;
+            case DataBuffer.TYPE_USHORT:
+            case DataBuffer.TYPE_SHORT:
+                return 2;
+        }
+        throw new IllegalArgumentException(UNSUPPORTED_DATA_TYPE + dataType);
+    }
+
+    private static RLEEncoder encodeSegment(Raster raster, int band, int shift) {
+        int width = raster.getWidth();
+        int height = raster.getHeight();
+        RLEEncoder encoder = new RLEEncoder(width * height);
+        byte[] row = new byte[width];
+        SampleModel sm = raster.getSampleModel();
+        if (sm instanceof ComponentSampleModel) {
+            ComponentSampleModel csm = (ComponentSampleModel) sm;
+            DataBuffer db = raster.getDataBuffer();
+            int bank = csm.getBankIndices()[band];
+            int pixelStride = csm.getPixelStride();
+            int scanlineStride = csm.getScanlineStride();
+            int off = db.getOffsets()[bank] + csm.getBandOffsets()[band]
+                    + (raster.getMinY() - raster.getSampleModelTranslateY()) * scanlineStride
+                    + (raster.getMinX() - raster.getSampleModelTranslateX()) * pixelStride;
+            for (int y = 0; y < height; y++, off += scanlineStride) {
+                extractRow(db, bank, off, pixelStride, shift, row);
+                encoder.encodeRow(row);
+            }
+        } else {
+            int[] samples = new int[width];
+            for (int y = 0, minX = raster.getMinX(), minY = raster.getMinY(); y < height; y++) {
+                raster.getSamples(minX, minY + y, width, 1, band, samples);
+                for (int x = 0; x < width; x++)
+                    row[x] = (byte) (samples[x] >> shift);
+                encoder.encodeRow(row);
+            }
+        }
+        return encoder;
+    }
+
+    private static void extractRow(DataBuffer db, int bank, int off, int pixelStride, int shift,
+            byte[] row) {
+        switch (db.getDataType()) {
+            case DataBuffer.TYPE_BYTE:
+                byte[] b = ((DataBufferByte) db).getData(bank);
+                if (pixelStride == 1)
+                    System.arraycopy(b, off, row, 0, row.length);
+                else
+                    for (int x = 0; x < row.length; x++, off += pixelStride)
+                        row[x] = b[off];
+                break;
+            case DataBuffer.TYPE_USHORT:
+                extractRow(((DataBufferUShort) db).getData(bank), off, pixelStride, shift, row);
+                break;
+            case DataBuffer.TYPE_SHORT:
+                extractRow(((DataBufferShort) db).getData(bank), off, pixelStride, shift, row);
+                break;
+            default:
+                throw new IllegalArgumentException(UNSUPPORTED_DATA_TYPE + db.getDataType());
+        }
+    }
+
+    private static void extractRow(short[] s, int off, int pixelStride, int shift, byte[] row) {
+        for (int x = 0; x < row.length; x++, off += pixelStride)
+            row[x] = (byte) (s[off] >> shift);
+    }
+
+    /**
+     * Encodes the rows of one RLE Segment as PackBits byte sequences, not crossing row boundaries.
+     */
+    private static final class RLEEncoder {
+
+        private byte[] buf;
+        private int len;
+
+        RLEEncoder(int initialCapacity) {
+            buf = new byte[initialCapacity + (initialCapacity >> 6) + 16];
+        }
+
+        /**
+         * @return length of the encoded RLE Segment, padded to even length.
+         */
+        int length() {
+            return (len + 1) & ~1;
+        }
+
+        void writeTo(ImageOutputStream ios) throws IOException {
+            ios.write(buf, 0, len);
+            if ((len & 1) != 0)
+                ios.write(0);
+        }
+
+        void encodeRow(byte[] row) {
+            ensureCapacity(row.length + (row.length >> 7) + 1);
+            int end = row.length;
+            int pos = 0;
+            while (pos < end) {
+                byte val = row[pos];
+                int run = 1;
+                while (run < 128 && pos + run < end && row[pos + run] == val)
+                    run++;
+                if (run > 1) {
+                    buf[len++] = (byte) (1 - run);
+                    buf[len++] = val;
+                    pos += run;
+                    continue;
+                }
+                int start = pos++;
+                while (pos < end && pos - start < 128
+                        && !(pos + 2 < end && row[pos] == row[pos + 1] && row[pos] == row[pos + 2]))
+                    pos++;
+                int n = pos - start;
+                buf[len++] = (byte) (n - 1);
+                System.arraycopy(row, start, buf, len, n);
+                len += n;
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            if (buf.length - len < required)
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, len + required));
+        }
+    }
+}
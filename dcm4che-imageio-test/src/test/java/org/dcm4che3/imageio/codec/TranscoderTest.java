@@ -40,6 +40,7 @@
 
 package org.dcm4che3.imageio.codec;
 
+import java.awt.image.Raster;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -47,6 +48,11 @@ import java.io.OutputStream;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
@@ -55,6 +61,7 @@ import org.dcm4che3.io.DicomInputStream;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -185,6 +192,60 @@ public class TranscoderTest {
         assertEquals(1, jpegPixelRepresentation("test16signed-J2KI.dcm"));
     }
 
+    @Test
+    public void testCompress12BitsRLE() throws Exception {
+        test("MR2_UNC", "MR2_UNC-RLE.dcm", UID.RLELossless, true);
+        assertLossless("MR2_UNC", "MR2_UNC-RLE.dcm");
+    }
+
+    @Test
+    public void testCompressPerPixelRgb2RLE() throws Exception {
+        test("US-RGB-8-esopecho", "US-RGB-8-esopecho-RLE.dcm", UID.RLELossless, true);
+        assertLossless("US-RGB-8-esopecho", "US-RGB-8-esopecho-RLE.dcm");
+    }
+
+    @Test
+    public void testCompressMFWithExtendedOffsetTable() throws Exception {
+        final File ofile = new File("target/test-out/NM-MONO2-16-13x-heart-RLE-EOT.dcm");
+        try (Transcoder transcoder = new Transcoder(new File("target/test-data/NM-MONO2-16-13x-heart"))) {
+            transcoder.setIncludeFileMetaInformation(true);
+            transcoder.setIncludeExtendedOffsetTable(true);
+            transcoder.setDestinationTransferSyntax(UID.RLELossless);
+            transcoder.transcode((transcoder1, dataset) -> new FileOutputStream(ofile));
+        }
+        Attributes attrs;
+        try (DicomInputStream dis = new DicomInputStream(ofile)) {
+            attrs = dis.readDatasetUntilPixelData();
+        }
+        assertEquals(13, attrs.getLongs(Tag.ExtendedOffsetTable).length);
+        assertEquals(13, attrs.getLongs(Tag.ExtendedOffsetTableLengths).length);
+        assertLossless("NM-MONO2-16-13x-heart", "NM-MONO2-16-13x-heart-RLE-EOT.dcm", 12);
+    }
+
+    private void assertLossless(String ifname, String ofname) throws IOException {
+        assertLossless(ifname, ofname, 0);
+    }
+
+    private void assertLossless(String ifname, String ofname, int frameIndex) throws IOException {
+        Raster expected = readRaster(new File("target/test-data/" + ifname), frameIndex);
+        Raster actual = readRaster(new File("target/test-out/" + ofname), frameIndex);
+        int w = expected.getWidth();
+        int h = expected.getHeight();
+        for (int b = 0; b < expected.getNumBands(); b++)
+            assertArrayEquals(expected.getSamples(0, 0, w, h, b, (int[]) null),
+                    actual.getSamples(0, 0, w, h, b, (int[]) null));
+    }
+
+    private static Raster readRaster(File file, int frameIndex) throws IOException {
+        ImageReader reader = ImageIO.getImageReadersByFormatName("DICOM").next();
+        try (ImageInputStream iis = new FileImageInputStream(file)) {
+            reader.setInput(iis);
+            return reader.readRaster(frameIndex, null);
+        } finally {
+            reader.dispose();
+        }
+    }
+
     private int jpegBitsPerSample(String ofname) throws IOException {
         final File ofile = new File("target/test-out/" + ofname);
         long jpegPos = jpegPos(ofile);
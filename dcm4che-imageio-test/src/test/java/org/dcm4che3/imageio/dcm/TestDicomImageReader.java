@@ -40,6 +40,7 @@ package org.dcm4che3.imageio.dcm;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.awt.Rectangle;
 import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferByte;
 import java.awt.image.DataBufferUShort;
@@ -52,6 +53,7 @@ import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
 import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import javax.xml.bind.annotation.adapters.HexBinaryAdapter;
@@ -62,6 +64,7 @@ import org.dcm4che3.data.BulkData;
 import org.dcm4che3.data.Fragments;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.VR;
+import org.dcm4che3.image.PixelStatistics;
 import org.dcm4che3.imageio.plugins.dcm.DicomImageReader;
 import org.dcm4che3.imageio.plugins.dcm.DicomMetaData;
 import org.dcm4che3.io.DicomInputStream;
@@ -303,6 +306,77 @@ public class TestDicomImageReader {
         testReadRasterFromAttributes(CPLX_P02, 1, IncludeBulkData.URI);
     }
 
+    @Test
+    public void testReadSubsampledRasterFromImageInputStream_NM() throws Exception {
+        try (FileImageInputStream iis = new FileImageInputStream(new File(TEST_DATA_DIR + NM_MF))) {
+            testReadSubsampledRaster(iis, 5);
+        }
+    }
+
+    @Test
+    public void testReadSubsampledRasterFromInputStream_NM() throws Exception {
+        Raster full = testReadRasterFromImageInputStream(NM_MF, 5);
+        try (FileInputStream is = new FileInputStream(new File(TEST_DATA_DIR + NM_MF))) {
+            reader.setInput(is);
+            assertSubsampled(full, reader.readRaster(5, subsampleParam()));
+        }
+    }
+
+    @Test
+    public void testReadSubsampledRasterFromCompressedImageInputStream() throws Exception {
+        try (FileImageInputStream iis = new FileImageInputStream(new File(TEST_DATA_DIR + US_MF_RLE))) {
+            testReadSubsampledRaster(iis, 5);
+        }
+    }
+
+    @Test
+    public void testPixelStatistics_NM() throws Exception {
+        Raster raster = testReadRasterFromImageInputStream(NM_MF, 5);
+        try (FileImageInputStream iis = new FileImageInputStream(new File(TEST_DATA_DIR + NM_MF))) {
+            reader.setInput(iis);
+            PixelStatistics stats = reader.getPixelStatistics(5);
+            assertThat(reader.getPixelStatistics(5)).isSameAs(stats);
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int y = 0; y < raster.getHeight(); y++)
+                for (int x = 0; x < raster.getWidth(); x++) {
+                    int val = raster.getSample(x, y, 0);
+                    min = Math.min(min, val);
+                    max = Math.max(max, val);
+                }
+            assertThat(stats.getCount()).isEqualTo((long) raster.getWidth() * raster.getHeight());
+            assertThat(stats.getMin()).isEqualTo(min);
+            assertThat(stats.getMax()).isEqualTo(max);
+            assertThat(stats.percentile(0)).isEqualTo(min);
+            assertThat(stats.percentile(100)).isEqualTo(max);
+            assertThat(stats.percentile(50)).isBetween(min, max);
+        }
+    }
+
+    private void testReadSubsampledRaster(Object input, int imageIndex) throws IOException {
+        reader.setInput(input);
+        Raster full = reader.readRaster(imageIndex, reader.getDefaultReadParam());
+        assertSubsampled(full, reader.readRaster(imageIndex, subsampleParam()));
+    }
+
+    private static ImageReadParam subsampleParam() {
+        ImageReadParam param = new ImageReadParam();
+        param.setSourceRegion(new Rectangle(3, 5, 41, 37));
+        param.setSourceSubsampling(3, 2, 1, 0);
+        return param;
+    }
+
+    private static void assertSubsampled(Raster full, Raster subsampled) {
+        assertThat(subsampled.getWidth()).isEqualTo(14);
+        assertThat(subsampled.getHeight()).isEqualTo(19);
+        int bands = full.getNumBands();
+        for (int y = 0; y < subsampled.getHeight(); y++)
+            for (int x = 0; x < subsampled.getWidth(); x++)
+                for (int b = 0; b < bands; b++)
+                    assertThat(subsampled.getSample(x, y, b))
+                            .isEqualTo(full.getSample(4 + x * 3, 5 + y * 2, b));
+    }
+
     private Raster testReadRasterFromImageInputStream(String ifname, int imageIndex)
             throws IOException {
         FileImageInputStream iis = new FileImageInputStream(new File("target/test-data/" + ifname));
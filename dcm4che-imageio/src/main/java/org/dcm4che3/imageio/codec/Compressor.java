@@ -58,7 +58,6 @@ import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
-import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 import javax.imageio.stream.MemoryCacheImageOutputStream;
 
@@ -72,6 +71,7 @@ import org.dcm4che3.image.BufferedImageUtils;
 import org.dcm4che3.image.Overlays;
 import org.dcm4che3.imageio.codec.jpeg.PatchJPEGLS;
 import org.dcm4che3.imageio.codec.jpeg.PatchJPEGLSImageOutputStream;
+import org.dcm4che3.imageio.stream.PathImageInputStream;
 import org.dcm4che3.io.DicomEncodingOptions;
 import org.dcm4che3.io.DicomOutputStream;
 import org.dcm4che3.util.ByteUtils;
@@ -177,6 +177,7 @@ public class Compressor extends Decompressor implements Closeable {
                     Math.min(bitsStored, tstype.getMaxBitsStored()),
                     super.tstype == TransferSyntaxType.RLE || banded,
                     signed && tstype.canEncodeSigned());
+        removeExtendedOffsetTable();
         Fragments compressedPixeldata = 
                 dataset.newFragments(Tag.PixelData, VR.OB, frames + 1);
         compressedPixeldata.add(Value.NULL);
@@ -376,7 +377,7 @@ public class Compressor extends Decompressor implements Closeable {
 
     public BufferedImage readFrame(int frameIndex) throws IOException {
         if (iis == null)
-            iis = new FileImageInputStream(file);
+            iis = new PathImageInputStream(file);
 
         if (decompressor != null)
             return decompressFrame(iis, frameIndex);
@@ -72,6 +72,7 @@ import org.dcm4che3.data.Value;
 import org.dcm4che3.image.PhotometricInterpretation;
 import org.dcm4che3.imageio.codec.jpeg.PatchJPEGLS;
 import org.dcm4che3.imageio.codec.jpeg.PatchJPEGLSImageInputStream;
+import org.dcm4che3.imageio.stream.PathImageInputStream;
 import org.dcm4che3.imageio.stream.SegmentedInputImageStream;
 import org.dcm4che3.io.DicomEncodingOptions;
 import org.dcm4che3.io.DicomOutputStream;
@@ -183,6 +184,7 @@ public class Decompressor {
         if (tstype == TransferSyntaxType.RLE)
             bi = createBufferedImage(bitsStored, true, signed);
 
+        removeExtendedOffsetTable();
         dataset.setValue(Tag.PixelData, VR.OW, new Value() {
 
             @Override
@@ -222,6 +224,15 @@ public class Decompressor {
         return true;
     }
 
+    /**
+     * Removes the Extended Offset Table (7FE0,0001) and Extended Offset Table Lengths (7FE0,0002), which are no
+     * longer valid after replacing the Pixel Data.
+     */
+    protected void removeExtendedOffsetTable() {
+        dataset.remove(Tag.ExtendedOffsetTable);
+        dataset.remove(Tag.ExtendedOffsetTableLengths);
+    }
+
     public static boolean decompress(Attributes dataset, String tsuid) {
         return new Decompressor(dataset, tsuid).decompress();
     }
@@ -277,7 +288,7 @@ public class Decompressor {
 
     public FileImageInputStream createImageInputStream()
             throws IOException {
-        return new FileImageInputStream(file);
+        return new PathImageInputStream(file);
     }
 
     public void writeFrameTo(ImageInputStream iis, int frameIndex,
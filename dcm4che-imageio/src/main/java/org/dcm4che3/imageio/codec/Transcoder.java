@@ -110,6 +110,8 @@ public class Transcoder implements Closeable {
 
     private boolean nullifyPixelData;
 
+    private boolean includeExtendedOffsetTable;
+
     private DicomEncodingOptions encOpts = DicomEncodingOptions.DEFAULT;
 
     private boolean closeInputStream = true;
@@ -271,6 +273,23 @@ public class Transcoder implements Closeable {
         this.nullifyPixelData = nullifyPixelData;
     }
 
+    public boolean isIncludeExtendedOffsetTable() {
+        return includeExtendedOffsetTable;
+    }
+
+    /**
+     * Include Extended Offset Table (7FE0,0001) and Extended Offset Table Lengths (7FE0,0002) on compressing
+     * Pixel Data, to enable direct access of particular frames. Because the Extended Offset Table precedes the
+     * Pixel Data, compressed frames are spooled to a temporary file in the
+     * {@linkplain DicomInputStream#getBulkDataDirectory() bulk data directory} of the input stream until the last
+     * frame is compressed, which requires free disk space for the whole compressed Pixel Data.
+     *
+     * @param includeExtendedOffsetTable {@code true} to include the Extended Offset Table on compressing
+     */
+    public void setIncludeExtendedOffsetTable(boolean includeExtendedOffsetTable) {
+        this.includeExtendedOffsetTable = includeExtendedOffsetTable;
+    }
+
     public ImageDescriptor getImageDescriptor() {
         return imageDescriptor;
     }
@@ -559,37 +578,88 @@ public class Transcoder implements Closeable {
 
     private void compressPixelData() throws IOException {
         int padding = dis.length() - imageDescriptor.getLength();
-        for (int i = 0; i < imageDescriptor.getFrames(); i++) {
-            if (decompressor == null)
-                readFrame();
-            else
-                decompressFrame(i);
-
-            if (i == 0) {
-                extractEmbeddedOverlays();
-                adjustDataset();
-                writeDataset();
-                dos.writeHeader(Tag.PixelData, VR.OB, -1);
-                dos.writeHeader(Tag.Item, null, 0);
+        int frames = imageDescriptor.getFrames();
+        long[] frameLengths = includeExtendedOffsetTable ? new long[frames] : null;
+        File spoolFile = null;
+        OutputStream spool = null;
+        try {
+            if (frameLengths != null) {
+                spoolFile = File.createTempFile(dis.getBulkDataFilePrefix(), dis.getBulkDataFileSuffix(),
+                        dis.getBulkDataDirectory());
+                spool = new BufferedOutputStream(new FileOutputStream(spoolFile));
             }
-            nullifyUnusedBits();
-            bi = palette2rgb ? BufferedImageUtils.convertPalettetoRGB(originalBi, bi)
-                    : ybr2rgb ? BufferedImageUtils.convertYBRtoRGB(originalBi, bi)
-                    : imageDescriptor.is16BitsAllocated8BitsStored()
-                    ? BufferedImageUtils.convertShortsToBytes(originalBi, bi) // workaround for JPEG codec issue
-                    : originalBi;
-            compressFrame(i);
+            for (int i = 0; i < frames; i++) {
+                if (decompressor == null)
+                    readFrame();
+                else
+                    decompressFrame(i);
+
+                if (i == 0) {
+                    extractEmbeddedOverlays();
+                    adjustDataset();
+                    if (spool == null)
+                        writeEncapsulatedPixelDataHeader();
+                }
+                nullifyUnusedBits();
+                bi = palette2rgb ? BufferedImageUtils.convertPalettetoRGB(originalBi, bi)
+                        : ybr2rgb ? BufferedImageUtils.convertYBRtoRGB(originalBi, bi)
+                        : imageDescriptor.is16BitsAllocated8BitsStored()
+                        ? BufferedImageUtils.convertShortsToBytes(originalBi, bi) // workaround for JPEG codec issue
+                        : originalBi;
+                ExtMemoryCacheImageOutputStream ios = compressFrame(i);
+                if (spool == null)
+                    writeCompressedFrame(ios);
+                else {
+                    frameLengths[i] = ios.getStreamPosition();
+                    ios.setOutputStream(spool);
+                    ios.flush();
+                }
+            }
+            if (spool != null) {
+                spool.close();
+                setExtendedOffsetTable(frameLengths);
+                writeEncapsulatedPixelDataHeader();
+                try (InputStream in = new FileInputStream(spoolFile)) {
+                    for (long frameLength : frameLengths) {
+                        dos.writeHeader(Tag.Item, null, (int) frameLength);
+                        StreamUtils.copy(in, dos, (int) frameLength, buffer());
+                    }
+                }
+            }
+        } finally {
+            SafeClose.close(spool);
+            if (spoolFile != null)
+                spoolFile.delete();
         }
         dis.skipFully(padding);
         dos.writeHeader(Tag.SequenceDelimitationItem, null, 0);
     }
 
+    private void writeEncapsulatedPixelDataHeader() throws IOException {
+        writeDataset();
+        dos.writeHeader(Tag.PixelData, VR.OB, -1);
+        dos.writeHeader(Tag.Item, null, 0);
+    }
+
+    private void setExtendedOffsetTable(long[] frameLengths) {
+        long[] offsets = new long[frameLengths.length];
+        long offset = 0;
+        for (int i = 0; i < frameLengths.length; i++) {
+            offsets[i] = offset;
+            offset += frameLengths[i] + 8;
+        }
+        dataset.setLong(Tag.ExtendedOffsetTable, VR.OV, offsets);
+        dataset.setLong(Tag.ExtendedOffsetTableLengths, VR.OV, frameLengths);
+    }
+
     private void setPixelDataBulkData(VR vr) {
         if (pixelDataBulkDataURI != null)
             dataset.setValue(Tag.PixelData, vr, new BulkData(null, pixelDataBulkDataURI, false));
     }
 
     private void adjustDataset() {
+        dataset.remove(Tag.ExtendedOffsetTable);
+        dataset.remove(Tag.ExtendedOffsetTableLengths);
         PhotometricInterpretation pmi = imageDescriptor.getPhotometricInterpretation();
         if (decompressor != null) {
             if (imageDescriptor.getSamples() == 3) {
@@ -729,7 +799,7 @@ public class Transcoder implements Closeable {
         return bi;
     }
 
-    private void compressFrame(int frameIndex) throws IOException {
+    private ExtMemoryCacheImageOutputStream compressFrame(int frameIndex) throws IOException {
         ExtMemoryCacheImageOutputStream ios = new ExtMemoryCacheImageOutputStream(compressorImageDescriptor);
         compressor.setOutput(compressorParam.patchJPEGLS != null
                 ? new PatchJPEGLSImageOutputStream(ios, compressorParam.patchJPEGLS)
@@ -744,9 +814,12 @@ public class Transcoder implements Closeable {
         verify(ios, frameIndex);
         if ((length & 1) != 0) {
             ios.write(0);
-            length++;
         }
-        dos.writeHeader(Tag.Item, null, length);
+        return ios;
+    }
+
+    private void writeCompressedFrame(ExtMemoryCacheImageOutputStream ios) throws IOException {
+        dos.writeHeader(Tag.Item, null, (int) ios.getStreamPosition());
         ios.setOutputStream(dos);
         ios.flush();
     }
@@ -52,6 +52,8 @@ public class DicomImageReadParam extends ImageReadParam {
     private float windowWidth;
     private boolean autoWindowing = true;
     private boolean addAutoWindow = false;
+    private double autoWindowingLowerPercentile = 0;
+    private double autoWindowingUpperPercentile = 100;
     private boolean preferWindow = true;
     private boolean ignorePresentationLUTShape = false;
     private int windowIndex;
@@ -100,6 +102,26 @@ public class DicomImageReadParam extends ImageReadParam {
         this.addAutoWindow = addAutoWindow;
     }
 
+    public double getAutoWindowingLowerPercentile() {
+        return autoWindowingLowerPercentile;
+    }
+
+    public double getAutoWindowingUpperPercentile() {
+        return autoWindowingUpperPercentile;
+    }
+
+    /** Specifies the percentiles of the stored pixel values mapped to the lower and upper bound of the calculated
+     * Window. By default, the Window spans from the minimal (0) to the maximal (100) stored pixel value.
+     * @param lower percentile mapped to the lower bound of the Window, in the range 0 to {@code upper}
+     * @param upper percentile mapped to the upper bound of the Window, in the range {@code lower} to 100
+     */
+    public void setAutoWindowingPercentiles(double lower, double upper) {
+        if (lower < 0 || lower > upper || upper > 100)
+            throw new IllegalArgumentException("lower: " + lower + ", upper: " + upper);
+        this.autoWindowingLowerPercentile = lower;
+        this.autoWindowingUpperPercentile = upper;
+    }
+
     public boolean isPreferWindow() {
         return preferWindow;
     }
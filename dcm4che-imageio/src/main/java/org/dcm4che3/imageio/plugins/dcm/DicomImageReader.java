@@ -38,6 +38,7 @@
 
 package org.dcm4che3.imageio.plugins.dcm;
 
+import java.awt.Rectangle;
 import java.awt.color.ColorSpace;
 import java.awt.image.*;
 import java.io.EOFException;
@@ -56,7 +57,6 @@ import javax.imageio.ImageReader;
 import javax.imageio.ImageTypeSpecifier;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.spi.ImageReaderSpi;
-import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.ImageInputStream;
 
 import org.dcm4che3.data.Attributes;
@@ -76,6 +76,7 @@ import org.dcm4che3.imageio.codec.jpeg.PatchJPEGLS;
 import org.dcm4che3.imageio.codec.jpeg.PatchJPEGLSImageInputStream;
 import org.dcm4che3.imageio.stream.EncapsulatedPixelDataImageInputStream;
 import org.dcm4che3.imageio.stream.ImageInputStreamAdapter;
+import org.dcm4che3.imageio.stream.PathImageInputStream;
 import org.dcm4che3.imageio.stream.SegmentedInputImageStream;
 import org.dcm4che3.io.BulkDataDescriptor;
 import org.dcm4che3.io.DicomInputStream;
@@ -158,6 +159,7 @@ public class DicomImageReader extends ImageReader implements Closeable {
     private PhotometricInterpretation pmiAfterDecompression;
     private ImageDescriptor imageDescriptor;
     private ICCProfile.ColorSpaceFactory colorSpaceFactory;
+    private PixelStatistics[] pixelStatistics;
 
     public DicomImageReader(ImageReaderSpi originatingProvider) {
         super(originatingProvider);
@@ -296,7 +298,7 @@ public class DicomImageReader extends ImageReader implements Closeable {
     private void openiis() throws IOException {
         if (iis == null) {
             if (pixelDataFile != null) {
-                iis = new FileImageInputStream(pixelDataFile);
+                iis = new PathImageInputStream(pixelDataFile);
             } else if (pixeldataBytes != null) {
                 iis = new SegmentedInputImageStream(pixeldataBytes);
             }
@@ -363,57 +365,213 @@ public class DicomImageReader extends ImageReader implements Closeable {
         readMetadata();
         checkIndex(frameIndex);
 
+        boolean subRegion = isSubRegion(param);
+        boolean decodeSubRegion = subRegion && canDecodeSubRegion();
+        Raster raster;
         openiis();
         try {
             if (decompressor != null) {
                 decompressor.setInput(iisOfFrame(frameIndex));
-    
+
                 if (LOG.isDebugEnabled())
                     LOG.debug("Start decompressing frame #" + (frameIndex + 1));
-                Raster wr = pmiAfterDecompression == pmi && decompressor.canReadRaster()
-                        ? decompressor.readRaster(0, decompressParam(param))
-                        : decompressor.read(0, decompressParam(param)).getRaster();
+                ImageReadParam decompressParam = decompressParam(param, decodeSubRegion);
+                raster = pmiAfterDecompression == pmi && decompressor.canReadRaster()
+                        ? decompressor.readRaster(0, decompressParam)
+                        : decompressor.read(0, decompressParam).getRaster();
                 if (LOG.isDebugEnabled())
                     LOG.debug("Finished decompressing frame #" + (frameIndex + 1));
-                return wr;
-            }
-            WritableRaster wr = Raster.createWritableRaster(
-                    createSampleModel(dataType, banded), null);
-            DataBuffer buf = wr.getDataBuffer();
-            if (dis != null) {
-                dis.skipFully((frameIndex - flushedFrames) * frameLength);
-                flushedFrames = frameIndex + 1;
-            } else if (pixeldataBytes != null) {
-                iis.setByteOrder(bigEndian()
-                        ? ByteOrder.BIG_ENDIAN
-                        : ByteOrder.LITTLE_ENDIAN);
-                iis.seek(frameIndex * frameLength);
             } else {
-                iis.setByteOrder(bigEndian()
-                        ? ByteOrder.BIG_ENDIAN
-                        : ByteOrder.LITTLE_ENDIAN);
-                iis.seek(pixelData.offset() + frameIndex * frameLength);
+                raster = readNativeRaster(frameIndex, decodeSubRegion ? param : null);
             }
-            if (buf instanceof DataBufferByte) {
-                byte[][] data = ((DataBufferByte) buf).getBankData();
-                for (byte[] bs : data)
-                    if (dis != null)
-                        dis.readFully(bs);
-                    else
-                        iis.readFully(bs);
-                if (pixelDataVR == VR.OW && bigEndian())
-                    ByteUtils.swapShorts(data);
-            } else {
-                short[] data = ((DataBufferUShort) buf).getData();
+        } finally {
+            closeiis();
+        }
+        return subRegion && !decodeSubRegion
+                ? subsample(raster, param)
+                : raster;
+    }
+
+    private WritableRaster readNativeRaster(int frameIndex, ImageReadParam param)
+            throws IOException {
+        if (param != null)
+            return readNativeSubRegion(frameIndex, param);
+
+        WritableRaster wr = Raster.createWritableRaster(
+                createSampleModel(dataType, banded), null);
+        DataBuffer buf = wr.getDataBuffer();
+        seekNativeFrame(frameIndex);
+        if (buf instanceof DataBufferByte) {
+            byte[][] data = ((DataBufferByte) buf).getBankData();
+            for (byte[] bs : data)
                 if (dis != null)
-                    dis.readFully(data, 0, data.length);
+                    dis.readFully(bs);
                 else
-                    iis.readFully(data, 0, data.length);
+                    iis.readFully(bs);
+            if (pixelDataVR == VR.OW && bigEndian())
+                ByteUtils.swapShorts(data);
+        } else {
+            short[] data = ((DataBufferUShort) buf).getData();
+            if (dis != null)
+                dis.readFully(data, 0, data.length);
+            else
+                iis.readFully(data, 0, data.length);
+        }
+        if (dis != null)
+            flushedFrames = frameIndex + 1;
+        return wr;
+    }
+
+    private void seekNativeFrame(int frameIndex) throws IOException {
+        if (dis != null) {
+            dis.skipFully((frameIndex - flushedFrames) * (long) frameLength);
+        } else {
+            iis.setByteOrder(bigEndian()
+                    ? ByteOrder.BIG_ENDIAN
+                    : ByteOrder.LITTLE_ENDIAN);
+            iis.seek(frameOffset(frameIndex));
+        }
+    }
+
+    private long frameOffset(int frameIndex) {
+        long offset = frameIndex * (long) frameLength;
+        return pixeldataBytes != null ? offset : pixelData.offset() + offset;
+    }
+
+    /**
+     * Reads only the rows and columns of a native (uncompressed) frame selected by the source region and the
+     * source subsampling of {@code param}, without materializing the whole frame.
+     */
+    private WritableRaster readNativeSubRegion(int frameIndex, ImageReadParam param) throws IOException {
+        Rectangle srcRegion = getSourceRegion(param, width, height);
+        int xPeriod = param.getSourceXSubsampling();
+        int yPeriod = param.getSourceYSubsampling();
+        int dstWidth = (srcRegion.width + xPeriod - 1) / xPeriod;
+        int dstHeight = (srcRegion.height + yPeriod - 1) / yPeriod;
+        WritableRaster wr = Raster.createWritableRaster(
+                pmi.createSampleModel(dataType, dstWidth, dstHeight, samples, banded), null);
+        DataBuffer buf = wr.getDataBuffer();
+        int bytesPerSample = bitsAllocated >> 3;
+        int pixelStride = banded ? 1 : samples;
+        int srcLineLength = width * pixelStride * bytesPerSample;
+        int segmentLength = ((dstWidth - 1) * xPeriod + 1) * pixelStride * bytesPerSample;
+        byte[] line = new byte[segmentLength];
+        int planes = banded ? samples : 1;
+        int planeLength = height * srcLineLength;
+        long framePos = 0;
+        seekNativeFrame(frameIndex);
+        for (int plane = 0; plane < planes; plane++) {
+            for (int dy = 0; dy < dstHeight; dy++) {
+                long segmentPos = plane * (long) planeLength
+                        + (srcRegion.y + dy * yPeriod) * (long) srcLineLength
+                        + srcRegion.x * pixelStride * bytesPerSample;
+                skipInFrame(segmentPos - framePos);
+                readInFrame(line);
+                framePos = segmentPos + segmentLength;
+                if (bytesPerSample == 1)
+                    copyLine(line, ((DataBufferByte) buf).getData(plane),
+                            dy * dstWidth * pixelStride, dstWidth, pixelStride, xPeriod);
+                else
+                    copyLine(line, ((DataBufferUShort) buf).getData(plane),
+                            dy * dstWidth * pixelStride, dstWidth, pixelStride, xPeriod);
             }
-            return wr;
-        } finally {
-            closeiis();
         }
+        if (dis != null) {
+            dis.skipFully(frameLength - framePos);
+            flushedFrames = frameIndex + 1;
+        }
+        return wr;
+    }
+
+    private void skipInFrame(long n) throws IOException {
+        if (dis != null)
+            dis.skipFully(n);
+        else
+            iis.seek(iis.getStreamPosition() + n);
+    }
+
+    private void readInFrame(byte[] b) throws IOException {
+        if (dis != null)
+            dis.readFully(b);
+        else
+            iis.readFully(b);
+    }
+
+    private static void copyLine(byte[] src, byte[] dst, int dstPos, int dstWidth, int pixelStride,
+            int xPeriod) {
+        if (xPeriod == 1) {
+            System.arraycopy(src, 0, dst, dstPos, dstWidth * pixelStride);
+            return;
+        }
+        int srcStep = xPeriod * pixelStride;
+        for (int x = 0, srcPos = 0; x < dstWidth; x++, srcPos += srcStep)
+            for (int s = 0; s < pixelStride; s++)
+                dst[dstPos++] = src[srcPos + s];
+    }
+
+    private void copyLine(byte[] src, short[] dst, int dstPos, int dstWidth, int pixelStride,
+            int xPeriod) {
+        boolean bigEndian = bigEndian();
+        int srcStep = (xPeriod - 1) * pixelStride << 1;
+        for (int x = 0, srcPos = 0; x < dstWidth; x++, srcPos += srcStep)
+            for (int s = 0; s < pixelStride; s++, srcPos += 2)
+                dst[dstPos++] = (short) (bigEndian
+                        ? ((src[srcPos] & 0xff) << 8) | (src[srcPos + 1] & 0xff)
+                        : ((src[srcPos + 1] & 0xff) << 8) | (src[srcPos] & 0xff));
+    }
+
+    private static boolean isSubRegion(ImageReadParam param) {
+        if (param == null)
+            return false;
+
+        return param.getSourceRegion() != null
+                || param.getSourceXSubsampling() != 1
+                || param.getSourceYSubsampling() != 1
+                || param.getSubsamplingXOffset() != 0
+                || param.getSubsamplingYOffset() != 0;
+    }
+
+    /**
+     * Returns {@code true} if the source region and source subsampling of a read param can be applied while
+     * reading the pixel data, so only the selected pixels have to be decoded. Otherwise the whole frame is
+     * decoded and cropped/subsampled afterwards.
+     */
+    private boolean canDecodeSubRegion() {
+        if (decompressor != null)
+            return !rle;
+
+        return (bitsAllocated == 8 || bitsAllocated == 16)
+                && !pmi.isSubSampled()
+                && !(bitsAllocated == 8 && pixelDataVR == VR.OW && bigEndian());
+    }
+
+    private WritableRaster subsample(Raster raster, ImageReadParam param) {
+        Rectangle srcRegion = getSourceRegion(param, raster.getWidth(), raster.getHeight());
+        int xPeriod = param.getSourceXSubsampling();
+        int yPeriod = param.getSourceYSubsampling();
+        int dstWidth = (srcRegion.width + xPeriod - 1) / xPeriod;
+        int dstHeight = (srcRegion.height + yPeriod - 1) / yPeriod;
+        int minX = raster.getMinX();
+        int minY = raster.getMinY();
+        WritableRaster dst = raster.createCompatibleWritableRaster(dstWidth, dstHeight);
+        Object data = null;
+        for (int dy = 0, y = minY + srcRegion.y; dy < dstHeight; dy++, y += yPeriod) {
+            if (xPeriod == 1) {
+                data = raster.getDataElements(minX + srcRegion.x, y, dstWidth, 1, data);
+                dst.setDataElements(0, dy, dstWidth, 1, data);
+            } else {
+                for (int dx = 0, x = minX + srcRegion.x; dx < dstWidth; dx++, x += xPeriod) {
+                    data = raster.getDataElements(x, y, data);
+                    dst.setDataElements(dx, dy, data);
+                }
+            }
+        }
+        return dst;
+    }
+
+    private BufferedImage subsample(BufferedImage bi, ImageReadParam param) {
+        ColorModel cm = bi.getColorModel();
+        return new BufferedImage(cm, subsample(bi.getRaster(), param), cm.isAlphaPremultiplied(), null);
     }
 
     private boolean bigEndian() {
@@ -424,13 +582,21 @@ public class DicomImageReader extends ImageReader implements Closeable {
         return metadata.getTransferSyntaxUID();
     }
 
-    private ImageReadParam decompressParam(ImageReadParam param) {
+    private ImageReadParam decompressParam(ImageReadParam param, boolean decodeSubRegion) {
         ImageReadParam decompressParam = decompressor.getDefaultReadParam();
         ImageTypeSpecifier imageType = null;
         BufferedImage dest = null;
         if (param != null) {
             imageType = param.getDestinationType();
             dest = param.getDestination();
+            if (decodeSubRegion) {
+                decompressParam.setSourceRegion(param.getSourceRegion());
+                decompressParam.setSourceSubsampling(
+                        param.getSourceXSubsampling(),
+                        param.getSourceYSubsampling(),
+                        param.getSubsamplingXOffset(),
+                        param.getSubsamplingYOffset());
+            }
         }
         if (rle && imageType == null && dest == null)
             imageType = createImageType(bitsStored, dataType, true, sRGB);
@@ -445,6 +611,11 @@ public class DicomImageReader extends ImageReader implements Closeable {
         readMetadata();
         checkIndex(frameIndex);
 
+        // Overlays are defined in the coordinate space of the whole frame, so sub-regions with active overlays
+        // are cropped/subsampled after rendering
+        boolean subRegion = isSubRegion(param);
+        boolean decodeSubRegion = subRegion && canDecodeSubRegion()
+                && getActiveOverlayGroupOffsets(param).length == 0;
         BufferedImage bi = null;
         WritableRaster raster;
         if (decompressor != null) {
@@ -455,18 +626,26 @@ public class DicomImageReader extends ImageReader implements Closeable {
                 iisOfFrame.length();
                 decompressor.setInput(iisOfFrame);
                 LOG.debug("Start decompressing frame #{}", (frameIndex + 1));
-                bi = decompressor.read(0, decompressParam(param));
+                bi = decompressor.read(0, decompressParam(param, decodeSubRegion));
                 LOG.debug("Finished decompressing frame #{}", (frameIndex + 1));
             } finally {
                 closeiis();
             }
             raster = bi.getRaster();
         } else {
-            raster = (WritableRaster) readRaster(frameIndex, param);
+            openiis();
+            try {
+                raster = readNativeRaster(frameIndex, decodeSubRegion ? param : null);
+            } finally {
+                closeiis();
+            }
         }
-        return pmi.isMonochrome()
+        BufferedImage result = pmi.isMonochrome()
                 ? applyGrayscaleTransformations(frameIndex, param, raster)
                 : applyColorTransformations(frameIndex, param, raster, bi);
+        return subRegion && !decodeSubRegion
+                ? subsample(result, param)
+                : result;
     }
 
     private BufferedImage applyGrayscaleTransformations(int frameIndex, ImageReadParam param, WritableRaster raster) {
@@ -477,10 +656,10 @@ public class DicomImageReader extends ImageReader implements Closeable {
         }
         SampleModel sm = new PixelInterleavedSampleModel(
                 DataBuffer.TYPE_BYTE,
-                width,
-                height,
+                raster.getWidth(),
+                raster.getHeight(),
                 1,
-                width,
+                raster.getWidth(),
                 new int[1]);
         raster = applyLUTs(raster, frameIndex, param, sm, 8);
         for (int i = 0; i < overlayGroupOffsets.length; i++) {
@@ -697,7 +876,10 @@ public class DicomImageReader extends ImageReader implements Closeable {
                     dParam.getVOILUTIndex(),
                     dParam.isPreferWindow());
             if (dParam.isAutoWindowing())
-                lutParam.autoWindowing(imgAttrs, raster, dParam.isAddAutoWindow());
+                lutParam.autoWindowing(imgAttrs, pixelStatistics(frameIndex, raster, sv),
+                        dParam.getAutoWindowingLowerPercentile(),
+                        dParam.getAutoWindowingUpperPercentile(),
+                        dParam.isAddAutoWindow());
             lutParam.setPresentationLUT(imgAttrs, dParam.isIgnorePresentationLUTShape());
         }
         LookupTable lut = lutParam.createLUT(outBits);
@@ -705,6 +887,38 @@ public class DicomImageReader extends ImageReader implements Closeable {
         return destRaster;
     }
 
+    /**
+     * Returns the statistics of the stored pixel values of the specified grayscale frame. The statistics are
+     * calculated once per frame and cached until the input of the reader is changed, so rendering a frame
+     * repeatedly with auto-windowing does not scan its pixels again.
+     *
+     * @param frameIndex index of the frame
+     * @return statistics of the stored pixel values of the frame
+     * @throws IOException if an error occurs reading the frame
+     */
+    public PixelStatistics getPixelStatistics(int frameIndex) throws IOException {
+        readMetadata();
+        checkIndex(frameIndex);
+        PixelStatistics stats = pixelStatistics != null ? pixelStatistics[frameIndex] : null;
+        return stats != null
+                ? stats
+                : pixelStatistics(frameIndex, readRaster(frameIndex, null),
+                        StoredValue.valueOf(metadata.getAttributes()));
+    }
+
+    private PixelStatistics pixelStatistics(int frameIndex, Raster raster, StoredValue sv) {
+        if (pixelStatistics == null)
+            pixelStatistics = new PixelStatistics[frames];
+        PixelStatistics stats = pixelStatistics[frameIndex];
+        if (stats == null) {
+            stats = PixelStatistics.of(sv, raster);
+            // statistics of a sub-region or a subsampled frame are not representative for the whole frame
+            if (raster.getWidth() == width && raster.getHeight() == height)
+                pixelStatistics[frameIndex] = stats;
+        }
+        return stats;
+    }
+
     private Attributes selectFctGroup(Attributes imgAttrs,
             Attributes sharedFctGroups, 
             Attributes frameFctGroups,
@@ -800,7 +1014,26 @@ public class DicomImageReader extends ImageReader implements Closeable {
         pixelDataFragments = new Fragments(pixelDataVR, dis.bigEndian(), frames);
         pixelDataFragments.add(b);
         
-        generateOffsetLengths(pixelDataFragments, frames,b, start);
+        Attributes ds = metadata.getAttributes();
+        long[] offsets = ds.getLongs(Tag.ExtendedOffsetTable);
+        long[] lengths = ds.getLongs(Tag.ExtendedOffsetTableLengths);
+        if (b.length == 0 && offsets != null && lengths != null
+                && offsets.length == frames && lengths.length == frames)
+            generateOffsetLengths(pixelDataFragments, offsets, lengths, start);
+        else
+            generateOffsetLengths(pixelDataFragments, frames,b, start);
+    }
+
+    /**
+     * Creates the offset/length table from the Extended Offset Table (7FE0,0001) and Extended Offset Table Lengths
+     * (7FE0,0002), so each frame can be accessed directly without scanning the Data Fragments of previous frames.
+     */
+    public static void generateOffsetLengths(Fragments pixelData, long[] offsets, long[] lengths, long start) {
+        for (int frame = 0; frame < offsets.length; frame++) {
+            LOG.trace("Found extended offset {} for frame {}", offsets[frame], frame);
+            pixelData.add(new BulkData("compressedPixelData://",
+                    start + offsets[frame] + 8, (int) lengths[frame], false));
+        }
     }
 
     /** Creates an offset/length table based on the frame positions */
@@ -914,6 +1147,7 @@ public class DicomImageReader extends ImageReader implements Closeable {
         patchJpegLS = null;
         pmi = null;
         colorSpaceFactory = null;
+        pixelStatistics = null;
     }
 
     private void checkIndex(int frameIndex) {
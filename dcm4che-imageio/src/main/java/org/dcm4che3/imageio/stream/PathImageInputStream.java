@@ -0,0 +1,91 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.imageio.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import javax.imageio.stream.FileImageInputStream;
+
+/**
+ * {@link FileImageInputStream} which provides access to the read file and its {@link FileChannel}, so native
+ * codecs can read segments of the file directly, without accessing private fields of the JDK implementation.
+ *
+ * @since Oct 2026
+ */
+public class PathImageInputStream extends FileImageInputStream {
+
+    private final Path path;
+    private final RandomAccessFile raf;
+
+    public PathImageInputStream(File file) throws IOException {
+        this(file, new RandomAccessFile(file, "r"));
+    }
+
+    public PathImageInputStream(Path path) throws IOException {
+        this(path.toFile());
+    }
+
+    private PathImageInputStream(File file, RandomAccessFile raf) {
+        super(raf);
+        this.path = file.toPath();
+        this.raf = raf;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public File getFile() {
+        return path.toFile();
+    }
+
+    /**
+     * Returns the {@link FileChannel} of the read file. Reading from the channel does not change the position of
+     * this stream, if {@link FileChannel#read(java.nio.ByteBuffer, long)} is used.
+     *
+     * @return the {@link FileChannel} of the read file
+     */
+    public FileChannel getChannel() {
+        return raf.getChannel();
+    }
+}
@@ -52,6 +52,7 @@ import javax.json.stream.JsonParsingException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Objects;
@@ -60,6 +61,13 @@ import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 
 /**
+ * Reads DICOM JSON Model objects into {@link Attributes}.
+ *
+ * <p> Values of VRs with a fixed JSON type are read directly into typed arrays, if the
+ * {@code "vr"} precedes the {@code "Value"} property. If the parser is a {@link UTF8JSONParser},
+ * numbers are converted without {@code BigDecimal}, {@code InlineBinary} values are Base64
+ * decoded directly from the input bytes and skipped {@code BulkDataURI} values are not decoded.
+ *
  * @author Gunter Zeilinger <gunterze@gmail.com>
  *
  */
@@ -74,6 +82,7 @@ public class JSONReader {
     }
 
     private final JsonParser parser;
+    private final UTF8JSONParser utf8parser;
     private boolean skipBulkDataURI;
     private BulkData.Creator bulkDataCreator = BulkData::new;
     private Attributes fmi;
@@ -82,9 +91,14 @@ public class JSONReader {
     private int level = -1;
     private final ByteArrayOutputStream bout = new ByteArrayOutputStream(64);
     private final EnumMap<Group, String> pnGroups = new EnumMap<>(PersonName.Group.class);
+    private String[] strings = new String[16];
+    private int[] ints = new int[16];
+    private long[] longs = new long[16];
+    private double[] doubles = new double[16];
 
     public JSONReader(JsonParser parser) {
         this.parser = Objects.requireNonNull(parser);
+        this.utf8parser = parser instanceof UTF8JSONParser ? (UTF8JSONParser) parser : null;
     }
 
     public boolean isSkipBulkDataURI() {
@@ -134,33 +148,59 @@ public class JSONReader {
         }
         fmi = null;
         next();
-        doReadDataset(attrs);
+        doReadDataset(attrs, true);
         if (wrappedInArray) next();
         return attrs;
     }
 
     public void readDatasets(Callback callback) {
+        readDatasets(callback, null);
+    }
+
+    /**
+     * Reads the datasets of a JSON array into one reused {@code Attributes} instance, which is
+     * cleared before each dataset. The callback must not keep a reference to the passed dataset,
+     * but copy what it needs.
+     *
+     * @param attrs reused for each dataset
+     * @param callback invoked for each dataset
+     */
+    public void readDatasets(Attributes attrs, Callback callback) {
+        readDatasets(callback, Objects.requireNonNull(attrs));
+    }
+
+    private void readDatasets(Callback callback, Attributes reuse) {
         next();
         expect(Event.START_ARRAY);
         Attributes attrs;
         while (next() == JsonParser.Event.START_OBJECT) {
             fmi = null;
-            attrs = new Attributes();
+            if (reuse != null) {
+                attrs = reuse;
+                attrs.clear();
+            } else {
+                attrs = new Attributes();
+            }
             next();
-            doReadDataset(attrs);
+            doReadDataset(attrs, reuse == null);
             callback.onDataset(fmi, attrs);
         }
         expect(JsonParser.Event.END_ARRAY);
     }
 
     private Attributes doReadDataset(Attributes attrs) {
+        return doReadDataset(attrs, true);
+    }
+
+    private Attributes doReadDataset(Attributes attrs, boolean trimToSize) {
         level++;
         while (event == JsonParser.Event.KEY_NAME) {
             readAttribute(attrs);
             next();
         }
         expect(JsonParser.Event.END_OBJECT);
-        attrs.trimToSize();
+        if (trimToSize)
+            attrs.trimToSize();
         level--;
         return attrs;
     }
@@ -186,13 +226,14 @@ public class JSONReader {
                     }
                     break;
                 case "Value":
-                    el.values = readValues();
+                    if (!readTypedValues(el))
+                        el.values = readValues();
                     break;
                 case "InlineBinary":
                     el.bytes = readInlineBinary();
                     break;
                 case "BulkDataURI":
-                    el.bulkDataURI = valueString();
+                    el.bulkDataURI = readBulkDataURI();
                     break;
                 case "DataFragment":
                     el.values = readDataFragments();
@@ -213,6 +254,8 @@ public class JSONReader {
         else if (el.bulkDataURI != null) {
             if (!skipBulkDataURI)
                 attrs.setValue(tag, el.vr, bulkDataCreator.create(null, el.bulkDataURI, false));
+        } else if (el.typedValues != null) {
+            el.setTypedValues(attrs, tag);
         } else switch (el.vr) {
             case AE:
             case AS:
@@ -267,6 +310,164 @@ public class JSONReader {
         }
     }
 
+    private boolean readTypedValues(Element el) {
+        if (el.vr == null)
+            return false;
+        switch (el.vr) {
+            case AE:
+            case AS:
+            case AT:
+            case CS:
+            case DA:
+            case DS:
+            case DT:
+            case LO:
+            case LT:
+            case IS:
+            case SH:
+            case ST:
+            case TM:
+            case UC:
+            case UI:
+            case UR:
+            case UT:
+                el.typedValues = readStrings();
+                return true;
+            case FL:
+            case FD:
+                el.typedValues = readDoubles(el.vr);
+                return true;
+            case SL:
+            case SS:
+            case UL:
+            case US:
+                el.typedValues = readInts();
+                return true;
+            case SV:
+                el.typedValues = readLongs(Long::parseLong);
+                return true;
+            case UV:
+                el.typedValues = readLongs(Long::parseUnsignedLong);
+                return true;
+        }
+        return false;
+    }
+
+    private boolean nextValueArray() {
+        next();
+        if (this.event == Event.VALUE_STRING) {
+            LOG.info("Missing value array at {} - treat as single value", parser.getLocation());
+            return false;
+        }
+        expect(Event.START_ARRAY);
+        return true;
+    }
+
+    private String[] readStrings() {
+        if (!nextValueArray())
+            return new String[]{ getString() };
+        int n = 0;
+        while (next() != Event.END_ARRAY) {
+            String s;
+            switch (event) {
+                case VALUE_STRING:
+                    s = getString();
+                    break;
+                case VALUE_NUMBER:
+                    s = parser.getBigDecimal().toString();
+                    break;
+                case VALUE_NULL:
+                    s = null;
+                    break;
+                default:
+                    throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+            }
+            if (n == strings.length)
+                strings = Arrays.copyOf(strings, n << 1);
+            strings[n++] = s;
+        }
+        if (n == 0)
+            return null;
+        String[] ss = Arrays.copyOf(strings, n);
+        Arrays.fill(strings, 0, n, null);
+        return ss;
+    }
+
+    private double[] readDoubles(VR vr) {
+        if (!nextValueArray())
+            throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+        int n = 0;
+        while (next() != Event.END_ARRAY) {
+            double d;
+            switch (event) {
+                case VALUE_NUMBER:
+                    d = toDouble(vr, utf8parser != null
+                            ? utf8parser.getDouble()
+                            : parser.getBigDecimal().doubleValue());
+                    break;
+                case VALUE_NULL:
+                    LOG.info("decode {} null as NaN", vr);
+                    d = Double.NaN;
+                    break;
+                default:
+                    throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+            }
+            if (n == doubles.length)
+                doubles = Arrays.copyOf(doubles, n << 1);
+            doubles[n++] = d;
+        }
+        return n > 0 ? Arrays.copyOf(doubles, n) : null;
+    }
+
+    private int[] readInts() {
+        if (!nextValueArray())
+            throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+        int n = 0;
+        while (next() != Event.END_ARRAY) {
+            if (event != Event.VALUE_NUMBER)
+                throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+            if (n == ints.length)
+                ints = Arrays.copyOf(ints, n << 1);
+            ints[n++] = parser.getInt();
+        }
+        return n > 0 ? Arrays.copyOf(ints, n) : null;
+    }
+
+    private long[] readLongs(ToLongFunction<String> parse) {
+        if (!nextValueArray())
+            return new long[]{ parse.applyAsLong(getString()) };
+        int n = 0;
+        while (next() != Event.END_ARRAY) {
+            long l;
+            switch (event) {
+                case VALUE_NUMBER:
+                    l = parser.getLong();
+                    break;
+                case VALUE_STRING:
+                    l = parse.applyAsLong(getString());
+                    break;
+                default:
+                    throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+            }
+            if (n == longs.length)
+                longs = Arrays.copyOf(longs, n << 1);
+            longs[n++] = l;
+        }
+        return n > 0 ? Arrays.copyOf(longs, n) : null;
+    }
+
+    private static double toDouble(VR vr, double d) {
+        if (d == -Double.MAX_VALUE) {
+            LOG.info("decode {} {} as -Infinity", vr, d);
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (d == Double.MAX_VALUE) {
+            LOG.info("decode {} {} as Infinity", vr, d);
+            return Double.POSITIVE_INFINITY;
+        }
+        return d;
+    }
+
     private List<Object> readValues() {
         ArrayList<Object> list = new ArrayList<>();
         next();
@@ -360,7 +561,18 @@ public class JSONReader {
         return sb.toString();
     }
 
+    private String readBulkDataURI() {
+        next();
+        expect(JsonParser.Event.VALUE_STRING);
+        return skipBulkDataURI ? "" : getString();
+    }
+
     private byte[] readInlineBinary() {
+        if (utf8parser != null) {
+            next();
+            expect(JsonParser.Event.VALUE_STRING);
+            return utf8parser.getBase64Bytes();
+        }
         char[] base64 = valueString().toCharArray();
         bout.reset();
         try {
@@ -377,7 +589,7 @@ public class JSONReader {
         while (next() == Event.KEY_NAME) {
             switch (getString()) {
                 case "BulkDataURI":
-                    bulkDataURI = valueString();
+                    bulkDataURI = readBulkDataURI();
                     break;
                 case "InlineBinary":
                     bytes = readInlineBinary();
@@ -397,11 +609,25 @@ public class JSONReader {
     private static class Element {
         VR vr;
         List<Object> values;
+        Object typedValues;
         byte[] bytes;
         String bulkDataURI;
 
         boolean isEmpty() {
-            return (values == null || values.isEmpty()) && (bytes == null || bytes.length == 0) && bulkDataURI == null;
+            return (values == null || values.isEmpty())
+                    && typedValues == null
+                    && (bytes == null || bytes.length == 0) && bulkDataURI == null;
+        }
+
+        void setTypedValues(Attributes attrs, int tag) {
+            if (typedValues instanceof String[])
+                attrs.setString(tag, vr, (String[]) typedValues);
+            else if (typedValues instanceof double[])
+                attrs.setDouble(tag, vr, (double[]) typedValues);
+            else if (typedValues instanceof int[])
+                attrs.setInt(tag, vr, (int[]) typedValues);
+            else
+                attrs.setLong(tag, vr, (long[]) typedValues);
         }
 
         String[] toStrings() {
@@ -422,14 +648,7 @@ public class JSONReader {
                     LOG.info("decode {} null as NaN", vr);
                     d = Double.NaN;
                 } else {
-                    d = number.doubleValue();
-                    if (d == -Double.MAX_VALUE) {
-                        LOG.info("decode {} {} as -Infinity", vr, d);
-                        d = Double.NEGATIVE_INFINITY;
-                    } else if (d == Double.MAX_VALUE) {
-                        LOG.info("decode {} {} as Infinity", vr, d);
-                        d = Double.POSITIVE_INFINITY;
-                    }
+                    d = toDouble(vr, number.doubleValue());
                 }
                 ds[i] = d;
             }
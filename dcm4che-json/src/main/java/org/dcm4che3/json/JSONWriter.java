@@ -96,6 +96,11 @@ import org.slf4j.LoggerFactory;
  * </code>
  * </pre>
  *
+ * <p> If the generator is a {@link UTF8JSONGenerator}, attribute tags, Base64 encoded binary values
+ * and values of VRs restricted to the default character repertoire read from a
+ * {@link org.dcm4che3.io.DicomInputStream} are written directly into its byte buffer, without
+ * creating intermediate {@code String}s.
+ *
  * @author Gunter Zeilinger <gunterze@gmail.com>
  *
  */
@@ -105,6 +110,7 @@ public class JSONWriter implements DicomInputHandler {
     private static final int DOUBLE_MAX_BITS = 53;
 
     private final JsonGenerator gen;
+    private final UTF8JSONGenerator utf8gen;
     private final Deque<Boolean> hasItems = new ArrayDeque<>();
     private String replaceBulkDataURI;
     private EnumMap<VR, JsonValue.ValueType> jsonTypeByVR = new EnumMap<>(VR.class);
@@ -127,6 +133,7 @@ public class JSONWriter implements DicomInputHandler {
 
     public JSONWriter(JsonGenerator gen) {
         this.gen = gen;
+        this.utf8gen = gen instanceof UTF8JSONGenerator ? (UTF8JSONGenerator) gen : null;
     }
 
     public String getReplaceBulkDataURI() {
@@ -173,7 +180,7 @@ public class JSONWriter implements DicomInputHandler {
         if (TagUtils.isGroupLength(tag))
             return;
 
-        gen.writeStartObject(TagUtils.toHexString(tag));
+        writeStartObject(tag);
         gen.write("vr", vr.name());
         if (value instanceof Value)
             writeValue((Value) value, attrs.bigEndian());
@@ -183,6 +190,13 @@ public class JSONWriter implements DicomInputHandler {
         gen.writeEnd();
     }
 
+    private void writeStartObject(int tag) {
+        if (utf8gen != null)
+            utf8gen.writeStartObject(tag);
+        else
+            gen.writeStartObject(TagUtils.toHexString(tag));
+    }
+
     private void writeValue(Value value, boolean bigEndian) {
         if (value.isEmpty())
             return;
@@ -226,7 +240,7 @@ public class JSONWriter implements DicomInputHandler {
         } else if (dis.isExcludeBulkData()) {
             dis.readValue(dis, attrs);
         } else {
-            gen.writeStartObject(TagUtils.toHexString(tag));
+            writeStartObject(tag);
             gen.write("vr", vr.name());
             if (vr == VR.SQ || len == -1) {
                 hasItems.addLast(false);
@@ -308,6 +322,11 @@ public class JSONWriter implements DicomInputHandler {
     private void writeStringValues(VR vr, Object val, boolean bigEndian,
             SpecificCharacterSet cs) {
         gen.writeStartArray("Value");
+        if (utf8gen != null && val instanceof byte[] && isASCII(vr) && isASCII((byte[]) val)) {
+            writeASCIIValues((byte[]) val);
+            gen.writeEnd();
+            return;
+        }
         Object o = vr.toStrings(val, bigEndian, cs);
         String[] ss = (o instanceof String[])
                 ? (String[]) o
@@ -345,6 +364,51 @@ public class JSONWriter implements DicomInputHandler {
         gen.writeEnd();
     }
 
+    private boolean isASCII(VR vr) {
+        switch (vr) {
+            case AE:
+            case AS:
+            case CS:
+            case DA:
+            case DT:
+            case TM:
+            case UI:
+                return true;
+            case DS:
+            case IS:
+                return jsonTypeByVR.get(vr) != JsonValue.ValueType.NUMBER;
+        }
+        return false;
+    }
+
+    private static boolean isASCII(byte[] b) {
+        for (byte c : b)
+            if (c < 0)
+                return false;
+        return true;
+    }
+
+    private void writeASCIIValues(byte[] b) {
+        int begin = 0;
+        int end;
+        do {
+            end = begin;
+            while (end < b.length && b[end] != '\\')
+                end++;
+            int off = begin;
+            int len = end;
+            while (off < len && (b[off] & 0xff) <= ' ')
+                off++;
+            while (off < len && (b[len - 1] & 0xff) <= ' ')
+                len--;
+            if (off < len)
+                utf8gen.writeAscii(b, off, len - off);
+            else
+                gen.writeNull();
+            begin = end + 1;
+        } while (end < b.length);
+    }
+
     private void writeNumber(String s) {
         try {
             long l = StringUtils.parseIS(s);
@@ -431,7 +495,10 @@ public class JSONWriter implements DicomInputHandler {
             boolean preserve) {
         if (bigEndian)
             b = vr.toggleEndian(b, preserve);
-        gen.write("InlineBinary", encodeBase64(b));
+        if (utf8gen != null)
+            utf8gen.writeBase64("InlineBinary", b, 0, b.length);
+        else
+            gen.write("InlineBinary", encodeBase64(b));
     }
 
     private String encodeBase64(byte[] b) {
@@ -0,0 +1,653 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * {@link JsonGenerator} which encodes directly into a reusable UTF-8 byte buffer, avoiding the
+ * intermediate {@code String}s and {@code char[]}s of a {@code Writer} based generator. Strings are
+ * escaped and numbers formatted into the buffer in place; additional methods used by
+ * {@link JSONWriter} write attribute tags, ASCII encoded DICOM values and Base64 encoded binary
+ * values without creating intermediate objects. The output is compact (not pretty printed).
+ *
+ * <pre>
+ * <code>
+ * try (JsonGenerator gen = new UTF8JSONGenerator(out)) {
+ *     new JSONWriter(gen).write(attrs);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @since Oct 2026
+ */
+public class UTF8JSONGenerator implements JsonGenerator {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final int MAX_DEPTH = 1024;
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F' };
+    private static final byte[] LOWER_HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+    private static final byte[] BASE64 = {
+        'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J', 'K', 'L', 'M',
+        'N', 'O', 'P', 'Q', 'R', 'S', 'T', 'U', 'V', 'W', 'X', 'Y', 'Z',
+        'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l', 'm',
+        'n', 'o', 'p', 'q', 'r', 's', 't', 'u', 'v', 'w', 'x', 'y', 'z',
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '/' };
+    private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+    private static final byte[] TRUE = { 't', 'r', 'u', 'e' };
+    private static final byte[] FALSE = { 'f', 'a', 'l', 's', 'e' };
+    private static final byte[] MIN_LONG = { '-', '9', '2', '2', '3', '3', '7', '2', '0', '3', '6',
+            '8', '5', '4', '7', '7', '5', '8', '0', '8' };
+
+    private static final byte NONE = 0;
+    private static final byte OBJECT = 1;
+    private static final byte ARRAY = 2;
+
+    private final OutputStream out;
+    private final byte[] buf;
+    private int pos;
+    private final byte[] context = new byte[MAX_DEPTH + 1];
+    private final boolean[] first = new boolean[MAX_DEPTH + 1];
+    private int depth;
+    private boolean keyWritten;
+    private boolean closed;
+
+    public UTF8JSONGenerator(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    public UTF8JSONGenerator(OutputStream out, int bufferSize) {
+        if (out == null)
+            throw new NullPointerException("out");
+        if (bufferSize < MIN_BUFFER_SIZE)
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        this.out = out;
+        this.buf = new byte[bufferSize];
+        this.first[0] = true;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        beginValue();
+        push(OBJECT, '{');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        writeName(name);
+        push(OBJECT, '{');
+        return this;
+    }
+
+    /**
+     * Writes the 8 digit hexadecimal representation of the specified tag as name of a new JSON
+     * object, as used by the DICOM JSON Model for attribute keys.
+     *
+     * @param tag attribute tag
+     * @return this generator
+     */
+    public JsonGenerator writeStartObject(int tag) {
+        beginName();
+        ensure(12);
+        byte[] buf = this.buf;
+        int pos = this.pos;
+        buf[pos++] = '"';
+        for (int shift = 28; shift >= 0; shift -= 4)
+            buf[pos++] = HEX[(tag >>> shift) & 0xf];
+        buf[pos++] = '"';
+        buf[pos++] = ':';
+        this.pos = pos;
+        push(OBJECT, '{');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        writeName(name);
+        keyWritten = true;
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        beginValue();
+        push(ARRAY, '[');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        writeName(name);
+        push(ARRAY, '[');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        writeName(name);
+        writeJsonValue(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        writeName(name);
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        writeName(name);
+        writeAscii(value.toString());
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        writeName(name);
+        writeAscii(value.toString());
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        writeName(name);
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        writeName(name);
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        checkDouble(value);
+        writeName(name);
+        writeAscii(Double.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        writeName(name);
+        writeRaw(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        writeName(name);
+        writeRaw(NULL);
+        return this;
+    }
+
+    /**
+     * Writes a name/value pair with the Base64 encoding of the specified bytes as value. The bytes
+     * are encoded directly into the output buffer.
+     *
+     * @param name name in the name/value pair
+     * @param b bytes to encode
+     * @param off start offset in {@code b}
+     * @param len number of bytes to encode
+     * @return this generator
+     */
+    public JsonGenerator writeBase64(String name, byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        writeName(name);
+        ensure(1);
+        buf[pos++] = '"';
+        int n = len / 3;
+        while (n > 0) {
+            int chunk = Math.min(n, (buf.length - pos) >> 2);
+            if (chunk == 0) {
+                flushBuffer();
+                continue;
+            }
+            n -= chunk;
+            byte[] buf = this.buf;
+            int pos = this.pos;
+            while (chunk-- > 0) {
+                int v = (b[off++] & 0xff) << 16 | (b[off++] & 0xff) << 8 | (b[off++] & 0xff);
+                buf[pos++] = BASE64[v >>> 18];
+                buf[pos++] = BASE64[(v >>> 12) & 0x3f];
+                buf[pos++] = BASE64[(v >>> 6) & 0x3f];
+                buf[pos++] = BASE64[v & 0x3f];
+            }
+            this.pos = pos;
+        }
+        ensure(5);
+        switch (len % 3) {
+            case 1: {
+                int v = b[off] & 0xff;
+                buf[pos++] = BASE64[v >>> 2];
+                buf[pos++] = BASE64[(v & 0x03) << 4];
+                buf[pos++] = '=';
+                buf[pos++] = '=';
+                break;
+            }
+            case 2: {
+                int v = (b[off] & 0xff) << 8 | (b[off + 1] & 0xff);
+                buf[pos++] = BASE64[v >>> 10];
+                buf[pos++] = BASE64[(v >>> 4) & 0x3f];
+                buf[pos++] = BASE64[(v & 0x0f) << 2];
+                buf[pos++] = '=';
+                break;
+            }
+        }
+        buf[pos++] = '"';
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        if (depth == 0 || keyWritten)
+            throw new JsonGenerationException("writeEnd() not allowed in this context");
+        ensure(1);
+        buf[pos++] = (byte) (context[depth--] == OBJECT ? '}' : ']');
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        beginValue();
+        writeJsonValue(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        beginValue();
+        writeString(value);
+        return this;
+    }
+
+    /**
+     * Writes the specified US-ASCII encoded bytes as JSON string value. Bytes outside of the
+     * US-ASCII range are encoded as U+FFFD, as by decoding the bytes with the US-ASCII charset.
+     *
+     * @param b US-ASCII encoded bytes
+     * @param off start offset in {@code b}
+     * @param len number of bytes
+     * @return this generator
+     */
+    public JsonGenerator writeAscii(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off)
+            throw new IndexOutOfBoundsException();
+        beginValue();
+        ensure(1);
+        buf[pos++] = '"';
+        int end = off + len;
+        while (off < end) {
+            int c = b[off++];
+            if (c < 0)
+                writeChar('\ufffd');
+            else
+                writeChar((char) c);
+        }
+        ensure(1);
+        buf[pos++] = '"';
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        beginValue();
+        writeAscii(value.toString());
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        beginValue();
+        writeAscii(value.toString());
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        beginValue();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        beginValue();
+        writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        checkDouble(value);
+        beginValue();
+        writeAscii(Double.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        beginValue();
+        writeRaw(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        beginValue();
+        writeRaw(NULL);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        try {
+            flushBuffer0();
+            out.flush();
+        } catch (IOException e) {
+            throw new JsonException("I/O error while flushing generated JSON", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            flushBuffer0();
+            out.close();
+        } catch (IOException e) {
+            throw new JsonException("I/O error while closing JsonGenerator", e);
+        }
+        if (depth != 0 || first[0])
+            throw new JsonGenerationException("Generating incomplete JSON");
+    }
+
+    private static void checkDouble(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            throw new NumberFormatException("Not a valid JSON number: " + value);
+    }
+
+    private void push(byte type, char c) {
+        if (depth == MAX_DEPTH)
+            throw new JsonGenerationException("Maximal depth " + MAX_DEPTH + " exceeded");
+        ensure(1);
+        buf[pos++] = (byte) c;
+        context[++depth] = type;
+        first[depth] = true;
+        keyWritten = false;
+    }
+
+    private void beginValue() {
+        if (keyWritten) {
+            keyWritten = false;
+            return;
+        }
+        switch (context[depth]) {
+            case OBJECT:
+                throw new JsonGenerationException("Name/value pair expected in object context");
+            case NONE:
+                if (!first[0])
+                    throw new JsonGenerationException("Only one top-level value allowed");
+        }
+        writeCommaIfNotFirst();
+    }
+
+    private void beginName() {
+        if (context[depth] != OBJECT || keyWritten)
+            throw new JsonGenerationException("Name/value pair not allowed in this context");
+        writeCommaIfNotFirst();
+    }
+
+    private void writeCommaIfNotFirst() {
+        if (first[depth])
+            first[depth] = false;
+        else {
+            ensure(1);
+            buf[pos++] = ',';
+        }
+    }
+
+    private void writeName(String name) {
+        beginName();
+        writeString(name);
+        ensure(1);
+        buf[pos++] = ':';
+    }
+
+    private void writeJsonValue(JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT:
+                push(OBJECT, '{');
+                for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet())
+                    write(entry.getKey(), entry.getValue());
+                writeEnd();
+                break;
+            case ARRAY:
+                push(ARRAY, '[');
+                for (JsonValue item : (JsonArray) value)
+                    write(item);
+                writeEnd();
+                break;
+            case STRING:
+                writeString(((JsonString) value).getString());
+                break;
+            case NUMBER:
+                writeAscii(((JsonNumber) value).toString());
+                break;
+            case TRUE:
+                writeRaw(TRUE);
+                break;
+            case FALSE:
+                writeRaw(FALSE);
+                break;
+            case NULL:
+                writeRaw(NULL);
+                break;
+        }
+    }
+
+    private void writeRaw(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, buf, pos, b.length);
+        pos += b.length;
+    }
+
+    private void writeAscii(String s) {
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            if (pos == buf.length)
+                flushBuffer();
+            buf[pos++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void writeLong(long l) {
+        if (l == Long.MIN_VALUE) {
+            writeRaw(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        byte[] buf = this.buf;
+        if (l < 0) {
+            buf[pos++] = '-';
+            l = -l;
+        }
+        int end = pos + digits(l);
+        int i = end;
+        do {
+            buf[--i] = (byte) ('0' + (int) (l % 10));
+            l /= 10;
+        } while (l != 0);
+        pos = end;
+    }
+
+    private static int digits(long l) {
+        int n = 1;
+        while (l >= 10) {
+            l /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    private void writeString(String s) {
+        ensure(1);
+        buf[pos++] = '"';
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < len
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, s.charAt(++i)));
+            } else {
+                writeChar(c);
+            }
+        }
+        ensure(1);
+        buf[pos++] = '"';
+    }
+
+    private void writeChar(char c) {
+        if (pos + 6 > buf.length)
+            flushBuffer();
+        byte[] buf = this.buf;
+        if (c < 0x80) {
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                buf[pos++] = (byte) c;
+                return;
+            }
+            buf[pos++] = '\\';
+            switch (c) {
+                case '"':
+                case '\\':
+                    buf[pos++] = (byte) c;
+                    break;
+                case '\b':
+                    buf[pos++] = 'b';
+                    break;
+                case '\f':
+                    buf[pos++] = 'f';
+                    break;
+                case '\n':
+                    buf[pos++] = 'n';
+                    break;
+                case '\r':
+                    buf[pos++] = 'r';
+                    break;
+                case '\t':
+                    buf[pos++] = 't';
+                    break;
+                default:
+                    buf[pos++] = 'u';
+                    buf[pos++] = '0';
+                    buf[pos++] = '0';
+                    buf[pos++] = LOWER_HEX[c >> 4];
+                    buf[pos++] = LOWER_HEX[c & 0xf];
+            }
+        } else if (c < 0x800) {
+            buf[pos++] = (byte) (0xc0 | (c >> 6));
+            buf[pos++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            // unpaired surrogate - encode as '?', as by String.getBytes(UTF_8)
+            buf[pos++] = '?';
+        } else {
+            buf[pos++] = (byte) (0xe0 | (c >> 12));
+            buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buf[pos++] = (byte) (0x80 | (c & 0x3f));
+        }
+    }
+
+    private void writeCodePoint(int cp) {
+        ensure(4);
+        byte[] buf = this.buf;
+        buf[pos++] = (byte) (0xf0 | (cp >> 18));
+        buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+        buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+        buf[pos++] = (byte) (0x80 | (cp & 0x3f));
+    }
+
+    private void ensure(int n) {
+        if (pos + n > buf.length) {
+            flushBuffer();
+            if (n > buf.length)
+                throw new IllegalStateException("buffer too small: " + buf.length);
+        }
+    }
+
+    private void flushBuffer() {
+        try {
+            flushBuffer0();
+        } catch (IOException e) {
+            throw new JsonException("I/O error while writing generated JSON", e);
+        }
+    }
+
+    private void flushBuffer0() throws IOException {
+        if (pos > 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
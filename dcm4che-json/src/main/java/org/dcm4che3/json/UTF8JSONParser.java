@@ -0,0 +1,673 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.json.JsonException;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+
+/**
+ * {@link JsonParser} which tokenizes UTF-8 encoded JSON directly from the bytes of an
+ * {@code InputStream}, without a {@code Reader} and char decoder in between. String values are
+ * decoded lazily: a string which is skipped by calling {@link #next()} without {@link #getString()}
+ * is only scanned for its end, and {@link #getBase64Bytes()} decodes a Base64 encoded string value
+ * directly from the input bytes, as used by {@link JSONReader} for {@code InlineBinary} values.
+ *
+ * <pre>
+ * <code>
+ * try (JsonParser parser = new UTF8JSONParser(in)) {
+ *     Attributes attrs = new JSONReader(parser).readDataset(null);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @since Oct 2026
+ */
+public class UTF8JSONParser implements JsonParser {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private static final int MIN_BUFFER_SIZE = 64;
+    private static final int MAX_DEPTH = 1024;
+    private static final int MAX_INT_DIGITS = 18;
+    private static final byte NONE = 0;
+    private static final byte OBJECT = 1;
+    private static final byte ARRAY = 2;
+    private static final byte[] INV_BASE64 = new byte[128];
+    static {
+        Arrays.fill(INV_BASE64, (byte) -1);
+        String base64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < base64.length(); i++)
+            INV_BASE64[base64.charAt(i)] = (byte) i;
+    }
+
+    private final InputStream in;
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    private long bufOffset;
+    private long lineNumber = 1;
+    private long lineOffset;
+    private final byte[] context = new byte[MAX_DEPTH + 1];
+    private int depth;
+    private boolean afterValue;
+    private boolean afterKey;
+    private Event event;
+    private boolean pendingString;
+    private char[] chars = new char[64];
+    private int charsLength;
+    private String string;
+    private boolean integral;
+    private byte[] bytes = new byte[64];
+
+    public UTF8JSONParser(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public UTF8JSONParser(InputStream in, int bufferSize) {
+        if (in == null)
+            throw new NullPointerException("in");
+        if (bufferSize < MIN_BUFFER_SIZE)
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        this.in = in;
+        this.buf = new byte[bufferSize];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (depth > 0 || !afterValue)
+            return true;
+        skipPendingString();
+        if (skipWhitespace() < 0)
+            return false;
+        throw unexpected(buf[pos]);
+    }
+
+    @Override
+    public Event next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        string = null;
+        int c = skipWhitespace();
+        switch (context[depth]) {
+            case OBJECT:
+                if (afterKey) {
+                    if (c != ':')
+                        throw unexpected(c);
+                    pos++;
+                    afterKey = false;
+                    return event = readValue(skipWhitespace());
+                }
+                if (c == '}')
+                    return event = endContainer(Event.END_OBJECT);
+                if (afterValue) {
+                    if (c != ',')
+                        throw unexpected(c);
+                    pos++;
+                    c = skipWhitespace();
+                }
+                if (c != '"')
+                    throw unexpected(c);
+                pos++;
+                readString();
+                afterKey = true;
+                return event = Event.KEY_NAME;
+            case ARRAY:
+                if (c == ']')
+                    return event = endContainer(Event.END_ARRAY);
+                if (afterValue) {
+                    if (c != ',')
+                        throw unexpected(c);
+                    pos++;
+                    c = skipWhitespace();
+                }
+                return event = readValue(c);
+        }
+        return event = readValue(c);
+    }
+
+    @Override
+    public String getString() {
+        if (event != Event.KEY_NAME && event != Event.VALUE_STRING && event != Event.VALUE_NUMBER)
+            throw new IllegalStateException("getString() not allowed at " + event);
+        if (pendingString) {
+            pendingString = false;
+            readString();
+        }
+        if (string == null)
+            string = new String(chars, 0, charsLength);
+        return string;
+    }
+
+    /**
+     * Returns the bytes of a Base64 encoded string value. If the value was not already accessed by
+     * {@link #getString()}, it is decoded directly from the input bytes.
+     *
+     * @return decoded bytes
+     * @throws IllegalStateException if the current event is not {@code VALUE_STRING}
+     * @throws JsonParsingException if the value is not a valid Base64 encoding
+     */
+    public byte[] getBase64Bytes() {
+        if (event != Event.VALUE_STRING)
+            throw new IllegalStateException("getBase64Bytes() not allowed at " + event);
+        String s = pendingString ? null : getString();
+        int acc = 0;
+        int n = 0;
+        int len = 0;
+        boolean padding = false;
+        int i = 0;
+        byte[] bytes = this.bytes;
+        for (;;) {
+            int c;
+            if (pendingString) {
+                if (pos == limit && !fill())
+                    throw new JsonParsingException("Unexpected end of input", getLocation());
+                c = buf[pos++];
+                if (c == '"') {
+                    pendingString = false;
+                    break;
+                }
+                if (c == '\\')
+                    c = readEscape();
+            } else {
+                if (i == s.length())
+                    break;
+                c = s.charAt(i++);
+            }
+            if (c == '=') {
+                padding = true;
+                continue;
+            }
+            int v = c >= 0 && c < 128 ? INV_BASE64[c] : -1;
+            if (v < 0 || padding)
+                throw new JsonParsingException("Invalid Base64 character: '" + (char) c + "'",
+                        getLocation());
+            acc = (acc << 6) | v;
+            if (++n == 4) {
+                if (len + 3 > bytes.length)
+                    this.bytes = bytes = Arrays.copyOf(bytes, bytes.length << 1);
+                bytes[len++] = (byte) (acc >> 16);
+                bytes[len++] = (byte) (acc >> 8);
+                bytes[len++] = (byte) acc;
+                acc = 0;
+                n = 0;
+            }
+        }
+        switch (n) {
+            case 1:
+                throw new JsonParsingException("Invalid Base64 length", getLocation());
+            case 2:
+                return append(bytes, len, (byte) (acc >> 4));
+            case 3:
+                return append(bytes, len, (byte) (acc >> 10), (byte) (acc >> 2));
+        }
+        return Arrays.copyOf(bytes, len);
+    }
+
+    private static byte[] append(byte[] bytes, int len, byte... b) {
+        byte[] result = Arrays.copyOf(bytes, len + b.length);
+        System.arraycopy(b, 0, result, len, b.length);
+        return result;
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        requireNumber();
+        return integral || getBigDecimal().scale() == 0;
+    }
+
+    @Override
+    public int getInt() {
+        requireNumber();
+        return integral && charsLength <= MAX_INT_DIGITS
+                ? (int) parseLong()
+                : getBigDecimal().intValue();
+    }
+
+    @Override
+    public long getLong() {
+        requireNumber();
+        return integral && charsLength <= MAX_INT_DIGITS
+                ? parseLong()
+                : getBigDecimal().longValue();
+    }
+
+    /**
+     * Returns the current number value as {@code double}, without creating a {@code BigDecimal}.
+     *
+     * @return number value
+     * @throws IllegalStateException if the current event is not {@code VALUE_NUMBER}
+     */
+    public double getDouble() {
+        requireNumber();
+        return integral && charsLength <= MAX_INT_DIGITS
+                ? parseLong()
+                : Double.parseDouble(getString());
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        requireNumber();
+        return new BigDecimal(chars, 0, charsLength);
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        long offset = bufOffset + pos;
+        return new Location(lineNumber, offset - lineOffset + 1, offset);
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new JsonException("I/O error while closing JSON parser", e);
+        }
+    }
+
+    private void requireNumber() {
+        if (event != Event.VALUE_NUMBER)
+            throw new IllegalStateException("Number value not available at " + event);
+    }
+
+    private long parseLong() {
+        int i = 0;
+        boolean negative = chars[0] == '-';
+        if (negative)
+            i++;
+        long l = 0;
+        while (i < charsLength)
+            l = l * 10 + (chars[i++] - '0');
+        return negative ? -l : l;
+    }
+
+    private Event readValue(int c) {
+        switch (c) {
+            case '{':
+                pos++;
+                push(OBJECT);
+                return Event.START_OBJECT;
+            case '[':
+                pos++;
+                push(ARRAY);
+                return Event.START_ARRAY;
+            case '"':
+                pos++;
+                pendingString = true;
+                afterValue = true;
+                return Event.VALUE_STRING;
+            case 't':
+                readLiteral("true");
+                afterValue = true;
+                return Event.VALUE_TRUE;
+            case 'f':
+                readLiteral("false");
+                afterValue = true;
+                return Event.VALUE_FALSE;
+            case 'n':
+                readLiteral("null");
+                afterValue = true;
+                return Event.VALUE_NULL;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                readNumber();
+                afterValue = true;
+                return Event.VALUE_NUMBER;
+        }
+        throw unexpected(c);
+    }
+
+    private void push(byte type) {
+        if (depth == MAX_DEPTH)
+            throw new JsonParsingException("Maximal depth " + MAX_DEPTH + " exceeded", getLocation());
+        context[++depth] = type;
+        afterValue = false;
+    }
+
+    private Event endContainer(Event event) {
+        pos++;
+        depth--;
+        afterValue = true;
+        return event;
+    }
+
+    private void readLiteral(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (pos == limit && !fill())
+                throw new JsonParsingException("Unexpected end of input", getLocation());
+            if (buf[pos] != literal.charAt(i))
+                throw unexpected(buf[pos]);
+            pos++;
+        }
+    }
+
+    private void readNumber() {
+        charsLength = 0;
+        integral = true;
+        int c = peek();
+        if (c == '-') {
+            appendChar(c);
+            c = peek();
+        }
+        if (c == '0') {
+            appendChar(c);
+            c = peek();
+        } else {
+            c = readDigits(c);
+        }
+        if (c == '.') {
+            integral = false;
+            appendChar(c);
+            c = readDigits(peek());
+        }
+        if (c == 'e' || c == 'E') {
+            integral = false;
+            appendChar(c);
+            c = peek();
+            if (c == '+' || c == '-') {
+                appendChar(c);
+                c = peek();
+            }
+            c = readDigits(c);
+        }
+        if (c >= 0 && !isDelimiter(c))
+            throw unexpected(c);
+    }
+
+    private int readDigits(int c) {
+        if (c < '0' || c > '9')
+            throw unexpected(c);
+        do {
+            appendChar(c);
+            c = peek();
+        } while (c >= '0' && c <= '9');
+        return c;
+    }
+
+    private static boolean isDelimiter(int c) {
+        switch (c) {
+            case ',':
+            case '}':
+            case ']':
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+                return true;
+        }
+        return false;
+    }
+
+    private int peek() {
+        return pos < limit || fill() ? buf[pos] : -1;
+    }
+
+    private void appendChar(int c) {
+        pos++;
+        if (charsLength == chars.length)
+            chars = Arrays.copyOf(chars, charsLength << 1);
+        chars[charsLength++] = (char) c;
+    }
+
+    private void readString() {
+        charsLength = 0;
+        int start = pos;
+        while (pos < limit) {
+            int b = buf[pos];
+            if (b == '"') {
+                string = new String(buf, start, pos++ - start, StandardCharsets.ISO_8859_1);
+                return;
+            }
+            if (b < 0x20 || b == '\\')
+                break;
+            pos++;
+        }
+        pos = start;
+        readStringSlow();
+    }
+
+    private void readStringSlow() {
+        for (;;) {
+            if (pos == limit && !fill())
+                throw new JsonParsingException("Unexpected end of input", getLocation());
+            int b = buf[pos++];
+            if (b == '"')
+                return;
+            ensureChars(charsLength + 2);
+            if (b >= 0x20 && b != '\\') {
+                chars[charsLength++] = (char) b;
+            } else if (b == '\\') {
+                chars[charsLength++] = (char) readEscape();
+            } else if (b >= 0) {
+                pos--;
+                throw unexpected(b);
+            } else {
+                readMultiByteChar(b);
+            }
+        }
+    }
+
+    private void readMultiByteChar(int b) {
+        int n;
+        int cp;
+        if ((b & 0xe0) == 0xc0) {
+            n = 1;
+            cp = b & 0x1f;
+        } else if ((b & 0xf0) == 0xe0) {
+            n = 2;
+            cp = b & 0x0f;
+        } else if ((b & 0xf8) == 0xf0) {
+            n = 3;
+            cp = b & 0x07;
+        } else {
+            chars[charsLength++] = '\ufffd';
+            return;
+        }
+        while (n-- > 0) {
+            if (pos == limit && !fill() || (buf[pos] & 0xc0) != 0x80) {
+                chars[charsLength++] = '\ufffd';
+                return;
+            }
+            cp = (cp << 6) | (buf[pos++] & 0x3f);
+        }
+        if (Character.isBmpCodePoint(cp)) {
+            chars[charsLength++] = (char) cp;
+        } else if (Character.isValidCodePoint(cp)) {
+            chars[charsLength++] = Character.highSurrogate(cp);
+            chars[charsLength++] = Character.lowSurrogate(cp);
+        } else {
+            chars[charsLength++] = '\ufffd';
+        }
+    }
+
+    private int readEscape() {
+        if (pos == limit && !fill())
+            throw new JsonParsingException("Unexpected end of input", getLocation());
+        int c = buf[pos++];
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int u = 0;
+                for (int i = 0; i < 4; i++) {
+                    if (pos == limit && !fill())
+                        throw new JsonParsingException("Unexpected end of input", getLocation());
+                    int d = Character.digit(buf[pos], 16);
+                    if (d < 0)
+                        throw unexpected(buf[pos]);
+                    pos++;
+                    u = (u << 4) | d;
+                }
+                return u;
+        }
+        pos--;
+        throw unexpected(c);
+    }
+
+    private void ensureChars(int length) {
+        if (length > chars.length)
+            chars = Arrays.copyOf(chars, Math.max(length, chars.length << 1));
+    }
+
+    private void skipPendingString() {
+        if (!pendingString)
+            return;
+        pendingString = false;
+        for (;;) {
+            if (pos == limit && !fill())
+                throw new JsonParsingException("Unexpected end of input", getLocation());
+            int b = buf[pos++];
+            if (b == '"')
+                return;
+            if (b == '\\') {
+                if (pos == limit && !fill())
+                    throw new JsonParsingException("Unexpected end of input", getLocation());
+                pos++;
+            }
+        }
+    }
+
+    private int skipWhitespace() {
+        skipPendingString();
+        for (;;) {
+            if (pos == limit && !fill())
+                return -1;
+            int b = buf[pos];
+            switch (b) {
+                case '\n':
+                    lineNumber++;
+                    lineOffset = bufOffset + pos + 1;
+                case ' ':
+                case '\t':
+                case '\r':
+                    pos++;
+                    break;
+                default:
+                    return b;
+            }
+        }
+    }
+
+    private boolean fill() {
+        try {
+            bufOffset += limit;
+            pos = limit = 0;
+            int n;
+            while ((n = in.read(buf)) == 0);
+            if (n < 0)
+                return false;
+            limit = n;
+            if (bufOffset == 0 && n >= 3 && (buf[0] & 0xff) == 0xef && (buf[1] & 0xff) == 0xbb
+                    && (buf[2] & 0xff) == 0xbf)
+                pos = 3;
+            return true;
+        } catch (IOException e) {
+            throw new JsonException("I/O error while parsing JSON", e);
+        }
+    }
+
+    private JsonParsingException unexpected(int c) {
+        return new JsonParsingException(c < 0
+                ? "Unexpected end of input"
+                : "Unexpected char " + (c < 0x20 || c > 0x7e ? "0x" + Integer.toHexString(c & 0xff) : "'" + (char) c + "'"),
+                getLocation());
+    }
+
+    private static class Location implements JsonLocation {
+        private final long lineNumber;
+        private final long columnNumber;
+        private final long streamOffset;
+
+        Location(long lineNumber, long columnNumber, long streamOffset) {
+            this.lineNumber = lineNumber;
+            this.columnNumber = columnNumber;
+            this.streamOffset = streamOffset;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public long getColumnNumber() {
+            return columnNumber;
+        }
+
+        @Override
+        public long getStreamOffset() {
+            return streamOffset;
+        }
+
+        @Override
+        public String toString() {
+            return "(line no=" + lineNumber + ", column no=" + columnNumber + ", offset=" + streamOffset + ")";
+        }
+    }
+}
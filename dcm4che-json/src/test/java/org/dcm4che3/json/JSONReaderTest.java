@@ -46,7 +46,11 @@ import org.junit.Test;
 
 import javax.json.Json;
 import javax.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -68,6 +72,33 @@ public class JSONReaderTest {
             "\"00720082\":{\"vr\":\"SV\",\"Value\":[0,\"1\",\"-2\"]}," +
             "\"00720083\":{\"vr\":\"UV\",\"Value\":[0,\"1\",\"18446744073709551614\"]}" +
             "}";
+    private static final String JSON2 = "[{" +
+            "\"00020010\":{\"vr\":\"UI\",\"Value\":[\"1.2.840.10008.1.2.1\"]}," +
+            "\"00080005\":{\"vr\":\"CS\",\"Value\":[\"ISO_IR 192\"]}," +
+            "\"00080008\":{\"Value\":[\"DERIVED\",null,\"PRIMARY\"],\"vr\":\"CS\"}," +
+            "\"00082112\":{\"vr\":\"SQ\",\"Value\":[{" +
+                "\"00081150\":{\"vr\":\"UI\",\"Value\":[\"1.2.840.10008.5.1.4.1.1.2\"]}},{}]}," +
+            "\"00090010\":{\"vr\":\"LO\",\"Value\":[\"PRIVATE\"]}," +
+            "\"00091000\":{\"vr\":\"OB\",\"InlineBinary\":\"\"}," +
+            "\"00091001\":{\"vr\":\"OB\",\"InlineBinary\":\"AA==\"}," +
+            "\"00091002\":{\"vr\":\"OB\",\"InlineBinary\":\"AAE=\"}," +
+            "\"00091003\":{\"vr\":\"OB\",\"InlineBinary\":\"\\/+8A\"}," +
+            "\"00091004\":{\"vr\":\"OW\",\"BulkDataURI\":\"file:\\/OverlayData\"}," +
+            "\"00100010\":{\"vr\":\"PN\",\"Value\":[{\"Alphabetic\":\"Wang^XiaoDong\"," +
+                "\"Ideographic\":\"\u738b^\u5c0f\u6771\"}]}," +
+            "\"00104000\":{\"vr\":\"LT\",\"Value\":[\"\\\"quoted\\\" \\u00e4\\ud83d\\ude00\\n" +
+                "\u00e4\u20ac\ud83d\ude00\"]}," +
+            "\"00181063\":{\"vr\":\"DS\",\"Value\":[33.0,1E+2,\"-0.5\"]}," +
+            "\"00280008\":{\"vr\":\"IS\",\"Value\":[]}," +
+            "\"00280009\":{\"vr\":\"AT\",\"Value\":[\"00181063\"]}," +
+            "\"00720074\":{\"vr\":\"FD\",\"Value\":[-1.5e-3,0.1,12345678901234567890]}," +
+            "\"00720078\":{\"vr\":\"UL\",\"Value\":\n  [ 0 , 1 ,\t4294967294 ]}," +
+            "\"00720082\":{\"vr\":\"SV\",\"Value\":[-9223372036854775808,\"9223372036854775807\"]}," +
+            "\"7FE00010\":{\"vr\":\"OB\",\"DataFragment\":[null,{\"BulkDataURI\":\"file:/PixelData\"}," +
+                "{\"InlineBinary\":\"AAEC\"}]}" +
+            "},{" +
+            "\"00100020\":{\"vr\":\"LO\",\"Value\":[\"PID\"]}" +
+            "},{}]";
     private static final String[] IS = { null, "1", "-2" };
     private static final String[] DS = { null, "1.0", "-2.0" };
     private static final int[] INTS = { 0, 1, -2 };
@@ -105,4 +136,46 @@ public class JSONReaderTest {
         assertTrue(Float.POSITIVE_INFINITY == floats[2]);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testUTF8JSONParser() throws Exception {
+        List<Attributes> expected = readDatasets(
+                Json.createParser(new StringReader(JSON2)), false);
+        for (boolean skipBulkDataURI : new boolean[] { false, true }) {
+            assertEquals(readDatasets(Json.createParser(new StringReader(JSON2)), skipBulkDataURI),
+                    readDatasets(utf8parser(JSON2), skipBulkDataURI));
+        }
+        assertArrayEquals(new byte[] { (byte) 0xff, (byte) 0xef, 0 },
+                expected.get(0).getBytes(PRIVATE, 0x00091003));
+        assertEquals(3, expected.size());
+    }
+
+    @Test
+    public void testReadDatasetsReuseAttributes() {
+        List<Attributes> expected = readDatasets(utf8parser(JSON2), false);
+        List<Attributes> actual = new ArrayList<>();
+        Attributes reused = new Attributes();
+        new JSONReader(utf8parser(JSON2)).readDatasets(reused,
+                (fmi, dataset) -> {
+                    assertSame(reused, dataset);
+                    actual.add(new Attributes(dataset));
+                });
+        assertEquals(expected, actual);
+        assertEquals(SpecificCharacterSet.getDefaultCharacterSet(),
+                actual.get(1).getSpecificCharacterSet());
+    }
+
+    private static final String PRIVATE = "PRIVATE";
+
+    private static JsonParser utf8parser(String json) {
+        return new UTF8JSONParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), 64);
+    }
+
+    private static List<Attributes> readDatasets(JsonParser parser, boolean skipBulkDataURI) {
+        List<Attributes> list = new ArrayList<>();
+        JSONReader reader = new JSONReader(parser);
+        reader.setSkipBulkDataURI(skipBulkDataURI);
+        reader.readDatasets((fmi, dataset) -> list.add(dataset));
+        return list;
+    }
+
+}
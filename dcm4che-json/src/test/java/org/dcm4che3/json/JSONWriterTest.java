@@ -39,8 +39,13 @@
 package org.dcm4che3.json;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 
 import javax.json.Json;
 import javax.json.JsonValue;
@@ -49,9 +54,12 @@ import javax.json.stream.JsonGenerator;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.BulkData;
 import org.dcm4che3.data.Fragments;
+import org.dcm4che3.data.SpecificCharacterSet;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.UID;
 import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
 import org.junit.Test;
 
 /**
@@ -145,7 +153,47 @@ public class JSONWriterTest {
     public void testNumberEncoding() {
         test(RESULT_NUMBER, JsonValue.ValueType.NUMBER);
     }
+    @Test
+    public void testStringEncodingUTF8() {
+        testUTF8(JsonValue.ValueType.STRING);
+    }
+
+    @Test
+    public void testNumberEncodingUTF8() {
+        testUTF8(JsonValue.ValueType.NUMBER);
+    }
+
     private void test(String expected, JsonValue.ValueType jsonType) {
+        assertEquals(expected, toJSON(createDataset(), jsonType));
+    }
+
+    private void testUTF8(JsonValue.ValueType jsonType) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator gen = new UTF8JSONGenerator(out);
+        write(gen, createDataset(), jsonType);
+        gen.flush();
+        assertEquals(toJSON(createDataset(), jsonType),
+                new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static String toJSON(Attributes dataset, JsonValue.ValueType jsonType) {
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = Json.createGenerator(writer);
+        write(gen, dataset, jsonType);
+        gen.flush();
+        return writer.toString();
+    }
+
+    private static void write(JsonGenerator gen, Attributes dataset, JsonValue.ValueType jsonType) {
+        JSONWriter jsonWriter = new JSONWriter(gen);
+        jsonWriter.setJsonType(VR.DS, jsonType);
+        jsonWriter.setJsonType(VR.IS, jsonType);
+        jsonWriter.setJsonType(VR.SV, jsonType);
+        jsonWriter.setJsonType(VR.UV, jsonType);
+        jsonWriter.write(dataset);
+    }
+
+    private static Attributes createDataset() {
         Attributes dataset = new Attributes();
         dataset.setString(Tag.SpecificCharacterSet, VR.CS, null, "ISO 2022 IR 87");
         dataset.setString(Tag.ImageType, VR.CS, "DERIVED", "PRIMARY");
@@ -169,16 +217,7 @@ public class JSONWriterTest {
         Fragments frags = dataset.newFragments(Tag.PixelData, VR.OB, 2);
         frags.add(null);
         frags.add(new BulkData(null, "file:/PixelData", false));
-        StringWriter writer = new StringWriter();
-        JsonGenerator gen = Json.createGenerator(writer);
-        JSONWriter jsonWriter = new JSONWriter(gen);
-        jsonWriter.setJsonType(VR.DS, jsonType);
-        jsonWriter.setJsonType(VR.IS, jsonType);
-        jsonWriter.setJsonType(VR.SV, jsonType);
-        jsonWriter.setJsonType(VR.UV, jsonType);
-        jsonWriter.write(dataset);
-        gen.flush();
-        assertEquals(expected, writer.toString());
+        return dataset;
     }
     @Test
     public void testInfinityAndNaN() {
@@ -192,4 +231,74 @@ public class JSONWriterTest {
         assertEquals(INFINITY_AND_NAN, writer.toString());
     }
 
+    @Test
+    public void testParseUTF8() throws IOException {
+        Attributes dataset = new Attributes();
+        dataset.setString(Tag.SpecificCharacterSet, VR.CS, "ISO_IR 192");
+        dataset.setString(Tag.ImageType, VR.CS, "DERIVED", "", " PRIMARY ");
+        dataset.setString(Tag.StudyDate, VR.DA, "20261019");
+        dataset.setString(Tag.StudyInstanceUID, VR.UI, "1.2.3.45");
+        dataset.setString(Tag.NumberOfFrames, VR.IS, "12");
+        dataset.setString(Tag.FrameTime, VR.DS, "33.3", "-1E-3");
+        dataset.setString(Tag.PatientName, VR.PN, "Wang^XiaoDong=\u738b^\u5c0f\u6771=");
+        dataset.setString(Tag.PatientComments, VR.LT,
+                "\"quoted\"\\path\ttab\r\nline\u0001\u00e4\u20ac\ud83d\ude00");
+        for (int len = 0; len < 8; len++) {
+            byte[] b = new byte[len];
+            for (int i = 0; i < len; i++)
+                b[i] = (byte) (i * 97 + 13);
+            dataset.setBytes("PRIVATE", 0x00090010 + len, VR.OB, b);
+        }
+        dataset.setBytes(Tag.PixelData, VR.OB, new byte[20000]);
+        ByteArrayOutputStream dcm = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(dcm, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(null, dataset);
+        }
+        for (JsonValue.ValueType jsonType : JsonValue.ValueType.values()) {
+            if (jsonType != JsonValue.ValueType.NUMBER && jsonType != JsonValue.ValueType.STRING)
+                continue;
+            StringWriter expected = new StringWriter();
+            JsonGenerator gen = Json.createGenerator(expected);
+            parse(dcm.toByteArray(), gen, jsonType);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            parse(dcm.toByteArray(), new UTF8JSONGenerator(out, 64), jsonType);
+            assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testParseNonASCIIInASCIIVR() throws IOException {
+        Attributes dataset = new Attributes();
+        dataset.setBytes(Tag.ImageType, VR.CS, "DERIVED\\\u00c4RZTLICH".getBytes(StandardCharsets.ISO_8859_1));
+        ByteArrayOutputStream dcm = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(dcm, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(null, dataset);
+        }
+        SpecificCharacterSet.setCharsetNameMapping("", "ISO-8859-1");
+        try {
+            StringWriter expected = new StringWriter();
+            parse(dcm.toByteArray(), Json.createGenerator(expected), JsonValue.ValueType.STRING);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            parse(dcm.toByteArray(), new UTF8JSONGenerator(out), JsonValue.ValueType.STRING);
+            String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+            assertEquals(expected.toString(), json);
+            assertTrue(json.contains("[\"DERIVED\",\"\u00c4RZTLICH\"]"));
+        } finally {
+            SpecificCharacterSet.resetCharsetNameMappings();
+        }
+    }
+
+    private static void parse(byte[] dcm, JsonGenerator gen, JsonValue.ValueType jsonType)
+            throws IOException {
+        JSONWriter jsonWriter = new JSONWriter(gen);
+        jsonWriter.setJsonType(VR.DS, jsonType);
+        jsonWriter.setJsonType(VR.IS, jsonType);
+        try (DicomInputStream dis = new DicomInputStream(
+                new ByteArrayInputStream(dcm), UID.ExplicitVRLittleEndian)) {
+            dis.setDicomInputHandler(jsonWriter);
+            dis.readDataset();
+        }
+        gen.flush();
+    }
+
 }
@@ -0,0 +1,441 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Sequence;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.hl7.HL7Charset;
+import org.dcm4che3.hl7.HL7Message;
+import org.dcm4che3.hl7.HL7Segment;
+import org.dcm4che3.util.StringUtils;
+import org.dcm4che3.util.TagUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps fields of HL7 v2 messages directly to DICOM attributes, as faster alternative to
+ * {@link HL7SAXTransformer} with an XSL stylesheet, which converts the message to SAX events and the XSLT result
+ * back to {@link Attributes}.
+ * <p>
+ * The mapping is specified by lines of
+ * <pre>
+ * &lt;segment&gt;-&lt;field&gt;[.&lt;component&gt;[.&lt;subcomponent&gt;]][*] &lt;DICOM attribute or path&gt; [XPN|XCN|TS|ST]
+ * </pre>
+ * where {@code *} maps all repetitions of the field to a multi-valued attribute, otherwise only the first one is
+ * mapped. The field type defaults to {@code XPN} for attributes with VR PN, to {@code TS} for attributes with VR DA,
+ * TM or DT and to {@code ST} otherwise. Only the first occurrence of each segment is considered. Each DICOM attribute
+ * may only be the target of one mapping, so the order of the mappings is not significant.
+ * Fields are split into repetitions and (sub)components before escape sequences are replaced, and each mapped
+ * repetition is set as separate value, so an escaped escape character ({@code \E\}) does not split a value,
+ * although the backslash is the DICOM value delimiter.
+ * Instances are immutable and may be shared between threads.
+ *
+ * @since Oct 2026
+ */
+public class HL7AttributesMapper implements Serializable {
+
+    private static final long serialVersionUID = -2493209574738153093L;
+
+    private static final String DEFAULT_MAPPING = "hl7-attributes-mapping.txt";
+
+    private static volatile HL7AttributesMapper defaultMapper;
+
+    private final Mapping[] mappings;
+
+    private HL7AttributesMapper(Mapping[] mappings) {
+        this.mappings = mappings;
+    }
+
+    /**
+     * Returns the mapper for ADT and ORM messages specified by the {@code hl7-attributes-mapping.txt} resource.
+     *
+     * @return default mapper
+     */
+    public static HL7AttributesMapper getDefault() {
+        HL7AttributesMapper mapper = defaultMapper;
+        if (mapper == null) {
+            try (InputStream in = HL7AttributesMapper.class.getResourceAsStream(DEFAULT_MAPPING)) {
+                defaultMapper = mapper = parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to load " + DEFAULT_MAPPING, e);
+            }
+        }
+        return mapper;
+    }
+
+    public static HL7AttributesMapper valueOf(String mapping) {
+        try {
+            return parse(new StringReader(mapping));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns the mapper specified by mapping lines as returned by {@link #getMappings()}.
+     *
+     * @param mappings mapping lines
+     * @return mapper
+     * @throws IllegalArgumentException if one of the lines is not a valid mapping
+     */
+    public static HL7AttributesMapper valueOf(String[] mappings) {
+        return valueOf(Arrays.asList(mappings));
+    }
+
+    public static HL7AttributesMapper parse(Reader reader) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null)
+            lines.add(line);
+        return valueOf(lines);
+    }
+
+    private static HL7AttributesMapper valueOf(List<String> lines) {
+        List<Mapping> list = new ArrayList<>();
+        Set<String> targets = new HashSet<>();
+        int lineNo = 0;
+        for (String line : lines) {
+            lineNo++;
+            int comment = line.indexOf('#');
+            String s = (comment < 0 ? line : line.substring(0, comment)).trim();
+            if (s.isEmpty())
+                continue;
+            try {
+                String[] ss = s.split("\\s+");
+                Mapping mapping = Mapping.valueOf(ss);
+                if (!targets.add(mapping.target()))
+                    throw new IllegalArgumentException("duplicate mapping to " + ss[1]);
+                list.add(mapping);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("line " + lineNo + ": " + e.getMessage(), e);
+            }
+        }
+        return new HL7AttributesMapper(list.toArray(new Mapping[0]));
+    }
+
+    /**
+     * Returns the mappings of this mapper, one mapping per line, without comments.
+     *
+     * @return mapping lines
+     */
+    public String[] getMappings() {
+        String[] ss = new String[mappings.length];
+        for (int i = 0; i < ss.length; i++)
+            ss[i] = mappings[i].spec;
+        return ss;
+    }
+
+    public Attributes map(byte[] data, String defCharset) {
+        return map(HL7Message.parse(data, defCharset), defCharset, new Attributes());
+    }
+
+    /**
+     * Adds attributes mapped from the fields of {@code msg} to {@code attrs}. Specific Character Set (0008,0005) is
+     * set according to MSH-18, if the message is not encoded in ASCII.
+     *
+     * @param msg HL7 message
+     * @param defCharset HL7 character set assumed, if the message does not specify MSH-18
+     * @param attrs attributes to which the mapped attributes are added
+     * @return {@code attrs}
+     */
+    public Attributes map(HL7Message msg, String defCharset, Attributes attrs) {
+        HL7Segment msh = msg.get(0);
+        String dicomCharset = HL7Charset.toDicomCharacterSetCode(msh.getField(17, defCharset));
+        if (dicomCharset != null)
+            attrs.setString(Tag.SpecificCharacterSet, VR.CS, dicomCharset);
+        Map<String, HL7Segment> segments = new HashMap<>();
+        for (HL7Segment seg : msg)
+            segments.putIfAbsent(seg.getField(0, ""), seg);
+        for (Mapping mapping : mappings) {
+            HL7Segment seg = segments.get(mapping.segment);
+            if (seg != null)
+                mapping.apply(seg, attrs);
+        }
+        return attrs;
+    }
+
+    enum FieldType {
+        ST, XPN, XCN, TS;
+
+        static FieldType defaultOf(VR vr) {
+            switch (vr) {
+                case PN:
+                    return XPN;
+                case DA:
+                case DT:
+                case TM:
+                    return TS;
+                default:
+                    return ST;
+            }
+        }
+    }
+
+    private static final class Mapping implements Serializable {
+
+        private static final long serialVersionUID = 6011380617004391736L;
+
+        final String spec;
+        final String segment;
+        final int fieldIndex;
+        final int component;
+        final int subcomponent;
+        final boolean repeating;
+        final int[] sequenceTags;
+        final int tag;
+        final VR vr;
+        final FieldType type;
+
+        Mapping(String spec, String segment, int fieldIndex, int component, int subcomponent, boolean repeating,
+                int[] tagPath, FieldType type) {
+            this.spec = spec;
+            this.segment = segment;
+            this.fieldIndex = fieldIndex;
+            this.component = component;
+            this.subcomponent = subcomponent;
+            this.repeating = repeating;
+            this.sequenceTags = Arrays.copyOf(tagPath, tagPath.length - 1);
+            this.tag = tagPath[tagPath.length - 1];
+            this.vr = ElementDictionary.vrOf(tag, null);
+            this.type = type != null ? type : FieldType.defaultOf(vr);
+        }
+
+        static Mapping valueOf(String[] ss) {
+            if (ss.length < 2 || ss.length > 3)
+                throw new IllegalArgumentException("expected <field> <attribute> [<type>]");
+            String field = ss[0];
+            boolean repeating = field.endsWith("*");
+            if (repeating)
+                field = field.substring(0, field.length() - 1);
+            int dash = field.indexOf('-');
+            if (dash != 3)
+                throw new IllegalArgumentException("invalid field: " + ss[0]);
+            String segment = field.substring(0, 3);
+            String[] numbers = StringUtils.split(field.substring(4), '.');
+            if (numbers.length > 3)
+                throw new IllegalArgumentException("invalid field: " + ss[0]);
+            int[] values = new int[3];
+            try {
+                for (int i = 0; i < numbers.length; i++)
+                    if ((values[i] = Integer.parseInt(numbers[i])) <= 0)
+                        throw new IllegalArgumentException("invalid field: " + ss[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid field: " + ss[0]);
+            }
+            // MSH-1 is the field separator, so MSH-n is at index n-1 of the parsed segment
+            int fieldIndex = segment.equals("MSH") ? values[0] - 1 : values[0];
+            return new Mapping(String.join(" ", ss), segment, fieldIndex, values[1], values[2], repeating,
+                    TagUtils.parseTagPath(ss[1]), ss.length > 2 ? FieldType.valueOf(ss[2]) : null);
+        }
+
+        String target() {
+            return Arrays.toString(sequenceTags) + tag;
+        }
+
+        void apply(HL7Segment seg, Attributes attrs) {
+            String field = seg.getField(fieldIndex, null);
+            if (field == null)
+                return;
+            String[] reps = repeating
+                    ? HL7Segment.split(field, seg.getRepetitionSeparator())
+                    : new String[]{ first(field, seg.getRepetitionSeparator()) };
+            String[] values = new String[reps.length];
+            int count = 0;
+            for (String rep : reps) {
+                String value = toValue(seg, rep);
+                if (value != null && !value.isEmpty())
+                    values[count++] = value;
+            }
+            // set the values as array, so unescaped backslashes are not taken as value delimiters
+            if (count > 0)
+                item(attrs).setValue(tag, vr, count < values.length ? Arrays.copyOf(values, count) : values);
+        }
+
+        private Attributes item(Attributes attrs) {
+            for (int sequenceTag : sequenceTags) {
+                Sequence seq = attrs.ensureSequence(sequenceTag, 1);
+                if (seq.isEmpty())
+                    seq.add(new Attributes());
+                attrs = seq.get(0);
+            }
+            return attrs;
+        }
+
+        private String toValue(HL7Segment seg, String rep) {
+            char compSep = seg.getComponentSeparator();
+            char subcompSep = seg.getSubcomponentSeparator();
+            if (component > 0) {
+                rep = component(rep, compSep, component);
+                if (subcomponent > 0)
+                    rep = component(rep, subcompSep, subcomponent);
+            }
+            switch (type) {
+                case XPN:
+                    return toPersonName(seg, rep, 0);
+                case XCN:
+                    return toPersonName(seg, rep, 1);
+                case TS:
+                    return toDateTime(unescape(seg, first(rep, compSep)));
+                default:
+                    return unescape(seg, rep);
+            }
+        }
+
+        /**
+         * Converts HL7 XPN (family^given^middle^suffix^prefix) or XCN (id^family^given^middle^suffix^prefix)
+         * to DICOM PN (family^given^middle^prefix^suffix).
+         */
+        private String toPersonName(HL7Segment seg, String s, int offset) {
+            char compSep = seg.getComponentSeparator();
+            String[] comps = HL7Segment.split(s, compSep);
+            String[] pn = new String[5];
+            int[] order = { 0, 1, 2, 4, 3 };
+            int last = -1;
+            for (int i = 0; i < 5; i++) {
+                int j = offset + order[i];
+                if (j < comps.length) {
+                    String comp = unescape(seg, first(comps[j], seg.getSubcomponentSeparator()));
+                    if (!comp.isEmpty()) {
+                        pn[i] = comp;
+                        last = i;
+                    }
+                }
+            }
+            if (last < 0)
+                return null;
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i <= last; i++) {
+                if (i > 0)
+                    sb.append('^');
+                if (pn[i] != null)
+                    sb.append(pn[i]);
+            }
+            return sb.toString();
+        }
+
+        private String toDateTime(String s) {
+            int tz = Math.max(s.indexOf('+'), s.indexOf('-'));
+            String dt = tz > 0 ? s.substring(0, tz) : s;
+            switch (vr) {
+                case DA:
+                    return dt.length() >= 8 ? dt.substring(0, 8) : null;
+                case TM:
+                    return dt.length() > 8 ? dt.substring(8) : null;
+                default:
+                    return s;
+            }
+        }
+
+        private static String first(String s, char delim) {
+            int index = s.indexOf(delim);
+            return index < 0 ? s : s.substring(0, index);
+        }
+
+        private static String component(String s, char delim, int n) {
+            int start = 0;
+            while (--n > 0) {
+                start = s.indexOf(delim, start) + 1;
+                if (start == 0)
+                    return "";
+            }
+            int end = s.indexOf(delim, start);
+            return end < 0 ? s.substring(start) : s.substring(start, end);
+        }
+
+        /**
+         * Replaces HL7 escape sequences for delimiters (\F\, \S\, \T\, \R\, \E\) by the delimiter and removes
+         * other escape sequences.
+         */
+        private static String unescape(HL7Segment seg, String s) {
+            char esc = seg.getEscapeCharacter();
+            int index = s.indexOf(esc);
+            if (index < 0)
+                return s;
+            StringBuilder sb = new StringBuilder(s.length());
+            int start = 0;
+            do {
+                int end = s.indexOf(esc, index + 1);
+                if (end < 0)
+                    break;
+                sb.append(s, start, index);
+                if (end == index + 2)
+                    switch (s.charAt(index + 1)) {
+                        case 'F':
+                            sb.append(seg.getFieldSeparator());
+                            break;
+                        case 'S':
+                            sb.append(seg.getComponentSeparator());
+                            break;
+                        case 'T':
+                            sb.append(seg.getSubcomponentSeparator());
+                            break;
+                        case 'R':
+                            sb.append(seg.getRepetitionSeparator());
+                            break;
+                        case 'E':
+                            sb.append(esc);
+                            break;
+                    }
+                start = end + 1;
+            } while ((index = s.indexOf(esc, start)) >= 0);
+            sb.append(s, start, s.length());
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.util.StringUtils;
+
+/**
+ * Configures the {@link HL7AttributesMapper} used by a {@link HL7Application}.
+ *
+ * @since Oct 2026
+ */
+public class HL7AttributesMapping extends HL7ApplicationExtension {
+
+    private static final long serialVersionUID = 3217064218432180364L;
+
+    private HL7AttributesMapper mapper;
+
+    public HL7AttributesMapping() {
+    }
+
+    public HL7AttributesMapping(HL7AttributesMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public HL7AttributesMapper getMapper() {
+        return mapper != null ? mapper : HL7AttributesMapper.getDefault();
+    }
+
+    public void setMapper(HL7AttributesMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Returns the configured mapping lines or an empty array, if the default mapper is used.
+     */
+    public String[] getMappings() {
+        return mapper != null ? mapper.getMappings() : StringUtils.EMPTY_STRING;
+    }
+
+    /**
+     * Sets the mapping lines. An empty array selects the default mapper.
+     *
+     * @throws IllegalArgumentException if one of the lines is not a valid mapping
+     */
+    public void setMappings(String... mappings) {
+        this.mapper = mappings.length > 0 ? HL7AttributesMapper.valueOf(mappings) : null;
+    }
+
+    /**
+     * Returns the mapper configured for {@code hl7App} or the default mapper, if the application has no
+     * {@code HL7AttributesMapping} extension.
+     *
+     * @param hl7App HL7 Application
+     * @return configured or default mapper
+     */
+    public static HL7AttributesMapper mapperOf(HL7Application hl7App) {
+        HL7AttributesMapping ext = hl7App.getHL7ApplicationExtension(HL7AttributesMapping.class);
+        return ext != null ? ext.getMapper() : HL7AttributesMapper.getDefault();
+    }
+
+    @Override
+    public void reconfigure(HL7ApplicationExtension from) {
+        this.mapper = ((HL7AttributesMapping) from).mapper;
+    }
+}
@@ -0,0 +1,81 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Signals that sending of a batch of messages by {@link HL7ConnectionPool#sendBatch} failed after at least one
+ * message was written to the connection. Messages before {@link #getFirstUnacknowledged()} were acknowledged by
+ * the receiver; the message at that index and following messages may or may not have been received.
+ *
+ * @since Oct 2026
+ */
+public class HL7BatchException extends IOException {
+
+    private static final long serialVersionUID = 4106358201937364257L;
+
+    private final transient List<UnparsedHL7Message> responses;
+
+    public HL7BatchException(List<UnparsedHL7Message> responses, int batchSize, Throwable cause) {
+        super("Failed to send batch after " + responses.size() + " of " + batchSize + " messages were acknowledged",
+                cause);
+        this.responses = Collections.unmodifiableList(responses);
+    }
+
+    /**
+     * Returns the index of the first message in the batch without received response.
+     *
+     * @return index of the first unacknowledged message
+     */
+    public int getFirstUnacknowledged() {
+        return responses.size();
+    }
+
+    /**
+     * Returns the responses of the messages before {@link #getFirstUnacknowledged()}.
+     *
+     * @return responses in the order of the sent messages
+     */
+    public List<UnparsedHL7Message> getResponses() {
+        return responses;
+    }
+}
@@ -69,7 +69,8 @@ public class HL7Connection implements Closeable {
             if (monitor != null)
                 monitor.onMessageSent(hl7Application, mllpConnection.getSocket(), msg, null);
         } catch (IOException e) {
-            monitor.onMessageSent(hl7Application, mllpConnection.getSocket(), msg, e);
+            if (monitor != null)
+                monitor.onMessageSent(hl7Application, mllpConnection.getSocket(), msg, e);
             throw e;
         }
     }
@@ -78,14 +79,25 @@ public class HL7Connection implements Closeable {
         try {
             byte[] b = mllpConnection.readMessage();
             UnparsedHL7Message rsp = b != null ? new UnparsedHL7Message(b) : null;
-            monitor.onMessageResponse(hl7Application, mllpConnection.getSocket(), msg, rsp, null);
+            if (monitor != null)
+                monitor.onMessageResponse(hl7Application, mllpConnection.getSocket(), msg, rsp, null);
             return rsp;
         } catch (IOException e) {
-            monitor.onMessageResponse(hl7Application, mllpConnection.getSocket(), msg, null, e);
+            if (monitor != null)
+                monitor.onMessageResponse(hl7Application, mllpConnection.getSocket(), msg, null, e);
             throw e;
         }
     }
 
+    public boolean isAlive() {
+        return mllpConnection.isAlive();
+    }
+
+    @Override
+    public String toString() {
+        return mllpConnection.getSocket().toString();
+    }
+
     @Override
     public void close() throws IOException {
         mllpConnection.close();
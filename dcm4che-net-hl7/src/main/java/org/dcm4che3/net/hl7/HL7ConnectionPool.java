@@ -0,0 +1,390 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.net.Device;
+import org.dcm4che3.net.IncompatibleConnectionException;
+import org.dcm4che3.util.SafeClose;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of persistent outbound HL7 connections of a local HL7 Application, keyed by the remote HL7 Application.
+ * <p>
+ * Connections are kept open for {@link #setKeepAlive keepAlive} ms after their last use, are checked by
+ * {@link HL7Connection#isAlive()} before reuse, and are transparently replaced by a new connection if writing
+ * over a reused connection fails without unacknowledged messages. Batches of messages are sent with up to
+ * {@link #setInFlightWindow inFlightWindow} messages awaiting their response. Expired idle connections are
+ * closed by a task scheduled by the {@link Device#getScheduledExecutor() scheduled executor} of the Device, if
+ * available, and otherwise on {@link #closeIdleConnections()} or on next use of the destination.
+ *
+ * @since Oct 2026
+ */
+public class HL7ConnectionPool implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HL7ConnectionPool.class);
+
+    private final HL7Application hl7App;
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+    private volatile int maxConnectionsPerDestination = 4;
+    private volatile long keepAlive = 60000L;
+    private volatile long maxWait;
+    private volatile int inFlightWindow = 1;
+    private volatile boolean closed;
+    private ScheduledFuture<?> idleCheck;
+
+    public HL7ConnectionPool(HL7Application hl7App) {
+        this.hl7App = hl7App;
+    }
+
+    public final HL7Application getHL7Application() {
+        return hl7App;
+    }
+
+    public int getMaxConnectionsPerDestination() {
+        return maxConnectionsPerDestination;
+    }
+
+    public void setMaxConnectionsPerDestination(int maxConnectionsPerDestination) {
+        if (maxConnectionsPerDestination <= 0)
+            throw new IllegalArgumentException("maxConnectionsPerDestination: " + maxConnectionsPerDestination);
+        this.maxConnectionsPerDestination = maxConnectionsPerDestination;
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Set the time in ms an unused connection is kept open. {@code 0} closes connections immediately after use.
+     *
+     * @param keepAlive keep alive time in ms
+     */
+    public void setKeepAlive(long keepAlive) {
+        if (keepAlive < 0)
+            throw new IllegalArgumentException("keepAlive: " + keepAlive);
+        this.keepAlive = keepAlive;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Set the maximal time in ms to wait for an available connection, if {@link #getMaxConnectionsPerDestination()}
+     * connections to the destination are in use. {@code 0} (= default) waits without limit.
+     *
+     * @param maxWait maximal wait time in ms
+     */
+    public void setMaxWait(long maxWait) {
+        if (maxWait < 0)
+            throw new IllegalArgumentException("maxWait: " + maxWait);
+        this.maxWait = maxWait;
+    }
+
+    public int getInFlightWindow() {
+        return inFlightWindow;
+    }
+
+    /**
+     * Set the maximal number of messages of a batch sent without having received their responses. {@code 1}
+     * (= default) awaits the response of each message before sending the next message.
+     *
+     * @param inFlightWindow maximal number of outstanding responses
+     */
+    public void setInFlightWindow(int inFlightWindow) {
+        if (inFlightWindow <= 0)
+            throw new IllegalArgumentException("inFlightWindow: " + inFlightWindow);
+        this.inFlightWindow = inFlightWindow;
+    }
+
+    /**
+     * Send message to remote HL7 Application and return its response.
+     */
+    public UnparsedHL7Message send(HL7Application remote, UnparsedHL7Message msg)
+            throws IOException, IncompatibleConnectionException, GeneralSecurityException {
+        return sendBatch(remote, Arrays.asList(msg)).get(0);
+    }
+
+    /**
+     * Send messages over one connection to remote HL7 Application and return their responses in the order of
+     * the sent messages.
+     * <p>
+     * Sending over a new connection is only resumed, if all messages written to the failed reused connection were
+     * acknowledged, because the receiver may already have processed written messages. Otherwise, and if sending
+     * over a new connection fails after a message was written, a {@link HL7BatchException} is thrown, which reports
+     * the index of the first message without received response.
+     *
+     * @throws HL7BatchException if sending failed after a message was written to the connection
+     * @throws IllegalStateException if the pool was closed
+     */
+    public List<UnparsedHL7Message> sendBatch(HL7Application remote, List<UnparsedHL7Message> msgs)
+            throws IOException, IncompatibleConnectionException, GeneralSecurityException {
+        UnparsedHL7Message[] rsps = new UnparsedHL7Message[msgs.size()];
+        Destination dest = destinations.computeIfAbsent(remote.getApplicationName(), name -> new Destination());
+        Pooled conn = dest.acquire(remote);
+        int[] sentReceived = new int[2];
+        try {
+            for (;;) {
+                try {
+                    pipeline(conn.hl7conn, msgs, sentReceived, rsps);
+                    break;
+                } catch (IOException e) {
+                    SafeClose.close(conn.hl7conn);
+                    if (!conn.reused || sentReceived[0] > sentReceived[1])
+                        throw sentReceived[0] > 0
+                                ? new HL7BatchException(
+                                        Arrays.asList(Arrays.copyOf(rsps, sentReceived[1])), rsps.length, e)
+                                : e;
+                    LOG.info("Failed to send message over reused connection {} - reconnect:",
+                            conn.hl7conn, e);
+                    conn = new Pooled(hl7App.open(remote), false);
+                }
+            }
+            dest.release(conn);
+            conn = null;
+        } finally {
+            if (conn != null)
+                dest.discard(conn);
+        }
+        return Arrays.asList(rsps);
+    }
+
+    /**
+     * Writes messages and reads their responses, counting written messages and received responses in
+     * {@code sentReceived[0]} and {@code sentReceived[1]}.
+     */
+    private void pipeline(HL7Connection conn, List<UnparsedHL7Message> msgs, int[] sentReceived,
+            UnparsedHL7Message[] rsps) throws IOException {
+        int window = inFlightWindow;
+        while (sentReceived[1] < rsps.length) {
+            while (sentReceived[0] < rsps.length && sentReceived[0] - sentReceived[1] < window) {
+                conn.writeMessage(msgs.get(sentReceived[0]));
+                sentReceived[0]++;
+            }
+            UnparsedHL7Message rsp = conn.readMessage(msgs.get(sentReceived[1]));
+            if (rsp == null)
+                throw new IOException("Connection closed by receiver");
+            rsps[sentReceived[1]++] = rsp;
+        }
+    }
+
+    /**
+     * Close connections which were not used for more than {@link #getKeepAlive()} ms.
+     */
+    public void closeIdleConnections() {
+        long expired = System.currentTimeMillis() - keepAlive;
+        for (Destination dest : destinations.values())
+            dest.closeIdle(expired);
+    }
+
+    public int getIdleConnections() {
+        int n = 0;
+        for (Destination dest : destinations.values())
+            n += dest.idleCount();
+        return n;
+    }
+
+    /**
+     * Closes all idle connections and connections in use on their release. Further attempts to send messages
+     * fail with {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (idleCheck != null) {
+                idleCheck.cancel(false);
+                idleCheck = null;
+            }
+        }
+        for (Destination dest : destinations.values())
+            dest.close();
+    }
+
+    private synchronized void scheduleIdleCheck(long delay) {
+        if (closed || idleCheck != null)
+            return;
+        Device device = hl7App.getDevice();
+        if (device == null || device.getScheduledExecutor() == null)
+            return;
+        idleCheck = device.schedule(this::checkIdle, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkIdle() {
+        synchronized (this) {
+            idleCheck = null;
+        }
+        long now = System.currentTimeMillis();
+        long keepAlive = this.keepAlive;
+        long oldest = Long.MAX_VALUE;
+        for (Destination dest : destinations.values())
+            oldest = Math.min(oldest, dest.closeIdle(now - keepAlive));
+        if (oldest != Long.MAX_VALUE)
+            scheduleIdleCheck(Math.max(oldest + keepAlive - now, 1L));
+    }
+
+    private static final class Pooled {
+        final HL7Connection hl7conn;
+        final boolean reused;
+        long lastUsed;
+
+        Pooled(HL7Connection hl7conn, boolean reused) {
+            this.hl7conn = hl7conn;
+            this.reused = reused;
+        }
+    }
+
+    private final class Destination {
+        final ArrayDeque<Pooled> idle = new ArrayDeque<>();
+        int active;
+
+        Pooled acquire(HL7Application remote)
+                throws IOException, IncompatibleConnectionException, GeneralSecurityException {
+            Pooled conn;
+            synchronized (this) {
+                waitForAvailable();
+                if (closed)
+                    throw new IllegalStateException("closed");
+                active++;
+                closeIdle(System.currentTimeMillis() - keepAlive);
+                conn = idle.pollLast();
+            }
+            try {
+                while (conn != null) {
+                    if (conn.hl7conn.isAlive())
+                        return new Pooled(conn.hl7conn, true);
+                    LOG.debug("Discard broken connection {}", conn.hl7conn);
+                    SafeClose.close(conn.hl7conn);
+                    synchronized (this) {
+                        conn = idle.pollLast();
+                    }
+                }
+                return new Pooled(hl7App.open(remote), false);
+            } catch (IOException | IncompatibleConnectionException | GeneralSecurityException
+                    | RuntimeException e) {
+                synchronized (this) {
+                    active--;
+                    notifyAll();
+                }
+                throw e;
+            }
+        }
+
+        private void waitForAvailable() throws InterruptedIOException {
+            long wait = maxWait;
+            long deadline = System.currentTimeMillis() + wait;
+            try {
+                while (!closed && active >= maxConnectionsPerDestination) {
+                    if (wait == 0) {
+                        wait();
+                    } else {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0)
+                            throw new InterruptedIOException("No connection available within " + wait + " ms");
+                        wait(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        synchronized void release(Pooled conn) {
+            active--;
+            notifyAll();
+            if (closed || keepAlive == 0) {
+                SafeClose.close(conn.hl7conn);
+                return;
+            }
+            conn.lastUsed = System.currentTimeMillis();
+            idle.addLast(conn);
+            scheduleIdleCheck(keepAlive);
+        }
+
+        synchronized void discard(Pooled conn) {
+            active--;
+            notifyAll();
+            SafeClose.close(conn.hl7conn);
+        }
+
+        /**
+         * Closes idle connections last used before {@code expired}.
+         *
+         * @return time of last use of the oldest remaining idle connection or {@link Long#MAX_VALUE}, if there is
+         *         no remaining idle connection
+         */
+        synchronized long closeIdle(long expired) {
+            long oldest = Long.MAX_VALUE;
+            for (Iterator<Pooled> iter = idle.iterator(); iter.hasNext();) {
+                Pooled conn = iter.next();
+                if (conn.lastUsed <= expired) {
+                    iter.remove();
+                    SafeClose.close(conn.hl7conn);
+                } else {
+                    oldest = Math.min(oldest, conn.lastUsed);
+                }
+            }
+            return oldest;
+        }
+
+        synchronized void close() {
+            closeIdle(Long.MAX_VALUE);
+            notifyAll();
+        }
+
+        synchronized int idleCount() {
+            return idle.size();
+        }
+    }
+}
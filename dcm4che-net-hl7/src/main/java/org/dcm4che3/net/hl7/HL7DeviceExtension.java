@@ -43,7 +43,9 @@ import org.dcm4che3.hl7.HL7Exception;
 import org.dcm4che3.net.Connection;
 import org.dcm4che3.net.DeviceExtension;
 
+import java.io.IOException;
 import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 
@@ -55,6 +57,8 @@ public class HL7DeviceExtension extends DeviceExtension {
 
     private static final long serialVersionUID = -411853996726542266L;
 
+    public static final int DEFAULT_NIO_MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
     static {
         Connection.registerTCPProtocolHandler(
                 Connection.Protocol.HL7, HL7ProtocolHandler.INSTANCE);
@@ -67,6 +71,9 @@ public class HL7DeviceExtension extends DeviceExtension {
 
     private transient HL7MessageListener hl7MessageListener;
     private transient HL7ConnectionMonitor hl7ConnectionMonitor;
+    private transient HL7NioReceiver nioReceiver;
+    private int nioWorkerThreads;
+    private int nioMaxMessageLength = DEFAULT_NIO_MAX_MESSAGE_LENGTH;
 
     @Override
     public void verifyNotUsed(Connection conn) {
@@ -137,6 +144,52 @@ public class HL7DeviceExtension extends DeviceExtension {
         this.hl7ConnectionMonitor = hl7ConnectionMonitor;
     }
 
+    public int getNioWorkerThreads() {
+        return nioWorkerThreads;
+    }
+
+    /**
+     * Set the number of worker threads processing HL7 messages received on non-TLS connections served by one
+     * selector thread with non-blocking I/O. {@code 0} (= default) serves each accepted connection by its own
+     * thread. Changes take effect for connections accepted after re-binding of the listening connections.
+     *
+     * @param nioWorkerThreads number of worker threads or {@code 0}
+     */
+    public void setNioWorkerThreads(int nioWorkerThreads) {
+        if (nioWorkerThreads < 0)
+            throw new IllegalArgumentException("nioWorkerThreads: " + nioWorkerThreads);
+        this.nioWorkerThreads = nioWorkerThreads;
+    }
+
+    public int getNioMaxMessageLength() {
+        return nioMaxMessageLength;
+    }
+
+    /**
+     * Set the maximal length of HL7 messages received on connections served with non-blocking I/O. Connections
+     * on which a longer message is received are closed. Default: {@value #DEFAULT_NIO_MAX_MESSAGE_LENGTH}.
+     *
+     * @param nioMaxMessageLength maximal message length in bytes
+     */
+    public void setNioMaxMessageLength(int nioMaxMessageLength) {
+        if (nioMaxMessageLength <= 0)
+            throw new IllegalArgumentException("nioMaxMessageLength: " + nioMaxMessageLength);
+        this.nioMaxMessageLength = nioMaxMessageLength;
+    }
+
+    /**
+     * Registers an accepted connection to be served by the receiver with non-blocking I/O, replacing the receiver
+     * if the number of worker threads was changed.
+     */
+    synchronized void registerNioConnection(Connection conn, SocketChannel ch) throws IOException {
+        if (nioReceiver == null || nioReceiver.getWorkerThreads() != nioWorkerThreads) {
+            if (nioReceiver != null)
+                nioReceiver.shutdown();
+            nioReceiver = new HL7NioReceiver(this, nioWorkerThreads);
+        }
+        nioReceiver.register(conn, ch);
+    }
+
     UnparsedHL7Message onMessage(Connection conn, Socket s, UnparsedHL7Message msg) throws HL7Exception {
         HL7Application hl7App = getHL7Application(msg.msh().getReceivingApplicationWithFacility(), true);
         if (hl7App == null)
@@ -150,7 +203,10 @@ public class HL7DeviceExtension extends DeviceExtension {
 
     @Override
     public void reconfigure(DeviceExtension from)  {
-        reconfigureHL7Applications((HL7DeviceExtension) from);
+        HL7DeviceExtension hl7dev = (HL7DeviceExtension) from;
+        nioWorkerThreads = hl7dev.nioWorkerThreads;
+        nioMaxMessageLength = hl7dev.nioMaxMessageLength;
+        reconfigureHL7Applications(hl7dev);
     }
 
     private void reconfigureHL7Applications(HL7DeviceExtension from) {
@@ -0,0 +1,108 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.net.queue.DispatchException;
+import org.dcm4che3.net.queue.ForwardQueue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Dispatches entries of a {@link ForwardQueue}, containing HL7 messages, by a {@link HL7ConnectionPool} to the
+ * HL7 Application with the name of the destination. Messages acknowledged with acknowledgement code (MSA-1)
+ * {@code AA} or {@code CA} are reported as dispatched, messages acknowledged with {@code AR} or {@code CR} as
+ * rejected, and messages acknowledged with another code or without received acknowledgement as failed.
+ *
+ * @since Oct 2026
+ */
+public class HL7ForwardDispatcher implements ForwardQueue.Dispatcher {
+
+    private final HL7ConnectionPool pool;
+    private final Function<String, HL7Application> remoteApps;
+
+    /**
+     * @param pool       connection pool of the local HL7 Application
+     * @param remoteApps returns the remote HL7 Application for a HL7 Application name
+     */
+    public HL7ForwardDispatcher(HL7ConnectionPool pool, Function<String, HL7Application> remoteApps) {
+        this.pool = pool;
+        this.remoteApps = remoteApps;
+    }
+
+    @Override
+    public void dispatch(String destination, List<byte[]> batch) throws Exception {
+        HL7Application remote = remoteApps.apply(destination);
+        if (remote == null)
+            throw new IOException("Unknown destination: " + destination);
+
+        List<UnparsedHL7Message> msgs = new ArrayList<>(batch.size());
+        for (byte[] data : batch)
+            msgs.add(new UnparsedHL7Message(data));
+        List<UnparsedHL7Message> rsps;
+        HL7BatchException cause = null;
+        try {
+            rsps = pool.sendBatch(remote, msgs);
+        } catch (HL7BatchException e) {
+            rsps = e.getResponses();
+            cause = e;
+        }
+        DispatchException.Outcome[] outcomes = new DispatchException.Outcome[msgs.size()];
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < rsps.size(); i++) {
+            String ackCode = rsps.get(i).view(remote.getHL7DefaultCharacterSet()).get("MSA-1");
+            outcomes[i] = outcomeOf(ackCode);
+            if (outcomes[i] != DispatchException.Outcome.DISPATCHED)
+                failed.add(msgs.get(i).msh().getMessageControlID() + ": " + ackCode);
+        }
+        if (cause != null || !failed.isEmpty())
+            throw new DispatchException(outcomes,
+                    "Messages not acknowledged by " + destination + ": " + failed, cause);
+    }
+
+    private static DispatchException.Outcome outcomeOf(String ackCode) {
+        if ("AA".equals(ackCode) || "CA".equals(ackCode))
+            return DispatchException.Outcome.DISPATCHED;
+        if ("AR".equals(ackCode) || "CR".equals(ackCode))
+            return DispatchException.Outcome.REJECTED;
+        return DispatchException.Outcome.FAILED;
+    }
+}
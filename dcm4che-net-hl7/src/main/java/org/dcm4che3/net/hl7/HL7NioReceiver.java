@@ -0,0 +1,398 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import org.dcm4che3.hl7.HL7Exception;
+import org.dcm4che3.hl7.HL7Message;
+import org.dcm4che3.hl7.MLLPFrameDecoder;
+import org.dcm4che3.net.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves MLLP connections by one selector thread with non-blocking I/O and processes received messages by a
+ * bounded pool of worker threads. Messages received on one connection are processed sequentially and their
+ * responses are sent in order of reception.
+ *
+ * @since Oct 2026
+ */
+class HL7NioReceiver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HL7NioReceiver.class);
+    private static final byte ACK = 0x06;
+    private static final byte NAK = 0x15;
+    private static final int MAX_PENDING_MESSAGES = 16;
+    private static final AtomicInteger threadNo = new AtomicInteger();
+
+    private final HL7DeviceExtension hl7dev;
+    private final ExecutorService workers;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(0x10000);
+    private Selector selector;
+    private boolean shutdown;
+
+    int getWorkerThreads() {
+        return ((ThreadPoolExecutor) workers).getMaximumPoolSize();
+    }
+
+    HL7NioReceiver(HL7DeviceExtension hl7dev, int workerThreads) {
+        this.hl7dev = hl7dev;
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "hl7-worker-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        ((ThreadPoolExecutor) workers).allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Registers an accepted connection to be served by this receiver.
+     *
+     * @param conn listening connection
+     * @param ch accepted channel
+     * @throws IOException if this receiver was already shut down or the channel could not be switched to
+     *                     non-blocking mode
+     */
+    void register(Connection conn, SocketChannel ch) throws IOException {
+        ch.configureBlocking(false);
+        Session session = new Session(conn, ch, hl7dev.getNioMaxMessageLength());
+        synchronized (this) {
+            if (shutdown)
+                throw new IOException("MLLP receiver shut down");
+            if (selector == null) {
+                selector = Selector.open();
+                Selector sel = selector;
+                conn.getDevice().execute(() -> run(sel));
+            }
+            tasks.add(session::register);
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Rejects registration of further connections and shuts down the worker threads, after all connections already
+     * served by this receiver are closed.
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        if (selector == null)
+            workers.shutdown();
+    }
+
+    private void execute(Runnable task) {
+        tasks.add(task);
+        synchronized (this) {
+            if (selector != null)
+                selector.wakeup();
+        }
+    }
+
+    private void run(Selector sel) {
+        LOG.info("Start MLLP Selector");
+        try {
+            for (;;) {
+                sel.select(1000);
+                Runnable task;
+                while ((task = tasks.poll()) != null)
+                    task.run();
+                Iterator<SelectionKey> it = sel.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Session session = (Session) key.attachment();
+                    try {
+                        if (key.isValid() && key.isReadable())
+                            session.onReadable();
+                        if (key.isValid() && key.isWritable())
+                            session.onWritable();
+                    } catch (IOException e) {
+                        LOG.warn("Exception on accepted connection {}:", session.s, e);
+                        session.close();
+                    }
+                }
+                long now = System.currentTimeMillis();
+                for (SelectionKey key : sel.keys())
+                    ((Session) key.attachment()).checkIdle(now);
+                synchronized (this) {
+                    if (sel.keys().isEmpty() && tasks.isEmpty()) {
+                        selector = null;
+                        if (shutdown)
+                            workers.shutdown();
+                        break;
+                    }
+                }
+            }
+            sel.close();
+        } catch (Throwable e) {
+            LOG.error("MLLP Selector failed:", e);
+            synchronized (this) {
+                if (selector == sel)
+                    selector = null;
+                if (shutdown)
+                    workers.shutdown();
+            }
+        }
+        LOG.info("Stop MLLP Selector");
+    }
+
+    private final class Session implements Runnable {
+        final Connection conn;
+        final SocketChannel ch;
+        final Socket s;
+        final boolean mllp2;
+        final MLLPFrameDecoder decoder;
+        final ArrayDeque<byte[]> received = new ArrayDeque<>();
+        final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+        SelectionKey key;
+        long lastActivity = System.currentTimeMillis();
+        int expectedACKs;
+        boolean processing;
+        boolean inputShutdown;
+        volatile boolean closed;
+
+        Session(Connection conn, SocketChannel ch, int maxMessageLength) {
+            this.conn = conn;
+            this.decoder = new MLLPFrameDecoder(maxMessageLength);
+            this.ch = ch;
+            this.s = ch.socket();
+            this.mllp2 = conn.getProtocol() == Connection.Protocol.HL7_MLLP2;
+        }
+
+        void register() {
+            try {
+                key = ch.register(selector, SelectionKey.OP_READ, this);
+            } catch (IOException e) {
+                LOG.warn("Failed to register accepted connection {}:", s, e);
+                close();
+            }
+        }
+
+        void onReadable() throws IOException {
+            readBuffer.clear();
+            int n = ch.read(readBuffer);
+            if (n < 0) {
+                inputShutdown = true;
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                closeIfDone();
+                return;
+            }
+            lastActivity = System.currentTimeMillis();
+            readBuffer.flip();
+            byte[] b;
+            while ((b = decoder.decode(readBuffer)) != null)
+                onFrame(b);
+        }
+
+        private void onFrame(byte[] b) throws IOException {
+            if (expectedACKs > 0 && b.length == 1 && (b[0] == ACK || b[0] == NAK)) {
+                expectedACKs--;
+                if (b[0] == NAK) {
+                    LOG.info("{} >> <NAK>", s);
+                    throw new IOException("NAK received");
+                }
+                LOG.debug("{} >> <ACK>", s);
+                return;
+            }
+            log("{} >> {}", b);
+            if (mllp2) {
+                LOG.debug("{} << <ACK>", s);
+                write(MLLPFrameDecoder.encode(new byte[]{ ACK }));
+            }
+            boolean schedule;
+            synchronized (this) {
+                received.add(b);
+                schedule = !processing;
+                processing = true;
+                if (received.size() >= MAX_PENDING_MESSAGES)
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+            if (schedule)
+                workers.execute(this);
+        }
+
+        /**
+         * Processes received messages sequentially in a worker thread. Closes the connection, if the processing of
+         * a message fails with another exception than {@link HL7Exception}, as a thread per connection does.
+         */
+        @Override
+        public void run() {
+            for (;;) {
+                byte[] data;
+                synchronized (this) {
+                    if ((data = received.poll()) == null) {
+                        processing = false;
+                        break;
+                    }
+                    if (received.size() == MAX_PENDING_MESSAGES - 1)
+                        execute(this::resumeReading);
+                }
+                if (closed)
+                    continue;
+                try {
+                    execute(respond(process(data)));
+                } catch (Throwable e) {
+                    LOG.warn("Failed to process message received on accepted connection {}:", s, e);
+                    synchronized (this) {
+                        received.clear();
+                        processing = false;
+                    }
+                    execute(this::close);
+                    return;
+                }
+            }
+            execute(this::closeIfDone);
+        }
+
+        private void resumeReading() {
+            if (key.isValid() && !inputShutdown)
+                key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+        }
+
+        private UnparsedHL7Message process(byte[] data) {
+            HL7ConnectionMonitor monitor = hl7dev.getHL7ConnectionMonitor();
+            UnparsedHL7Message msg = new UnparsedHL7Message(data);
+            if (monitor != null)
+                monitor.onMessageReceived(conn, s, msg);
+            UnparsedHL7Message rsp;
+            try {
+                rsp = hl7dev.onMessage(conn, s, msg);
+                if (monitor != null)
+                    monitor.onMessageProcessed(conn, s, msg, rsp, null);
+            } catch (HL7Exception e) {
+                rsp = new UnparsedHL7Message(
+                        HL7Message.makeACK(msg.msh(), e).getBytes(null));
+                if (monitor != null)
+                    monitor.onMessageProcessed(conn, s, msg, rsp, e);
+            }
+            return rsp;
+        }
+
+        private Runnable respond(UnparsedHL7Message rsp) {
+            byte[] data = rsp.data();
+            return () -> {
+                if (closed)
+                    return;
+                log("{} << {}", data);
+                if (mllp2)
+                    expectedACKs++;
+                try {
+                    write(MLLPFrameDecoder.encode(data));
+                } catch (IOException e) {
+                    LOG.warn("Exception on accepted connection {}:", s, e);
+                    close();
+                }
+            };
+        }
+
+        private void write(ByteBuffer frame) throws IOException {
+            if (pending.isEmpty()) {
+                ch.write(frame);
+                if (!frame.hasRemaining())
+                    return;
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+            pending.add(frame);
+        }
+
+        void onWritable() throws IOException {
+            ByteBuffer frame;
+            while ((frame = pending.peek()) != null) {
+                ch.write(frame);
+                if (frame.hasRemaining())
+                    return;
+                pending.remove();
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            closeIfDone();
+        }
+
+        private void closeIfDone() {
+            if (inputShutdown && pending.isEmpty() && !isProcessing())
+                close();
+        }
+
+        private synchronized boolean isProcessing() {
+            return processing;
+        }
+
+        void checkIdle(long now) {
+            int idleTimeout = conn.getIdleTimeout();
+            if (idleTimeout > 0 && now - lastActivity > idleTimeout && pending.isEmpty() && !isProcessing()) {
+                LOG.info("{}: idle timeout expired", s);
+                close();
+            }
+        }
+
+        void close() {
+            if (closed)
+                return;
+            closed = true;
+            if (key != null)
+                key.cancel();
+            conn.close(s);
+        }
+
+        private void log(String format, byte[] b) {
+            if (!LOG.isInfoEnabled())
+                return;
+            int mshlen = 0;
+            while (mshlen < b.length && b[mshlen] != '\r')
+                mshlen++;
+            LOG.info(format, s, new String(b, 0, mshlen));
+            if (LOG.isDebugEnabled())
+                LOG.debug(format, s, new String(b).replace('\r', '\n'));
+        }
+    }
+}
@@ -59,9 +59,19 @@ enum HL7ProtocolHandler implements TCPProtocolHandler {
 
     private static Logger LOG = LoggerFactory.getLogger(HL7ProtocolHandler.class);
 
+    @Override
+    public boolean acceptsSocketChannel(Connection conn) {
+        return !conn.isTls()
+                && conn.getDevice().getDeviceExtensionNotNull(HL7DeviceExtension.class).getNioWorkerThreads() > 0;
+    }
+
     @Override
     public void onAccept(Connection conn, Socket s) throws IOException {
-        conn.getDevice().execute(new HL7Receiver(conn, s));
+        HL7DeviceExtension hl7dev = conn.getDevice().getDeviceExtensionNotNull(HL7DeviceExtension.class);
+        if (s.getChannel() != null && hl7dev.getNioWorkerThreads() > 0)
+            hl7dev.registerNioConnection(conn, s.getChannel());
+        else
+            conn.getDevice().execute(new HL7Receiver(conn, s));
     }
 
     private static class HL7Receiver implements Runnable {
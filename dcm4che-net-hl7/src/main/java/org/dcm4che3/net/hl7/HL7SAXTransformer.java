@@ -50,6 +50,7 @@ import org.dcm4che3.hl7.HL7Parser;
 import org.dcm4che3.io.ContentHandlerAdapter;
 import org.dcm4che3.io.SAXTransformer;
 import org.dcm4che3.io.SAXWriter;
+import org.dcm4che3.io.TemplatesCache;
 import org.xml.sax.SAXException;
 
 import javax.xml.transform.Templates;
@@ -70,6 +71,12 @@ public class HL7SAXTransformer {
 
     private static SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
 
+    public static Attributes transform(byte[] data, String hl7charset, String dicomCharset, String templatesURI,
+            SAXTransformer.SetupTransformer setup)
+            throws TransformerConfigurationException, IOException, SAXException {
+        return transform(data, hl7charset, dicomCharset, TemplatesCache.getDefault().get(templatesURI), setup);
+    }
+
     public static Attributes transform(byte[] data, String hl7charset, String dicomCharset, Templates templates,
             SAXTransformer.SetupTransformer setup)
             throws TransformerConfigurationException, IOException, SAXException {
@@ -86,6 +93,14 @@ public class HL7SAXTransformer {
         return attrs;
     }
 
+    public static byte[] transform(Attributes attrs, String hl7charset, String templatesURI,
+            boolean includeNameSpaceDeclaration, boolean includeKeword,
+            SAXTransformer.SetupTransformer setup)
+            throws TransformerConfigurationException, SAXException, UnsupportedEncodingException {
+        return transform(attrs, hl7charset, TemplatesCache.getDefault().get(templatesURI),
+                includeNameSpaceDeclaration, includeKeword, setup);
+    }
+
     public static byte[] transform(Attributes attrs, String hl7charset, Templates templates,
             boolean includeNameSpaceDeclaration, boolean includeKeword,
             SAXTransformer.SetupTransformer setup)
@@ -40,6 +40,7 @@
 
 package org.dcm4che3.net.hl7;
 
+import org.dcm4che3.hl7.HL7MessageView;
 import org.dcm4che3.hl7.HL7Segment;
 
 import java.io.Serializable;
@@ -85,6 +86,16 @@ public class UnparsedHL7Message implements Serializable {
         return data;
     }
 
+    /**
+     * Returns a view of the HL7 message which only decodes accessed fields.
+     *
+     * @param defCharset HL7 character set assumed, if the message does not specify MSH-18
+     * @return view of the HL7 message
+     */
+    public HL7MessageView view(String defCharset) {
+        return HL7MessageView.of(data, defCharset);
+    }
+
     /**
      * Return HL7 message with unescaped hexdata from \Xdddd\ escape sequences.
      * Does not unescape \Xdddd\ escape sequences which contains a field separator,
@@ -0,0 +1,202 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class HL7AttributesMapperTest {
+
+    private static final String MSH =
+            "MSH|^~\\&|SENDER|FACILITY|RECEIVER|FACILITY|20261019120000||ORM^O01|MSG1|P|2.5|||||";
+
+    private static byte[] msg(String charset, String... segments) {
+        StringBuilder sb = new StringBuilder(MSH);
+        if (charset != null)
+            sb.append('|').append(charset);
+        for (String seg : segments)
+            sb.append('\r').append(seg);
+        return sb.append('\r').toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void testDefaultMapping() {
+        Attributes attrs = HL7AttributesMapper.getDefault().map(msg(null,
+                "PID|||4711^^^HOSP&1.2.3&ISO||Doe^John^M^Jr^Dr||19700101|M",
+                "PV1||O||||||1234^Smith^Jane^^^Prof",
+                "ORC|NW|P123^PLACER|F456^FILLER",
+                "OBR||P123|F456|^CT Head||||||||||||||ACC789|RP1|SPS1||||CT|||^^^20261020093000+0200"),
+                "ASCII");
+        assertNull(attrs.getString(Tag.SpecificCharacterSet));
+        assertEquals("4711", attrs.getString(Tag.PatientID));
+        assertEquals("HOSP", attrs.getString(Tag.IssuerOfPatientID));
+        assertEquals("Doe^John^M^Dr^Jr", attrs.getString(Tag.PatientName));
+        assertEquals("19700101", attrs.getString(Tag.PatientBirthDate));
+        assertEquals("M", attrs.getString(Tag.PatientSex));
+        assertEquals("Smith^Jane^^Prof", attrs.getString(Tag.ReferringPhysicianName));
+        assertEquals("P123", attrs.getString(Tag.PlacerOrderNumberImagingServiceRequest));
+        assertEquals("F456", attrs.getString(Tag.FillerOrderNumberImagingServiceRequest));
+        assertEquals("CT Head", attrs.getString(Tag.RequestedProcedureDescription));
+        assertEquals("ACC789", attrs.getString(Tag.AccessionNumber));
+        assertEquals("RP1", attrs.getString(Tag.RequestedProcedureID));
+        Attributes sps = attrs.getNestedDataset(Tag.ScheduledProcedureStepSequence);
+        assertNotNull(sps);
+        assertEquals("SPS1", sps.getString(Tag.ScheduledProcedureStepID));
+        assertEquals("CT", sps.getString(Tag.Modality));
+        assertEquals("20261020", sps.getString(Tag.ScheduledProcedureStepStartDate));
+        assertEquals("093000", sps.getString(Tag.ScheduledProcedureStepStartTime));
+    }
+
+    @Test
+    public void testEmptyFieldsNotMapped() {
+        Attributes attrs = HL7AttributesMapper.getDefault().map(msg(null, "PID|||4711||^^^||20261019"), "ASCII");
+        assertEquals("4711", attrs.getString(Tag.PatientID));
+        assertFalse(attrs.contains(Tag.PatientName));
+        assertFalse(attrs.contains(Tag.PatientSex));
+        assertEquals("20261019", attrs.getString(Tag.PatientBirthDate));
+    }
+
+    @Test
+    public void testTimestampWithoutTime() {
+        HL7AttributesMapper mapper = HL7AttributesMapper.valueOf(
+                "OBR-7 StudyDate\nOBR-7 StudyTime\nOBR-8 AcquisitionDateTime");
+        Attributes attrs = mapper.map(msg(null, "OBR|||||||20261019|20261019123045.5-0500"), "ASCII");
+        assertEquals("20261019", attrs.getString(Tag.StudyDate));
+        assertFalse(attrs.contains(Tag.StudyTime));
+        assertEquals("20261019123045.5-0500", attrs.getString(Tag.AcquisitionDateTime));
+    }
+
+    @Test
+    public void testRepetitions() {
+        HL7AttributesMapper mapper = HL7AttributesMapper.valueOf(
+                "PID-3.1* OtherPatientIDs\nPID-5 PatientName\nPID-13.1* PatientTelephoneNumbers");
+        Attributes attrs = mapper.map(
+                msg(null, "PID|||A1~~A3||Doe^John~Roe^Richard||||||||555-1234~555-5678"), "ASCII");
+        assertArrayEquals(new String[]{ "A1", "A3" }, attrs.getStrings(Tag.OtherPatientIDs));
+        assertEquals("Doe^John", attrs.getString(Tag.PatientName));
+        assertArrayEquals(new String[]{ "555-1234", "555-5678" }, attrs.getStrings(Tag.PatientTelephoneNumbers));
+    }
+
+    @Test
+    public void testSubcomponentAndExplicitType() {
+        HL7AttributesMapper mapper = HL7AttributesMapper.valueOf(
+                "PID-3.4.2 IssuerOfPatientIDQualifiersSequence.UniversalEntityID\n"
+                + "PID-5 PatientComments ST");
+        Attributes attrs = mapper.map(msg(null, "PID|||4711^^^HOSP&1.2.3&ISO||Doe^John"), "ASCII");
+        assertEquals("1.2.3", attrs.getNestedDataset(Tag.IssuerOfPatientIDQualifiersSequence)
+                .getString(Tag.UniversalEntityID));
+        assertEquals("Doe^John", attrs.getString(Tag.PatientComments));
+    }
+
+    @Test
+    public void testEscapeSequences() {
+        HL7AttributesMapper mapper = HL7AttributesMapper.valueOf("OBR-4.2 PatientComments\n"
+                + "PID-5 PatientName");
+        Attributes attrs = mapper.map(msg(null,
+                "PID|||4711||O\\T\\Brien^\\H\\John\\N\\",
+                "OBR||||^CT \\T\\ MR\\F\\X\\S\\Y\\R\\Z\\E\\\\.br\\"), "ASCII");
+        assertEquals("CT & MR|X^Y~Z\\", attrs.getString(Tag.PatientComments));
+        assertEquals("O&Brien^John", attrs.getString(Tag.PatientName));
+    }
+
+    @Test
+    public void testEscapedEscapeCharacterDoesNotSplitValues() {
+        HL7AttributesMapper mapper = HL7AttributesMapper.valueOf("PID-3.1 PatientID\n"
+                + "PID-4* OtherPatientIDs\n"
+                + "PID-5 PatientName");
+        Attributes attrs = mapper.map(msg(null, "PID|||A\\E\\1|B\\E\\2~C3|O\\E\\Brien^John"), "ASCII");
+        assertArrayEquals(new String[]{ "A\\1" }, attrs.getStrings(Tag.PatientID));
+        assertArrayEquals(new String[]{ "B\\2", "C3" }, attrs.getStrings(Tag.OtherPatientIDs));
+        assertArrayEquals(new String[]{ "O\\Brien^John" }, attrs.getStrings(Tag.PatientName));
+    }
+
+    @Test
+    public void testCharacterSet() {
+        byte[] data = msg("8859/1", "PID|||4711||Müller^Jürgen");
+        Attributes attrs = HL7AttributesMapper.getDefault().map(data, "ASCII");
+        assertEquals("ISO_IR 100", attrs.getString(Tag.SpecificCharacterSet));
+        assertEquals("Müller^Jürgen", attrs.getString(Tag.PatientName));
+        attrs = HL7AttributesMapper.getDefault().map(msg(null, "PID|||4711||Müller"), "8859/1");
+        assertEquals("ISO_IR 100", attrs.getString(Tag.SpecificCharacterSet));
+        assertEquals("Müller", attrs.getString(Tag.PatientName));
+    }
+
+    @Test
+    public void testGetMappings() throws IOException {
+        HL7AttributesMapper mapper = HL7AttributesMapper.parse(new StringReader(
+                "# comment\n\nPID-3.1   PatientID  # trailing comment\n\tPID-5 PatientName XPN\n"));
+        String[] mappings = mapper.getMappings();
+        assertArrayEquals(new String[]{ "PID-3.1 PatientID", "PID-5 PatientName XPN" }, mappings);
+        assertArrayEquals(mappings, HL7AttributesMapper.valueOf(mappings).getMappings());
+        assertEquals(21, HL7AttributesMapper.getDefault().getMappings().length);
+    }
+
+    @Test
+    public void testMalformedMappings() {
+        assertMalformed("PID-3.1", "line 1:");
+        assertMalformed("PID-3.1 PatientID ST extra", "line 1:");
+        assertMalformed("# comment\nPID3 PatientID", "line 2: invalid field: PID3");
+        assertMalformed("PI-3 PatientID", "line 1: invalid field: PI-3");
+        assertMalformed("PID-0 PatientID", "line 1: invalid field: PID-0");
+        assertMalformed("PID-3.x PatientID", "line 1: invalid field: PID-3.x");
+        assertMalformed("PID-3.1.1.1 PatientID", "line 1: invalid field: PID-3.1.1.1");
+        assertMalformed("PID-3 NoSuchAttribute", "line 1:");
+        assertMalformed("PID-3 PatientID XYZ", "line 1:");
+        assertMalformed("PID-3.1 PatientID\nPID-2 PatientID", "line 2: duplicate mapping to PatientID");
+    }
+
+    private static void assertMalformed(String mapping, String messagePrefix) {
+        try {
+            HL7AttributesMapper.valueOf(mapping);
+            fail("IllegalArgumentException expected for " + mapping);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(messagePrefix));
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+package org.dcm4che3.net.hl7;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dcm4che3.hl7.HL7Exception;
+import org.dcm4che3.hl7.HL7Message;
+import org.dcm4che3.hl7.MLLPConnection;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class HL7ConnectionPoolTest {
+
+    private Server server;
+    private HL7Application remote;
+    private HL7ConnectionPool pool;
+    private ScheduledExecutorService scheduledExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new Server();
+        remote = createHL7Application("server", "SERVER^TEST", new Connection("hl7", "localhost", server.getPort()));
+        pool = new HL7ConnectionPool(createHL7Application("client", "CLIENT^TEST", new Connection("hl7", "localhost")));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.close();
+        server.close();
+        if (scheduledExecutor != null)
+            scheduledExecutor.shutdownNow();
+    }
+
+    private static HL7Application createHL7Application(String deviceName, String appName, Connection conn) {
+        conn.setProtocol(Connection.Protocol.HL7);
+        Device device = new Device(deviceName);
+        device.addConnection(conn);
+        HL7DeviceExtension hl7Ext = new HL7DeviceExtension();
+        device.addDeviceExtension(hl7Ext);
+        HL7Application hl7App = new HL7Application(appName);
+        hl7App.addConnection(conn);
+        hl7Ext.addHL7Application(hl7App);
+        return hl7App;
+    }
+
+    private static List<UnparsedHL7Message> messages(int count) {
+        List<UnparsedHL7Message> msgs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            msgs.add(new UnparsedHL7Message(("MSH|^~\\&|CLIENT|TEST|SERVER|TEST|20261019120000||ADT^A08|MSG" + i
+                    + "|P|2.5\rPID|||" + i + "\r").getBytes(StandardCharsets.US_ASCII)));
+        return msgs;
+    }
+
+    private static void assertResponses(List<UnparsedHL7Message> msgs, List<UnparsedHL7Message> rsps) {
+        for (int i = 0; i < rsps.size(); i++)
+            assertEquals(msgs.get(i).msh().getMessageControlID(), rsps.get(i).view("ASCII").get("MSA-2"));
+    }
+
+    @Test
+    public void testReuseConnection() throws Exception {
+        List<UnparsedHL7Message> msgs = messages(3);
+        for (UnparsedHL7Message msg : msgs)
+            assertResponses(Collections.singletonList(msg), Collections.singletonList(pool.send(remote, msg)));
+        assertEquals(1, server.accepted.get());
+        assertEquals(3, server.received.size());
+        assertEquals(1, pool.getIdleConnections());
+    }
+
+    @Test
+    public void testPipelinedBatch() throws Exception {
+        pool.setInFlightWindow(3);
+        List<UnparsedHL7Message> msgs = messages(10);
+        List<UnparsedHL7Message> rsps = pool.sendBatch(remote, msgs);
+        assertEquals(10, rsps.size());
+        assertResponses(msgs, rsps);
+        assertEquals(Arrays.asList("MSG0", "MSG1", "MSG2", "MSG3", "MSG4", "MSG5", "MSG6", "MSG7", "MSG8", "MSG9"),
+                server.received);
+    }
+
+    @Test
+    public void testReconnectIfReusedConnectionClosedByReceiver() throws Exception {
+        List<UnparsedHL7Message> msgs = messages(2);
+        pool.send(remote, msgs.get(0));
+        server.closeConnections();
+        assertResponses(msgs.subList(1, 2), Collections.singletonList(pool.send(remote, msgs.get(1))));
+        assertEquals(2, server.accepted.get());
+        assertEquals(Arrays.asList("MSG0", "MSG1"), server.received);
+    }
+
+    @Test
+    public void testNoResendOfUnacknowledgedMessages() throws Exception {
+        List<UnparsedHL7Message> msgs = messages(5);
+        pool.send(remote, msgs.get(0));
+        server.closeAfterResponses(2);
+        pool.setInFlightWindow(2);
+        try {
+            pool.sendBatch(remote, msgs.subList(1, 5));
+            fail("HL7BatchException expected");
+        } catch (HL7BatchException e) {
+            assertEquals(1, e.getFirstUnacknowledged());
+            assertResponses(msgs.subList(1, 2), e.getResponses());
+        }
+        // MSG0 and MSG1 acknowledged on the reused connection, MSG2 and MSG3 not acknowledged, no resend
+        assertEquals(1, server.accepted.get());
+        assertEquals(Arrays.asList("MSG0", "MSG1", "MSG2"), server.received);
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    @Test
+    public void testClosedPoolRejectsSend() throws Exception {
+        pool.close();
+        try {
+            pool.send(remote, messages(1).get(0));
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(0, server.accepted.get());
+    }
+
+    @Test
+    public void testCloseReleasedConnection() throws Exception {
+        pool.send(remote, messages(1).get(0));
+        assertEquals(1, pool.getIdleConnections());
+        pool.close();
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    @Test
+    public void testScheduledIdleEviction() throws Exception {
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        pool.getHL7Application().getDevice().setScheduledExecutor(scheduledExecutor);
+        pool.setKeepAlive(100);
+        pool.send(remote, messages(1).get(0));
+        assertEquals(1, pool.getIdleConnections());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getIdleConnections() > 0 && System.currentTimeMillis() < deadline)
+            Thread.sleep(20);
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    /**
+     * MLLP server responding with AA acknowledgements, which optionally closes a connection, after it responded
+     * to a specified number of messages.
+     */
+    private static class Server implements Runnable {
+        final ServerSocket ss = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final AtomicInteger accepted = new AtomicInteger();
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+        final List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+        volatile int closeAfterResponses = Integer.MAX_VALUE;
+
+        Server() throws IOException {
+            Thread t = new Thread(this);
+            t.setDaemon(true);
+            t.start();
+        }
+
+        int getPort() {
+            return ss.getLocalPort();
+        }
+
+        void closeAfterResponses(int count) {
+            closeAfterResponses = count;
+        }
+
+        void closeConnections() throws Exception {
+            synchronized (sockets) {
+                for (Socket s : sockets)
+                    s.close();
+            }
+            Thread.sleep(100);
+        }
+
+        void close() throws IOException {
+            ss.close();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (;;) {
+                    Socket s = ss.accept();
+                    accepted.incrementAndGet();
+                    sockets.add(s);
+                    Thread t = new Thread(() -> serve(s));
+                    t.setDaemon(true);
+                    t.start();
+                }
+            } catch (IOException e) {
+                // server socket closed
+            }
+        }
+
+        private void serve(Socket s) {
+            try (MLLPConnection mllp = new MLLPConnection(s)) {
+                int responses = 0;
+                byte[] data;
+                while ((data = mllp.readMessage()) != null) {
+                    UnparsedHL7Message msg = new UnparsedHL7Message(data);
+                    received.add(msg.msh().getMessageControlID());
+                    if (responses++ >= closeAfterResponses) {
+                        closeAfterResponses = Integer.MAX_VALUE;
+                        break;
+                    }
+                    mllp.writeMessage(HL7Message.makeACK(msg.msh(), HL7Exception.AA, null).getBytes(null));
+                }
+            } catch (IOException e) {
+                // connection closed
+            }
+        }
+    }
+}
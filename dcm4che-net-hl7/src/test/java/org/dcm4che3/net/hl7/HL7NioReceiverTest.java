@@ -0,0 +1,204 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.hl7;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.dcm4che3.hl7.HL7Exception;
+import org.dcm4che3.hl7.HL7Message;
+import org.dcm4che3.hl7.MLLPInputStream;
+import org.dcm4che3.hl7.MLLPOutputStream;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since Oct 2026
+ */
+public class HL7NioReceiverTest {
+
+    private static final byte ACK = 0x06;
+    private static final byte NAK = 0x15;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private Device device;
+    private HL7DeviceExtension hl7Ext;
+    private Socket sock;
+
+    @After
+    public void tearDown() throws Exception {
+        if (sock != null)
+            sock.close();
+        if (device != null)
+            device.unbindConnections();
+        executor.shutdownNow();
+    }
+
+    private void startReceiver(Connection.Protocol protocol) throws Exception {
+        int port;
+        try (ServerSocket ss = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = ss.getLocalPort();
+        }
+        Connection conn = new Connection("hl7", "127.0.0.1", port);
+        conn.setProtocol(protocol);
+        device = new Device("receiver");
+        device.setExecutor(executor);
+        device.addConnection(conn);
+        hl7Ext = new HL7DeviceExtension();
+        hl7Ext.setNioWorkerThreads(2);
+        device.addDeviceExtension(hl7Ext);
+        HL7Application hl7App = new HL7Application("SERVER^TEST");
+        hl7App.setAcceptedMessageTypes("*");
+        // delay processing of earlier messages longer than of later messages
+        hl7App.setHL7MessageListener((app, c, s, msg) -> {
+            try {
+                Thread.sleep(10 - Integer.parseInt(msg.msh().getMessageControlID().substring(3)) % 10);
+            } catch (InterruptedException e) {
+                throw new HL7Exception(HL7Exception.AE, e);
+            }
+            return new UnparsedHL7Message(HL7Message.makeACK(msg.msh(), HL7Exception.AA, null).getBytes(null));
+        });
+        hl7App.addConnection(conn);
+        hl7Ext.addHL7Application(hl7App);
+        device.bindConnections();
+        sock = new Socket(InetAddress.getLoopbackAddress(), port);
+        sock.setSoTimeout(5000);
+    }
+
+    private static byte[] message(int i) {
+        return ("MSH|^~\\&|CLIENT|TEST|SERVER|TEST|20261019120000||ADT^A08|MSG" + i
+                + "|P|2.5\rPID|||" + i + "\r").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String controlIDofACK(byte[] rsp) {
+        return new UnparsedHL7Message(rsp).view("ASCII").get("MSA-2");
+    }
+
+    @Test
+    public void testPipelinedMessages() throws Exception {
+        startReceiver(Connection.Protocol.HL7);
+        MLLPOutputStream out = new MLLPOutputStream(sock.getOutputStream());
+        MLLPInputStream in = new MLLPInputStream(sock.getInputStream());
+        for (int i = 0; i < 20; i++)
+            out.writeMessage(message(i));
+        for (int i = 0; i < 20; i++)
+            assertEquals("MSG" + i, controlIDofACK(in.readMessage()));
+        sock.shutdownOutput();
+        assertNull(in.readMessage());
+    }
+
+    @Test
+    public void testPipelinedMessagesMLLP2() throws Exception {
+        startReceiver(Connection.Protocol.HL7_MLLP2);
+        MLLPOutputStream out = new MLLPOutputStream(sock.getOutputStream());
+        MLLPInputStream in = new MLLPInputStream(sock.getInputStream());
+        for (int i = 0; i < 20; i++)
+            out.writeMessage(message(i));
+        int commitACKs = 0;
+        List<String> responses = new ArrayList<>();
+        while (responses.size() < 20) {
+            byte[] b = in.readMessage();
+            assertNotNull(b);
+            if (b.length == 1) {
+                assertEquals(ACK, b[0]);
+                // commit acknowledgement of a message precedes its response
+                assertTrue(++commitACKs > responses.size());
+            } else {
+                responses.add(controlIDofACK(b));
+                out.write(ACK);
+                out.finish();
+            }
+        }
+        assertEquals(20, commitACKs);
+        for (int i = 0; i < 20; i++)
+            assertEquals("MSG" + i, responses.get(i));
+        // connection still usable after acknowledging all responses
+        out.writeMessage(message(20));
+        assertArrayEquals(new byte[]{ ACK }, in.readMessage());
+        assertEquals("MSG20", controlIDofACK(in.readMessage()));
+    }
+
+    @Test
+    public void testCloseOnNAK() throws Exception {
+        startReceiver(Connection.Protocol.HL7_MLLP2);
+        MLLPOutputStream out = new MLLPOutputStream(sock.getOutputStream());
+        MLLPInputStream in = new MLLPInputStream(sock.getInputStream());
+        out.writeMessage(message(0));
+        assertArrayEquals(new byte[]{ ACK }, in.readMessage());
+        assertEquals("MSG0", controlIDofACK(in.readMessage()));
+        out.write(NAK);
+        out.finish();
+        assertEndOfStream(in);
+    }
+
+    @Test
+    public void testCloseOnMessageExceedingMaxLength() throws Exception {
+        startReceiver(Connection.Protocol.HL7);
+        hl7Ext.setNioMaxMessageLength(100);
+        MLLPOutputStream out = new MLLPOutputStream(sock.getOutputStream());
+        MLLPInputStream in = new MLLPInputStream(sock.getInputStream());
+        out.writeMessage(message(0));
+        assertEquals("MSG0", controlIDofACK(in.readMessage()));
+        byte[] msg = message(1);
+        byte[] large = Arrays.copyOf(msg, 200);
+        Arrays.fill(large, msg.length, large.length, (byte) 'X');
+        out.writeMessage(large);
+        assertEndOfStream(in);
+    }
+
+    private static void assertEndOfStream(MLLPInputStream in) throws IOException {
+        try {
+            assertNull(in.readMessage());
+        } catch (IOException e) {
+            // connection reset by receiver
+        }
+    }
+}
@@ -100,6 +100,7 @@ public class ApplicationEntity implements Serializable {
     private final LinkedHashMap<Class<? extends AEExtension>,AEExtension> extensions = new LinkedHashMap<>();
 
     private transient DimseRQHandler dimseRQHandler;
+    private transient volatile NegotiationTable negotiationTable;
 
     public ApplicationEntity() {
     }
@@ -249,6 +250,7 @@ public class ApplicationEntity implements Serializable {
     public void setPreferredTransferSyntaxes(String... transferSyntaxes) {
         this.prefTransferSyntaxes =
                 StringUtils.requireContainsNoEmpty(transferSyntaxes, "empty transferSyntax");
+        invalidateNegotiationTable();
     }
 
     public String[] getAcceptedCallingAETitles() {
@@ -498,6 +500,7 @@ public class ApplicationEntity implements Serializable {
         tc.setApplicationEntity(this);
         TransferCapability prev = (tc.getRole() == TransferCapability.Role.SCU
                 ? scuTCs : scpTCs).put(tc.getSopClass(), tc);
+        invalidateNegotiationTable();
         if (prev != null && prev != tc)
             prev.setApplicationEntity(null);
         return prev;
@@ -507,6 +510,7 @@ public class ApplicationEntity implements Serializable {
             TransferCapability.Role role) {
         TransferCapability tc = (role == TransferCapability.Role.SCU ? scuTCs : scpTCs)
                         .remove(sopClass);
+        invalidateNegotiationTable();
         if (tc != null)
             tc.setApplicationEntity(null);
         return tc;
@@ -538,14 +542,32 @@ public class ApplicationEntity implements Serializable {
     protected PresentationContext negotiate(AAssociateRQ rq, AAssociateAC ac,
            PresentationContext rqpc) {
        String as = rqpc.getAbstractSyntax();
-       TransferCapability tc = roleSelection(rq, ac, as);
        int pcid = rqpc.getPCID();
+       TransferCapability tc;
+       String ts;
+       if (rq.getRoleSelectionFor(as) == null
+               && rq.getCommonExtendedNegotiationFor(as) == null) {
+           NegotiationTable table = negotiationTable();
+           NegotiationTable.Entry entry = table.get(as, rqpc.getTransferSyntaxes());
+           if (entry != null) {
+               tc = entry.tc;
+               ts = entry.ts;
+           } else {
+               tc = scpTCs.get(as);
+               if (tc == null)
+                   tc = scpTCs.get("*");
+               ts = tc != null ? tc.selectTransferSyntax(rqpc.getTransferSyntaxes()) : null;
+               table.put(as, rqpc.getTransferSyntaxes(), tc, ts);
+           }
+       } else {
+           tc = roleSelection(rq, ac, as);
+           ts = tc != null ? tc.selectTransferSyntax(rqpc.getTransferSyntaxes()) : null;
+       }
        if (tc == null)
            return new PresentationContext(pcid,
                    PresentationContext.ABSTRACT_SYNTAX_NOT_SUPPORTED,
                    rqpc.getTransferSyntax());
 
-       String ts = tc.selectTransferSyntax(rqpc.getTransferSyntaxes());
        if (ts == null)
            return new PresentationContext(pcid,
                    PresentationContext.TRANSFER_SYNTAX_NOT_SUPPORTED,
@@ -558,6 +580,17 @@ public class ApplicationEntity implements Serializable {
                PresentationContext.ACCEPTANCE, ts);
     }
 
+    private NegotiationTable negotiationTable() {
+        NegotiationTable table = negotiationTable;
+        if (table == null)
+            negotiationTable = table = new NegotiationTable();
+        return table;
+    }
+
+    void invalidateNegotiationTable() {
+        negotiationTable = null;
+    }
+
     private TransferCapability roleSelection(AAssociateRQ rq,
             AAssociateAC ac, String asuid) {
         RoleSelection rqrs = rq.getRoleSelectionFor(asuid);
@@ -708,6 +741,7 @@ public class ApplicationEntity implements Serializable {
         scuTCs.putAll(src.scuTCs);
         scpTCs.clear();
         scpTCs.putAll(src.scpTCs);
+        invalidateNegotiationTable();
     }
 
     private void reconfigureAEExtensions(ApplicationEntity from) {
@@ -0,0 +1,107 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memorizes the outcome of the negotiation of presentation contexts by an {@link ApplicationEntity}, keyed by the
+ * proposed abstract syntax and transfer syntaxes, so recurring proposals are resolved by one hash lookup instead
+ * of matching the proposal against the configured Transfer Capabilities again. The table is replaced - and not
+ * updated - on any change of the Transfer Capabilities of the Application Entity.
+ *
+ * @since Oct 2026
+ */
+final class NegotiationTable {
+
+    static final int MAX_SIZE = 4096;
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    static final class Entry {
+        final TransferCapability tc;
+        final String ts;
+
+        Entry(TransferCapability tc, String ts) {
+            this.tc = tc;
+            this.ts = ts;
+        }
+    }
+
+    private static final class Key {
+        final String as;
+        final String[] tss;
+        final int hash;
+
+        Key(String as, String[] tss) {
+            this.as = as;
+            this.tss = tss;
+            this.hash = 31 * as.hashCode() + Arrays.hashCode(tss);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key other = (Key) o;
+            return hash == other.hash && as.equals(other.as) && Arrays.equals(tss, other.tss);
+        }
+    }
+
+    Entry get(String as, String[] tss) {
+        return entries.get(new Key(as, tss));
+    }
+
+    void put(String as, String[] tss, TransferCapability tc, String ts) {
+        if (entries.size() < MAX_SIZE)
+            entries.put(new Key(as, tss.clone()), new Entry(tc, ts));
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -42,6 +42,7 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
 import java.security.GeneralSecurityException;
 
 import javax.net.ssl.SSLContext;
@@ -64,7 +65,9 @@ class TCPListener implements Listener {
         
             this.conn = conn;
             this.handler = handler;
-            ss = conn.isTls() ? createTLSServerSocket(conn) : new ServerSocket();
+            ss = conn.isTls() ? createTLSServerSocket(conn)
+                    : handler.acceptsSocketChannel(conn) ? ServerSocketChannel.open().socket()
+                    : new ServerSocket();
             conn.setReceiveBufferSize(ss);
             ss.bind(conn.getBindPoint(), conn.getBacklog());
             conn.getDevice().execute(new Runnable(){
@@ -49,4 +49,16 @@ public interface TCPProtocolHandler {
 
     void onAccept(Connection conn, Socket s) throws IOException;
 
+    /**
+     * Specifies if the listener shall accept connections by a {@link java.nio.channels.ServerSocketChannel}, so
+     * {@link Socket#getChannel()} of accepted sockets returns a {@link java.nio.channels.SocketChannel}, which may
+     * be served by non-blocking I/O. Not applicable for TLS connections.
+     *
+     * @param conn the listening Network Connection
+     * @return {@code true} if accepted sockets shall provide a {@link java.nio.channels.SocketChannel}
+     */
+    default boolean acceptsSocketChannel(Connection conn) {
+        return false;
+    }
+
 }
@@ -174,6 +174,8 @@ public class TransferCapability implements Serializable {
         this.transferSyntaxes = StringUtils.requireContainsNoEmpty(
                 StringUtils.requireNotEmpty(transferSyntaxes, "missing transferSyntax"),
                 "empty transferSyntax");
+        if (ae != null)
+            ae.invalidateNegotiationTable();
     }
 
     public String[] getPreferredTransferSyntaxes() {
@@ -183,6 +185,8 @@ public class TransferCapability implements Serializable {
     public void setPreferredTransferSyntaxes(String... transferSyntaxes) {
         this.prefTransferSyntaxes =
                 StringUtils.requireContainsNoEmpty(transferSyntaxes, "empty transferSyntax");
+        if (ae != null)
+            ae.invalidateNegotiationTable();
     }
 
     public boolean containsTransferSyntax(String ts) {
@@ -0,0 +1,309 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.queue;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.net.Association;
+import org.dcm4che3.net.DataWriter;
+import org.dcm4che3.net.DataWriterAdapter;
+import org.dcm4che3.net.DimseRSPHandler;
+import org.dcm4che3.net.InputStreamDataWriter;
+import org.dcm4che3.net.NoPresentationContextException;
+import org.dcm4che3.net.Priority;
+import org.dcm4che3.net.Status;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.util.SafeClose;
+import org.dcm4che3.util.StreamUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Dispatches entries of a {@link ForwardQueue} by C-STORE requests over one association per batch to the
+ * Application Entity with the AE Title of the destination.
+ * <p>
+ * Entries are created by {@link #encode(Path)} from references to DICOM files, which are sent as stored, or by
+ * {@link #encode(Attributes)} from data sets, which are sent in Explicit or Implicit VR Little Endian.
+ * <p>
+ * Entries referring to unreadable files, entries for which no presentation context was accepted and entries for
+ * which the C-STORE failed with another status than Out of Resources (A7xxH) are reported as
+ * {@link DispatchException.Outcome#REJECTED rejected}.
+ *
+ * @since Oct 2026
+ */
+public class DicomForwardDispatcher implements ForwardQueue.Dispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DicomForwardDispatcher.class);
+    private static final int FILE = 0;
+    private static final int DATASET = 1;
+
+    private final ApplicationEntity ae;
+    private final Function<String, ApplicationEntity> remoteAEs;
+    private int priority = Priority.NORMAL;
+
+    /**
+     * @param ae        local Application Entity
+     * @param remoteAEs returns the remote Application Entity for an AE Title
+     */
+    public DicomForwardDispatcher(ApplicationEntity ae, Function<String, ApplicationEntity> remoteAEs) {
+        this.ae = ae;
+        this.remoteAEs = remoteAEs;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public static byte[] encode(Path file) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bout)) {
+            out.writeByte(FILE);
+            out.writeUTF(file.toAbsolutePath().toString());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return bout.toByteArray();
+    }
+
+    public static byte[] encode(Attributes dataset) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try {
+            bout.write(DATASET);
+            try (DicomOutputStream out = new DicomOutputStream(bout, UID.ExplicitVRLittleEndian)) {
+                out.writeDataset(null, dataset);
+            }
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return bout.toByteArray();
+    }
+
+    @Override
+    public void dispatch(String destination, List<byte[]> batch) throws Exception {
+        ApplicationEntity remote = remoteAEs.apply(destination);
+        if (remote == null)
+            throw new IOException("Unknown destination: " + destination);
+
+        DispatchException.Outcome[] outcomes = new DispatchException.Outcome[batch.size()];
+        List<String> failed = new ArrayList<>();
+        List<Item> items = new ArrayList<>(batch.size());
+        for (int i = 0; i < outcomes.length; i++) {
+            try {
+                items.add(decode(batch.get(i)));
+            } catch (IOException e) {
+                LOG.warn("Failed to decode entry for {}:", destination, e);
+                items.add(null);
+                outcomes[i] = DispatchException.Outcome.REJECTED;
+                failed.add("#" + i + ": " + e.getMessage());
+            }
+        }
+        AAssociateRQ rq = new AAssociateRQ();
+        rq.setCalledAET(destination);
+        Set<String> proposed = new HashSet<>();
+        for (Item item : items) {
+            if (item == null)
+                continue;
+            if (item.dataset != null) {
+                if (proposed.add(item.cuid))
+                    rq.addPresentationContext(new PresentationContext(rq.getNumberOfPresentationContexts() * 2 + 1,
+                            item.cuid, UID.ExplicitVRLittleEndian, UID.ImplicitVRLittleEndian));
+            } else {
+                rq.addPresentationContextFor(item.cuid, item.tsuid);
+            }
+        }
+        Association as = ae.connect(remote, rq);
+        IOException cause = null;
+        try {
+            for (int i = 0; i < outcomes.length; i++) {
+                Item item = items.get(i);
+                if (item == null)
+                    continue;
+                int index = i;
+                DimseRSPHandler rspHandler = new DimseRSPHandler(as.nextMessageID()) {
+                    @Override
+                    public void onDimseRSP(Association as, Attributes cmd, Attributes data) {
+                        super.onDimseRSP(as, cmd, data);
+                        int status = cmd.getInt(Tag.Status, -1);
+                        synchronized (outcomes) {
+                            if (isSuccessOrWarning(status)) {
+                                outcomes[index] = DispatchException.Outcome.DISPATCHED;
+                            } else {
+                                outcomes[index] = (status & 0xFF00) == Status.OutOfResources
+                                        ? DispatchException.Outcome.FAILED
+                                        : DispatchException.Outcome.REJECTED;
+                                failed.add(item.iuid + ": 0x" + Integer.toHexString(status));
+                            }
+                        }
+                    }
+                };
+                try {
+                    if (item.dataset != null) {
+                        String tsuid = as.getTransferSyntaxesFor(item.cuid).contains(UID.ExplicitVRLittleEndian)
+                                ? UID.ExplicitVRLittleEndian
+                                : UID.ImplicitVRLittleEndian;
+                        as.cstore(item.cuid, item.iuid, priority, new DataWriterAdapter(item.dataset), tsuid,
+                                rspHandler);
+                    } else {
+                        InputStream in = null;
+                        try {
+                            in = Files.newInputStream(item.file);
+                            StreamUtils.skipFully(in, item.datasetPosition);
+                        } catch (IOException e) {
+                            SafeClose.close(in);
+                            LOG.warn("Failed to read {}:", item.file, e);
+                            synchronized (outcomes) {
+                                outcomes[index] = DispatchException.Outcome.REJECTED;
+                                failed.add(item.iuid + ": " + e.getMessage());
+                            }
+                            continue;
+                        }
+                        try {
+                            DataWriter data = new InputStreamDataWriter(in);
+                            as.cstore(item.cuid, item.iuid, priority, data, item.tsuid, rspHandler);
+                        } finally {
+                            SafeClose.close(in);
+                        }
+                    }
+                } catch (NoPresentationContextException e) {
+                    synchronized (outcomes) {
+                        outcomes[index] = DispatchException.Outcome.REJECTED;
+                        failed.add(item.iuid + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            cause = e;
+        } finally {
+            // outcomes of entries already sent are only known after receiving their C-STORE responses
+            try {
+                as.waitForOutstandingRSP();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (cause == null)
+                    cause = new InterruptedIOException();
+            }
+            try {
+                as.release();
+            } catch (IOException e) {
+                LOG.info("{}: Failed to release association:", as, e);
+            }
+        }
+        synchronized (outcomes) {
+            if (cause != null || !failed.isEmpty())
+                throw new DispatchException(outcomes, "C-STORE to " + destination + " failed for " + failed, cause);
+        }
+    }
+
+    private static boolean isSuccessOrWarning(int status) {
+        return status == Status.Success
+                || (status & 0xF000) == 0xB000
+                || status == Status.AttributeListError
+                || status == Status.AttributeValueOutOfRange;
+    }
+
+    private static Item decode(byte[] entry) throws IOException {
+        if (entry[0] == DATASET) {
+            try (DicomInputStream in = new DicomInputStream(
+                    new ByteArrayInputStream(entry, 1, entry.length - 1), UID.ExplicitVRLittleEndian)) {
+                return new Item(in.readDataset());
+            }
+        }
+        Path file = Paths.get(new DataInputStream(new ByteArrayInputStream(entry, 1, entry.length - 1)).readUTF());
+        try (DicomInputStream in = new DicomInputStream(file.toFile())) {
+            Attributes fmi = in.readFileMetaInformation();
+            if (fmi != null)
+                return new Item(file, fmi, in.getPosition());
+
+            Attributes attrs = in.readDataset(-1, Tag.SOPInstanceUID + 1);
+            return new Item(file, attrs.createFileMetaInformation(in.getTransferSyntax()), 0L);
+        }
+    }
+
+    private static final class Item {
+        final String cuid;
+        final String iuid;
+        final String tsuid;
+        final Attributes dataset;
+        final Path file;
+        final long datasetPosition;
+
+        Item(Attributes dataset) {
+            this.cuid = dataset.getString(Tag.SOPClassUID);
+            this.iuid = dataset.getString(Tag.SOPInstanceUID);
+            this.tsuid = null;
+            this.dataset = dataset;
+            this.file = null;
+            this.datasetPosition = 0L;
+        }
+
+        Item(Path file, Attributes fmi, long datasetPosition) {
+            this.cuid = fmi.getString(Tag.MediaStorageSOPClassUID);
+            this.iuid = fmi.getString(Tag.MediaStorageSOPInstanceUID);
+            this.tsuid = fmi.getString(Tag.TransferSyntaxUID);
+            this.dataset = null;
+            this.file = file;
+            this.datasetPosition = datasetPosition;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.queue;
+
+/**
+ * Thrown by {@link ForwardQueue.Dispatcher#dispatch} to report the outcome of each entry of a batch, which was not
+ * dispatched completely.
+ *
+ * @since Oct 2026
+ */
+public class DispatchException extends Exception {
+
+    private static final long serialVersionUID = -3207434125930418374L;
+
+    public enum Outcome {
+        /** Entry was dispatched successfully. */
+        DISPATCHED,
+        /** Dispatching of the entry failed and shall be retried. */
+        FAILED,
+        /** Entry was rejected by the destination and shall be moved to the {@code failed} log without retry. */
+        REJECTED
+    }
+
+    private final Outcome[] outcomes;
+
+    /**
+     * @param outcomes outcome of each entry of the batch; entries without outcome are considered as failed
+     * @param message  detail message
+     * @param cause    cause or {@code null}
+     */
+    public DispatchException(Outcome[] outcomes, String message, Throwable cause) {
+        super(message, cause);
+        this.outcomes = outcomes.clone();
+    }
+
+    public DispatchException(Outcome[] outcomes, String message) {
+        this(outcomes, message, null);
+    }
+
+    /**
+     * Returns the outcome of the entry at the specified index of the batch.
+     *
+     * @param index index of the entry in the batch
+     * @return outcome of the entry
+     */
+    public Outcome getOutcome(int index) {
+        Outcome outcome = index < outcomes.length ? outcomes[index] : null;
+        return outcome != null ? outcome : Outcome.FAILED;
+    }
+}
@@ -0,0 +1,522 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.queue;
+
+import org.dcm4che3.net.Device;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent store-and-forward queue with one partition per destination.
+ * <p>
+ * Entries are appended to a {@link QueueLog} in the sub-directory of the destination and dispatched in batches,
+ * in order of their enqueueing, by the configured {@link Dispatcher} using the executor of the {@link Device}.
+ * Entries dispatched successfully are removed from the queue. Dispatching is retried with exponential backoff
+ * from the first entry which failed; after {@link #getMaxRetries()} retries, that entry is moved to the
+ * {@code failed} log of the destination, so it does not block following entries. Entries rejected by the
+ * destination, as reported by a {@link DispatchException}, are moved to the {@code failed} log immediately.
+ *
+ * @since Oct 2026
+ */
+public class ForwardQueue implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ForwardQueue.class);
+    private static final String FAILED = "failed";
+
+    /**
+     * Forwards a batch of queue entries to a destination.
+     */
+    public interface Dispatcher {
+        /**
+         * Dispatches entries to destination. The outcome of each entry of a batch, which was not dispatched
+         * completely, is reported by throwing a {@link DispatchException}. Any other exception marks all entries as
+         * failed. Entries following the first failed entry are dispatched again on retry, so entries may be
+         * dispatched more than once.
+         *
+         * @param destination name of destination
+         * @param batch       payloads of the entries in order of their enqueueing
+         * @throws DispatchException if not all entries were dispatched successfully
+         * @throws Exception if dispatching failed
+         */
+        void dispatch(String destination, List<byte[]> batch) throws Exception;
+    }
+
+    private final Path dir;
+    private final Device device;
+    private final Dispatcher dispatcher;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final ArrayDeque<Partition> ready = new ArrayDeque<>();
+    private int running;
+    private boolean opened;
+    private boolean closed;
+    private volatile int maxConcurrency = 4;
+    private volatile int batchSize = 100;
+    private volatile long retryDelay = 1000L;
+    private volatile long maxRetryDelay = 300000L;
+    private volatile double retryDelayMultiplier = 2.0;
+    private volatile int maxRetries = 10;
+    private volatile long maxSegmentSize = 64L << 20;
+    private volatile boolean syncOnWrite = true;
+
+    public ForwardQueue(Path dir, Device device, Dispatcher dispatcher) {
+        this.dir = dir;
+        this.device = device;
+        this.dispatcher = dispatcher;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Set the maximal number of destinations to which entries are dispatched concurrently.
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = positive("maxConcurrency", maxConcurrency);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set the maximal number of entries passed by one invocation to {@link Dispatcher#dispatch}.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = positive("batchSize", batchSize);
+    }
+
+    public long getRetryDelay() {
+        return retryDelay;
+    }
+
+    /**
+     * Set the delay in ms before the first retry of a failed dispatch.
+     */
+    public void setRetryDelay(long retryDelay) {
+        this.retryDelay = positive("retryDelay", retryDelay);
+    }
+
+    public long getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+    public void setMaxRetryDelay(long maxRetryDelay) {
+        this.maxRetryDelay = positive("maxRetryDelay", maxRetryDelay);
+    }
+
+    public double getRetryDelayMultiplier() {
+        return retryDelayMultiplier;
+    }
+
+    /**
+     * Set the factor by which the delay is increased for each further retry.
+     */
+    public void setRetryDelayMultiplier(double retryDelayMultiplier) {
+        if (retryDelayMultiplier < 1)
+            throw new IllegalArgumentException("retryDelayMultiplier: " + retryDelayMultiplier);
+        this.retryDelayMultiplier = retryDelayMultiplier;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Set the maximal number of retries of a failed entry, before it is moved to the {@code failed} log. {@code 0}
+     * moves failed entries immediately. Default: {@code 10}.
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0)
+            throw new IllegalArgumentException("maxRetries: " + maxRetries);
+        this.maxRetries = maxRetries;
+    }
+
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Set the maximal size of log segment files of destinations opened afterwards.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = positive("maxSegmentSize", maxSegmentSize);
+    }
+
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    /**
+     * Specify if enqueued entries and advanced read positions are forced to the storage device immediately.
+     * Applies to destinations opened afterwards.
+     */
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    private static int positive(String name, int value) {
+        if (value <= 0)
+            throw new IllegalArgumentException(name + ": " + value);
+        return value;
+    }
+
+    private static long positive(String name, long value) {
+        if (value <= 0)
+            throw new IllegalArgumentException(name + ": " + value);
+        return value;
+    }
+
+    /**
+     * Opens the partitions of all destinations found in the queue directory and schedules dispatching of their
+     * pending entries. Entries enqueued before are not dispatched until the queue is opened.
+     */
+    public void open() throws IOException {
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, Files::isDirectory)) {
+            for (Path path : ds)
+                partition(decode(path.getFileName().toString()));
+        }
+        synchronized (this) {
+            opened = true;
+        }
+        for (Partition partition : partitions.values())
+            signal(partition);
+    }
+
+    public void enqueue(String destination, byte[] payload) throws IOException {
+        Partition partition = partition(destination);
+        partition.log.append(payload, System.currentTimeMillis());
+        signal(partition);
+    }
+
+    public Set<String> getDestinations() {
+        return Collections.unmodifiableSet(partitions.keySet());
+    }
+
+    /**
+     * Returns the number of pending entries for all destinations.
+     */
+    public int getDepth() {
+        int depth = 0;
+        for (Partition partition : partitions.values())
+            depth += partition.log.size();
+        return depth;
+    }
+
+    /**
+     * Returns the number of pending entries for the specified destination.
+     */
+    public int getDepth(String destination) {
+        Partition partition = partitions.get(destination);
+        return partition != null ? partition.log.size() : 0;
+    }
+
+    /**
+     * Returns the time in ms since the oldest pending entry for the specified destination was enqueued, or
+     * {@code 0} if there is no pending entry.
+     */
+    public long getOldestEntryAge(String destination) throws IOException {
+        Partition partition = partitions.get(destination);
+        if (partition == null)
+            return 0L;
+        List<QueueLog.Entry> entries = partition.log.peek(1);
+        return entries.isEmpty() ? 0L : System.currentTimeMillis() - entries.get(0).timestamp;
+    }
+
+    /**
+     * Returns the number of entries dispatched to the specified destination since the queue was opened.
+     */
+    public long getDispatched(String destination) {
+        Partition partition = partitions.get(destination);
+        return partition != null ? partition.dispatched : 0L;
+    }
+
+    /**
+     * Returns the average time in ms between enqueueing and successful dispatching of entries to the specified
+     * destination since the queue was opened.
+     */
+    public long getAverageLatency(String destination) {
+        Partition partition = partitions.get(destination);
+        return partition != null && partition.dispatched > 0
+                ? partition.totalLatency / partition.dispatched
+                : 0L;
+    }
+
+    /**
+     * Returns the number of entries moved to the {@code failed} log of the specified destination since the queue
+     * was opened.
+     */
+    public long getFailed(String destination) {
+        Partition partition = partitions.get(destination);
+        return partition != null ? partition.failed : 0L;
+    }
+
+    /**
+     * Returns the number of retries of the first pending entry of the specified destination.
+     */
+    public int getRetries(String destination) {
+        Partition partition = partitions.get(destination);
+        return partition != null ? partition.retries : 0;
+    }
+
+    private Partition partition(String destination) throws IOException {
+        Partition partition = partitions.get(destination);
+        if (partition == null) {
+            synchronized (partitions) {
+                partition = partitions.get(destination);
+                if (partition == null) {
+                    if (isClosed())
+                        throw new IllegalStateException("closed");
+                    partition = new Partition(destination,
+                            new QueueLog(dir.resolve(encode(destination)), maxSegmentSize, syncOnWrite));
+                    partitions.put(destination, partition);
+                }
+            }
+        }
+        return partition;
+    }
+
+    private static String encode(String destination) {
+        try {
+            return URLEncoder.encode(destination, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String decode(String dirName) {
+        try {
+            return URLDecoder.decode(dirName, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private synchronized void signal(Partition partition) {
+        if (opened && !closed && !partition.active && partition.log.size() > 0) {
+            partition.active = true;
+            ready.add(partition);
+        }
+        startReady();
+    }
+
+    private synchronized void retryLater(Partition partition, long delay) {
+        running--;
+        device.schedule(() -> {
+            synchronized (this) {
+                ready.add(partition);
+                startReady();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        startReady();
+        notifyAll();
+    }
+
+    private synchronized void done(Partition partition) {
+        running--;
+        partition.active = false;
+        signal(partition);
+        notifyAll();
+    }
+
+    private void startReady() {
+        while (!closed && running < maxConcurrency && !ready.isEmpty()) {
+            Partition partition = ready.poll();
+            running++;
+            device.execute(() -> dispatch(partition));
+        }
+    }
+
+    private void dispatch(Partition partition) {
+        List<QueueLog.Entry> entries;
+        try {
+            entries = partition.log.peek(batchSize);
+        } catch (IOException e) {
+            LOG.error("Failed to read entries for {} from queue:", partition.destination, e);
+            retryLater(partition, maxRetryDelay);
+            return;
+        }
+        if (entries.isEmpty()) {
+            done(partition);
+            return;
+        }
+        List<byte[]> batch = new ArrayList<>(entries.size());
+        for (QueueLog.Entry entry : entries)
+            batch.add(entry.payload);
+        Exception failure = null;
+        try {
+            dispatcher.dispatch(partition.destination, batch);
+        } catch (Exception e) {
+            failure = e;
+        }
+        int n = entries.size();
+        int start = 0;
+        try {
+            for (int i = 0; i < n; i++) {
+                DispatchException.Outcome outcome = outcomeOf(failure, i);
+                if (outcome == DispatchException.Outcome.DISPATCHED)
+                    continue;
+                partition.commit(entries.subList(start, i));
+                if (outcome == DispatchException.Outcome.FAILED) {
+                    int retries = ++partition.retries;
+                    if (retries <= maxRetries) {
+                        long delay = (long) Math.min(maxRetryDelay,
+                                retryDelay * Math.pow(retryDelayMultiplier, retries - 1));
+                        LOG.info("Failed to dispatch {} of {} entries to {} - retry #{} in {} ms:",
+                                n - i, n, partition.destination, retries, delay, failure);
+                        retryLater(partition, delay);
+                        return;
+                    }
+                    LOG.warn("Failed to dispatch entry to {} after {} retries - move to failed log:",
+                            partition.destination, maxRetries, failure);
+                } else {
+                    LOG.warn("Entry rejected by {} - move to failed log:", partition.destination, failure);
+                }
+                partition.moveToFailed(entries.subList(i, i + 1));
+                start = i + 1;
+            }
+            partition.commit(entries.subList(start, n));
+        } catch (IOException e) {
+            LOG.error("Failed to update queue for {}:", partition.destination, e);
+            retryLater(partition, maxRetryDelay);
+            return;
+        }
+        done(partition);
+    }
+
+    private static DispatchException.Outcome outcomeOf(Exception failure, int index) {
+        return failure == null ? DispatchException.Outcome.DISPATCHED
+                : failure instanceof DispatchException ? ((DispatchException) failure).getOutcome(index)
+                : DispatchException.Outcome.FAILED;
+    }
+
+    /**
+     * Stops dispatching, waits for running dispatches to complete and closes the logs of all destinations.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            ready.clear();
+            try {
+                while (running > 0)
+                    wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (partitions) {
+            for (Partition partition : partitions.values())
+                partition.close();
+            partitions.clear();
+        }
+    }
+
+    private final class Partition {
+        final String destination;
+        final QueueLog log;
+        QueueLog failedLog;
+        boolean active;
+        volatile int retries;
+        volatile long dispatched;
+        volatile long totalLatency;
+        volatile long failed;
+
+        Partition(String destination, QueueLog log) {
+            this.destination = destination;
+            this.log = log;
+        }
+
+        void commit(List<QueueLog.Entry> entries) throws IOException {
+            if (entries.isEmpty())
+                return;
+            log.commit(entries);
+            long now = System.currentTimeMillis();
+            long latency = 0L;
+            for (QueueLog.Entry entry : entries)
+                latency += now - entry.timestamp;
+            totalLatency += latency;
+            dispatched += entries.size();
+            retries = 0;
+        }
+
+        void moveToFailed(List<QueueLog.Entry> entries) throws IOException {
+            if (failedLog == null)
+                failedLog = new QueueLog(dir.resolve(encode(destination)).resolve(FAILED), maxSegmentSize,
+                        syncOnWrite);
+            for (QueueLog.Entry entry : entries)
+                failedLog.append(entry.payload, entry.timestamp);
+            log.commit(entries);
+            failed += entries.size();
+            retries = 0;
+        }
+
+        void close() {
+            try {
+                log.close();
+                if (failedLog != null)
+                    failedLog.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close queue of {}:", destination, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of queue entries, stored in segment files of limited size. The read position is kept in a
+ * memory mapped index file; segments are deleted after all of their entries are committed.
+ *
+ * <p>Record format: {@code int length, long timestamp, int crc32, byte[length] payload}.
+ *
+ * @since Oct 2026
+ */
+class QueueLog implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueueLog.class);
+    private static final String INDEX = "index";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_LENGTH = 16;
+
+    private final Path dir;
+    private final long maxSegmentSize;
+    private final boolean sync;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer index;
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+    private FileChannel writeChannel;
+    private long writeSegment;
+    private long readSegment;
+    private long readPosition;
+    private FileChannel readChannel;
+    private long readChannelSegment = -1;
+    private int size;
+
+    static final class Entry {
+        final long timestamp;
+        final byte[] payload;
+        final long segment;
+        final long nextPosition;
+
+        Entry(long timestamp, byte[] payload, long segment, long nextPosition) {
+            this.timestamp = timestamp;
+            this.payload = payload;
+            this.segment = segment;
+            this.nextPosition = nextPosition;
+        }
+    }
+
+    QueueLog(Path dir, long maxSegmentSize, boolean sync) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.maxSegmentSize = maxSegmentSize;
+        this.sync = sync;
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path path : ds) {
+                String name = path.getFileName().toString();
+                try {
+                    segments.put(Long.valueOf(name.substring(0, name.length() - SUFFIX.length())), path);
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignore unexpected file {}", path);
+                }
+            }
+        }
+        indexChannel = FileChannel.open(dir.resolve(INDEX),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, 16);
+        readSegment = index.getLong(0);
+        readPosition = index.getLong(8);
+        if (segments.isEmpty()) {
+            readPosition = 0;
+            segments.put(readSegment, segmentPath(readSegment));
+        } else if (readSegment < segments.firstKey()) {
+            readSegment = segments.firstKey();
+            readPosition = 0;
+        }
+        writeSegment = segments.lastKey();
+        recover();
+        writeChannel = FileChannel.open(segments.get(writeSegment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writeChannel.position(writeChannel.size());
+    }
+
+    private Path segmentPath(long segment) {
+        return dir.resolve(String.format("%020d", segment) + SUFFIX);
+    }
+
+    /**
+     * Counts entries after the read position and truncates an incomplete record at the end of the last segment,
+     * left by an interrupted write.
+     */
+    private void recover() throws IOException {
+        for (Path path : segments.tailMap(readSegment).values()) {
+            if (!Files.exists(path))
+                continue;
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long pos = path.equals(segments.get(readSegment)) ? readPosition : 0;
+                long end = ch.size();
+                while (pos < end) {
+                    Entry entry = read(ch, -1, pos);
+                    if (entry == null) {
+                        LOG.warn("Truncate {} from position {} to {}", path, end, pos);
+                        ch.truncate(pos);
+                        break;
+                    }
+                    pos = entry.nextPosition;
+                    size++;
+                }
+            }
+        }
+    }
+
+    private Entry read(FileChannel ch, long segment, long pos) throws IOException {
+        header.clear();
+        if (ch.read(header, pos) < HEADER_LENGTH)
+            return null;
+        header.flip();
+        int length = header.getInt();
+        long timestamp = header.getLong();
+        int crc = header.getInt();
+        if (length < 0 || pos + HEADER_LENGTH + length > ch.size())
+            return null;
+        byte[] payload = new byte[length];
+        ByteBuffer bb = ByteBuffer.wrap(payload);
+        while (bb.hasRemaining())
+            if (ch.read(bb, pos + HEADER_LENGTH + bb.position()) < 0)
+                return null;
+        if (crc32(payload) != crc)
+            return null;
+        return new Entry(timestamp, payload, segment, pos + HEADER_LENGTH + length);
+    }
+
+    private static int crc32(byte[] b) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(b, 0, b.length);
+        return (int) crc32.getValue();
+    }
+
+    synchronized void append(byte[] payload, long timestamp) throws IOException {
+        long pos = writeChannel.position();
+        if (pos > 0 && pos + HEADER_LENGTH + payload.length > maxSegmentSize) {
+            writeChannel.close();
+            writeSegment++;
+            Path path = segmentPath(writeSegment);
+            segments.put(writeSegment, path);
+            writeChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        ByteBuffer bb = ByteBuffer.allocate(HEADER_LENGTH + payload.length);
+        bb.putInt(payload.length).putLong(timestamp).putInt(crc32(payload)).put(payload).flip();
+        while (bb.hasRemaining())
+            writeChannel.write(bb);
+        if (sync)
+            writeChannel.force(false);
+        size++;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns up to {@code maxEntries} entries from the read position without advancing the read position.
+     */
+    synchronized List<Entry> peek(int maxEntries) throws IOException {
+        List<Entry> entries = new ArrayList<>(Math.min(maxEntries, size));
+        long segment = readSegment;
+        long pos = readPosition;
+        while (entries.size() < maxEntries && entries.size() < size) {
+            FileChannel ch = readChannel(segment);
+            Entry entry = ch != null ? read(ch, segment, pos) : null;
+            if (entry == null) {
+                Long next = segments.higherKey(segment);
+                if (next == null)
+                    break;
+                segment = next;
+                pos = 0;
+                continue;
+            }
+            entries.add(entry);
+            pos = entry.nextPosition;
+        }
+        return entries;
+    }
+
+    private FileChannel readChannel(long segment) throws IOException {
+        if (readChannelSegment != segment) {
+            if (readChannel != null)
+                readChannel.close();
+            readChannel = null;
+            readChannelSegment = segment;
+            Path path = segments.get(segment);
+            if (path != null && Files.exists(path))
+                readChannel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        return readChannel;
+    }
+
+    /**
+     * Advances the read position after the specified entries, previously returned by {@link #peek}.
+     */
+    synchronized void commit(List<Entry> entries) throws IOException {
+        if (entries.isEmpty())
+            return;
+        Entry last = entries.get(entries.size() - 1);
+        readSegment = last.segment;
+        readPosition = last.nextPosition;
+        index.putLong(0, readSegment);
+        index.putLong(8, readPosition);
+        if (sync)
+            index.force();
+        size -= entries.size();
+        while (segments.firstKey() < readSegment)
+            deleteSegment(segments.firstKey(), segments.pollFirstEntry().getValue());
+    }
+
+    private void deleteSegment(long segment, Path path) throws IOException {
+        if (readChannelSegment == segment) {
+            if (readChannel != null)
+                readChannel.close();
+            readChannel = null;
+            readChannelSegment = -1;
+        }
+        Files.deleteIfExists(path);
+        LOG.debug("Deleted consumed segment {}", path);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writeChannel.close();
+        if (readChannel != null)
+            readChannel.close();
+        indexChannel.close();
+    }
+}
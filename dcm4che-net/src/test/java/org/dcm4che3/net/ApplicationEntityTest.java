@@ -0,0 +1,117 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net;
+
+import org.dcm4che3.data.UID;
+import org.dcm4che3.net.pdu.AAssociateAC;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.pdu.RoleSelection;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since Oct 2026
+ */
+public class ApplicationEntityTest {
+
+    private ApplicationEntity ae;
+    private TransferCapability ctSCP;
+
+    @Before
+    public void setUp() {
+        ae = new ApplicationEntity("STORESCP");
+        ctSCP = new TransferCapability(null, UID.CTImageStorage, TransferCapability.Role.SCP,
+                UID.ImplicitVRLittleEndian, UID.ExplicitVRLittleEndian);
+        ae.addTransferCapability(ctSCP);
+        ae.addTransferCapability(new TransferCapability(null, UID.MRImageStorage, TransferCapability.Role.SCU,
+                UID.ImplicitVRLittleEndian));
+    }
+
+    @Test
+    public void testNegotiate() {
+        AAssociateRQ rq = new AAssociateRQ();
+        AAssociateAC ac = new AAssociateAC();
+        PresentationContext pc = new PresentationContext(1, UID.CTImageStorage,
+                UID.JPEGBaseline8Bit, UID.ExplicitVRLittleEndian, UID.ImplicitVRLittleEndian);
+        assertAccepted(UID.ExplicitVRLittleEndian, ae.negotiate(rq, ac, pc));
+        assertAccepted(UID.ExplicitVRLittleEndian, ae.negotiate(rq, ac, pc));
+        assertEquals(PresentationContext.TRANSFER_SYNTAX_NOT_SUPPORTED,
+                ae.negotiate(rq, ac, new PresentationContext(3, UID.CTImageStorage, UID.JPEGBaseline8Bit))
+                        .getResult());
+        assertEquals(PresentationContext.ABSTRACT_SYNTAX_NOT_SUPPORTED,
+                ae.negotiate(rq, ac, new PresentationContext(5, UID.MRImageStorage, UID.ImplicitVRLittleEndian))
+                        .getResult());
+    }
+
+    @Test
+    public void testNegotiateAfterReconfiguration() {
+        AAssociateRQ rq = new AAssociateRQ();
+        AAssociateAC ac = new AAssociateAC();
+        PresentationContext pc = new PresentationContext(1, UID.CTImageStorage,
+                UID.JPEGBaseline8Bit, UID.ExplicitVRLittleEndian);
+        assertAccepted(UID.ExplicitVRLittleEndian, ae.negotiate(rq, ac, pc));
+        ctSCP.setTransferSyntaxes(UID.JPEGBaseline8Bit, UID.ExplicitVRLittleEndian);
+        ctSCP.setPreferredTransferSyntaxes(UID.JPEGBaseline8Bit);
+        assertAccepted(UID.JPEGBaseline8Bit, ae.negotiate(rq, ac, pc));
+        ae.removeTransferCapabilityFor(UID.CTImageStorage, TransferCapability.Role.SCP);
+        assertEquals(PresentationContext.ABSTRACT_SYNTAX_NOT_SUPPORTED, ae.negotiate(rq, ac, pc).getResult());
+        ae.addTransferCapability(new TransferCapability(null, "*", TransferCapability.Role.SCP, "*"));
+        assertAccepted(UID.JPEGBaseline8Bit, ae.negotiate(rq, ac, pc));
+    }
+
+    @Test
+    public void testNegotiateRoleSelection() {
+        AAssociateRQ rq = new AAssociateRQ();
+        rq.addRoleSelection(new RoleSelection(UID.MRImageStorage, false, true));
+        AAssociateAC ac = new AAssociateAC();
+        assertAccepted(UID.ImplicitVRLittleEndian, ae.negotiate(rq, ac,
+                new PresentationContext(1, UID.MRImageStorage, UID.ImplicitVRLittleEndian)));
+        RoleSelection rs = ac.getRoleSelectionFor(UID.MRImageStorage);
+        assertNotNull(rs);
+        assertTrue(rs.isSCP());
+    }
+
+    private static void assertAccepted(String ts, PresentationContext pc) {
+        assertTrue(pc.isAccepted());
+        assertEquals(ts, pc.getTransferSyntax());
+    }
+}
@@ -0,0 +1,281 @@
+/* ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package org.dcm4che3.net.queue;
+
+import org.dcm4che3.net.Device;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @since Oct 2026
+ */
+public class ForwardQueueTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+    private Device device;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        device = new Device("test");
+        device.setExecutor(executor);
+        device.setScheduledExecutor(scheduledExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+        scheduledExecutor.shutdown();
+    }
+
+    @Test
+    public void testQueueLog() throws Exception {
+        Path dir = tmp.getRoot().toPath().resolve("log");
+        QueueLog log = new QueueLog(dir, 64, false);
+        for (int i = 0; i < 10; i++)
+            log.append(new byte[] { (byte) i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, i);
+        assertEquals(10, log.size());
+        assertEquals(5, segments(dir));
+        List<QueueLog.Entry> entries = log.peek(3);
+        assertEquals(3, entries.size());
+        assertEquals(2, entries.get(2).payload[0]);
+        log.commit(entries);
+        assertEquals(7, log.size());
+        assertEquals(4, segments(dir));
+        log.close();
+
+        log = new QueueLog(dir, 64, false);
+        assertEquals(7, log.size());
+        entries = log.peek(100);
+        assertEquals(7, entries.size());
+        assertEquals(3, entries.get(0).payload[0]);
+        assertEquals(3L, entries.get(0).timestamp);
+        log.close();
+    }
+
+    @Test
+    public void testTruncateIncompleteRecord() throws Exception {
+        Path dir = tmp.getRoot().toPath().resolve("log");
+        QueueLog log = new QueueLog(dir, 1024, false);
+        log.append(new byte[] { 1, 2, 3 }, 0);
+        log.append(new byte[] { 4, 5, 6 }, 0);
+        log.close();
+        Path segment = dir.resolve("00000000000000000000.log");
+        byte[] b = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(b, b.length - 1));
+        log = new QueueLog(dir, 1024, false);
+        assertEquals(1, log.size());
+        log.append(new byte[] { 7 }, 0);
+        List<QueueLog.Entry> entries = log.peek(10);
+        assertEquals(2, entries.size());
+        assertEquals(7, entries.get(1).payload[0]);
+        log.close();
+    }
+
+    @Test
+    public void testDispatchWithRetry() throws Exception {
+        List<byte[]> dispatched = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger calls = new AtomicInteger();
+        ForwardQueue queue = new ForwardQueue(tmp.getRoot().toPath(), device, (destination, batch) -> {
+            assertEquals("DEST|FAC", destination);
+            if (calls.incrementAndGet() <= 2)
+                throw new Exception("unavailable");
+            dispatched.addAll(batch);
+        });
+        queue.setRetryDelay(10);
+        queue.setBatchSize(4);
+        queue.open();
+        for (int i = 0; i < 10; i++)
+            queue.enqueue("DEST|FAC", new byte[] { (byte) i });
+        long end = System.currentTimeMillis() + 5000;
+        while (queue.getDispatched("DEST|FAC") < 10 && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertEquals(10, dispatched.size());
+        for (int i = 0; i < 10; i++)
+            assertEquals(i, dispatched.get(i)[0]);
+        assertEquals(0, queue.getDepth("DEST|FAC"));
+        assertEquals(10, queue.getDispatched("DEST|FAC"));
+        queue.close();
+    }
+
+    @Test
+    public void testMoveToFailedAndReopen() throws Exception {
+        Path dir = tmp.getRoot().toPath();
+        ForwardQueue queue = new ForwardQueue(dir, device, (destination, batch) -> {
+            throw new Exception("rejected");
+        });
+        queue.setRetryDelay(10);
+        queue.setMaxRetries(1);
+        queue.open();
+        queue.enqueue("AET", new byte[] { 1 });
+        long end = System.currentTimeMillis() + 5000;
+        while (queue.getFailed("AET") == 0 && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertEquals(1, queue.getFailed("AET"));
+        assertEquals(0, queue.getDepth("AET"));
+        queue.close();
+
+        queue = new ForwardQueue(dir, device, (destination, batch) -> {
+            throw new Exception("unavailable");
+        });
+        queue.setRetryDelay(60000);
+        queue.open();
+        assertTrue(queue.getDestinations().contains("AET"));
+        assertEquals(0, queue.getDepth("AET"));
+        queue.enqueue("AET", new byte[] { 2 });
+        queue.close();
+
+        queue = new ForwardQueue(dir, device, (destination, batch) -> {});
+        queue.setMaxConcurrency(1);
+        queue.open();
+        end = System.currentTimeMillis() + 5000;
+        while (queue.getDispatched("AET") == 0 && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertEquals(1, queue.getDispatched("AET"));
+        queue.close();
+    }
+
+    @Test
+    public void testCommitDispatchedAndRetryFailedEntries() throws Exception {
+        List<String> batches = Collections.synchronizedList(new ArrayList<>());
+        ForwardQueue queue = new ForwardQueue(tmp.getRoot().toPath(), device, (destination, batch) -> {
+            batches.add(toString(batch));
+            if (batches.size() == 1)
+                throw new DispatchException(new DispatchException.Outcome[]{
+                        DispatchException.Outcome.DISPATCHED,
+                        DispatchException.Outcome.DISPATCHED,
+                        DispatchException.Outcome.FAILED,
+                        DispatchException.Outcome.DISPATCHED }, "unavailable");
+        });
+        queue.setRetryDelay(10);
+        for (int i = 0; i < 4; i++)
+            queue.enqueue("AET", new byte[] { (byte) i });
+        queue.open();
+        awaitProcessed(queue, "AET", 4);
+        assertEquals(Arrays.asList("0123", "23"), batches);
+        assertEquals(4, queue.getDispatched("AET"));
+        assertEquals(0, queue.getFailed("AET"));
+        queue.close();
+    }
+
+    @Test
+    public void testMoveRejectedEntryWithoutRetry() throws Exception {
+        List<String> batches = Collections.synchronizedList(new ArrayList<>());
+        ForwardQueue queue = new ForwardQueue(tmp.getRoot().toPath(), device, (destination, batch) -> {
+            batches.add(toString(batch));
+            if (batch.get(0)[0] == 0)
+                throw new DispatchException(new DispatchException.Outcome[]{
+                        DispatchException.Outcome.DISPATCHED,
+                        DispatchException.Outcome.REJECTED,
+                        DispatchException.Outcome.DISPATCHED }, "rejected");
+        });
+        queue.setRetryDelay(60000);
+        for (int i = 0; i < 3; i++)
+            queue.enqueue("AET", new byte[] { (byte) i });
+        queue.open();
+        awaitProcessed(queue, "AET", 3);
+        assertEquals(Arrays.asList("012"), batches);
+        assertEquals(2, queue.getDispatched("AET"));
+        assertEquals(1, queue.getFailed("AET"));
+        queue.close();
+    }
+
+    @Test
+    public void testPoisonEntryDoesNotBlockDestination() throws Exception {
+        assertEquals(10, new ForwardQueue(tmp.getRoot().toPath(), device, (destination, batch) -> {}).getMaxRetries());
+        ForwardQueue queue = new ForwardQueue(tmp.getRoot().toPath(), device, (destination, batch) -> {
+            if (batch.get(0)[0] == 0)
+                throw new Exception("poison");
+        });
+        queue.setRetryDelay(10);
+        queue.setMaxRetries(2);
+        for (int i = 0; i < 3; i++)
+            queue.enqueue("AET", new byte[] { (byte) i });
+        queue.open();
+        awaitProcessed(queue, "AET", 3);
+        assertEquals(1, queue.getFailed("AET"));
+        assertEquals(2, queue.getDispatched("AET"));
+        assertEquals(0, queue.getRetries("AET"));
+        queue.close();
+    }
+
+    private static void awaitProcessed(ForwardQueue queue, String destination, int count)
+            throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (queue.getDispatched(destination) + queue.getFailed(destination) < count
+                && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertEquals(0, queue.getDepth(destination));
+    }
+
+    private static String toString(List<byte[]> batch) {
+        StringBuilder sb = new StringBuilder();
+        for (byte[] b : batch)
+            sb.append(b[0]);
+        return sb.toString();
+    }
+
+    private static long segments(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".log")).count();
+        }
+    }
+}
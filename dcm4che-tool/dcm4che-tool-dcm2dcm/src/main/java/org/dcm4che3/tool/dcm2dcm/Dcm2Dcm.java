@@ -69,6 +69,7 @@ import org.dcm4che3.imageio.codec.TransferSyntaxType;
 import org.dcm4che3.io.DicomEncodingOptions;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.io.DicomRewriter;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
 import org.dcm4che3.tool.common.CLIUtils;
 import org.dcm4che3.util.Property;
@@ -87,6 +88,7 @@ public class Dcm2Dcm {
     private boolean retainfmi;
     private boolean nofmi;
     private boolean legacy;
+    private boolean includeExtendedOffsetTable;
     private DicomEncodingOptions encOpts = DicomEncodingOptions.DEFAULT;
     private final List<Property> params = new ArrayList<Property>();
     private int maxThreads = 1;
@@ -112,6 +114,10 @@ public class Dcm2Dcm {
         this.legacy = legacy;
     }
 
+    public void setIncludeExtendedOffsetTable(boolean includeExtendedOffsetTable) {
+        this.includeExtendedOffsetTable = includeExtendedOffsetTable;
+    }
+
     public final void setEncodingOptions(DicomEncodingOptions encOpts) {
         this.encOpts = encOpts;
     }
@@ -184,6 +190,10 @@ public class Dcm2Dcm {
                 .desc(rb.getString("retain-fmi"))
                 .build());
         opts.addOptionGroup(fmiGroup);
+        opts.addOption(Option.builder()
+                .longOpt("eot")
+                .desc(rb.getString("eot"))
+                .build());
         opts.addOption(Option.builder()
                 .hasArg()
                 .argName("N")
@@ -248,6 +258,7 @@ public class Dcm2Dcm {
                 main.setRetainFileMetaInformation(cl.hasOption("f"));
             }
             main.setLegacy(cl.hasOption("legacy"));
+            main.setIncludeExtendedOffsetTable(cl.hasOption("eot"));
 
             if (cl.hasOption("max-threads"))
                 main.setMaxThreads(((Number) cl.getParsedOptionValue("max-threads")).intValue());
@@ -362,6 +373,10 @@ public class Dcm2Dcm {
         try {
             dis.setIncludeBulkData(IncludeBulkData.URI);
             fmi = dis.readFileMetaInformation();
+            if (isRewritable(dis, fmi)) {
+                rewrite(dis, fmi, dest);
+                return;
+            }
             dataset = dis.readDataset();
         } finally {
             dis.close();
@@ -395,11 +410,57 @@ public class Dcm2Dcm {
         }
      }
 
+    /**
+     * Returns {@code true} if neither the source nor the destination Transfer
+     * Syntax encapsulates pixel data and the encoding options require
+     * undefined sequence and item lengths without group lengths, so the data
+     * set can be streamed element by element by a {@link DicomRewriter}.
+     * Empty sequences and items are encoded by {@link DicomRewriter} as
+     * specified by the encoding options.
+     */
+    private boolean isRewritable(DicomInputStream dis, Attributes fmi) {
+        TransferSyntaxType srcType = TransferSyntaxType.forUID(dis.getTransferSyntax());
+        return srcType != null
+                && !srcType.isPixeldataEncapsulated()
+                && !tstype.isPixeldataEncapsulated()
+                && !encOpts.groupLength
+                && encOpts.undefSequenceLength
+                && encOpts.undefItemLength
+                && (nofmi || fmi != null
+                        && fmi.containsValue(Tag.MediaStorageSOPInstanceUID)
+                        && fmi.containsValue(Tag.MediaStorageSOPClassUID));
+    }
+
+    private void rewrite(DicomInputStream dis, Attributes fmi, File dest) throws IOException {
+        if (nofmi)
+            fmi = null;
+        else if (retainfmi)
+            fmi.setString(Tag.TransferSyntaxUID, VR.UI, tsuid);
+        else
+            fmi = Attributes.createFileMetaInformation(
+                    fmi.getString(Tag.MediaStorageSOPInstanceUID),
+                    fmi.getString(Tag.MediaStorageSOPClassUID),
+                    tsuid);
+        dis.setIncludeBulkData(IncludeBulkData.YES);
+        try (DicomOutputStream dos = new DicomOutputStream(dest)) {
+            dos.setEncodingOptions(encOpts);
+            if (fmi != null) {
+                dos.writeFileMetaInformation(fmi);
+                dos.switchTransferSyntax(tsuid);
+            }
+            new DicomRewriter(dos).rewrite(dis);
+        } catch (IOException e) {
+            Files.deleteIfExists(dest.toPath());
+            throw e;
+        }
+    }
+
     public void transcodeWithTranscoder(File src, final File dest) throws IOException {
         try (Transcoder transcoder = new Transcoder(src)) {
             transcoder.setIncludeFileMetaInformation(!nofmi);
             transcoder.setRetainFileMetaInformation(retainfmi);
             transcoder.setEncodingOptions(encOpts);
+            transcoder.setIncludeExtendedOffsetTable(includeExtendedOffsetTable);
             transcoder.setDestinationTransferSyntax(tsuid);
             transcoder.setCompressParams(params.toArray(new Property[params.size()]));
             transcoder.transcode((transcoder1, dataset) -> new FileOutputStream(dest));
@@ -42,12 +42,13 @@ import org.apache.commons.cli.*;
 import org.dcm4che3.data.Attributes;
 import org.dcm4che3.image.ICCProfile;
 import org.dcm4che3.imageio.plugins.dcm.DicomImageReadParam;
+import org.dcm4che3.imageio.stream.PathImageInputStream;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.tool.common.CLIUtils;
 import org.dcm4che3.util.SafeClose;
+import org.dcm4che3.util.StringUtils;
 
 import javax.imageio.*;
-import javax.imageio.stream.FileImageInputStream;
 import javax.imageio.stream.FileImageOutputStream;
 import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
@@ -73,12 +74,15 @@ public class Dcm2Jpg {
     private ReadImage readImage;
     private String suffix;
     private int frame = 1;
+    private int maxSize;
     private int windowIndex;
     private int voiLUTIndex;
     private boolean preferWindow = true;
     private float windowCenter;
     private float windowWidth;
     private boolean autoWindowing = true;
+    private double autoWindowingLowerPercentile = 0;
+    private double autoWindowingUpperPercentile = 100;
     private boolean ignorePresentationLUTShape;
     private Attributes prState;
     private final ImageReader imageReader =
@@ -131,6 +135,10 @@ public class Dcm2Jpg {
         this.frame = frame;
     }
 
+    public final void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
     public final void setWindowCenter(float windowCenter) {
         this.windowCenter = windowCenter;
     }
@@ -155,6 +163,13 @@ public class Dcm2Jpg {
         this.autoWindowing = autoWindowing;
     }
 
+    public final void setAutoWindowingPercentiles(double lower, double upper) {
+        if (lower < 0 || lower > upper || upper > 100)
+            throw new IllegalArgumentException("lower: " + lower + ", upper: " + upper);
+        this.autoWindowingLowerPercentile = lower;
+        this.autoWindowingUpperPercentile = upper;
+    }
+
     public boolean isIgnorePresentationLUTShape() {
         return ignorePresentationLUTShape;
     }
@@ -225,6 +240,13 @@ public class Dcm2Jpg {
                 .desc(rb.getString("frame"))
                 .longOpt("frame")
                 .build());
+        opts.addOption(Option.builder()
+                .hasArg()
+                .argName("pixels")
+                .type(PatternOptionBuilder.NUMBER_VALUE)
+                .desc(rb.getString("maxsize"))
+                .longOpt("maxsize")
+                .build());
         opts.addOption(Option.builder("c")
                 .hasArg()
                 .argName("center")
@@ -286,6 +308,12 @@ public class Dcm2Jpg {
                 .build());
         opts.addOption(null, "uselut", false, rb.getString("uselut"));
         opts.addOption(null, "noauto", false, rb.getString("noauto"));
+        opts.addOption(Option.builder()
+                .hasArg()
+                .argName("lower,upper")
+                .desc(rb.getString("autopct"))
+                .longOpt("autopct")
+                .build());
         opts.addOption(null, "noshape", false, rb.getString("noshape"));
         opts.addOption(null, "lsE", false, rb.getString("lsencoders"));
         opts.addOption(null, "lsF", false, rb.getString("lsformats"));
@@ -324,6 +352,9 @@ public class Dcm2Jpg {
             if (cl.hasOption("frame"))
                 main.setFrame(
                         ((Number) cl.getParsedOptionValue("frame")).intValue());
+            if (cl.hasOption("maxsize"))
+                main.setMaxSize(
+                        ((Number) cl.getParsedOptionValue("maxsize")).intValue());
             if (cl.hasOption("c"))
                 main.setWindowCenter(
                         ((Number) cl.getParsedOptionValue("c")).floatValue());
@@ -347,6 +378,8 @@ public class Dcm2Jpg {
                         parseHex(cl.getOptionValue("ovlyrgb").substring(1)));
             main.setPreferWindow(!cl.hasOption("uselut"));
             main.setAutoWindowing(!cl.hasOption("noauto"));
+            if (cl.hasOption("autopct"))
+                setAutoWindowingPercentiles(main, cl.getOptionValue("autopct"));
             main.setIgnorePresentationLUTShape(cl.hasOption("noshape"));
             main.setPresentationState(
                     loadDicomObject((File) cl.getParsedOptionValue("ps")));
@@ -390,6 +423,17 @@ public class Dcm2Jpg {
         }
     }
 
+    private static void setAutoWindowingPercentiles(Dcm2Jpg main, String s) throws ParseException {
+        String[] ss = StringUtils.split(s, ',');
+        if (ss.length != 2)
+            throw new ParseException(MessageFormat.format(rb.getString("invalid-autopct"), s));
+        try {
+            main.setAutoWindowingPercentiles(Double.parseDouble(ss[0]), Double.parseDouble(ss[1]));
+        } catch (IllegalArgumentException e) {
+            throw new ParseException(MessageFormat.format(rb.getString("invalid-autopct"), s));
+        }
+    }
+
     private static int parseHex(String s) throws ParseException {
         try {
             return Integer.parseInt(s, 16);
@@ -426,7 +470,7 @@ public class Dcm2Jpg {
     }
 
     public BufferedImage readImageFromImageInputStream(File file) throws IOException {
-        try (ImageInputStream iis = new FileImageInputStream(file)) {
+        try (ImageInputStream iis = new PathImageInputStream(file)) {
             imageReader.setInput(iis);
             return imageReader.read(frame - 1, readParam());
         }
@@ -439,12 +483,13 @@ public class Dcm2Jpg {
         }
     }
 
-    private ImageReadParam readParam() {
+    private ImageReadParam readParam() throws IOException {
         DicomImageReadParam param =
                 (DicomImageReadParam) imageReader.getDefaultReadParam();
         param.setWindowCenter(windowCenter);
         param.setWindowWidth(windowWidth);
         param.setAutoWindowing(autoWindowing);
+        param.setAutoWindowingPercentiles(autoWindowingLowerPercentile, autoWindowingUpperPercentile);
         param.setIgnorePresentationLUTShape(ignorePresentationLUTShape);
         param.setWindowIndex(windowIndex);
         param.setVOILUTIndex(voiLUTIndex);
@@ -453,6 +498,12 @@ public class Dcm2Jpg {
         param.setOverlayActivationMask(overlayActivationMask);
         param.setOverlayGrayscaleValue(overlayGrayscaleValue);
         param.setOverlayRGBValue(overlayRGBValue);
+        if (maxSize > 0) {
+            int size = Math.max(imageReader.getWidth(frame - 1), imageReader.getHeight(frame - 1));
+            int period = (size + maxSize - 1) / maxSize;
+            if (period > 1)
+                param.setSourceSubsampling(period, period, 0, 0);
+        }
         return param;
     }
 
@@ -44,6 +44,7 @@ import org.dcm4che3.io.BasicBulkDataDescriptor;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
 import org.dcm4che3.json.JSONWriter;
+import org.dcm4che3.json.UTF8JSONGenerator;
 import org.dcm4che3.tool.common.CLIUtils;
 
 import javax.json.Json;
@@ -260,9 +261,10 @@ public class Dcm2Json {
     }
 
     private JsonGenerator createGenerator(OutputStream out) {
+        if (!indent)
+            return new UTF8JSONGenerator(out);
         Map<String, ?> conf = new HashMap<String, Object>(2);
-        if (indent)
-            conf.put(JsonGenerator.PRETTY_PRINTING, null);
+        conf.put(JsonGenerator.PRETTY_PRINTING, null);
         return Json.createGeneratorFactory(conf).createGenerator(out);
     }
 
@@ -43,6 +43,7 @@ import org.dcm4che3.io.BasicBulkDataDescriptor;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
 import org.dcm4che3.io.SAXWriter;
+import org.dcm4che3.io.UTF8XMLWriter;
 import org.dcm4che3.tool.common.CLIUtils;
 
 import javax.xml.transform.OutputKeys;
@@ -73,6 +74,7 @@ public class Dcm2Xml {
 
     private String xsltURL;
     private boolean indent = false;
+    private boolean jaxp = false;
     private boolean includeKeyword = true;
     private boolean includeNamespaceDeclaration = false;
     private IncludeBulkData includeBulkData = IncludeBulkData.URI;
@@ -91,6 +93,10 @@ public class Dcm2Xml {
         this.indent = indent;
     }
 
+    public final void setJAXP(boolean jaxp) {
+        this.jaxp = jaxp;
+    }
+
     public final void setIncludeKeyword(boolean includeKeyword) {
         this.includeKeyword = includeKeyword;
     }
@@ -146,6 +152,7 @@ public class Dcm2Xml {
         opts.addOption("K", "no-keyword", false, rb.getString("no-keyword"));
         opts.addOption(null, "xmlns", false, rb.getString("xmlns"));
         opts.addOption(null, "xml11", false, rb.getString("xml11"));
+        opts.addOption(null, "jaxp", false, rb.getString("jaxp"));
         addBulkdataOptions(opts);
 
         return CLIUtils.parseComandLine(args, opts, rb, Dcm2Xml.class);
@@ -207,6 +214,7 @@ public class Dcm2Xml {
             if (cl.hasOption("x"))
                 main.setXSLTURL(toURL(cl.getOptionValue("x")));
             main.setIndent(cl.hasOption("I"));
+            main.setJAXP(cl.hasOption("jaxp"));
             main.setIncludeKeyword(!cl.hasOption("K"));
             main.setIncludeNamespaceDeclaration(cl.hasOption("xmlns")); if (cl.hasOption("xml11"))
                 main.setXMLVersion(XML_1_1);
@@ -290,6 +298,23 @@ public class Dcm2Xml {
         dis.setBulkDataFilePrefix(blkFilePrefix);
         dis.setBulkDataFileSuffix(blkFileSuffix);
         dis.setConcatenateBulkDataFiles(catBlkFiles);
+        SAXWriter saxWriter = new SAXWriter(xsltURL == null && !indent && !jaxp
+                ? newUTF8XMLWriter()
+                : newTransformerHandler());
+        saxWriter.setIncludeKeyword(includeKeyword);
+        saxWriter.setIncludeNamespaceDeclaration(includeNamespaceDeclaration);
+        dis.setDicomInputHandler(saxWriter);
+        dis.readDataset();
+    }
+
+    private UTF8XMLWriter newUTF8XMLWriter() {
+        UTF8XMLWriter w = new UTF8XMLWriter(System.out);
+        w.setXMLVersion(xmlVersion);
+        return w;
+    }
+
+    private TransformerHandler newTransformerHandler()
+            throws TransformerConfigurationException, IOException {
         TransformerHandler th = getTransformerHandler();
         Transformer t = th.getTransformer();
         t.setOutputProperty(OutputKeys.INDENT, indent ? "yes" : "no");
@@ -298,11 +323,7 @@ public class Dcm2Xml {
         }
         t.setOutputProperty(OutputKeys.VERSION, xmlVersion);
         th.setResult(new StreamResult(System.out));
-        SAXWriter saxWriter = new SAXWriter(th);
-        saxWriter.setIncludeKeyword(includeKeyword);
-        saxWriter.setIncludeNamespaceDeclaration(includeNamespaceDeclaration);
-        dis.setDicomInputHandler(saxWriter);
-        dis.readDataset();
+        return th;
     }
 
     private TransformerHandler getTransformerHandler()
@@ -48,10 +48,10 @@ import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.io.DicomInputStream.IncludeBulkData;
 import org.dcm4che3.io.DicomOutputStream;
 import org.dcm4che3.json.JSONReader;
+import org.dcm4che3.json.UTF8JSONParser;
 import org.dcm4che3.tool.common.CLIUtils;
 import org.dcm4che3.util.SafeClose;
 
-import javax.json.Json;
 import java.io.*;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -367,8 +367,7 @@ public class Json2Dcm {
         @SuppressWarnings("resource")
         InputStream in = fname.equals("-") ? System.in : new FileInputStream(fname);
         try {
-            JSONReader reader = new JSONReader(
-                    Json.createParser(new InputStreamReader(in, "UTF-8")));
+            JSONReader reader = new JSONReader(new UTF8JSONParser(in));
             reader.readDataset(attrs);
             return reader;
         } finally {
@@ -61,6 +61,7 @@ public class Xml2Dcm {
         ResourceBundle.getBundle("org.dcm4che3.tool.xml2dcm.messages");
 
     private boolean lenient = false;
+    private boolean utf8 = false;
     private IncludeBulkData includeBulkData = IncludeBulkData.URI;
     private boolean catBlkFiles = false;
     private String blkFilePrefix = "blk";
@@ -79,6 +80,10 @@ public class Xml2Dcm {
         this.lenient = lenient;
     }
 
+    public final void setUTF8XMLReader(boolean utf8) {
+        this.utf8 = utf8;
+    }
+
     public final void setIncludeBulkData(IncludeBulkData includeBulkData) {
         this.includeBulkData = includeBulkData;
     }
@@ -128,6 +133,7 @@ public class Xml2Dcm {
         Options opts = new Options();
         CLIUtils.addCommonOptions(opts);
         addLenientOption(opts);
+        addUTF8Option(opts);
         addIOFileNameOptions(opts);
         addBulkdataOptions(opts);
         addFileEncodingOptions(opts);
@@ -144,6 +150,13 @@ public class Xml2Dcm {
                 .build());
     }
 
+    private static void addUTF8Option(Options opts) {
+        opts.addOption(Option.builder()
+                .longOpt("utf8")
+                .desc(rb.getString("utf8"))
+                .build());
+    }
+
     private static void addIOFileNameOptions(Options opts) {
          opts.addOption(Option.builder("x")
                  .hasArg()
@@ -238,6 +251,7 @@ public class Xml2Dcm {
             Xml2Dcm main = new Xml2Dcm();
             configureBulkdata(main, cl);
             main.setLenient(cl.hasOption("lenient"));
+            main.setUTF8XMLReader(cl.hasOption("utf8"));
             if (cl.hasOption("t")) {
                 main.setTransferSyntax(cl.getOptionValue("t"));
             }
@@ -358,7 +372,10 @@ public class Xml2Dcm {
 
     public void mergeXML(String fname) throws Exception {
         ContentHandlerAdapter ch = new ContentHandlerAdapter(dataset, lenient);
-        parseXML(fname, ch);
+        if (utf8)
+            parseUTF8XML(fname, ch);
+        else
+            parseXML(fname, ch);
         dataset = ch.getDataset();
         Attributes fmi2 = ch.getFileMetaInformation();
         if (fmi2 != null)
@@ -383,4 +400,15 @@ public class Xml2Dcm {
         }
     }
 
+    private static void parseUTF8XML(String fname, ContentHandlerAdapter ch)
+            throws Exception {
+        if (fname.equals("-")) {
+            new UTF8XMLReader(System.in).parse(ch);
+        } else {
+            try (InputStream in = new FileInputStream(fname)) {
+                new UTF8XMLReader(in).parse(ch);
+            }
+        }
+    }
+
 }